@@ -283,7 +283,39 @@ public class ConsistentHashRingBenchmark {
     return state._ringFull.get(state._key);
   }
 
+  @State(Scope.Benchmark)
+  public static class ConsistentHashRing_1000Hosts_100PointsPerHost_State {
+    Ring<URI> _ring = new ConsistentHashRing<URI>(buildPointsMap(1000, 100));
+    Random _random = new Random();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public URI measureConsistentHashRing_1000Hosts_100PointsPerHost(ConsistentHashRing_1000Hosts_100PointsPerHost_State state) {
+    return state._ring.get(state._random.nextInt());
+  }
 
+  @State(Scope.Benchmark)
+  public static class RebuildRing_100Hosts_100PointsPerHost_State {
+    RingFactory<URI> _pointBasedFactory = new DelegatingRingFactory<>(getConfig("pointBased", 1, 1));
+    Map<URI, Integer> _pointsMap = buildPointsMap(100, 100);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Ring<URI> measureRebuildConsistentHashRing_100Hosts_100PointsPerHost(RebuildRing_100Hosts_100PointsPerHost_State state) {
+    // The factory keeps the points of every host, so this measures sorting and indexing the points.
+    return state._pointBasedFactory.createRing(state._pointsMap);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Ring<URI> measureRebuildMPCHash_100Hosts_21Probes(RebuildRing_100Hosts_100PointsPerHost_State state) {
+    return new MPConsistentHashRing<>(state._pointsMap, 21, 1);
+  }
 
   private static Map<URI, Integer> buildPointsMap(int numHosts, int numPointsPerHost) {
     return IntStream.range(0, numHosts).boxed().collect(
@@ -0,0 +1,100 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.d2.util.hashing;
+
+import com.linkedin.d2.balancer.properties.RangeBasedPartitionProperties;
+import com.linkedin.d2.balancer.util.hashing.CompiledURIRegexHash;
+import com.linkedin.d2.balancer.util.hashing.URIRegexHash;
+import com.linkedin.d2.balancer.util.partitions.PartitionAccessException;
+import com.linkedin.d2.balancer.util.partitions.PartitionAccessor;
+import com.linkedin.d2.balancer.util.partitions.RangeBasedPartitionAccessor;
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestRequestBuilder;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Compares {@link URIRegexHash} with {@link CompiledURIRegexHash}, and the partition key extraction, on a URI
+ * matched by the last of several sticky routing expressions.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class URIRegexHashBenchmark
+{
+  private static final List<String> REGEXES =
+    Arrays.asList("memberId=(\\d+)", "companyId=(\\d+)", "/members/(\\d+)");
+  private static final URI REQUEST_URI = URI.create("d2://members/123456789?fields=id,firstName,lastName&partition=42");
+
+  @State(Scope.Benchmark)
+  public static class URIRegexHashState
+  {
+    URIRegexHash _hash = new URIRegexHash(REGEXES, false, false);
+    RestRequest _request = new RestRequestBuilder(REQUEST_URI).build();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int measureURIRegexHash(URIRegexHashState state)
+  {
+    return state._hash.hash(state._request);
+  }
+
+  @State(Scope.Benchmark)
+  public static class CompiledURIRegexHashState
+  {
+    URIRegexHash _hash = new CompiledURIRegexHash(REGEXES, false, false);
+    RestRequest _request = new RestRequestBuilder(REQUEST_URI).build();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int measureCompiledURIRegexHash(CompiledURIRegexHashState state)
+  {
+    return state._hash.hash(state._request);
+  }
+
+  @State(Scope.Benchmark)
+  public static class PartitionAccessorState
+  {
+    PartitionAccessor _accessor =
+      new RangeBasedPartitionAccessor(new RangeBasedPartitionProperties("partition=(\\d+)", 0, 10, 10));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int measurePartitionAccessor(PartitionAccessorState state) throws PartitionAccessException
+  {
+    return state._accessor.getPartitionId(REQUEST_URI);
+  }
+}
@@ -65,6 +65,8 @@ public class TestLoadBalancerPerformanceSimulation {
       (callCount, intervalIndex) -> Long.max(SEVERE_BAD_LATENCY - intervalIndex * 100L, HEALTHY_LATENCY);
   private static final LatencyCorrelation HEALTHY_HOST_LATENCY_CORRELATION =
     (callCount, intervalIndex) -> HEALTHY_LATENCY;
+  private static final long[] HEALTHY_HOST_LATENCY_TRACE = new long[] {180L, 200L, 220L, 190L, 210L};
+  private static final long[] SEVERE_BAD_HOST_LATENCY_TRACE = new long[] {SEVERE_BAD_LATENCY};
 
   /**
    * Based on this simulation, a healthy host can be classified as unhealthy when factor = 1.2
@@ -334,6 +336,68 @@ public class TestLoadBalancerPerformanceSimulation {
         };
   }
 
+  /**
+   * Replay the same latency trace through the random and relative strategy, relative strategy should cut the
+   * tail latency caused by a bad host, at the cost of a less even load
+   */
+  @Test
+  public void testCompareStrategiesWithLatencyTrace()
+  {
+    LoadBalancerStrategyTestRunner randomRunner =
+        buildRunnerWithLatencyTrace(loadBalancerStrategyType.RANDOM, SMALL_CLUSTER_HOST_NUM);
+    randomRunner.runWait();
+    LoadBalancerStrategyTestRunner relativeRunner =
+        buildRunnerWithLatencyTrace(loadBalancerStrategyType.RELATIVE, SMALL_CLUSTER_HOST_NUM);
+    relativeRunner.runWait();
+
+    LOG.info("random: p50={}, p99={}, skew={}, getTrackerClient={}ns", randomRunner.getLatencyPercentile(50),
+        randomRunner.getLatencyPercentile(99), randomRunner.getLoadSkew(), randomRunner.getAvgGetTrackerClientNanos());
+    LOG.info("relative: p50={}, p99={}, skew={}, converged at interval {}, getTrackerClient={}ns",
+        relativeRunner.getLatencyPercentile(50), relativeRunner.getLatencyPercentile(99), relativeRunner.getLoadSkew(),
+        relativeRunner.getConvergenceIntervalIndex(), relativeRunner.getAvgGetTrackerClientNanos());
+
+    // random strategy keeps sending 1/10 of the traffic to the bad host
+    assertEquals(randomRunner.getLatencyPercentile(99), SEVERE_BAD_LATENCY);
+    assertTrue(randomRunner.getLoadSkew() < 1.1);
+    assertEquals(randomRunner.getConvergenceIntervalIndex(), 0);
+
+    assertTrue(relativeRunner.getLatencyPercentile(99) < SEVERE_BAD_LATENCY);
+    assertTrue(relativeRunner.getLoadSkew() > randomRunner.getLoadSkew());
+    assertTrue(relativeRunner.getConvergenceIntervalIndex() > 0);
+    assertEquals(relativeRunner.getPoints().get(relativeRunner.getUri(0)).intValue(), UNHEALTHY_POINTS);
+  }
+
+  @Test
+  public void testSimulationIsDeterministic()
+  {
+    LoadBalancerStrategyTestRunner runner1 =
+        buildRunnerWithLatencyTrace(loadBalancerStrategyType.RANDOM, SMALL_CLUSTER_HOST_NUM);
+    runner1.runWait();
+    LoadBalancerStrategyTestRunner runner2 =
+        buildRunnerWithLatencyTrace(loadBalancerStrategyType.RANDOM, SMALL_CLUSTER_HOST_NUM);
+    runner2.runWait();
+
+    assertEquals(runner1.getLatencyPercentile(50), runner2.getLatencyPercentile(50));
+    assertEquals(runner1.getLatencyPercentile(90), runner2.getLatencyPercentile(90));
+    assertEquals(runner1.getLoadSkew(), runner2.getLoadSkew());
+  }
+
+  private LoadBalancerStrategyTestRunner buildRunnerWithLatencyTrace(loadBalancerStrategyType type, int numHosts)
+  {
+    List<long[]> latencyTraceList = new ArrayList<>();
+    latencyTraceList.add(SEVERE_BAD_HOST_LATENCY_TRACE);
+    for (int i = 0; i < numHosts - 1; i ++)
+    {
+      latencyTraceList.add(HEALTHY_HOST_LATENCY_TRACE);
+    }
+
+    return new LoadBalancerStrategyTestRunnerBuilder(type, DEFAULT_SERVICE_NAME, numHosts)
+        .setConstantRequestCount(DEFAULT_REQUESTS_PER_INTERVAL)
+        .setNumIntervals(100)
+        .setLatencyTrace(latencyTraceList)
+        .build();
+  }
+
   private LoadBalancerStrategyTestRunner buildDefaultRunnerWithConstantBadHost(int numHosts, long badHostLatency,
       double relativeLatencyHighThresholdFactor)
   {
@@ -47,6 +47,8 @@ public class TestLoadBalancer implements LoadBalancerWithFacilities, WarmUpServi
 
   private final AtomicInteger _requestCount = new AtomicInteger();
   private final AtomicInteger _completedRequestCount = new AtomicInteger();
+  private final AtomicInteger _connectionWarmUpCount = new AtomicInteger();
+  private final AtomicInteger _completedConnectionWarmUpCount = new AtomicInteger();
   private int _delayMs = 0;
   private final int DELAY_STANDARD_DEVIATION = 10; //ms
   private final ScheduledExecutorService _executorService = Executors.newSingleThreadScheduledExecutor();
@@ -77,6 +79,17 @@ public class TestLoadBalancer implements LoadBalancerWithFacilities, WarmUpServi
         + ((int) new Random().nextGaussian() * DELAY_STANDARD_DEVIATION)), TimeUnit.MILLISECONDS);
   }
 
+  @Override
+  public void warmUpConnections(String serviceName, Callback<None> callback)
+  {
+    _connectionWarmUpCount.incrementAndGet();
+    _executorService.schedule(() ->
+    {
+      _completedConnectionWarmUpCount.incrementAndGet();
+      callback.onSuccess(None.none());
+    }, _delayMs, TimeUnit.MILLISECONDS);
+  }
+
   @Override
   public void start(Callback<None> callback)
   {
@@ -105,6 +118,16 @@ public class TestLoadBalancer implements LoadBalancerWithFacilities, WarmUpServi
     return _completedRequestCount;
   }
 
+  AtomicInteger getConnectionWarmUpCount()
+  {
+    return _connectionWarmUpCount;
+  }
+
+  AtomicInteger getCompletedConnectionWarmUpCount()
+  {
+    return _completedConnectionWarmUpCount;
+  }
+
   @Override
   public Directory getDirectory()
   {
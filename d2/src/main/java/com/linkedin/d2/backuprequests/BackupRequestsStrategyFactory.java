@@ -65,7 +65,12 @@ class BackupRequestsStrategyFactory
     Map<String, Object> strategy = mapGet(backupRequestsConfiguration, PropertyKeys.STRATEGY);
     if (strategy.containsKey(BCBR.getClass().getName()))
     {
-      return tryCreateBoundedCost(mapGet(strategy, BCBR.getClass().getName()));
+      Map<String, Object> properties = mapGet(strategy, BCBR.getClass().getName());
+      if (Boolean.TRUE.equals(backupRequestsConfiguration.get(PropertyKeys.PER_PARTITION)))
+      {
+        return new PartitionedBackupRequestsStrategy(() -> tryCreateBoundedCost(properties));
+      }
+      return tryCreateBoundedCost(properties);
     } else
     {
       throw new RuntimeException("Unrecognized type of BackupRequestsStrategy: " + strategy);
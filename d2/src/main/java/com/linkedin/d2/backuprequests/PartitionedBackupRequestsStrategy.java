@@ -0,0 +1,92 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.d2.backuprequests;
+
+import com.linkedin.d2.balancer.util.partitions.DefaultPartitionAccessor;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+
+/**
+ * This is an implementation of a {@link BackupRequestsStrategy} that keeps a separate strategy for every partition,
+ * so that the decision of when to make a backup request for a partition is based on the response times of that
+ * partition only. Methods which do not take a partition id apply to the default partition.
+ * <p>
+ * This class is thread safe.
+ */
+public class PartitionedBackupRequestsStrategy implements BackupRequestsStrategy
+{
+  private final Supplier<BackupRequestsStrategy> _strategyFactory;
+  private final ConcurrentMap<Integer, BackupRequestsStrategy> _strategies = new ConcurrentHashMap<>();
+
+  /**
+   * @param strategyFactory creates the strategy of a partition the first time the partition is used
+   */
+  public PartitionedBackupRequestsStrategy(Supplier<BackupRequestsStrategy> strategyFactory)
+  {
+    _strategyFactory = strategyFactory;
+    // fail fast on invalid configuration
+    getStrategy(DefaultPartitionAccessor.DEFAULT_PARTITION_ID);
+  }
+
+  @Override
+  public Optional<Long> getTimeUntilBackupRequestNano()
+  {
+    return getTimeUntilBackupRequestNano(DefaultPartitionAccessor.DEFAULT_PARTITION_ID);
+  }
+
+  public Optional<Long> getTimeUntilBackupRequestNano(int partitionId)
+  {
+    return getStrategy(partitionId).getTimeUntilBackupRequestNano();
+  }
+
+  @Override
+  public void recordCompletion(long responseTime)
+  {
+    recordCompletion(DefaultPartitionAccessor.DEFAULT_PARTITION_ID, responseTime);
+  }
+
+  public void recordCompletion(int partitionId, long responseTime)
+  {
+    getStrategy(partitionId).recordCompletion(responseTime);
+  }
+
+  @Override
+  public boolean isBackupRequestAllowed()
+  {
+    return isBackupRequestAllowed(DefaultPartitionAccessor.DEFAULT_PARTITION_ID);
+  }
+
+  public boolean isBackupRequestAllowed(int partitionId)
+  {
+    return getStrategy(partitionId).isBackupRequestAllowed();
+  }
+
+  BackupRequestsStrategy getStrategy(int partitionId)
+  {
+    return _strategies.computeIfAbsent(partitionId, id -> _strategyFactory.get());
+  }
+
+  @Override
+  public String toString()
+  {
+    return "PartitionedBackupRequestsStrategy [strategies=" + _strategies + "]";
+  }
+}
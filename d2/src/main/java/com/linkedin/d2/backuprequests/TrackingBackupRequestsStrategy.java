@@ -56,6 +56,29 @@ public class TrackingBackupRequestsStrategy implements BackupRequestsStrategy, B
     return delay;
   }
 
+  /**
+   * Same as {@link #getTimeUntilBackupRequestNano()} but for a specific partition. Partition id is ignored if
+   * the underlying strategy is not partitioned, see {@link #isPartitioned()}.
+   */
+  public Optional<Long> getTimeUntilBackupRequestNano(int partitionId)
+  {
+    if (!isPartitioned())
+    {
+      return getTimeUntilBackupRequestNano();
+    }
+    final Optional<Long> delay = ((PartitionedBackupRequestsStrategy) _delegate).getTimeUntilBackupRequestNano(partitionId);
+    delay.ifPresent(this::recordDelay);
+    return delay;
+  }
+
+  /**
+   * @return true if the underlying strategy tracks response times separately for every partition
+   */
+  public boolean isPartitioned()
+  {
+    return _delegate instanceof PartitionedBackupRequestsStrategy;
+  }
+
   private void recordDelay(long delay)
   {
     while (true)
@@ -75,10 +98,34 @@ public class TrackingBackupRequestsStrategy implements BackupRequestsStrategy, B
     _delegate.recordCompletion(responseTime);
   }
 
+  public void recordCompletion(int partitionId, long responseTime)
+  {
+    if (isPartitioned())
+    {
+      ((PartitionedBackupRequestsStrategy) _delegate).recordCompletion(partitionId, responseTime);
+    } else
+    {
+      _delegate.recordCompletion(responseTime);
+    }
+  }
+
   @Override
   public boolean isBackupRequestAllowed()
   {
-    final boolean allowed = _delegate.isBackupRequestAllowed();
+    return recordAllowed(_delegate.isBackupRequestAllowed());
+  }
+
+  public boolean isBackupRequestAllowed(int partitionId)
+  {
+    if (!isPartitioned())
+    {
+      return isBackupRequestAllowed();
+    }
+    return recordAllowed(((PartitionedBackupRequestsStrategy) _delegate).isBackupRequestAllowed(partitionId));
+  }
+
+  private boolean recordAllowed(boolean allowed)
+  {
     if (allowed)
     {
       _totalAllowedCount.increment();;
@@ -103,6 +103,18 @@ public class D2ClientBuilder
       executorsToShutDown.add(_config._executorService);
     }
 
+    if (_config.propertyEventShards > 1 && _config._propertyEventShardExecutors == null)
+    {
+      _config._propertyEventShardExecutors = new ArrayList<>(_config.propertyEventShards);
+      for (int i = 0; i < _config.propertyEventShards; i++)
+      {
+        ScheduledExecutorService shardExecutor =
+          Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("D2 PropertyEventExecutor shard " + i));
+        _config._propertyEventShardExecutors.add(shardExecutor);
+        executorsToShutDown.add(shardExecutor);
+      }
+    }
+
     if (_config.downstreamServicesFetcher == null)
     {
       _config.downstreamServicesFetcher = new FSBasedDownstreamServicesFetcher(_config.fsBasePath, _config.d2ServicePath);
@@ -168,7 +180,11 @@ public class D2ClientBuilder
                   _config.jmxManager,
                   _config.d2JmxManagerPrefix,
                   _config.zookeeperReadWindowMs,
-                  _config.enableRelativeLoadBalancer);
+                  _config.enableRelativeLoadBalancer,
+                  _config.propertyEventShards,
+                  _config._propertyEventShardExecutors,
+                  _config.warmUpConnections,
+                  _config.useSegmentFileStore);
 
     final LoadBalancerWithFacilitiesFactory loadBalancerFactory = (_config.lbWithFacilitiesFactory == null) ?
       new ZKFSLoadBalancerWithFacilitiesFactory() :
@@ -428,6 +444,25 @@ public class D2ClientBuilder
     return this;
   }
 
+  /**
+   * Also establish connections to the hosts of the downstream services during the warm up. The connections of a
+   * service are established while the state of the next services is read from ZooKeeper.
+   */
+  public D2ClientBuilder setWarmUpConnections(boolean warmUpConnections){
+    _config.warmUpConnections = warmUpConnections;
+    return this;
+  }
+
+  /**
+   * Cache the properties fetched from ZooKeeper in a single segment file per directory instead of one file per
+   * property. Only applies to the last seen load balancer. Properties cached in the other format are not migrated,
+   * so they are fetched from ZooKeeper again on the first start up after switching.
+   */
+  public D2ClientBuilder setUseSegmentFileStore(boolean useSegmentFileStore){
+    _config.useSegmentFileStore = useSegmentFileStore;
+    return this;
+  }
+
   public D2ClientBuilder setDownstreamServicesFetcher(DownstreamServicesFetcher downstreamServicesFetcher)
   {
     _config.downstreamServicesFetcher = downstreamServicesFetcher;
@@ -493,6 +528,17 @@ public class D2ClientBuilder
     return this;
   }
 
+  /**
+   * Partitions the updates received from ZooKeeper by property name across the given number of threads before
+   * they are written to the file store and published to the load balancer, preserving the order of the updates of
+   * each property. Only used by the {@link LastSeenBalancerWithFacilitiesFactory}. Defaults to 1.
+   */
+  public D2ClientBuilder setPropertyEventShards(int propertyEventShards)
+  {
+    _config.propertyEventShards = propertyEventShards;
+    return this;
+  }
+
   private Map<String, TransportClientFactory> createDefaultTransportClientFactories()
   {
     final Map<String, TransportClientFactory> clientFactories = new HashMap<String, TransportClientFactory>();
@@ -33,6 +33,7 @@ import com.linkedin.d2.jmx.JmxManager;
 import com.linkedin.d2.jmx.NoOpJmxManager;
 import com.linkedin.r2.transport.common.TransportClientFactory;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -63,6 +64,11 @@ public class D2ClientConfig
   boolean useNewEphemeralStoreWatcher = true;
   HealthCheckOperations healthCheckOperations = null;
   boolean enableSaveUriDataOnDisk = false;
+  /**
+   * Whether the last seen stores cache the properties in a single segment file per directory, see
+   * {@link com.linkedin.d2.discovery.stores.file.SegmentFileStore}, instead of one file per property
+   */
+  boolean useSegmentFileStore = false;
   /**
    * By default is a single threaded executor
    */
@@ -74,6 +80,10 @@ public class D2ClientConfig
   int warmUpTimeoutSeconds = WarmUpLoadBalancer.DEFAULT_SEND_REQUESTS_TIMEOUT_SECONDS;
   int zookeeperReadWindowMs = ZooKeeperStore.DEFAULT_READ_WINDOW_MS;
   int warmUpConcurrentRequests = WarmUpLoadBalancer.DEFAULT_CONCURRENT_REQUESTS;
+  /**
+   * Whether the warm up also establishes connections to the hosts of the downstream services
+   */
+  boolean warmUpConnections = false;
   DownstreamServicesFetcher downstreamServicesFetcher = null;
   boolean backupRequestsEnabled = true;
   BackupRequestsStrategyStatsConsumer backupRequestsStrategyStatsConsumer = null;
@@ -92,6 +102,11 @@ public class D2ClientConfig
   JmxManager jmxManager = new NoOpJmxManager();
   String d2JmxManagerPrefix = "UnknownPrefix";
   boolean enableRelativeLoadBalancer = false;
+  /**
+   * Number of threads the ZooKeeper to file store updates are partitioned across by property name
+   */
+  int propertyEventShards = 1;
+  List<ScheduledExecutorService> _propertyEventShardExecutors = null;
 
   private static final int DEAULT_RETRY_LIMIT = 3;
 
@@ -144,7 +159,11 @@ public class D2ClientConfig
                  JmxManager jmxManager,
                  String d2JmxManagerPrefix,
                  int zookeeperReadWindowMs,
-                 boolean enableRelativeLoadBalancer)
+                 boolean enableRelativeLoadBalancer,
+                 int propertyEventShards,
+                 List<ScheduledExecutorService> propertyEventShardExecutors,
+                 boolean warmUpConnections,
+                 boolean useSegmentFileStore)
   {
     this.zkHosts = zkHosts;
     this.zkSessionTimeoutInMs = zkSessionTimeoutInMs;
@@ -192,5 +211,9 @@ public class D2ClientConfig
     this.d2JmxManagerPrefix = d2JmxManagerPrefix;
     this.zookeeperReadWindowMs = zookeeperReadWindowMs;
     this.enableRelativeLoadBalancer = enableRelativeLoadBalancer;
+    this.propertyEventShards = propertyEventShards;
+    this._propertyEventShardExecutors = propertyEventShardExecutors;
+    this.warmUpConnections = warmUpConnections;
+    this.useSegmentFileStore = useSegmentFileStore;
   }
 }
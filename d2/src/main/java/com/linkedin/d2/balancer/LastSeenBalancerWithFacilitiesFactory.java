@@ -29,9 +29,12 @@ import com.linkedin.d2.balancer.util.FileSystemDirectory;
 import com.linkedin.d2.balancer.util.WarmUpLoadBalancer;
 import com.linkedin.d2.balancer.zkfs.LastSeenLoadBalancerWithFacilities;
 import com.linkedin.d2.balancer.zkfs.ZKFSUtil;
+import com.linkedin.d2.discovery.PropertySerializer;
 import com.linkedin.d2.discovery.event.PropertyEventBus;
 import com.linkedin.d2.discovery.event.PropertyEventBusImpl;
+import com.linkedin.d2.discovery.stores.file.FilePropertyStore;
 import com.linkedin.d2.discovery.stores.file.FileStore;
+import com.linkedin.d2.discovery.stores.file.SegmentFileStore;
 import com.linkedin.d2.discovery.stores.zk.LastSeenZKStore;
 import com.linkedin.d2.discovery.stores.zk.ZKConnectionBuilder;
 import com.linkedin.d2.discovery.stores.zk.ZKPersistentConnection;
@@ -39,6 +42,9 @@ import com.linkedin.d2.discovery.stores.zk.builder.ZooKeeperEphemeralStoreBuilde
 import com.linkedin.d2.discovery.stores.zk.builder.ZooKeeperPermanentStoreBuilder;
 import com.linkedin.d2.jmx.D2ClientJmxManager;
 import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.slf4j.Logger;
@@ -115,7 +121,7 @@ public class LastSeenBalancerWithFacilitiesFactory implements LoadBalancerWithFa
     {
       balancer = new WarmUpLoadBalancer(balancer, lastSeenLoadBalancer, config.startUpExecutorService, config.fsBasePath,
                                         config.d2ServicePath, config.downstreamServicesFetcher, config.warmUpTimeoutSeconds,
-                                        config.warmUpConcurrentRequests);
+                                        config.warmUpConcurrentRequests, config.warmUpConnections);
     }
 
     return balancer;
@@ -133,7 +139,8 @@ public class LastSeenBalancerWithFacilitiesFactory implements LoadBalancerWithFa
       // register jmx every time the object is created
       .addOnBuildListener(d2ClientJmxManager::setZkUriRegistry);
 
-    FileStore<UriProperties> fileStore = new FileStore<>(config.fsBasePath + File.separator + ZKFSUtil.URI_PATH, new UriPropertiesJsonSerializer());
+    FilePropertyStore<UriProperties> fileStore =
+      createFileStore(config, config.fsBasePath + File.separator + ZKFSUtil.URI_PATH, new UriPropertiesJsonSerializer());
     d2ClientJmxManager.setFsUriStore(fileStore);
 
     if (config.enableSaveUriDataOnDisk)
@@ -146,7 +153,8 @@ public class LastSeenBalancerWithFacilitiesFactory implements LoadBalancerWithFa
       zkPersistentConnection,
       config._executorService,
       config.warmUpTimeoutSeconds,
-      config.warmUpConcurrentRequests
+      config.warmUpConcurrentRequests,
+      getZkToFsBusExecutors(config)
     );
   }
 
@@ -162,7 +170,8 @@ public class LastSeenBalancerWithFacilitiesFactory implements LoadBalancerWithFa
       // register jmx every time the object is created
       .addOnBuildListener(d2ClientJmxManager::setZkServiceRegistry);
 
-    FileStore<ServiceProperties> fileStore = new FileStore<>(FileSystemDirectory.getServiceDirectory(config.fsBasePath, config.d2ServicePath), new ServicePropertiesJsonSerializer());
+    FilePropertyStore<ServiceProperties> fileStore = createFileStore(config,
+      FileSystemDirectory.getServiceDirectory(config.fsBasePath, config.d2ServicePath), new ServicePropertiesJsonSerializer());
     d2ClientJmxManager.setFsServiceStore(fileStore);
 
     return new LastSeenZKStore<>(fileStore,
@@ -170,7 +179,8 @@ public class LastSeenBalancerWithFacilitiesFactory implements LoadBalancerWithFa
       zkPersistentConnection,
       config._executorService,
       config.warmUpTimeoutSeconds,
-      config.warmUpConcurrentRequests
+      config.warmUpConcurrentRequests,
+      getZkToFsBusExecutors(config)
     );
   }
 
@@ -185,7 +195,8 @@ public class LastSeenBalancerWithFacilitiesFactory implements LoadBalancerWithFa
       // register jmx every time the object is created
       .addOnBuildListener(d2ClientJmxManager::setZkClusterRegistry);
 
-    FileStore<ClusterProperties> fileStore = new FileStore<>( FileSystemDirectory.getClusterDirectory(config.fsBasePath), new ClusterPropertiesJsonSerializer());
+    FilePropertyStore<ClusterProperties> fileStore =
+      createFileStore(config, FileSystemDirectory.getClusterDirectory(config.fsBasePath), new ClusterPropertiesJsonSerializer());
     d2ClientJmxManager.setFsClusterStore(fileStore);
 
     return new LastSeenZKStore<>(fileStore,
@@ -193,7 +204,21 @@ public class LastSeenBalancerWithFacilitiesFactory implements LoadBalancerWithFa
       zkPersistentConnection,
       config._executorService,
       config.warmUpTimeoutSeconds,
-      config.warmUpConcurrentRequests
+      config.warmUpConcurrentRequests,
+      getZkToFsBusExecutors(config)
     );
   }
+
+  private static <T> FilePropertyStore<T> createFileStore(D2ClientConfig config, String path,
+    PropertySerializer<T> serializer)
+  {
+    return config.useSegmentFileStore ? new SegmentFileStore<>(path, serializer) : new FileStore<>(path, serializer);
+  }
+
+  private static List<? extends ExecutorService> getZkToFsBusExecutors(D2ClientConfig config)
+  {
+    return config._propertyEventShardExecutors == null || config._propertyEventShardExecutors.isEmpty()
+      ? Collections.singletonList(config._executorService)
+      : config._propertyEventShardExecutors;
+  }
 }
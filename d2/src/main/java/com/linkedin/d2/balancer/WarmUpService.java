@@ -26,4 +26,14 @@ import com.linkedin.common.util.None;
 public interface WarmUpService
 {
   void warmUpService(String serviceName, Callback<None> callback);
+
+  /**
+   * Establishes connections to the hosts of a service whose state has been warmed up with
+   * {@link #warmUpService(String, Callback)}, so that the first requests do not pay for the connection setup.
+   * The default implementation does nothing.
+   */
+  default void warmUpConnections(String serviceName, Callback<None> callback)
+  {
+    callback.onSuccess(None.none());
+  }
 }
@@ -55,7 +55,7 @@ public class ZKFSLoadBalancerWithFacilitiesFactory implements LoadBalancerWithFa
     {
       balancer = new WarmUpLoadBalancer(balancer, zkfsLoadBalancer, config.startUpExecutorService, config.fsBasePath,
         config.d2ServicePath, config.downstreamServicesFetcher, config.warmUpTimeoutSeconds,
-        config.warmUpConcurrentRequests);
+        config.warmUpConcurrentRequests, config.warmUpConnections);
     }
     return balancer;
   }
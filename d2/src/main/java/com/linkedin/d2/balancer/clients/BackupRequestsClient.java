@@ -32,13 +32,16 @@ import com.linkedin.d2.balancer.properties.PropertyKeys;
 import com.linkedin.d2.balancer.properties.ServiceProperties;
 import com.linkedin.d2.balancer.strategies.LoadBalancerStrategy.ExcludedHostHints;
 import com.linkedin.d2.balancer.util.LoadBalancerUtil;
+import com.linkedin.d2.balancer.util.partitions.DefaultPartitionAccessor;
 import com.linkedin.r2.filter.R2Constants;
 import com.linkedin.r2.message.Request;
 import com.linkedin.r2.message.RequestContext;
 import com.linkedin.r2.message.rest.RestRequest;
 import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.r2.message.stream.StreamException;
 import com.linkedin.r2.message.stream.StreamRequest;
 import com.linkedin.r2.message.stream.StreamResponse;
+import com.linkedin.r2.message.stream.entitystream.CancelingReader;
 import com.linkedin.r2.util.NamedThreadFactory;
 import java.net.URI;
 import java.util.List;
@@ -429,16 +432,17 @@ public class BackupRequestsClient extends D2ClientDelegator
       DecoratorClient<R, T> client, Callback<T> callback, TrackingBackupRequestsStrategy strategy, String serviceName, String operation)
   {
     final long startNano = System.nanoTime();
+    final int partitionId = getPartitionId(serviceName, request, strategy);
 
     URI targetHostUri = KeyMapper.TargetHostHints.getRequestContextTargetHost(requestContext);
     Boolean backupRequestAcceptable = KeyMapper.TargetHostHints.getRequestContextOtherHostAcceptable(requestContext);
     if (targetHostUri == null || (backupRequestAcceptable != null && backupRequestAcceptable))
     {
-      Optional<Long> delayNano = strategy.getTimeUntilBackupRequestNano();
+      Optional<Long> delayNano = strategy.getTimeUntilBackupRequestNano(partitionId);
       if (delayNano.isPresent())
       {
         return new DecoratedCallback<>(request, requestContext, client, callback, strategy, delayNano.get(),
-            _executorService, startNano, serviceName, operation);
+            _executorService, startNano, serviceName, operation, partitionId);
       }
     }
     // return callback that updates backup strategy about latency if
@@ -456,7 +460,7 @@ public class BackupRequestsClient extends D2ClientDelegator
       private void recordLatency()
       {
         long latency = System.nanoTime() - startNano;
-        strategy.recordCompletion(latency);
+        strategy.recordCompletion(partitionId, latency);
         strategy.getLatencyWithoutBackup().record(latency,
             histogram -> notifyLatency(serviceName, operation, histogram, false));
         strategy.getLatencyWithBackup().record(latency,
@@ -476,6 +480,52 @@ public class BackupRequestsClient extends D2ClientDelegator
     };
   }
 
+  /*
+   * Partition is only needed if backup requests delays are tracked per partition. Any failure to resolve
+   * the partition falls back to the default partition, it should never fail the request.
+   */
+  private int getPartitionId(String serviceName, Request request, TrackingBackupRequestsStrategy strategy)
+  {
+    if (strategy.isPartitioned())
+    {
+      try
+      {
+        return getFacilities().getPartitionInfoProvider().getPartitionAccessor(serviceName)
+            .getPartitionId(request.getURI());
+      } catch (Throwable t)
+      {
+        LOG.debug("Failed to find partition for backup requests, using default partition", t);
+      }
+    }
+    return DefaultPartitionAccessor.DEFAULT_PARTITION_ID;
+  }
+
+  /*
+   * Response of the request that lost the race is never going to be read by the caller. Streaming responses
+   * need to be drained, otherwise they would hold on to the underlying connection.
+   */
+  private static void cancelLosingResponse(Object result)
+  {
+    StreamResponse response = null;
+    if (result instanceof StreamResponse)
+    {
+      response = (StreamResponse) result;
+    } else if (result instanceof StreamException)
+    {
+      response = ((StreamException) result).getResponse();
+    }
+    if (response != null)
+    {
+      try
+      {
+        response.getEntityStream().setReader(new CancelingReader());
+      } catch (Throwable t)
+      {
+        LOG.debug("Failed to cancel response of the request that was not used", t);
+      }
+    }
+  }
+
   @Override
   public void shutdown(Callback<None> callback)
   {
@@ -504,10 +554,12 @@ public class BackupRequestsClient extends D2ClientDelegator
     private final long _startNano;
     private final String _serviceName;
     private final String _operation;
+    private final int _partitionId;
 
     public DecoratedCallback(R request, RequestContext requestContext, DecoratorClient<R, T> client,
         Callback<T> callback, TrackingBackupRequestsStrategy strategy, long delayNano,
-        ScheduledExecutorService executorService, long startNano, String serviceName, String operation)
+        ScheduledExecutorService executorService, long startNano, String serviceName, String operation,
+        int partitionId)
     {
       _startNano = startNano;
       _request = request;
@@ -521,6 +573,7 @@ public class BackupRequestsClient extends D2ClientDelegator
       _strategy = strategy;
       _serviceName = serviceName;
       _operation = operation;
+      _partitionId = partitionId;
       executorService.schedule(this::maybeSendBackupRequest, delayNano, TimeUnit.NANOSECONDS);
     }
 
@@ -532,7 +585,7 @@ public class BackupRequestsClient extends D2ClientDelegator
       if (exclusionSet != null)
       {
         exclusionSet.forEach(uri -> ExcludedHostHints.addRequestContextExcludedHost(_backupRequestContext, uri));
-        if (!_done.get() && _strategy.isBackupRequestAllowed())
+        if (!_done.get() && _strategy.isBackupRequestAllowed(_partitionId))
         {
           _client.doRequest(_request, _backupRequestContext, new Callback<T>()
           {
@@ -543,6 +596,9 @@ public class BackupRequestsClient extends D2ClientDelegator
               {
                 completeBackup();
                 _callback.onSuccess(result);
+              } else
+              {
+                cancelLosingResponse(result);
               }
             }
 
@@ -555,6 +611,9 @@ public class BackupRequestsClient extends D2ClientDelegator
               {
                 completeBackup();
                 _callback.onError(e);
+              } else
+              {
+                cancelLosingResponse(e);
               }
             }
 
@@ -572,17 +631,17 @@ public class BackupRequestsClient extends D2ClientDelegator
     @Override
     public void onSuccess(T result)
     {
-      trackingCompletion(() -> _callback.onSuccess(result));
+      trackingCompletion(() -> _callback.onSuccess(result), result);
     }
 
     /*
      * This method guarantees that the completion is called only if not called by the backup
      */
-    private void trackingCompletion(Runnable completion)
+    private void trackingCompletion(Runnable completion, Object resultOrError)
     {
       long latency = System.nanoTime() - _startNano;
       //feed backup request strategy with latency of the original request
-      _strategy.recordCompletion(latency);
+      _strategy.recordCompletion(_partitionId, latency);
       if (_done.compareAndSet(false, true))
       {
         //if original request completed before backup then update both latency metrics
@@ -599,13 +658,14 @@ public class BackupRequestsClient extends D2ClientDelegator
          */
         _strategy.getLatencyWithoutBackup().record(latency,
             histogram -> notifyLatency(_serviceName, _operation, histogram, false));
+        cancelLosingResponse(resultOrError);
       }
     }
 
     @Override
     public void onError(Throwable e)
     {
-      trackingCompletion(() -> _callback.onError(e));
+      trackingCompletion(() -> _callback.onError(e), e);
     }
   }
 
@@ -61,9 +61,16 @@ public class DegraderTrackerClientImpl extends TrackerClientImpl implements Degr
   public DegraderTrackerClientImpl(URI uri, Map<Integer, PartitionData> partitionDataMap, TransportClient wrappedClient,
                                Clock clock, DegraderImpl.Config config, long interval, Pattern errorStatusPattern,
                                Map<String, Object> uriSpecificProperties)
+  {
+    this(uri, partitionDataMap, wrappedClient, clock, config, interval, errorStatusPattern, uriSpecificProperties, false);
+  }
+
+  public DegraderTrackerClientImpl(URI uri, Map<Integer, PartitionData> partitionDataMap, TransportClient wrappedClient,
+                               Clock clock, DegraderImpl.Config config, long interval, Pattern errorStatusPattern,
+                               Map<String, Object> uriSpecificProperties, boolean concurrentCallTrackingEnabled)
   {
     super(uri, partitionDataMap, wrappedClient, clock, interval,
-        (status) -> errorStatusPattern.matcher(Integer.toString(status)).matches());
+        (status) -> errorStatusPattern.matcher(Integer.toString(status)).matches(), true, concurrentCallTrackingEnabled);
 
     if (config == null)
     {
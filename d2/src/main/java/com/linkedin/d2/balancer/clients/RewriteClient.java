@@ -26,6 +26,7 @@ import com.linkedin.r2.message.stream.StreamRequest;
 import com.linkedin.r2.message.stream.StreamResponse;
 import com.linkedin.r2.transport.common.bridge.client.TransportClient;
 import com.linkedin.r2.transport.common.bridge.common.TransportCallback;
+import java.net.URI;
 import java.util.Map;
 
 /**
@@ -78,6 +79,18 @@ public class RewriteClient implements TransportClient
     _transportClient.streamRequest(rewriteRequest(request), requestContext, wireAttrs, callback);
   }
 
+  /**
+   * Establishes a connection to the host of the given URI. The URI already identifies a host, so it is not rewritten.
+   *
+   * @param uri the URI of the host
+   * @param callback the callback to invoke once a connection is ready
+   */
+  @Override
+  public void warmUpConnections(URI uri, Callback<None> callback)
+  {
+    _transportClient.warmUpConnections(uri, callback);
+  }
+
   /**
    * Starts asynchronous shutdown of the client. This method should block minimally, if at all.
    *
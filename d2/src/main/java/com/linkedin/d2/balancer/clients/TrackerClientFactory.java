@@ -133,7 +133,8 @@ public class TrackerClientFactory
                                      config,
                                      trackerClientInterval,
                                      errorStatusPattern,
-                                     uriProperties.getUriSpecificProperties().get(uri));
+                                     uriProperties.getUriSpecificProperties().get(uri),
+                                     isConcurrentCallTrackingEnabled(serviceProperties));
   }
 
   private static long getInterval(String loadBalancerStrategyName, ServiceProperties serviceProperties)
@@ -193,6 +194,18 @@ public class TrackerClientFactory
     return errorPattern;
   }
 
+  private static boolean isConcurrentCallTrackingEnabled(ServiceProperties serviceProperties)
+  {
+    if (serviceProperties == null || serviceProperties.getLoadBalancerStrategyProperties() == null)
+    {
+      return false;
+    }
+    return MapUtil.getWithDefault(serviceProperties.getLoadBalancerStrategyProperties(),
+        PropertyKeys.HTTP_LB_CONCURRENT_CALL_TRACKING_ENABLED,
+        false,
+        Boolean.class);
+  }
+
   private static List<HttpStatusCodeRange> getErrorStatusRanges(ServiceProperties serviceProperties)
   {
     D2RelativeStrategyProperties relativeStrategyProperties =
@@ -230,6 +243,7 @@ public class TrackerClientFactory
                                  clock,
                                  getInterval(loadBalancerStrategyName, serviceProperties),
                                  isErrorStatus,
-                                 percentileTrackingEnabled);
+                                 percentileTrackingEnabled,
+                                 isConcurrentCallTrackingEnabled(serviceProperties));
   }
 }
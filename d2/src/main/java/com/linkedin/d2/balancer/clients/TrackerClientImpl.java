@@ -40,6 +40,7 @@ import com.linkedin.util.clock.Clock;
 import com.linkedin.util.degrader.CallCompletion;
 import com.linkedin.util.degrader.CallTracker;
 import com.linkedin.util.degrader.CallTrackerImpl;
+import com.linkedin.util.degrader.ConcurrentCallTrackerImpl;
 import com.linkedin.util.degrader.ErrorType;
 
 import java.net.ConnectException;
@@ -84,10 +85,23 @@ public class TrackerClientImpl implements TrackerClient
 
   public TrackerClientImpl(URI uri, Map<Integer, PartitionData> partitionDataMap, TransportClient transportClient,
       Clock clock, long interval, Predicate<Integer> isErrorStatus, boolean percentileTrackingEnabled)
+  {
+    this(uri, partitionDataMap, transportClient, clock, interval, isErrorStatus, percentileTrackingEnabled, false);
+  }
+
+  /**
+   * @param concurrentCallTrackingEnabled track calls with {@link ConcurrentCallTrackerImpl}, which does not lock on
+   *                                      every call start and end, instead of {@link CallTrackerImpl}.
+   */
+  public TrackerClientImpl(URI uri, Map<Integer, PartitionData> partitionDataMap, TransportClient transportClient,
+      Clock clock, long interval, Predicate<Integer> isErrorStatus, boolean percentileTrackingEnabled,
+      boolean concurrentCallTrackingEnabled)
   {
     _uri = uri;
     _transportClient = transportClient;
-    _callTracker = new CallTrackerImpl(interval, clock, percentileTrackingEnabled);
+    _callTracker = concurrentCallTrackingEnabled
+        ? new ConcurrentCallTrackerImpl(interval, clock, percentileTrackingEnabled)
+        : new CallTrackerImpl(interval, clock, percentileTrackingEnabled);
     _isErrorStatus = isErrorStatus;
     _partitionData = Collections.unmodifiableMap(partitionDataMap);
     _latestCallStats = _callTracker.getCallStats();
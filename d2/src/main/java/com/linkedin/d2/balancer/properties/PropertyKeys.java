@@ -102,6 +102,7 @@ public class PropertyKeys
   public static final String HTTP_LB_QUARANTINE_EXECUTOR_SERVICE = "http.loadBalancer.quarantine.executorService";
   public static final String HTTP_LB_QUARANTINE_METHOD = "http.loadBalancer.quarantine.method";
   public static final String HTTP_LB_ERROR_STATUS_REGEX = "http.loadBalancer.errorStatusRegex";
+  public static final String HTTP_LB_CONCURRENT_CALL_TRACKING_ENABLED = "http.loadBalancer.concurrentCallTrackingEnabled";
   public static final String HTTP_LB_LOW_EVENT_EMITTING_INTERVAL = "http.loadBalancer.lowEmittingInterval";
   public static final String HTTP_LB_HIGH_EVENT_EMITTING_INTERVAL = "http.loadBalancer.highEmittingInterval";
 
@@ -207,6 +208,7 @@ public class PropertyKeys
   public static final String PROPERTIES = "properties";
   public static final String STRATEGY = "strategy";
   public static final String OPERATION = "operation";
+  public static final String PER_PARTITION = "perPartition";
 
   // used by uri specific properties
   public static final String DO_NOT_SLOW_START = "doNotSlowStart";
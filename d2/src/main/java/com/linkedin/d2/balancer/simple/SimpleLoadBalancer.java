@@ -19,6 +19,7 @@ package com.linkedin.d2.balancer.simple;
 import com.linkedin.common.callback.Callback;
 import com.linkedin.common.callback.Callbacks;
 import com.linkedin.common.callback.FutureCallback;
+import com.linkedin.common.callback.MultiCallback;
 import com.linkedin.common.util.None;
 import com.linkedin.d2.DarkClusterConfigMap;
 import com.linkedin.d2.balancer.KeyMapper;
@@ -465,6 +466,46 @@ public class SimpleLoadBalancer implements LoadBalancer, HashRingProvider, Clien
       Callbacks.handle(service -> callback.onSuccess(None.none()), callback));
   }
 
+  /**
+   * Establishes a connection to each host of the service, through the transport client of the first prioritized
+   * scheme that has hosts. Starting a host's connection pool also creates its minimum number of connections, see
+   * {@link com.linkedin.r2.transport.http.client.HttpClientFactory#HTTP_POOL_MIN_SIZE}.
+   */
+  @Override
+  public void warmUpConnections(String serviceName, Callback<None> callback)
+  {
+    LoadBalancerStateItem<ServiceProperties> serviceItem = _state.getServiceProperties(serviceName);
+    if (serviceItem == null || serviceItem.getProperty() == null)
+    {
+      callback.onError(new ServiceUnavailableException(serviceName, "PEGA_1012. no service properties in lb state"));
+      return;
+    }
+    ServiceProperties service = serviceItem.getProperty();
+
+    LoadBalancerStateItem<UriProperties> uriItem = _state.getUriProperties(service.getClusterName());
+    if (uriItem == null || uriItem.getProperty() == null)
+    {
+      callback.onError(new ServiceUnavailableException(serviceName, "PEGA_1007. no uri properties in lb state"));
+      return;
+    }
+
+    for (String scheme : service.getPrioritizedSchemes())
+    {
+      List<URI> uris = uriItem.getProperty().Uris().stream()
+          .filter(uri -> scheme.equalsIgnoreCase(uri.getScheme()))
+          .collect(Collectors.toList());
+      TransportClient transportClient = uris.isEmpty() ? null : _state.getClient(serviceName, scheme);
+      if (transportClient != null)
+      {
+        debug(_log, "warming up connections to ", uris.size(), " hosts of service ", serviceName);
+        Callback<None> multiCallback = new MultiCallback(callback, uris.size());
+        uris.forEach(uri -> transportClient.warmUpConnections(uri, multiCallback));
+        return;
+      }
+    }
+    callback.onSuccess(None.none());
+  }
+
   private LoadBalancerStateItem<UriProperties> getUriItem(String serviceName,
                                                           String clusterName,
                                                           ClusterProperties cluster)
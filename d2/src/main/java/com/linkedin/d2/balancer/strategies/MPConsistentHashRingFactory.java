@@ -24,12 +24,16 @@ import java.util.Map;
 /**
  * A ring factory generates {@link MPConsistentHashRing}s.
  *
+ * The factory remembers the last ring it created, and derives the next ring from it so that only the buckets of new
+ * hosts are hashed when the hosts or their points change.
+ *
  * @author Ang Xu
  */
 public class MPConsistentHashRingFactory<T> implements RingFactory<T>
 {
   private final int _numProbes;
   private final int _pointsPerHost;
+  private volatile MPConsistentHashRing<T> _lastRing;
 
   public MPConsistentHashRingFactory(int numProbes, int pointsPerHost)
   {
@@ -40,6 +44,11 @@ public class MPConsistentHashRingFactory<T> implements RingFactory<T>
   @Override
   public Ring<T> createRing(Map<T, Integer> points)
   {
-    return new MPConsistentHashRing<>(points, _numProbes, _pointsPerHost);
+    MPConsistentHashRing<T> lastRing = _lastRing;
+    MPConsistentHashRing<T> ring = lastRing == null
+        ? new MPConsistentHashRing<>(points, _numProbes, _pointsPerHost)
+        : lastRing.withPoints(points);
+    _lastRing = ring;
+    return ring;
   }
 }
@@ -27,9 +27,12 @@ import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +46,10 @@ import org.slf4j.LoggerFactory;
  *    points for each update unless more Points are needed.
  * 2. Avoid re-invoking MD5 (or other expensive hashing mechanisms) for the point generation.
  *
+ * The factory also remembers the last ring it created. When the points of only some of the URIs change, the new
+ * ring is created by merging the points of the changed URIs into the sorted points of the last ring, instead of
+ * sorting all points again.
+ *
  * Note: DegraderRingFactory is not thread safe. It is currently protected by partition lock
  *       from the caller. Make sure to have proper protection if it is used in other environment.
  */
@@ -60,6 +67,10 @@ public class PointBasedConsistentHashRingFactory<T> implements RingFactory<T>
   private final int HASH_PARTITION_NUM = 4;
   private final int POINT_SIZE_IN_BYTE = 4;
 
+  // the points map and the ring of the last createRing call, used to update the ring incrementally
+  private Map<T, Integer> _lastPointsMap;
+  private ConsistentHashRing<T> _lastRing;
+
   public PointBasedConsistentHashRingFactory(final DegraderLoadBalancerStrategyConfig config)
   {
     this(config.getHashRingPointCleanUpRate());
@@ -84,8 +95,29 @@ public class PointBasedConsistentHashRingFactory<T> implements RingFactory<T>
   @Override
   public Ring<T> createRing(Map<T, Integer> points)
   {
-    List<Point<T>> newRingPoints = new ArrayList<>();
-    clearPoints(points.size());
+    ConsistentHashRing<T> ring = null;
+    if (!clearPoints(points.size()) && _lastRing != null)
+    {
+      ring = updateRing(points);
+    }
+    if (ring == null)
+    {
+      ring = buildRing(points);
+    }
+
+    _lastPointsMap = new HashMap<>(points);
+    _lastRing = ring;
+    return ring;
+  }
+
+  private ConsistentHashRing<T> buildRing(Map<T, Integer> points)
+  {
+    int numRingPoints = 0;
+    for (int numDesiredPoints : points.values())
+    {
+      numRingPoints += numDesiredPoints;
+    }
+    List<Point<T>> newRingPoints = new ArrayList<>(numRingPoints);
     for (Map.Entry<T, Integer> entry : points.entrySet())
     {
       T t = entry.getKey();
@@ -100,6 +132,73 @@ public class PointBasedConsistentHashRingFactory<T> implements RingFactory<T>
     return new ConsistentHashRing<>(newRingPoints);
   }
 
+  /**
+   * Creates the ring by removing the points of removed URIs and of URIs with fewer points from the last ring, and
+   * merging in the points of added URIs and of URIs with more points. The last ring only contains points held by
+   * {@link #_ringPoints}, so the removed points can be identified by reference.
+   *
+   * @return the new ring, or null if the points did not change enough to be worth the merge
+   */
+  private ConsistentHashRing<T> updateRing(Map<T, Integer> points)
+  {
+    Set<Point<T>> removedPoints = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<Point<T>> addedPoints = new ArrayList<>();
+    for (Map.Entry<T, Integer> entry : points.entrySet())
+    {
+      T t = entry.getKey();
+      int numDesiredPoints = entry.getValue();
+      Integer lastPoints = _lastPointsMap.get(t);
+      int numLastPoints = lastPoints == null ? 0 : lastPoints;
+      if (numDesiredPoints > numLastPoints)
+      {
+        addedPoints.addAll(getPointList(t, numDesiredPoints).subList(numLastPoints, numDesiredPoints));
+      }
+      else if (numDesiredPoints < numLastPoints)
+      {
+        removedPoints.addAll(_ringPoints.get(t).subList(numDesiredPoints, numLastPoints));
+      }
+    }
+    for (Map.Entry<T, Integer> entry : _lastPointsMap.entrySet())
+    {
+      if (entry.getValue() > 0 && !points.containsKey(entry.getKey()))
+      {
+        removedPoints.addAll(_ringPoints.get(entry.getKey()).subList(0, entry.getValue()));
+      }
+    }
+
+    if (removedPoints.isEmpty() && addedPoints.isEmpty())
+    {
+      return _lastRing;
+    }
+
+    List<Point<T>> lastRingPoints = _lastRing.getPoints();
+    if (addedPoints.size() + removedPoints.size() > lastRingPoints.size() / 2)
+    {
+      // most of the points changed, sorting them all is cheaper than filtering and merging
+      return null;
+    }
+
+    Collections.sort(addedPoints);
+    List<Point<T>> newRingPoints = new ArrayList<>(lastRingPoints.size() - removedPoints.size() + addedPoints.size());
+    int added = 0;
+    for (Point<T> point : lastRingPoints)
+    {
+      if (removedPoints.contains(point))
+      {
+        continue;
+      }
+      while (added < addedPoints.size() && addedPoints.get(added).getHash() < point.getHash())
+      {
+        newRingPoints.add(addedPoints.get(added++));
+      }
+      newRingPoints.add(point);
+    }
+    newRingPoints.addAll(addedPoints.subList(added, addedPoints.size()));
+
+    _log.debug("Updating hash ring with {} added and {} removed points", addedPoints.size(), removedPoints.size());
+    return ConsistentHashRing.fromSortedPoints(newRingPoints);
+  }
+
   public Map<T, List<Point<T>>> getPointsMap()
   {
     return _ringPoints;
@@ -122,15 +221,18 @@ public class PointBasedConsistentHashRingFactory<T> implements RingFactory<T>
    * time on clean up when the total host number is small.
    *
    * @param size the size of new URI list
+   * @return true if the points are purged
    */
-  private void clearPoints(int size)
+  private boolean clearPoints(int size)
   {
     int unusedEntries = _ringPoints.size() - size;
     int unusedEntryThreshold = (int)(_ringPoints.size() * _hashRingPointCleanUpRate);
     if (unusedEntries > Math.max(unusedEntryThreshold, POINTS_CLEANUP_MIN_UNUSED_ENTRY))
     {
       _ringPoints.clear();
+      return true;
     }
+    return false;
   }
 
   /**
@@ -25,11 +25,11 @@ import com.linkedin.d2.balancer.clients.TrackerClient;
 import com.linkedin.d2.balancer.strategies.DelegatingRingFactory;
 import com.linkedin.d2.balancer.strategies.LoadBalancerQuarantine;
 import com.linkedin.d2.balancer.strategies.LoadBalancerStrategy;
+import com.linkedin.d2.balancer.util.hashing.CompiledURIRegexHash;
 import com.linkedin.d2.balancer.util.hashing.HashFunction;
 import com.linkedin.d2.balancer.util.hashing.RandomHash;
 import com.linkedin.d2.balancer.util.hashing.Ring;
 import com.linkedin.d2.balancer.util.hashing.SeededRandomHash;
-import com.linkedin.d2.balancer.util.hashing.URIRegexHash;
 import com.linkedin.d2.balancer.util.healthcheck.HealthCheck;
 import com.linkedin.d2.balancer.util.healthcheck.HealthCheckClientBuilder;
 import com.linkedin.r2.filter.R2Constants;
@@ -1065,7 +1065,7 @@ public class DegraderLoadBalancerStrategyV3 implements LoadBalancerStrategy
     }
     else if (HASH_METHOD_URI_REGEX.equals(hashMethod))
     {
-      _hashFunction  =  new URIRegexHash(hashConfig);
+      _hashFunction  =  new CompiledURIRegexHash(hashConfig);
     }
     else
     {
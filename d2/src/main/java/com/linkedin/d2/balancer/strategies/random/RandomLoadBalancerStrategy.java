@@ -40,7 +40,15 @@ public class RandomLoadBalancerStrategy implements LoadBalancerStrategy
 
   public RandomLoadBalancerStrategy()
   {
-    _random = new Random();
+    this(new Random());
+  }
+
+  /**
+   * @param random source of randomness, a seeded instance makes host selection reproducible
+   */
+  public RandomLoadBalancerStrategy(Random random)
+  {
+    _random = random;
   }
 
   @Nonnull
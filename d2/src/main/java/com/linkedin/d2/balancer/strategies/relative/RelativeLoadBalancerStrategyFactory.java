@@ -30,9 +30,9 @@ import com.linkedin.d2.balancer.event.NoopEventEmitter;
 import com.linkedin.d2.balancer.properties.ServiceProperties;
 import com.linkedin.d2.balancer.strategies.LoadBalancerStrategyFactory;
 import com.linkedin.d2.balancer.strategies.PartitionStateUpdateListener;
+import com.linkedin.d2.balancer.util.hashing.CompiledURIRegexHash;
 import com.linkedin.d2.balancer.util.hashing.HashFunction;
 import com.linkedin.d2.balancer.util.hashing.RandomHash;
-import com.linkedin.d2.balancer.util.hashing.URIRegexHash;
 import com.linkedin.d2.balancer.util.healthcheck.HealthCheckOperations;
 import com.linkedin.r2.message.Request;
 import com.linkedin.util.clock.Clock;
@@ -138,7 +138,7 @@ public class RelativeLoadBalancerStrategyFactory implements LoadBalancerStrategy
       switch (hashMethod)
       {
         case URI_REGEX:
-          return new URIRegexHash(RelativeStrategyPropertiesConverter.toHashConfigMap(hashConfig));
+          return new CompiledURIRegexHash(RelativeStrategyPropertiesConverter.toHashConfigMap(hashConfig));
         case RANDOM:
         default:
           return new RandomHash();
@@ -16,12 +16,16 @@
 
 package com.linkedin.d2.balancer.util;
 
+import com.linkedin.d2.discovery.stores.file.FileStore;
+import com.linkedin.d2.discovery.stores.file.SegmentFileStore;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -32,6 +36,9 @@ import org.slf4j.LoggerFactory;
  * FileSystemDirectory retrieves the list of cluster and service names saved on the local disk. There is no guarantee of being
  * aligned with the ZooKeeper directory
  *
+ * The properties of a directory are saved either in one file each, see {@link FileStore}, or in a single segment file,
+ * see {@link SegmentFileStore}. Both are read.
+ *
  * @author Francesco Capponi (fcapponi@linkedin.com)
  */
 public class FileSystemDirectory
@@ -53,7 +60,7 @@ public class FileSystemDirectory
 
   public List<String> getServiceNames()
   {
-    return getFileListWithoutExtension(getServiceDirectory(_d2FsDirPath, _d2ServicePath));
+    return getPropertyNames(getServiceDirectory(_d2FsDirPath, _d2ServicePath));
   }
 
   public void removeAllServicesWithExcluded(Set<String> excludedServices)
@@ -70,8 +77,12 @@ public class FileSystemDirectory
     removeAllPropertiesFromDirectory(getServiceDirectory(_d2FsDirPath, _d2ServicePath), serviceNames);
   }
 
+  /**
+   * Must not be called while a {@link SegmentFileStore} has the directory open.
+   */
   public static void removeAllPropertiesFromDirectory(String path, List<String> properties)
   {
+    SegmentFileStore.removeProperties(path, properties);
     for (String property : properties)
     {
       try
@@ -86,7 +97,23 @@ public class FileSystemDirectory
 
   public List<String> getClusterNames()
   {
-    return getFileListWithoutExtension(getClusterDirectory(_d2ServicePath));
+    return getPropertyNames(getClusterDirectory(_d2ServicePath));
+  }
+
+  /**
+   * @return the names of the properties of the directory, whether saved in one file each or in a segment file
+   */
+  public static List<String> getPropertyNames(String path)
+  {
+    List<String> propertyNames = getFileListWithoutExtension(path);
+    if (!SegmentFileStore.exists(path))
+    {
+      return propertyNames;
+    }
+
+    Set<String> allPropertyNames = new LinkedHashSet<>(propertyNames);
+    allPropertyNames.addAll(SegmentFileStore.readPropertyNames(path));
+    return new ArrayList<>(allPropertyNames);
   }
 
   public static List<String> getFileListWithoutExtension(String path)
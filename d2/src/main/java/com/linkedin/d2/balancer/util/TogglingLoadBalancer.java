@@ -195,6 +195,12 @@ public class TogglingLoadBalancer implements LoadBalancer, HashRingProvider, Cli
     _warmUpService.warmUpService(serviceName, callback);
   }
 
+  @Override
+  public void warmUpConnections(String serviceName, Callback<None> callback)
+  {
+    _warmUpService.warmUpConnections(serviceName, callback);
+  }
+
   @Override
   public int getClusterCount(String clusterName, String scheme, int partitionId) throws ServiceUnavailableException {
     return _clusterInfoProvider.getClusterCount(clusterName, scheme, partitionId);
@@ -31,15 +31,20 @@ import com.linkedin.r2.message.RequestContext;
 import com.linkedin.r2.transport.common.bridge.client.TransportClient;
 import com.linkedin.r2.transport.http.client.TimeoutCallback;
 import com.linkedin.util.clock.SystemClock;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +53,13 @@ import org.slf4j.LoggerFactory;
  * The WarmUpLoadBalancer warms up the internal {@link SimpleLoadBalancer} services/cluster list
  * before the client is announced as "started".
  *
+ * Up to concurrentRequests services are warmed up at the same time, in the order returned by the
+ * {@link DownstreamServicesFetcher}. When connection warm up is enabled, connections to the hosts of a service are
+ * established through {@link WarmUpService#warmUpConnections(String, Callback)} as soon as its state has been read,
+ * while the state of the next services is being read. Up to concurrentRequests connection warm ups are in flight as
+ * well; a service whose state has been read keeps its slot until one of them completes. The time taken by each service is recorded, see
+ * {@link #getWarmUpTimings()}, and a summary is logged when the warm up completes or times out.
+ *
  * @author Francesco Capponi (fcapponi@linkedin.com)
  */
 public class WarmUpLoadBalancer extends LoadBalancerWithFacilitiesDelegator
@@ -59,6 +71,10 @@ public class WarmUpLoadBalancer extends LoadBalancerWithFacilitiesDelegator
    */
   public static final int DEFAULT_CONCURRENT_REQUESTS = 1;
   public static final int DEFAULT_SEND_REQUESTS_TIMEOUT_SECONDS = 60;
+  /**
+   * Number of slowest services listed in the warm up summary
+   */
+  private static final int REPORT_SLOWEST_SERVICES = 10;
 
   private final ConcurrentLinkedDeque<Future<?>> _outstandingRequests;
 
@@ -67,9 +83,13 @@ public class WarmUpLoadBalancer extends LoadBalancerWithFacilitiesDelegator
   private final String _d2ServicePath;
   private final int _warmUpTimeoutSeconds;
   private final int _concurrentRequests;
+  private final boolean _warmUpConnections;
   private final ScheduledExecutorService _executorService;
   private final DownstreamServicesFetcher _downstreamServicesFetcher;
   private volatile boolean _shuttingDown = false;
+  private final Queue<ServiceWarmUpTiming> _warmUpTimings = new ConcurrentLinkedQueue<>();
+  private volatile long _warmUpStartTime;
+  private volatile int _warmUpServiceCount;
 
   /**
    * Since the list might from the fetcher might not be complete (new behavior, old data, etc..), and the user might
@@ -81,6 +101,17 @@ public class WarmUpLoadBalancer extends LoadBalancerWithFacilitiesDelegator
   public WarmUpLoadBalancer(LoadBalancerWithFacilities balancer, WarmUpService serviceWarmupper, ScheduledExecutorService executorService,
                             String d2FsDirPath, String d2ServicePath, DownstreamServicesFetcher downstreamServicesFetcher,
                             int warmUpTimeoutSeconds, int concurrentRequests)
+  {
+    this(balancer, serviceWarmupper, executorService, d2FsDirPath, d2ServicePath, downstreamServicesFetcher,
+      warmUpTimeoutSeconds, concurrentRequests, false);
+  }
+
+  /**
+   * @param warmUpConnections whether to establish connections to the hosts of each service after reading its state
+   */
+  public WarmUpLoadBalancer(LoadBalancerWithFacilities balancer, WarmUpService serviceWarmupper, ScheduledExecutorService executorService,
+                            String d2FsDirPath, String d2ServicePath, DownstreamServicesFetcher downstreamServicesFetcher,
+                            int warmUpTimeoutSeconds, int concurrentRequests, boolean warmUpConnections)
   {
     super(balancer);
     _serviceWarmupper = serviceWarmupper;
@@ -90,6 +121,7 @@ public class WarmUpLoadBalancer extends LoadBalancerWithFacilitiesDelegator
     _downstreamServicesFetcher = downstreamServicesFetcher;
     _warmUpTimeoutSeconds = warmUpTimeoutSeconds;
     _concurrentRequests = concurrentRequests;
+    _warmUpConnections = warmUpConnections;
     _outstandingRequests = new ConcurrentLinkedDeque<>();
     _usedServices = new HashSet<>();
   }
@@ -123,12 +155,14 @@ public class WarmUpLoadBalancer extends LoadBalancerWithFacilitiesDelegator
    */
   private void warmUpServices(Callback<None> startUpCallback)
   {
+    _warmUpStartTime = SystemClock.instance().currentTimeMillis();
     Callback<None> timeoutCallback = new TimeoutCallback<>(_executorService, _warmUpTimeoutSeconds, TimeUnit.SECONDS, new Callback<None>()
     {
       @Override
       public void onError(Throwable e)
       {
         LOG.info("D2 WarmUp hit timeout, continuing startup. The WarmUp will continue in background", e);
+        logWarmUpReport();
         startUpCallback.onSuccess(None.none());
       }
 
@@ -136,6 +170,7 @@ public class WarmUpLoadBalancer extends LoadBalancerWithFacilitiesDelegator
       public void onSuccess(None result)
       {
         LOG.info("D2 WarmUp completed");
+        logWarmUpReport();
         startUpCallback.onSuccess(None.none());
       }
     }, "This message will never be used, even in case of timeout, no exception should be passed up");
@@ -145,6 +180,7 @@ public class WarmUpLoadBalancer extends LoadBalancerWithFacilitiesDelegator
       {
         // The downstreamServicesFetcher is the core group of the services that will be used during the lifecycle
         _usedServices.addAll(serviceNames);
+        _warmUpServiceCount = serviceNames.size();
 
         LOG.info("Trying to warmup {} services: [{}]", serviceNames.size(), String.join(", ", serviceNames));
 
@@ -169,6 +205,29 @@ public class WarmUpLoadBalancer extends LoadBalancerWithFacilitiesDelegator
     });
   }
 
+  /**
+   * @return the timings of the services whose warm up has completed, in order of completion
+   */
+  public List<ServiceWarmUpTiming> getWarmUpTimings()
+  {
+    return new ArrayList<>(_warmUpTimings);
+  }
+
+  private void logWarmUpReport()
+  {
+    List<ServiceWarmUpTiming> timings = getWarmUpTimings();
+    long failed = timings.stream().filter(timing -> !timing.isSucceeded()).count();
+    String slowest = timings.stream()
+      .sorted(Comparator.comparingLong(ServiceWarmUpTiming::getDurationMs).reversed())
+      .limit(REPORT_SLOWEST_SERVICES)
+      .map(timing -> timing.getServiceName() + "=" + timing.getDurationMs() + "ms"
+        + (_warmUpConnections ? " (connections " + timing.getConnectionWarmUpDurationMs() + "ms)" : ""))
+      .collect(Collectors.joining(", "));
+    LOG.info("D2 WarmUp report: {}/{} services completed in {}ms, {} failed. Slowest services: [{}]",
+      new Object[]{timings.size(), _warmUpServiceCount, SystemClock.instance().currentTimeMillis() - _warmUpStartTime,
+        failed, slowest});
+  }
+
   @Override
   public ClusterInfoProvider getClusterInfoProvider() {
     return _loadBalancer.getClusterInfoProvider();
@@ -181,6 +240,10 @@ public class WarmUpLoadBalancer extends LoadBalancerWithFacilitiesDelegator
     private Queue<String> _serviceNamesQueue;
     private Callback<None> _callback;
     private List<String> _serviceNames;
+    // connection warm ups are capped separately from the state reads, since they overlap with the reads of the
+    // next services
+    private final Semaphore _connectionWarmUpPermits;
+    private final Queue<Runnable> _pendingConnectionWarmUps;
 
     /**
      * @param serviceNames list of service names
@@ -194,6 +257,8 @@ public class WarmUpLoadBalancer extends LoadBalancerWithFacilitiesDelegator
       _requestCompletedCount = new AtomicInteger(0);
       _serviceNamesQueue = new ConcurrentLinkedDeque<>(serviceNames);
       _callback = callback;
+      _connectionWarmUpPermits = new Semaphore(_concurrentRequests);
+      _pendingConnectionWarmUps = new ConcurrentLinkedQueue<>();
     }
 
     void execute()
@@ -210,52 +275,209 @@ public class WarmUpLoadBalancer extends LoadBalancerWithFacilitiesDelegator
 
       _serviceWarmupper.warmUpService(serviceName, new Callback<None>()
       {
-        private void executeNextTask()
+        @Override
+        public void onError(Throwable e)
         {
-          if (_requestCompletedCount.incrementAndGet() == _serviceNames.size())
+          LOG.info(String.format("%s/%s Service %s failed to warm up, continuing with warm up",
+            _requestCompletedCount.get() + 1, _serviceNames.size(), serviceName), e);
+          onServiceDone(serviceName, startTime, SystemClock.instance().currentTimeMillis(), false);
+          executeNext();
+        }
+
+        @Override
+        public void onSuccess(None result)
+        {
+          final long stateEndTime = SystemClock.instance().currentTimeMillis();
+          if (!_warmUpConnections)
           {
-            _callback.onSuccess(None.none());
-            _outstandingRequests.clear();
+            LOG.info("{}/{} Service {} warmed up in {}ms", new Object[]{_requestCompletedCount.get() + 1,
+              _serviceNames.size(), serviceName, stateEndTime - startTime});
+            onServiceDone(serviceName, startTime, stateEndTime, true);
+            executeNext();
             return;
           }
-          _outstandingRequests.add(_executorService.submit(() -> execute()));
+
+          Runnable connectionWarmUp = () -> warmUpConnections(serviceName, startTime, stateEndTime);
+          if (_connectionWarmUpPermits.tryAcquire())
+          {
+            // the state of the next service is read while the connections of this one are being established
+            executeNext();
+            connectionWarmUp.run();
+          }
+          else
+          {
+            // the slot of this service is held until one of the connection warm ups in flight completes
+            _pendingConnectionWarmUps.add(connectionWarmUp);
+            startPendingConnectionWarmUps();
+          }
         }
+      });
+    }
 
+    private void warmUpConnections(String serviceName, long startTime, long stateEndTime)
+    {
+      _serviceWarmupper.warmUpConnections(serviceName, new Callback<None>()
+      {
         @Override
         public void onError(Throwable e)
         {
-          LOG.info(String.format("%s/%s Service %s failed to warm up, continuing with warm up",
+          LOG.info(String.format("%s/%s Service %s failed to warm up connections, continuing with warm up",
             _requestCompletedCount.get() + 1, _serviceNames.size(), serviceName), e);
-          executeNextTask();
+          _executorService.execute(() -> onConnectionWarmUpDone(serviceName, startTime, stateEndTime, false));
         }
 
         @Override
         public void onSuccess(None result)
         {
-          LOG.info("{}/{} Service {} warmed up in {}ms", new Object[]{_requestCompletedCount.get() + 1, _serviceNames.size(),
-            serviceName, SystemClock.instance().currentTimeMillis() - startTime});
-          executeNextTask();
+          LOG.info("{}/{} Service {} warmed up in {}ms, including connections in {}ms",
+            new Object[]{_requestCompletedCount.get() + 1, _serviceNames.size(), serviceName,
+              SystemClock.instance().currentTimeMillis() - startTime,
+              SystemClock.instance().currentTimeMillis() - stateEndTime});
+          _executorService.execute(() -> onConnectionWarmUpDone(serviceName, startTime, stateEndTime, true));
         }
       });
     }
+
+    private void onConnectionWarmUpDone(String serviceName, long startTime, long stateEndTime, boolean succeeded)
+    {
+      onServiceDone(serviceName, startTime, stateEndTime, succeeded);
+      _connectionWarmUpPermits.release();
+      startPendingConnectionWarmUps();
+    }
+
+    /**
+     * Starts the connection warm ups that were waiting for a permit, passing the slot each of them held on to the
+     * next service.
+     */
+    private void startPendingConnectionWarmUps()
+    {
+      while (!_pendingConnectionWarmUps.isEmpty() && _connectionWarmUpPermits.tryAcquire())
+      {
+        Runnable connectionWarmUp = _pendingConnectionWarmUps.poll();
+        if (connectionWarmUp == null)
+        {
+          _connectionWarmUpPermits.release();
+          continue;
+        }
+        executeNext();
+        connectionWarmUp.run();
+      }
+    }
+
+    private void executeNext()
+    {
+      if (!_serviceNamesQueue.isEmpty() && !_shuttingDown)
+      {
+        _outstandingRequests.add(_executorService.submit(this::execute));
+      }
+    }
+
+    /**
+     * @param stateEndTime the time at which the state of the service was read
+     */
+    private void onServiceDone(String serviceName, long startTime, long stateEndTime, boolean succeeded)
+    {
+      long endTime = SystemClock.instance().currentTimeMillis();
+      long connectionWarmUpDuration = _warmUpConnections ? endTime - stateEndTime : 0;
+      _warmUpTimings.add(new ServiceWarmUpTiming(serviceName, startTime - _warmUpStartTime, endTime - startTime,
+        connectionWarmUpDuration, succeeded));
+
+      if (_requestCompletedCount.incrementAndGet() == _serviceNames.size())
+      {
+        _callback.onSuccess(None.none());
+        _outstandingRequests.clear();
+      }
+    }
+  }
+
+  /**
+   * The time taken to warm up one service.
+   */
+  public static class ServiceWarmUpTiming
+  {
+    private final String _serviceName;
+    private final long _startOffsetMs;
+    private final long _durationMs;
+    private final long _connectionWarmUpDurationMs;
+    private final boolean _succeeded;
+
+    ServiceWarmUpTiming(String serviceName, long startOffsetMs, long durationMs, long connectionWarmUpDurationMs,
+                        boolean succeeded)
+    {
+      _serviceName = serviceName;
+      _startOffsetMs = startOffsetMs;
+      _durationMs = durationMs;
+      _connectionWarmUpDurationMs = connectionWarmUpDurationMs;
+      _succeeded = succeeded;
+    }
+
+    public String getServiceName()
+    {
+      return _serviceName;
+    }
+
+    /**
+     * @return the time between the start of the warm up and the start of the warm up of this service
+     */
+    public long getStartOffsetMs()
+    {
+      return _startOffsetMs;
+    }
+
+    /**
+     * @return the time taken to warm up this service, including its connections
+     */
+    public long getDurationMs()
+    {
+      return _durationMs;
+    }
+
+    /**
+     * @return the part of {@link #getDurationMs()} spent establishing connections, 0 if connection warm up is disabled
+     */
+    public long getConnectionWarmUpDurationMs()
+    {
+      return _connectionWarmUpDurationMs;
+    }
+
+    public boolean isSucceeded()
+    {
+      return _succeeded;
+    }
+
+    @Override
+    public String toString()
+    {
+      return "ServiceWarmUpTiming [_serviceName=" + _serviceName + ", _startOffsetMs=" + _startOffsetMs
+        + ", _durationMs=" + _durationMs + ", _connectionWarmUpDurationMs=" + _connectionWarmUpDurationMs
+        + ", _succeeded=" + _succeeded + "]";
+    }
   }
 
   @Override
   public void shutdown(PropertyEventThread.PropertyEventShutdownCallback shutdown)
   {
+    PropertyEventThread.PropertyEventShutdownCallback shutdownCallback = shutdown;
     // avoid cleaning when you risk to have partial results since some of the services have not loaded yet
     if (_outstandingRequests.size() == 0)
     {
-      // cleanup from unused services
-      FileSystemDirectory fsDirectory = new FileSystemDirectory(_d2FsDirPath, _d2ServicePath);
-      fsDirectory.removeAllServicesWithExcluded(_usedServices);
-      fsDirectory.removeAllClustersWithExcluded(getUsedClusters());
+      // the used clusters are looked up before the load balancer shuts down, while the unused services are removed
+      // once its stores are closed, since a SegmentFileStore cannot be modified while another store has it open
+      Set<String> usedClusters = getUsedClusters();
+      shutdownCallback = () ->
+      {
+        // cleanup from unused services
+        FileSystemDirectory fsDirectory = new FileSystemDirectory(_d2FsDirPath, _d2ServicePath);
+        fsDirectory.removeAllServicesWithExcluded(_usedServices);
+        fsDirectory.removeAllClustersWithExcluded(usedClusters);
+        shutdown.done();
+      };
     }
 
     _shuttingDown = true;
     _outstandingRequests.forEach(future -> future.cancel(true));
     _outstandingRequests.clear();
-    _loadBalancer.shutdown(shutdown);
+    _loadBalancer.shutdown(shutdownCallback);
   }
 
   private Set<String> getUsedClusters()
@@ -22,6 +22,8 @@ import java.util.List;
 
 /**
  * The interface should return the list of services that will be probably contacted by D2 during its lifecycle.
+ * The services are warmed up in the order of the list, so implementations should return the most important
+ * services first.
  *
  * @author Francesco Capponi (fcapponi@linkedin.com)
  */
@@ -0,0 +1,103 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.d2.balancer.util.hashing;
+
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * A {@link URIRegexHash} which matches all the expressions with a {@link MultiPatternMatcher} and hashes the capture
+ * groups in place. It accepts the same configuration and returns the same hash values as {@link URIRegexHash}, but
+ * does not create a {@link java.util.regex.Matcher} nor the key substrings for the expressions supported by
+ * {@link MultiPatternMatcher}.
+ */
+public class CompiledURIRegexHash extends URIRegexHash
+{
+  private static final Logger LOG = LoggerFactory.getLogger(CompiledURIRegexHash.class);
+
+  private final MultiPatternMatcher _matcher;
+  private final ThreadLocal<int[]> _groupBounds;
+  private final MD5Hash _md5 = new MD5Hash();
+
+  /**
+   * @see URIRegexHash#URIRegexHash(Map)
+   */
+  @SuppressWarnings("unchecked")
+  public CompiledURIRegexHash(Map<String, Object> config)
+  {
+    super(config);
+    _matcher = new MultiPatternMatcher((List<String>) config.get(KEY_REGEXES));
+    _groupBounds = ThreadLocal.withInitial(_matcher::newGroupBounds);
+  }
+
+  public CompiledURIRegexHash(List<String> patterns, boolean failOnNoMatch, boolean warnOnNoMatch)
+  {
+    super(patterns, failOnNoMatch, warnOnNoMatch);
+    _matcher = new MultiPatternMatcher(patterns);
+    _groupBounds = ThreadLocal.withInitial(_matcher::newGroupBounds);
+  }
+
+  @Override
+  long hashMatched(String uriString)
+  {
+    int[] groupBounds = _groupBounds.get();
+    int patternIndex = _matcher.find(uriString, 0, groupBounds);
+    while (patternIndex != MultiPatternMatcher.NO_MATCH)
+    {
+      int count = _matcher.getGroupCount(patternIndex);
+      if (count > 0)
+      {
+        String[] keyTokens = null;
+        for (int i = 1; i <= count; i++)
+        {
+          if (groupBounds[2 * i] < 0)
+          {
+            // keep the behavior of URIRegexHash for groups which did not participate in the match
+            keyTokens = getKeyTokens(uriString, groupBounds, count);
+            break;
+          }
+        }
+        if (LOG.isDebugEnabled())
+        {
+          LOG.debug("URI {} matched pattern {} with result: {}", new Object[]{uriString,
+            _matcher.getPatterns().get(patternIndex).pattern(),
+            String.join("", getKeyTokens(uriString, groupBounds, count))});
+        }
+        return keyTokens == null ? _md5.hash(uriString, groupBounds, count) : _md5.hash(keyTokens);
+      }
+      LOG.warn("Ignoring pattern '{}' which matched but produced no capture groups for URI '{}'",
+        _matcher.getPatterns().get(patternIndex), uriString);
+      patternIndex = _matcher.find(uriString, patternIndex + 1, groupBounds);
+    }
+    return NO_MATCH;
+  }
+
+  private static String[] getKeyTokens(String uriString, int[] groupBounds, int count)
+  {
+    String[] keyTokens = new String[count];
+    for (int i = 1; i <= count; i++)
+    {
+      int start = groupBounds[2 * i];
+      keyTokens[i - 1] = start < 0 ? null : uriString.substring(start, groupBounds[2 * i + 1]);
+    }
+    return keyTokens;
+  }
+}
@@ -31,7 +31,6 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
@@ -123,38 +122,19 @@ public class ConsistentHashKeyMapper implements KeyMapper
     // first collect unmappedkeys in ditributing keys to partitions
     unmappedKeys.addAll(keyToPartitionResult.getUnmappedKeys());
 
-    // for each partition, distribute keys to different server uris
+    // for each partition, distribute keys to different server uris, directly into the result
     for (Map.Entry<Ring<URI>, Collection<K>> entry : ringToKeys.entrySet())
     {
-      MapKeyResult<URI, K> keyToHostResult = doMapKeys(entry.getKey(), entry.getValue());
-
-      // collect map key to host result
-      Map<URI, Collection<K>> hostToKeys = keyToHostResult.getMapResult();
-      for (Map.Entry<URI, Collection<K>> hostEntry : hostToKeys.entrySet())
-      {
-        URI uri = hostEntry.getKey();
-        Collection<K> collection = result.get(uri);
-        if (collection == null)
-        {
-          collection = new ArrayList<K>();
-          result.put(uri, collection);
-        }
-        collection.addAll(hostEntry.getValue());
-      }
-
-      // collect unmapped keys
-      unmappedKeys.addAll(keyToHostResult.getUnmappedKeys());
+      doMapKeys(entry.getKey(), entry.getValue(), result, unmappedKeys);
     }
 
     return new MapKeyResult<URI, K>(result, unmappedKeys);
   }
 
-  private <K> MapKeyResult<URI, K> doMapKeys(Ring<URI> ring, Iterable<K> keys)
-      throws ServiceUnavailableException
+  private <K> void doMapKeys(Ring<URI> ring, Iterable<K> keys, Map<URI, Collection<K>> result,
+      Collection<MapKeyResult.UnmappedKey<K>> unmappedKeys)
   {
     String[] keyTokens = new String[1];
-    List<MapKeyResult.UnmappedKey<K>> unmappedKeys = new ArrayList<MapKeyResult.UnmappedKey<K>>();
-    Map<URI, Collection<K>> result = new HashMap<URI, Collection<K>>();
     for (K key : keys)
     {
       keyTokens[0] = key.toString();
@@ -175,6 +155,5 @@ public class ConsistentHashKeyMapper implements KeyMapper
       }
       collection.add(key);
     }
-    return new MapKeyResult<URI, K>(result, unmappedKeys);
   }
 }
@@ -20,7 +20,7 @@ import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -47,6 +47,8 @@ public class ConsistentHashRing<T> implements Ring<T>
 {
   private static final Logger  _log = LoggerFactory.getLogger(ConsistentHashRing.class);
   private static final Charset UTF8 = Charset.forName("UTF-8");
+  // Upper bound of the prefix table size, 2^16 entries.
+  private static final int MAX_PREFIX_BITS = 16;
 
   // ConsistentHashRing should now build from the hash points generated by the HashRingFactory
   // instead of directly use MessageDigest to build up the points.
@@ -54,6 +56,14 @@ public class ConsistentHashRing<T> implements Ring<T>
   private final MessageDigest  _md;
   private final List<Point<T>> _points;
 
+  // Flat copies of the sorted points, so that lookups search an int[] instead of the point objects.
+  private int[] _hashes;
+  private Object[] _objects;
+  // _prefixStarts[p] is the index of the first point whose hash has the (sign adjusted) top bits >= p.
+  // Lookups binary search only between the starts of their prefix and the next one.
+  private int[] _prefixStarts;
+  private int _prefixShift;
+
   /**
    * Create a consistent hash ring with given points
    * @param points Point list;
@@ -63,6 +73,11 @@ public class ConsistentHashRing<T> implements Ring<T>
    *
    */
   public ConsistentHashRing(List<Point<T>> points)
+  {
+    this(points, false);
+  }
+
+  private ConsistentHashRing(List<Point<T>> points, boolean sorted)
   {
     _md = null;   // not used
     _points = points;
@@ -72,12 +87,32 @@ public class ConsistentHashRing<T> implements Ring<T>
       throw new RuntimeException("Building consistent hash ring without points");
     }
 
-    // Sort the points
-    Collections.sort(points);
+    if (sorted)
+    {
+      index();
+    }
+    else
+    {
+      // Sort the points
+      sortAndIndex();
+    }
 
     debug(_log, "Initializing consistent hash ring with {} items: ", points.size());
   }
 
+  /**
+   * Create a consistent hash ring with given points that are already sorted by hash, which skips sorting them.
+   *
+   * Note: ConsistentHashRing takes over the ownership for points and assume no
+   *       changes to the list from outside.
+   *
+   * @param sortedPoints Point list sorted by hash
+   */
+  public static <T> ConsistentHashRing<T> fromSortedPoints(List<Point<T>> sortedPoints)
+  {
+    return new ConsistentHashRing<T>(sortedPoints, true);
+  }
+
   // Next two constructors and add() function are only used by DegraderLoadBalancerStrategy V2 and V2_1,
   // which are obsoleted already. When those strategies are removed, this three functions should be removed too.
   public ConsistentHashRing(Map<T, Integer> pointMap)
@@ -153,25 +188,107 @@ public class ConsistentHashRing<T> implements Ring<T>
         _points.add(new Point<T>(t, hashInt));
       }
     }
-    Collections.sort(_points);
+    sortAndIndex();
 
     debug(_log, "re-initializing consistent hash ring with items: ", _points);
   }
 
+  /**
+   * Sorts the points by hash, keeping the order of points with equal hashes like a stable sort does, and builds the
+   * flat arrays used by lookups.
+   */
+  private void sortAndIndex()
+  {
+    int size = _points.size();
+
+    // Sort (hash, position) pairs packed in longs, which is much cheaper than sorting the point objects.
+    long[] order = new long[size];
+    for (int i = 0; i < size; i++)
+    {
+      order[i] = ((long) _points.get(i).getHash() << 32) | i;
+    }
+    Arrays.sort(order);
+
+    List<Point<T>> unsorted = new ArrayList<Point<T>>(_points);
+    for (int i = 0; i < size; i++)
+    {
+      _points.set(i, unsorted.get((int) order[i]));
+    }
+
+    index();
+  }
+
+  /**
+   * Builds the flat arrays used by lookups from the sorted points.
+   */
+  private void index()
+  {
+    int size = _points.size();
+    int[] hashes = new int[size];
+    Object[] objects = new Object[size];
+    for (int i = 0; i < size; i++)
+    {
+      Point<T> point = _points.get(i);
+      if (i > 0 && point.getHash() < hashes[i - 1])
+      {
+        throw new IllegalArgumentException("Points are not sorted by hash at index " + i);
+      }
+      hashes[i] = point.getHash();
+      objects[i] = point.getT();
+    }
+
+    int prefixBits = size <= 1 ? 0 : Math.min(MAX_PREFIX_BITS, 32 - Integer.numberOfLeadingZeros(size - 1));
+    int[] prefixStarts = new int[(1 << prefixBits) + 1];
+    int prefixShift = 32 - prefixBits;
+    int prefix = 0;
+    for (int i = 0; i < size; i++)
+    {
+      int pointPrefix = prefix(hashes[i], prefixShift);
+      while (prefix <= pointPrefix)
+      {
+        prefixStarts[prefix++] = i;
+      }
+    }
+    while (prefix < prefixStarts.length)
+    {
+      prefixStarts[prefix++] = size;
+    }
+
+    _hashes = hashes;
+    _objects = objects;
+    _prefixStarts = prefixStarts;
+    _prefixShift = prefixShift;
+  }
+
+  /**
+   * Maps the top bits of the hash to a prefix that increases with the signed hash.
+   */
+  private static int prefix(int hash, int prefixShift)
+  {
+    // Shifting a long handles a shift of 32 bits, which is used when the prefix table has a single entry.
+    return (int) (((hash ^ Integer.MIN_VALUE) & 0xFFFFFFFFL) >>> prefixShift);
+  }
+
   private int getIndex(int key)
   {
-    debug(_log, "searching for hash in ring of size ", _points.size(), " using hash: ", key);
+    debug(_log, "searching for hash in ring of size ", _hashes.length, " using hash: ", key);
 
-    int index = Collections.binarySearch(_points, new Point<T>(null, key));
+    int prefix = prefix(key, _prefixShift);
+    int index = Arrays.binarySearch(_hashes, _prefixStarts[prefix], _prefixStarts[prefix + 1], key);
 
-    // if the index is negative, then no exact match was found, and the search function is
-    // returning (-(insertionPoint) - 1).
-    if (index < 0)
+    if (index >= 0)
     {
-      index = Math.abs(index + 1);
+      // An exact match on a point. Search the whole ring so that the same point is picked among points with equal
+      // hashes as before the prefix table was introduced.
+      index = Arrays.binarySearch(_hashes, key);
+    }
+    else
+    {
+      // no exact match was found, and the search function is returning (-(insertionPoint) - 1).
+      index = -(index + 1);
     }
 
-    index = index % _points.size();
+    index = index % _hashes.length;
 
     return index;
   }
@@ -180,9 +297,10 @@ public class ConsistentHashRing<T> implements Ring<T>
    * Deterministically pick an object in the ring based on the specified key. As long as
    * the ring doesn't change, the same key will always yield the same object.
    */
+  @SuppressWarnings("unchecked")
   public T get(int key)
   {
-    if (_points.isEmpty())
+    if (_hashes.length == 0)
     {
       debug(_log, "get called on a hash ring with nothing in it");
 
@@ -191,7 +309,7 @@ public class ConsistentHashRing<T> implements Ring<T>
 
     int index = getIndex(key);
 
-    return _points.get(index).getT();
+    return (T) _objects[index];
   }
 
   /**
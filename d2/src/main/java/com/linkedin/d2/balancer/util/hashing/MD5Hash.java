@@ -33,6 +33,17 @@ public class MD5Hash implements HashFunction<String[]>
 {
   private static final Charset UTF8 = Charset.forName("UTF8");
   private static final byte[] ONE_NULL = new byte[] { 0x00 };
+  private static final ThreadLocal<MessageDigest> THREAD_DIGEST = ThreadLocal.withInitial(() -> {
+    try
+    {
+      return MessageDigest.getInstance("MD5");
+    }
+    catch (NoSuchAlgorithmException e)
+    {
+      throw new IllegalStateException(e);
+    }
+  });
+  private static final ThreadLocal<byte[]> THREAD_BUFFER = ThreadLocal.withInitial(() -> new byte[256]);
 
   public int hash(String[] keyTokens)
   {
@@ -50,6 +61,50 @@ public class MD5Hash implements HashFunction<String[]>
         ((0xffL & digest[14]) << 8) | (0xffL & digest[15]);
   }
 
+  /**
+   * Returns the same value as {@link #hash(String[])} called with capture groups 1 to groupCount of the input as key
+   * tokens, without creating the tokens.
+   *
+   * @param groupBounds the bounds of the capture groups, as filled by {@link MultiPatternMatcher#find}. All the groups
+   *                    must have participated in the match.
+   */
+  public int hash(String input, int[] groupBounds, int groupCount)
+  {
+    MessageDigest md = THREAD_DIGEST.get();
+    byte[] buffer = THREAD_BUFFER.get();
+    for (int group = 1; group <= groupCount; group++)
+    {
+      updateUTF8(md, buffer, input, groupBounds[2 * group], groupBounds[2 * group + 1]);
+      md.update(ONE_NULL);
+    }
+    byte[] digest = md.digest();
+    return ((0xff & digest[12]) << 24) | ((0xff & digest[13]) << 16) |
+        ((0xff & digest[14]) << 8) | (0xff & digest[15]);
+  }
+
+  private static void updateUTF8(MessageDigest md, byte[] buffer, String input, int start, int end)
+  {
+    int length = 0;
+    for (int i = start; i < end; i++)
+    {
+      char c = input.charAt(i);
+      if (c >= 0x80)
+      {
+        // Rare in URIs, let String handle multi-byte characters and surrogates
+        md.update(buffer, 0, length);
+        md.update(input.substring(i, end).getBytes(UTF8));
+        return;
+      }
+      if (length == buffer.length)
+      {
+        md.update(buffer, 0, length);
+        length = 0;
+      }
+      buffer[length++] = (byte) c;
+    }
+    md.update(buffer, 0, length);
+  }
+
   private byte[] getMD5Digest(String [] keyTokens)
   {
     try
@@ -18,15 +18,15 @@ package com.linkedin.d2.balancer.util.hashing;
 
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Random;
-import java.util.Set;
 import javax.annotation.Nonnull;
 import net.openhft.hashing.LongHashFunction;
 import org.slf4j.Logger;
@@ -58,10 +58,15 @@ public class MPConsistentHashRing<T> implements Ring<T>
   /* we will only use the lower 32 bit of the hash code to avoid overflow */
   private static final long MASK = 0x00000000FFFFFFFFL;
 
-  private final List<Bucket> _buckets;
+  // Buckets are stored as parallel arrays so that a lookup scans primitive arrays instead of bucket objects.
+  private final long[] _bucketHashes;
+  private final int[] _bucketPoints;
+  // index of the host of each bucket in _hosts
+  private final int[] _bucketHosts;
   private final List<T> _hosts;
   private final LongHashFunction[] _hashFunctions;
   private final int _numProbes;
+  private final int _pointsPerHost;
 
   /**
    * Creates a multi-probe consistent hash ring with DEFAULT_NUM_PROBES (21).
@@ -81,45 +86,114 @@ public class MPConsistentHashRing<T> implements Ring<T>
    */
   public MPConsistentHashRing(Map<T, Integer> pointsMap, int numProbes, int pointsPerHost)
   {
-    _buckets = new ArrayList<>(pointsMap.size());
+    this(pointsMap, numProbes, pointsPerHost, null, createHashFunctions(numProbes));
+  }
+
+  /**
+   * @param previous ring whose bucket hashes are reused for the hosts it contains, or null
+   */
+  private MPConsistentHashRing(Map<T, Integer> pointsMap,
+                               int numProbes,
+                               int pointsPerHost,
+                               MPConsistentHashRing<T> previous,
+                               LongHashFunction[] hashFunctions)
+  {
+    int bucketsPerHost = Math.max(pointsPerHost, 1);
+    Map<T, Integer> previousHosts = previous == null ? Collections.<T, Integer>emptyMap() : previous.getHostIndexes();
+    int maxBuckets = pointsMap.size() * bucketsPerHost;
+    long[] bucketHashes = new long[maxBuckets];
+    int[] bucketPoints = new int[maxBuckets];
+    int[] bucketHosts = new int[maxBuckets];
+    int numBuckets = 0;
     _hosts = new ArrayList<>(pointsMap.size());
     for (Map.Entry<T, Integer> entry : pointsMap.entrySet())
     {
       // ignore items whose point is equal to zero
-      if (entry.getValue() > 0)
+      int points = entry.getValue();
+      if (points > 0)
       {
+        int host = _hosts.size();
+        Integer previousHost = previousHosts.get(entry.getKey());
+        if (previousHost != null)
+        {
+          // the bucket hashes only depend on the host, so only the points need to be updated
+          System.arraycopy(previous._bucketHashes, previousHost * bucketsPerHost, bucketHashes, numBuckets, bucketsPerHost);
+          Arrays.fill(bucketPoints, numBuckets, numBuckets + bucketsPerHost, points);
+          Arrays.fill(bucketHosts, numBuckets, numBuckets + bucketsPerHost, host);
+          numBuckets += bucketsPerHost;
+          _hosts.add(entry.getKey());
+          continue;
+        }
+
         byte[] bytesToHash = entry.getKey().toString().getBytes(UTF8);
         long hash = HASH_FUNCTION_0.hashBytes(bytesToHash) & MASK;
-        _buckets.add(new Bucket(entry.getKey(), hash, entry.getValue()));
+        bucketHashes[numBuckets] = hash;
+        bucketPoints[numBuckets] = points;
+        bucketHosts[numBuckets++] = host;
         _hosts.add(entry.getKey());
 
         long hashOfHash = hash;
         int duplicate = pointsPerHost - 1;
         while (duplicate-- > 0) {
           hashOfHash = HASH_FUNCTION_0.hashLong(hashOfHash) & MASK;
-          _buckets.add(new Bucket(entry.getKey(), hashOfHash, entry.getValue()));
+          bucketHashes[numBuckets] = hashOfHash;
+          bucketPoints[numBuckets] = points;
+          bucketHosts[numBuckets++] = host;
         }
       }
     }
+    _bucketHashes = Arrays.copyOf(bucketHashes, numBuckets);
+    _bucketPoints = Arrays.copyOf(bucketPoints, numBuckets);
+    _bucketHosts = Arrays.copyOf(bucketHosts, numBuckets);
     _numProbes = numProbes;
-    _hashFunctions = new LongHashFunction[_numProbes];
-    for (int i = 0; i < _numProbes; i++)
+    _pointsPerHost = pointsPerHost;
+    _hashFunctions = hashFunctions;
+  }
+
+  /**
+   * Creates a multi-probe consistent hash ring with given points map, and the same number of probes and points per
+   * host as this ring. The buckets of the hosts that are already in this ring are reused instead of being hashed
+   * again, so the cost of hashing is proportional to the number of new hosts. The result is the same as creating a
+   * new ring from the points map.
+   *
+   * @param pointsMap A map between object to store in the ring and its points.
+   */
+  public MPConsistentHashRing<T> withPoints(Map<T, Integer> pointsMap)
+  {
+    return new MPConsistentHashRing<>(pointsMap, _numProbes, _pointsPerHost, this, _hashFunctions);
+  }
+
+  private Map<T, Integer> getHostIndexes()
+  {
+    Map<T, Integer> hostIndexes = new HashMap<>((int) (_hosts.size() / 0.75f) + 1);
+    for (int i = 0; i < _hosts.size(); i++)
+    {
+      hostIndexes.put(_hosts.get(i), i);
+    }
+    return hostIndexes;
+  }
+
+  private static LongHashFunction[] createHashFunctions(int numProbes)
+  {
+    LongHashFunction[] hashFunctions = new LongHashFunction[numProbes];
+    for (int i = 0; i < numProbes; i++)
     {
-      _hashFunctions[i] = LongHashFunction.xx_r39(i);
+      hashFunctions[i] = LongHashFunction.xx_r39(i);
     }
+    return hashFunctions;
   }
 
   @Override
   public T get(int key)
   {
-    if (_buckets.isEmpty())
+    if (_bucketHashes.length == 0)
     {
       LOG.debug("get called on a hash ring with nothing in it");
       return null;
     }
 
     int index = getIndex(key);
-    return _buckets.get(index).getT();
+    return _hosts.get(_bucketHosts[index]);
   }
 
   @Nonnull
@@ -135,12 +209,13 @@ public class MPConsistentHashRing<T> implements Ring<T>
     //Return an iterator that will return the hosts in ranked order based on their points.
     return new Iterator<T>()
     {
-      private final Set<T> _iterated = new HashSet<>();
+      private final boolean[] _iterated = new boolean[_hosts.size()];
+      private int _numIterated = 0;
 
       @Override
       public boolean hasNext()
       {
-        return _iterated.size() < _hosts.size();
+        return _numIterated < _hosts.size();
       }
 
       @Override
@@ -151,32 +226,51 @@ public class MPConsistentHashRing<T> implements Ring<T>
           throw new NoSuchElementException();
         }
 
-        int index = getIndex(key, _iterated);
-        T item = _buckets.get(index).getT();
-        _iterated.add(item);
-        return item;
+        int host = _bucketHosts[getIndex(key, _iterated)];
+        _iterated[host] = true;
+        _numIterated++;
+        return _hosts.get(host);
       }
     };
   }
 
   private int getIndex(int key)
   {
-    return getIndex(key, Collections.emptySet());
+    float minDistance = Float.MAX_VALUE;
+    int index = 0;
+    for (int i = 0; i < _numProbes; i++)
+    {
+      long hash = _hashFunctions[i].hashInt(key) & MASK;
+      for (int j = 0; j < _bucketHashes.length; j++)
+      {
+        float distance = Math.abs(_bucketHashes[j] - hash) / (float) _bucketPoints[j];
+        if (distance < minDistance)
+        {
+          minDistance = distance;
+          index = j;
+        }
+      }
+    }
+    return index;
   }
 
-  private int getIndex(int key, Set<T> excludes)
+  /**
+   * Same as {@link #getIndex(int)}, but skips the buckets of the excluded hosts.
+   *
+   * @param excludedHosts whether each host in {@link #_hosts} is excluded
+   */
+  private int getIndex(int key, boolean[] excludedHosts)
   {
     float minDistance = Float.MAX_VALUE;
     int index = 0;
     for (int i = 0; i < _numProbes; i++)
     {
       long hash = _hashFunctions[i].hashInt(key) & MASK;
-      for (int j = 0; j < _buckets.size(); j++)
+      for (int j = 0; j < _bucketHashes.length; j++)
       {
-        Bucket bucket = _buckets.get(j);
-        if (!excludes.contains(bucket.getT()))
+        if (!excludedHosts[_bucketHosts[j]])
         {
-          float distance = Math.abs(bucket.getHash() - hash) / (float) bucket.getPoints();
+          float distance = Math.abs(_bucketHashes[j] - hash) / (float) _bucketPoints[j];
           if (distance < minDistance)
           {
             minDistance = distance;
@@ -191,7 +285,18 @@ public class MPConsistentHashRing<T> implements Ring<T>
   @Override
   public String toString()
   {
-    return "MPConsistentHashRing [" + _buckets + "]";
+    StringBuilder buckets = new StringBuilder("[");
+    for (int i = 0; i < _bucketHashes.length; i++)
+    {
+      if (i > 0)
+      {
+        buckets.append(", ");
+      }
+      buckets.append("Bucket [_hash=").append(_bucketHashes[i])
+          .append(", _t=").append(_hosts.get(_bucketHosts[i]))
+          .append(", _points=").append(_bucketPoints[i]).append("]");
+    }
+    return "MPConsistentHashRing [" + buckets.append("]") + "]";
   }
 
   @Override
@@ -205,41 +310,6 @@ public class MPConsistentHashRing<T> implements Ring<T>
     return _hosts.isEmpty();
   }
 
-  private class Bucket
-  {
-    private final T _t;
-    private final long _hash;
-    private final int _points;
-
-    public Bucket(T t, long hash, int points)
-    {
-      _t = t;
-      _hash = hash;
-      _points = points;
-    }
-
-    public T getT()
-    {
-      return _t;
-    }
-
-    public long getHash()
-    {
-      return _hash;
-    }
-
-    public int getPoints()
-    {
-      return _points;
-    }
-
-    @Override
-    public String toString()
-    {
-      return "Bucket [_hash=" + _hash + ", _t=" + _t + ", _points=" + _points + "]";
-    }
-  }
-
   /**
    * Other than returning the most wanted host when called for the FIRST time,
    * this iterator DOES NOT follow the ranking based on the points of the host.
@@ -0,0 +1,446 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.d2.balancer.util.hashing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * Matches a URI against an ordered list of regular expressions, all compiled once, and reports the bounds of the
+ * capture groups of the first expression that matches.
+ *
+ * Expressions of the form <code>[^]literal(class+)[$]</code>, where class is <code>\d</code>, <code>\w</code>,
+ * <code>.</code> or a simple bracketed class such as <code>[^/?&amp;]</code> and the quantifier is <code>+</code> or
+ * <code>*</code>, are matched by searching for the literal and scanning the following characters against a lookup
+ * table. This covers the expressions commonly used for sticky routing and partition keys, for example
+ * <code>/(\d+)</code> or <code>key=([A-Za-z0-9\-_]+)</code>, and does not allocate. Any other expression falls back
+ * to {@link Pattern}, with the same results.
+ *
+ * The group bounds are reported the same way as {@link Matcher#start(int)} and {@link Matcher#end(int)}: group i
+ * starts at <code>groupBounds[2 * i]</code> and ends at <code>groupBounds[2 * i + 1]</code>, group 0 being the
+ * whole match, and both are -1 if the group did not participate in the match.
+ */
+public class MultiPatternMatcher
+{
+  public static final int NO_MATCH = -1;
+
+  private final List<Pattern> _patterns;
+  private final LiteralPattern[] _literalPatterns;
+  private final int[] _groupCounts;
+  private final int _maxGroupCount;
+
+  public MultiPatternMatcher(List<String> regexes)
+  {
+    List<Pattern> patterns = new ArrayList<>(regexes.size());
+    _literalPatterns = new LiteralPattern[regexes.size()];
+    _groupCounts = new int[regexes.size()];
+    int maxGroupCount = 0;
+    for (int i = 0; i < regexes.size(); i++)
+    {
+      Pattern pattern = Pattern.compile(regexes.get(i));
+      patterns.add(pattern);
+      _literalPatterns[i] = LiteralPattern.parse(pattern.pattern());
+      _groupCounts[i] = pattern.matcher("").groupCount();
+      maxGroupCount = Math.max(maxGroupCount, _groupCounts[i]);
+    }
+    _patterns = Collections.unmodifiableList(patterns);
+    _maxGroupCount = maxGroupCount;
+  }
+
+  public List<Pattern> getPatterns()
+  {
+    return _patterns;
+  }
+
+  public int getGroupCount(int patternIndex)
+  {
+    return _groupCounts[patternIndex];
+  }
+
+  /**
+   * @return an array large enough to hold the group bounds of any of the patterns
+   */
+  public int[] newGroupBounds()
+  {
+    return new int[2 * (_maxGroupCount + 1)];
+  }
+
+  /**
+   * @return true if the pattern is matched without {@link Pattern}
+   */
+  boolean isLiteralPattern(int patternIndex)
+  {
+    return _literalPatterns[patternIndex] != null;
+  }
+
+  /**
+   * Finds the first pattern, starting from fromPatternIndex, that matches part of the input.
+   *
+   * @param groupBounds receives the bounds of the capture groups of the matching pattern, see
+   *                    {@link #newGroupBounds()}
+   * @return the index of the matching pattern or {@link #NO_MATCH}
+   */
+  public int find(String input, int fromPatternIndex, int[] groupBounds)
+  {
+    for (int i = fromPatternIndex; i < _patterns.size(); i++)
+    {
+      LiteralPattern literalPattern = _literalPatterns[i];
+      if (literalPattern != null)
+      {
+        if (literalPattern.find(input, groupBounds))
+        {
+          return i;
+        }
+      }
+      else
+      {
+        Matcher matcher = _patterns.get(i).matcher(input);
+        if (matcher.find())
+        {
+          for (int group = 0; group <= _groupCounts[i]; group++)
+          {
+            groupBounds[2 * group] = matcher.start(group);
+            groupBounds[2 * group + 1] = matcher.end(group);
+          }
+          return i;
+        }
+      }
+    }
+    return NO_MATCH;
+  }
+
+  /**
+   * A pattern made of an optional anchor, a literal and a single capture group repeating one character class.
+   */
+  private static class LiteralPattern
+  {
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+    private static final String LINE_TERMINATORS = "\n\r\u0085\u2028\u2029";
+
+    private final boolean _anchoredStart;
+    private final String _literal;
+    private final CharClass _charClass;
+    private final boolean _allowEmpty;
+    private final boolean _anchoredEnd;
+
+    private LiteralPattern(boolean anchoredStart, String literal, CharClass charClass, boolean allowEmpty,
+        boolean anchoredEnd)
+    {
+      _anchoredStart = anchoredStart;
+      _literal = literal;
+      _charClass = charClass;
+      _allowEmpty = allowEmpty;
+      _anchoredEnd = anchoredEnd;
+    }
+
+    boolean find(String input, int[] groupBounds)
+    {
+      int length = input.length();
+      int start = _anchoredStart ? (input.startsWith(_literal) ? 0 : -1) : input.indexOf(_literal);
+      while (start >= 0)
+      {
+        int keyStart = start + _literal.length();
+        int keyEnd = keyStart;
+        while (keyEnd < length && _charClass.matches(input.charAt(keyEnd)))
+        {
+          keyEnd++;
+        }
+        if ((_allowEmpty || keyEnd > keyStart) && (!_anchoredEnd || isAtEnd(input, keyEnd)))
+        {
+          groupBounds[0] = start;
+          groupBounds[1] = keyEnd;
+          groupBounds[2] = keyStart;
+          groupBounds[3] = keyEnd;
+          return true;
+        }
+        if (_anchoredStart || start >= length)
+        {
+          return false;
+        }
+        start = input.indexOf(_literal, start + 1);
+      }
+      return false;
+    }
+
+    /**
+     * Mirrors <code>$</code>, which also matches before a line terminator at the end of the input.
+     */
+    private static boolean isAtEnd(String input, int index)
+    {
+      int remaining = input.length() - index;
+      if (remaining == 0)
+      {
+        return true;
+      }
+      if (remaining == 1)
+      {
+        return LINE_TERMINATORS.indexOf(input.charAt(index)) >= 0;
+      }
+      return remaining == 2 && input.charAt(index) == '\r' && input.charAt(index + 1) == '\n';
+    }
+
+    /**
+     * @return the parsed pattern, or null if the regex is not of the supported form
+     */
+    static LiteralPattern parse(String regex)
+    {
+      int position = 0;
+      boolean anchoredStart = false;
+      if (regex.startsWith("^"))
+      {
+        anchoredStart = true;
+        position++;
+      }
+
+      StringBuilder literal = new StringBuilder();
+      while (position < regex.length() && regex.charAt(position) != '(')
+      {
+        char c = regex.charAt(position);
+        if (c == '\\')
+        {
+          if (position + 1 >= regex.length() || Character.isLetterOrDigit(regex.charAt(position + 1)))
+          {
+            return null;
+          }
+          literal.append(regex.charAt(position + 1));
+          position += 2;
+        }
+        else if (META_CHARACTERS.indexOf(c) >= 0)
+        {
+          return null;
+        }
+        else
+        {
+          literal.append(c);
+          position++;
+        }
+      }
+      if (position >= regex.length())
+      {
+        return null;
+      }
+      position++;
+
+      CharClass charClass;
+      if (regex.startsWith("\\d", position) || regex.startsWith("\\w", position))
+      {
+        charClass = new CharClass(false);
+        charClass.addShorthand(regex.charAt(position + 1));
+        position += 2;
+      }
+      else if (regex.startsWith(".", position))
+      {
+        charClass = CharClass.dot();
+        position++;
+      }
+      else if (regex.startsWith("[", position))
+      {
+        int end = regex.indexOf(']', position + 1);
+        while (end > 0 && isEscaped(regex, end))
+        {
+          end = regex.indexOf(']', end + 1);
+        }
+        if (end < 0)
+        {
+          return null;
+        }
+        charClass = CharClass.parse(regex.substring(position + 1, end));
+        position = end + 1;
+      }
+      else
+      {
+        return null;
+      }
+      if (charClass == null || position >= regex.length())
+      {
+        return null;
+      }
+
+      char quantifier = regex.charAt(position);
+      if (quantifier != '+' && quantifier != '*')
+      {
+        return null;
+      }
+      position++;
+      if (!regex.startsWith(")", position))
+      {
+        return null;
+      }
+      position++;
+
+      boolean anchoredEnd = false;
+      if (position == regex.length() - 1 && regex.charAt(position) == '$')
+      {
+        anchoredEnd = true;
+        position++;
+      }
+      if (position != regex.length())
+      {
+        return null;
+      }
+      return new LiteralPattern(anchoredStart, literal.toString(), charClass, quantifier == '*', anchoredEnd);
+    }
+
+    private static boolean isEscaped(String regex, int index)
+    {
+      int backslashes = 0;
+      for (int i = index - 1; i >= 0 && regex.charAt(i) == '\\'; i--)
+      {
+        backslashes++;
+      }
+      return backslashes % 2 == 1;
+    }
+  }
+
+  /**
+   * A set of characters, with a lookup table for ASCII characters.
+   */
+  private static class CharClass
+  {
+    private static final int ASCII = 128;
+
+    private final boolean[] _ascii = new boolean[ASCII];
+    private final boolean _nonAscii;
+    private final boolean _lineTerminators;
+
+    private CharClass(boolean nonAscii)
+    {
+      this(nonAscii, nonAscii);
+    }
+
+    private CharClass(boolean nonAscii, boolean lineTerminators)
+    {
+      _nonAscii = nonAscii;
+      _lineTerminators = lineTerminators;
+    }
+
+    boolean matches(char c)
+    {
+      if (c < ASCII)
+      {
+        return _ascii[c];
+      }
+      if (!_lineTerminators && (c == '\u0085' || c == '\u2028' || c == '\u2029'))
+      {
+        return false;
+      }
+      return _nonAscii;
+    }
+
+    static CharClass dot()
+    {
+      CharClass charClass = new CharClass(true, false);
+      for (char c = 0; c < ASCII; c++)
+      {
+        charClass._ascii[c] = c != '\n' && c != '\r';
+      }
+      return charClass;
+    }
+
+    /**
+     * Parses the content of a bracketed class made of characters, escaped characters, ranges, <code>\d</code> and
+     * <code>\w</code>, optionally negated.
+     */
+    static CharClass parse(String content)
+    {
+      boolean negated = content.startsWith("^");
+      int position = negated ? 1 : 0;
+      if (position >= content.length() || content.contains("[") || content.contains("&&"))
+      {
+        return null;
+      }
+
+      CharClass charClass = new CharClass(negated);
+      Arrays.fill(charClass._ascii, negated);
+      while (position < content.length())
+      {
+        char c = content.charAt(position);
+        if (c == '\\')
+        {
+          if (position + 1 >= content.length())
+          {
+            return null;
+          }
+          char escaped = content.charAt(position + 1);
+          position += 2;
+          if (escaped == 'd' || escaped == 'w')
+          {
+            charClass.addShorthand(escaped);
+            continue;
+          }
+          if (Character.isLetterOrDigit(escaped))
+          {
+            return null;
+          }
+          c = escaped;
+        }
+        else
+        {
+          position++;
+        }
+
+        char last = c;
+        if (position + 1 < content.length() && content.charAt(position) == '-')
+        {
+          last = content.charAt(position + 1);
+          if (last == '\\')
+          {
+            if (position + 2 >= content.length() || Character.isLetterOrDigit(content.charAt(position + 2)))
+            {
+              return null;
+            }
+            last = content.charAt(position + 2);
+            position++;
+          }
+          position += 2;
+          if (last < c)
+          {
+            return null;
+          }
+        }
+        if (last >= ASCII)
+        {
+          return null;
+        }
+        for (char member = c; member <= last; member++)
+        {
+          charClass._ascii[member] = !negated;
+        }
+      }
+      return charClass;
+    }
+
+    private void addShorthand(char shorthand)
+    {
+      for (char c = 0; c < ASCII; c++)
+      {
+        boolean member = (c >= '0' && c <= '9')
+          || (shorthand == 'w' && ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_'));
+        if (member)
+        {
+          _ascii[c] = !_nonAscii;
+        }
+      }
+    }
+  }
+}
@@ -49,6 +49,10 @@ import org.slf4j.LoggerFactory;
  * It uses the {@link Ring}s in {@link com.linkedin.d2.balancer.strategies.degrader.DegraderLoadBalancerStrategyV3} to perform
  * sticky routing. If DegraderLoadBalancerStrategy is not used, host selection will be random.
  *
+ * When created with a plan cache size, the partition id, hash code and host of the request URIs are cached per
+ * service, see {@link UriMappingPlanCache}, which saves the partition key and sticky key matching of batch requests
+ * sent again with the same keys.
+ *
  * @author Alex Jing
  */
 
@@ -59,11 +63,22 @@ public class RingBasedUriMapper implements URIMapper
 
   private final HashRingProvider _hashRingProvider;
   private final PartitionInfoProvider _partitionInfoProvider;
+  private final UriMappingPlanCache _planCache;
 
   public RingBasedUriMapper(HashRingProvider hashRingProvider, PartitionInfoProvider partitionInfoProvider)
+  {
+    this(hashRingProvider, partitionInfoProvider, 0);
+  }
+
+  /**
+   * @param planCacheSize maximum number of request URIs whose mapping is cached per service, 0 to disable the cache
+   */
+  public RingBasedUriMapper(HashRingProvider hashRingProvider, PartitionInfoProvider partitionInfoProvider,
+      int planCacheSize)
   {
     _hashRingProvider = hashRingProvider;
     _partitionInfoProvider = partitionInfoProvider;
+    _planCache = planCacheSize > 0 ? new UriMappingPlanCache(planCacheSize) : null;
   }
 
   public RingBasedUriMapper(Facilities facilities)
@@ -71,6 +86,11 @@ public class RingBasedUriMapper implements URIMapper
     this(facilities.getHashRingProvider(), facilities.getPartitionInfoProvider());
   }
 
+  public RingBasedUriMapper(Facilities facilities, int planCacheSize)
+  {
+    this(facilities.getHashRingProvider(), facilities.getPartitionInfoProvider(), planCacheSize);
+  }
+
   /**
    * To achieve scatter-gather, there will be two passes.
    *
@@ -105,15 +125,20 @@ public class RingBasedUriMapper implements URIMapper
     Map<Integer, Ring<URI>> rings = _hashRingProvider.getRings(sampleURI);
     HashFunction<Request> hashFunction = _hashRingProvider.getRequestHashFunction(serviceName);
 
+    // the partitions of a request with overridden partition ids do not depend on its uri, do not cache them
+    UriMappingPlanCache.ServicePlans plans = _planCache == null || requestUriKeyPairs.get(0).hasOverriddenPartitionIds()
+        ? null : _planCache.getServicePlans(serviceName, accessor, hashFunction);
+
     Map<Integer, Set<KEY>> unmapped = new HashMap<>();
 
     // Pass One
     Map<Integer, List<URIKeyPair<KEY>>> requestsByPartition =
-        distributeToPartitions(requestUriKeyPairs, accessor, unmapped);
+        distributeToPartitions(requestUriKeyPairs, accessor, plans, unmapped);
 
     // Pass Two
     Map<URI, Integer> hostToParitionId = new HashMap<>();
-    Map<URI, Set<KEY>> hostToKeySet = distributeToHosts(requestsByPartition, rings, hashFunction, hostToParitionId, unmapped);
+    Map<URI, Set<KEY>> hostToKeySet =
+        distributeToHosts(requestsByPartition, rings, hashFunction, plans, hostToParitionId, unmapped);
 
     return new URIMappingResult<KEY>(hostToKeySet, unmapped, hostToParitionId);
   }
@@ -153,7 +178,7 @@ public class RingBasedUriMapper implements URIMapper
   }
 
   private <KEY> Map<Integer, List<URIKeyPair<KEY>>> distributeToPartitions(List<URIKeyPair<KEY>> requestUriKeyPairs,
-      PartitionAccessor accessor, Map<Integer, Set<KEY>> unmapped)
+      PartitionAccessor accessor, UriMappingPlanCache.ServicePlans plans, Map<Integer, Set<KEY>> unmapped)
   {
     if (accessor.getMaxPartitionId() == 0)
     {
@@ -165,14 +190,17 @@ public class RingBasedUriMapper implements URIMapper
       return doPartitionIdOverride(requestUriKeyPairs.get(0));
     }
 
-    Map<Integer, List<URIKeyPair<KEY>>> requestListsByPartitionId = new HashMap<>();
+    int partitionCount = accessor.getMaxPartitionId() + 1;
+    int expectedRequestsPerPartition = requestUriKeyPairs.size() / partitionCount + 1;
+    Map<Integer, List<URIKeyPair<KEY>>> requestListsByPartitionId = new HashMap<>(partitionCount * 4 / 3 + 1);
 
     requestUriKeyPairs.forEach(request -> {
       try
       {
-        int partitionId = accessor.getPartitionId(request.getRequestUri());
-        requestListsByPartitionId.putIfAbsent(partitionId, new ArrayList<>());
-        requestListsByPartitionId.get(partitionId).add(request);
+        int partitionId = plans == null
+            ? accessor.getPartitionId(request.getRequestUri()) : plans.getPartitionId(request.getRequestUri());
+        requestListsByPartitionId.computeIfAbsent(partitionId, k -> new ArrayList<>(expectedRequestsPerPartition))
+            .add(request);
       }
       catch (PartitionAccessException e)
       {
@@ -196,6 +224,7 @@ public class RingBasedUriMapper implements URIMapper
       Map<Integer, List<URIKeyPair<KEY>>> requestsByParititonId,
       Map<Integer, Ring<URI>> rings,
       HashFunction<Request> hashFunction,
+      UriMappingPlanCache.ServicePlans plans,
       Map<URI, Integer> hostToPartitionId,
       Map<Integer, Set<KEY>> unmapped)
   {
@@ -208,10 +237,12 @@ public class RingBasedUriMapper implements URIMapper
     for (Map.Entry<Integer, List<URIKeyPair<KEY>>> entry : requestsByParititonId.entrySet())
     {
       int partitionId = entry.getKey();
+      Ring<URI> ring = rings.get(partitionId);
       for (URIKeyPair<KEY> request : entry.getValue())
       {
-        int hashcode = hashFunction.hash(new URIRequest(request.getRequestUri()));
-        URI resolvedHost = rings.get(partitionId).get(hashcode);
+        URI resolvedHost = plans == null
+            ? ring.get(hashFunction.hash(new URIRequest(request.getRequestUri())))
+            : plans.getHost(request.getRequestUri(), partitionId, ring);
 
         if (resolvedHost == null)
         {
@@ -56,6 +56,9 @@ public class URIRegexHash implements HashFunction<Request>
    */
   public static final String KEY_WARN_ON_NO_MATCH = "warnOnNoMatch";
 
+  /** returned by {@link #hashMatched(String)} for a URI which no expression matched */
+  static final long NO_MATCH = Long.MIN_VALUE;
+
   private static final Logger LOG = LoggerFactory.getLogger(URIRegexHash.class);
 
   private final List<Pattern> _patterns;
@@ -100,6 +103,16 @@ public class URIRegexHash implements HashFunction<Request>
   public int hash(Request request)
   {
     String uriString = request.getURI().toString();
+    long hash = hashMatched(uriString);
+    return hash == NO_MATCH ? hashNoMatch(uriString) : (int) hash;
+  }
+
+  /**
+   * @return the hash of the capture groups of the first expression matching the URI, or {@link #NO_MATCH} if no
+   *         expression matched it
+   */
+  long hashMatched(String uriString)
+  {
     for (Pattern p : _patterns)
     {
       Matcher matcher = p.matcher(uriString);
@@ -131,6 +144,14 @@ public class URIRegexHash implements HashFunction<Request>
       }
     }
 
+    return NO_MATCH;
+  }
+
+  /**
+   * Fails or returns a random hash for a URI which no expression matched, depending on the configuration.
+   */
+  protected int hashNoMatch(String uriString)
+  {
     if (_failOnNoMatch)
     {
       // TODO better exception class
@@ -0,0 +1,156 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.d2.balancer.util.hashing;
+
+import com.linkedin.d2.balancer.util.URIRequest;
+import com.linkedin.d2.balancer.util.partitions.PartitionAccessException;
+import com.linkedin.d2.balancer.util.partitions.PartitionAccessor;
+import com.linkedin.r2.message.Request;
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * Caches how {@link RingBasedUriMapper} maps request URIs of each service: the partition id, the hash code and the
+ * host.
+ *
+ * The plans of a service are dropped when its {@link PartitionAccessor} or request {@link HashFunction} changes. A
+ * cached host is only used while the ring of its partition is the same instance, since rings are rebuilt on every
+ * update, and is only cached for rings which always map a hash code to the same host. Hash codes are only cached for
+ * {@link URIRegexHash} and {@link CompiledURIRegexHash}, and not for a URI which no expression matches, since it gets
+ * a new random hash code every time.
+ *
+ * Each service keeps at most maxEntriesPerService plans, all of them being dropped when the limit is reached.
+ */
+class UriMappingPlanCache
+{
+  private final int _maxEntriesPerService;
+  private final ConcurrentMap<String, ServicePlans> _servicePlans = new ConcurrentHashMap<>();
+
+  UriMappingPlanCache(int maxEntriesPerService)
+  {
+    _maxEntriesPerService = maxEntriesPerService;
+  }
+
+  ServicePlans getServicePlans(String serviceName, PartitionAccessor accessor, HashFunction<Request> hashFunction)
+  {
+    ServicePlans plans = _servicePlans.get(serviceName);
+    if (plans == null || plans._accessor != accessor || plans._hashFunction != hashFunction)
+    {
+      plans = new ServicePlans(accessor, hashFunction);
+      _servicePlans.put(serviceName, plans);
+    }
+    return plans;
+  }
+
+  class ServicePlans
+  {
+    private final PartitionAccessor _accessor;
+    private final HashFunction<Request> _hashFunction;
+    private final boolean _cacheHashCodes;
+    private final ConcurrentMap<URI, Plan> _plans = new ConcurrentHashMap<>();
+
+    private ServicePlans(PartitionAccessor accessor, HashFunction<Request> hashFunction)
+    {
+      _accessor = accessor;
+      _hashFunction = hashFunction;
+      // subclasses may override hash(), which the cache would bypass
+      _cacheHashCodes =
+          hashFunction.getClass() == URIRegexHash.class || hashFunction.getClass() == CompiledURIRegexHash.class;
+    }
+
+    int getPartitionId(URI uri) throws PartitionAccessException
+    {
+      Plan plan = _plans.get(uri);
+      if (plan != null)
+      {
+        return plan._partitionId;
+      }
+      int partitionId = _accessor.getPartitionId(uri);
+      put(uri, new Plan(partitionId, false, 0, null, null));
+      return partitionId;
+    }
+
+    /**
+     * @return the host of the uri on the ring of its partition, or null if the ring is empty
+     */
+    URI getHost(URI uri, int partitionId, Ring<URI> ring)
+    {
+      Plan plan = _plans.get(uri);
+      if (plan != null && plan._ring == ring)
+      {
+        return plan._host;
+      }
+
+      if (plan != null && plan._hashed)
+      {
+        return cacheHost(uri, partitionId, plan._hashCode, ring);
+      }
+      if (!_cacheHashCodes)
+      {
+        return ring.get(_hashFunction.hash(new URIRequest(uri)));
+      }
+
+      URIRegexHash hashFunction = (URIRegexHash) _hashFunction;
+      String uriString = uri.toString();
+      long hashCode = hashFunction.hashMatched(uriString);
+      if (hashCode == URIRegexHash.NO_MATCH)
+      {
+        // the fallback hash code is random, it must be drawn again for every request
+        return ring.get(hashFunction.hashNoMatch(uriString));
+      }
+      return cacheHost(uri, partitionId, (int) hashCode, ring);
+    }
+
+    private URI cacheHost(URI uri, int partitionId, int hashCode, Ring<URI> ring)
+    {
+      URI host = ring.get(hashCode);
+      boolean cacheHost = host != null && (ring instanceof ConsistentHashRing || ring instanceof MPConsistentHashRing);
+      put(uri, new Plan(partitionId, true, hashCode, cacheHost ? ring : null, host));
+      return host;
+    }
+
+    private void put(URI uri, Plan plan)
+    {
+      if (_plans.size() >= _maxEntriesPerService)
+      {
+        _plans.clear();
+      }
+      _plans.put(uri, plan);
+    }
+  }
+
+  private static class Plan
+  {
+    private final int _partitionId;
+    private final boolean _hashed;
+    private final int _hashCode;
+    private final Ring<URI> _ring;
+    private final URI _host;
+
+    Plan(int partitionId, boolean hashed, int hashCode, Ring<URI> ring, URI host)
+    {
+      _partitionId = partitionId;
+      _hashed = hashed;
+      _hashCode = hashCode;
+      _ring = ring;
+      _host = host;
+    }
+  }
+}
@@ -16,31 +16,38 @@
 
 package com.linkedin.d2.balancer.util.partitions;
 
+import com.linkedin.d2.balancer.util.hashing.MultiPatternMatcher;
 import java.net.URI;
-import java.util.regex.Matcher;
+import java.util.Collections;
 import java.util.regex.Pattern;
 
 public abstract class AbstractPartitionAccessor implements PartitionAccessor
 {
   final private Pattern _pattern;
   final private int     _maxPartitionId;
+  final private MultiPatternMatcher _matcher;
+  final private ThreadLocal<int[]> _groupBounds;
 
   public AbstractPartitionAccessor(String pattenStr, int maxPartitionId)
   {
     _pattern = Pattern.compile(pattenStr);
     _maxPartitionId = maxPartitionId;
+    _matcher = new MultiPatternMatcher(Collections.singletonList(pattenStr));
+    _groupBounds = ThreadLocal.withInitial(_matcher::newGroupBounds);
   }
 
   @Override
   public int getPartitionId(URI uri) throws PartitionAccessException
   {
     final String uriString = uri.toString();
-    final Matcher matcher = _pattern.matcher(uriString);
-    if (matcher.find())
+    final int[] groupBounds = _groupBounds.get();
+    if (_matcher.find(uriString, 0, groupBounds) != MultiPatternMatcher.NO_MATCH)
     {
       // When people supply the regex, ideally there should be only on matching group (wrapped with '()')
       // which d2 would use as the partitioning key
-      final String key = matcher.group(matcher.groupCount());
+      final int group = _matcher.getGroupCount(0);
+      final int start = groupBounds[2 * group];
+      final String key = start < 0 ? null : uriString.substring(start, groupBounds[2 * group + 1]);
       return getPartitionId(key);
     }
     else
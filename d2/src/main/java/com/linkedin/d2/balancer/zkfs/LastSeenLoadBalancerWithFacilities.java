@@ -190,4 +190,10 @@ public class LastSeenLoadBalancerWithFacilities implements LoadBalancerWithFacil
   {
     _loadBalancer.warmUpService(serviceName, callback);
   }
+
+  @Override
+  public void warmUpConnections(String serviceName, Callback<None> callback)
+  {
+    _loadBalancer.warmUpConnections(serviceName, callback);
+  }
 }
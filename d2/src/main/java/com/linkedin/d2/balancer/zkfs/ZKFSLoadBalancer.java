@@ -488,6 +488,12 @@ public class ZKFSLoadBalancer
     _currentLoadBalancer.warmUpService(serviceName, callback);
   }
 
+  @Override
+  public void warmUpConnections(String serviceName, Callback<None> callback)
+  {
+    _currentLoadBalancer.warmUpConnections(serviceName, callback);
+  }
+
   /**
    * Gets the D2 facilities provided by this load balancer.
    * The facilities may only be used after the D2 layer has been initialized by calling
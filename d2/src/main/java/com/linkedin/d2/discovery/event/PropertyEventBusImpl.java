@@ -24,7 +24,9 @@ package com.linkedin.d2.discovery.event;
 import com.linkedin.d2.discovery.event.PropertyEventThread.PropertyEvent;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -35,146 +37,201 @@ import org.slf4j.LoggerFactory;
 
 
 /**
+ * The bus either runs all of its events on a single executor, or partitions them by property name across several
+ * single-threaded executors (shards). Events of the same property always run on the same shard, so they are
+ * processed in the order they were sent, while a burst of events for one property does not delay the events of
+ * properties on other shards.
+ *
+ * In the sharded mode, subscribers and the publisher are called concurrently for properties on different shards,
+ * so they have to be thread safe.
+ *
  * @author Steven Ihde
  * @version $Revision: $
  */
 
 public class PropertyEventBusImpl<T> implements PropertyEventBus<T>
 {
-  private final PropertyEventThread _thread;
-  private PropertyEventPublisher<T> _publisher;
-  private final Map<String,T> _properties = new HashMap<String,T>();
-  private final Map<String,List<PropertyEventSubscriber<T>>> _subscribers = new HashMap<String,List<PropertyEventSubscriber<T>>>();
-  private final List<PropertyEventSubscriber<T>> _allPropertySubscribers = new ArrayList<PropertyEventSubscriber<T>>();
+  private final List<Shard> _shards;
   private static final Logger _log = LoggerFactory.getLogger(PropertyEventBusImpl.class);
 
   /*
    * Concurrency considerations:
    *
-   * All data structures are unsynchronized. They are manipulated only by tasks submitted
-   * to the executor, which is assumed to be single-threaded.
+   * All data structures are unsynchronized. Each shard owns the data of its properties, which is manipulated
+   * only by tasks submitted to the executor of the shard, which is assumed to be single-threaded.
    */
 
   public PropertyEventBusImpl(ExecutorService executorService)
   {
-    _thread = new PropertyEventExecutor("PropertyEventBusImpl PropertyEventThread", executorService);
+    this(Collections.singletonList(executorService));
   }
 
   public PropertyEventBusImpl(ExecutorService executorService, PropertyEventPublisher<T> publisher)
   {
-    this(executorService);
-    _publisher = publisher;
-    _publisher.setBus(this);
+    this(Collections.singletonList(executorService), publisher);
+  }
+
+  /**
+   * Creates a bus that partitions the events by property name across the given executors.
+   *
+   * @param shardExecutors single-threaded executors, one for each shard
+   */
+  public PropertyEventBusImpl(List<? extends ExecutorService> shardExecutors)
+  {
+    if (shardExecutors.isEmpty())
+    {
+      throw new IllegalArgumentException("At least one executor is required");
+    }
+    _shards = new ArrayList<Shard>(shardExecutors.size());
+    for (int i = 0; i < shardExecutors.size(); i++)
+    {
+      String name = shardExecutors.size() == 1
+          ? "PropertyEventBusImpl PropertyEventThread"
+          : "PropertyEventBusImpl PropertyEventThread shard " + i;
+      _shards.add(new Shard(new PropertyEventExecutor(name, shardExecutors.get(i))));
+    }
+  }
+
+  public PropertyEventBusImpl(List<? extends ExecutorService> shardExecutors, PropertyEventPublisher<T> publisher)
+  {
+    this(shardExecutors);
+    for (Shard shard : _shards)
+    {
+      shard._publisher = publisher;
+    }
+    publisher.setBus(this);
   }
 
   @Override
   public void register(final PropertyEventSubscriber<T> listener)
   {
-    _thread.send(new PropertyEvent("PropertyEventBus.registerAll")
+    for (final Shard shard : _shards)
     {
-      @Override
-      public void innerRun()
+      shard._thread.send(new PropertyEvent("PropertyEventBus.registerAll")
       {
-        _allPropertySubscribers.add(listener);
-      }
-    });
+        @Override
+        public void innerRun()
+        {
+          shard._allPropertySubscribers.add(listener);
+        }
+      });
+    }
   }
 
   @Override
   public void unregister(final PropertyEventSubscriber<T> listener)
   {
-    _thread.send(new PropertyEvent("PropertyEventBus.unregisterAll")
+    for (final Shard shard : _shards)
     {
-      @Override
-      public void innerRun()
+      shard._thread.send(new PropertyEvent("PropertyEventBus.unregisterAll")
       {
-        _allPropertySubscribers.remove(listener);
-      }
-    });
+        @Override
+        public void innerRun()
+        {
+          shard._allPropertySubscribers.remove(listener);
+        }
+      });
+    }
   }
 
   @Override
   public void register(final Set<String> propertyNames,
                        final PropertyEventSubscriber<T> subscriber)
   {
-    _thread.send(new PropertyEvent("PropertyEventBus.register " + propertyNames)
+    for (Map.Entry<Shard, Set<String>> entry : partition(propertyNames).entrySet())
     {
-      public void innerRun()
+      final Shard shard = entry.getKey();
+      final Set<String> shardPropertyNames = entry.getValue();
+      shard._thread.send(new PropertyEvent("PropertyEventBus.register " + shardPropertyNames)
       {
-        for (final String prop : propertyNames)
+        public void innerRun()
         {
-          boolean initialized;
-          boolean notifyPublisher = false;
-          initialized = _properties.containsKey(prop);
-          List<PropertyEventSubscriber<T>> listeners = _subscribers.get(prop);
-          if (listeners == null)
-          {
-            listeners = new ArrayList<PropertyEventSubscriber<T>>();
-            _subscribers.put(prop, listeners);
-          }
-          if (listeners.isEmpty())
+          for (final String prop : shardPropertyNames)
           {
-            notifyPublisher = true;
-          }
-          listeners.add(subscriber);
-          if (initialized)
-          {
-            subscriber.onInitialize(prop, _properties.get(prop));
-          }
-          if (notifyPublisher)
-          {
-            _publisher.startPublishing(prop);
+            boolean initialized;
+            boolean notifyPublisher = false;
+            initialized = shard._properties.containsKey(prop);
+            List<PropertyEventSubscriber<T>> listeners = shard._subscribers.get(prop);
+            if (listeners == null)
+            {
+              listeners = new ArrayList<PropertyEventSubscriber<T>>();
+              shard._subscribers.put(prop, listeners);
+            }
+            if (listeners.isEmpty())
+            {
+              notifyPublisher = true;
+            }
+            listeners.add(subscriber);
+            if (initialized)
+            {
+              subscriber.onInitialize(prop, shard._properties.get(prop));
+            }
+            if (notifyPublisher)
+            {
+              shard._publisher.startPublishing(prop);
+            }
           }
         }
-      }
-    });
+      });
+    }
   }
 
   @Override
   public void unregister(final Set<String> propertyNames,
                          final PropertyEventSubscriber<T> subscriber)
   {
-    _thread.send(new PropertyEvent("PropertyEventBus.unregister " + propertyNames)
+    for (Map.Entry<Shard, Set<String>> entry : partition(propertyNames).entrySet())
     {
-      public void innerRun()
+      final Shard shard = entry.getKey();
+      final Set<String> shardPropertyNames = entry.getValue();
+      shard._thread.send(new PropertyEvent("PropertyEventBus.unregister " + shardPropertyNames)
       {
-        for (final String prop : propertyNames)
+        public void innerRun()
         {
-          List<PropertyEventSubscriber<T>> subscribers = _subscribers.get(prop);
-          if (subscribers != null)
+          for (final String prop : shardPropertyNames)
           {
-            subscribers.remove(subscriber);
-            if (subscribers.isEmpty())
+            List<PropertyEventSubscriber<T>> subscribers = shard._subscribers.get(prop);
+            if (subscribers != null)
             {
-              _properties.remove(prop);
-              _publisher.stopPublishing(prop);
+              subscribers.remove(subscriber);
+              if (subscribers.isEmpty())
+              {
+                shard._properties.remove(prop);
+                shard._publisher.stopPublishing(prop);
+              }
             }
           }
         }
-      }
-    });
+      });
+    }
   }
 
   @Override
   public void setPublisher(final PropertyEventPublisher<T> publisher)
   {
-
-    _thread.send(new PropertyEvent("PropertyEventBus.setPublisher")
+    // The first shard sets the bus of the publisher before any shard starts publishing with it, and then hands
+    // the publisher over to the other shards.
+    final Shard first = _shards.get(0);
+    first._thread.send(new PropertyEvent("PropertyEventBus.setPublisher")
     {
       public void innerRun()
       {
-        if (_publisher != null)
+        first.stopPublishing();
+        first._publisher = publisher;
+        publisher.setBus(PropertyEventBusImpl.this);
+        first.startPublishing();
+
+        for (final Shard shard : _shards.subList(1, _shards.size()))
         {
-          for (String propertyName : _subscribers.keySet())
+          shard._thread.send(new PropertyEvent("PropertyEventBus.setPublisher")
           {
-            _publisher.stopPublishing(propertyName);
-          }
-        }
-        _publisher = publisher;
-        _publisher.setBus(PropertyEventBusImpl.this);
-        for (String propertyName : _subscribers.keySet())
-        {
-          _publisher.startPublishing(propertyName);
+            public void innerRun()
+            {
+              shard.stopPublishing();
+              shard._publisher = publisher;
+              shard.startPublishing();
+            }
+          });
         }
       }
     });
@@ -188,16 +245,17 @@ public class PropertyEventBusImpl<T> implements PropertyEventBus<T>
       _log.warn("Received a null event during publishInitialize for String prop = " + prop +
                     ". Still publishing the null event.");
     }
-    _thread.send(new PropertyEvent("PropertyEventBus.publishInitialize " + prop)
+    final Shard shard = shard(prop);
+    shard._thread.send(new PropertyEvent("PropertyEventBus.publishInitialize " + prop)
     {
       public void innerRun()
       {
         // Because the bus can switch publishers, a new publisher may consider an event
         // an "initialize", but if the bus has previously seen that property, we will treat
         // it as an "add" so that the publisher change will be transparent to the clients.
-        boolean doAdd = _properties.containsKey(prop);
-        _properties.put(prop, value);
-        List<PropertyEventSubscriber<T>> waiters = subscribers(prop);
+        boolean doAdd = shard._properties.containsKey(prop);
+        shard._properties.put(prop, value);
+        List<PropertyEventSubscriber<T>> waiters = shard.subscribers(prop);
         for (final PropertyEventSubscriber<T> waiter : waiters)
         {
           if (doAdd)
@@ -221,15 +279,16 @@ public class PropertyEventBusImpl<T> implements PropertyEventBus<T>
       _log.warn("Received a null event during publishAdd for String prop = " + prop +
                     ". Still publishing the null event.");
     }
-    _thread.send(new PropertyEvent("PropertyEventBus.publishAdd " + prop)
+    final Shard shard = shard(prop);
+    shard._thread.send(new PropertyEvent("PropertyEventBus.publishAdd " + prop)
     {
       public void innerRun()
       {
         // Ignore unless the property has been initialized
-        if (_properties.containsKey(prop))
+        if (shard._properties.containsKey(prop))
         {
-          _properties.put(prop, value);
-          for (final PropertyEventSubscriber<T> subscriber : subscribers(prop))
+          shard._properties.put(prop, value);
+          for (final PropertyEventSubscriber<T> subscriber : shard.subscribers(prop))
           {
             subscriber.onAdd(prop, value);
           }
@@ -241,15 +300,16 @@ public class PropertyEventBusImpl<T> implements PropertyEventBus<T>
   @Override
   public void publishRemove(final String prop)
   {
-    _thread.send(new PropertyEvent("PropertyEventBus.publishRemove " + prop)
+    final Shard shard = shard(prop);
+    shard._thread.send(new PropertyEvent("PropertyEventBus.publishRemove " + prop)
     {
       public void innerRun()
       {
         // Ignore unless the property has been initialized
-        if (_properties.containsKey(prop))
+        if (shard._properties.containsKey(prop))
         {
-          _properties.put(prop, null);
-          for (final PropertyEventSubscriber<T> subscriber : subscribers(prop))
+          shard._properties.put(prop, null);
+          for (final PropertyEventSubscriber<T> subscriber : shard.subscribers(prop))
           {
             subscriber.onRemove(prop);
           }
@@ -258,31 +318,93 @@ public class PropertyEventBusImpl<T> implements PropertyEventBus<T>
     });
   }
 
-  private List<PropertyEventSubscriber<T>> subscribers(String prop)
+  /**
+   * This is really just for testing
+   */
+  public PropertyEventPublisher<T> getPublisher()
+  {
+    return _shards.get(0)._publisher;
+  }
+
+  private Shard shard(String prop)
+  {
+    if (_shards.size() == 1 || prop == null)
+    {
+      return _shards.get(0);
+    }
+    return _shards.get((prop.hashCode() & Integer.MAX_VALUE) % _shards.size());
+  }
+
+  /**
+   * Groups the property names by the shard that owns them, keeping their order.
+   */
+  private Map<Shard, Set<String>> partition(Set<String> propertyNames)
   {
-    List<PropertyEventSubscriber<T>> subscribers = _subscribers.get(prop);
-    if (subscribers == null)
+    if (_shards.size() == 1)
     {
-      return _allPropertySubscribers;
+      return Collections.singletonMap(_shards.get(0), propertyNames);
     }
-    if (_allPropertySubscribers.isEmpty())
+    Map<Shard, Set<String>> partitions = new HashMap<Shard, Set<String>>();
+    for (String prop : propertyNames)
     {
-      return subscribers;
+      partitions.computeIfAbsent(shard(prop), shard -> new LinkedHashSet<String>()).add(prop);
     }
-    List<PropertyEventSubscriber<T>> all =
-        new ArrayList<PropertyEventSubscriber<T>>(subscribers.size()
-            + _allPropertySubscribers.size());
-    all.addAll(_allPropertySubscribers);
-    all.addAll(subscribers);
-    return all;
+    return partitions;
   }
 
   /**
-   * This is really just for testing
+   * The properties, subscribers and publisher of the properties owned by one shard.
    */
-  public PropertyEventPublisher<T> getPublisher()
+  private class Shard
   {
-    return _publisher;
+    private final PropertyEventThread _thread;
+    private final Map<String,T> _properties = new HashMap<String,T>();
+    private final Map<String,List<PropertyEventSubscriber<T>>> _subscribers = new HashMap<String,List<PropertyEventSubscriber<T>>>();
+    private final List<PropertyEventSubscriber<T>> _allPropertySubscribers = new ArrayList<PropertyEventSubscriber<T>>();
+    private volatile PropertyEventPublisher<T> _publisher;
+
+    Shard(PropertyEventThread thread)
+    {
+      _thread = thread;
+    }
+
+    private void stopPublishing()
+    {
+      if (_publisher != null)
+      {
+        for (String propertyName : _subscribers.keySet())
+        {
+          _publisher.stopPublishing(propertyName);
+        }
+      }
+    }
+
+    private void startPublishing()
+    {
+      for (String propertyName : _subscribers.keySet())
+      {
+        _publisher.startPublishing(propertyName);
+      }
+    }
+
+    private List<PropertyEventSubscriber<T>> subscribers(String prop)
+    {
+      List<PropertyEventSubscriber<T>> subscribers = _subscribers.get(prop);
+      if (subscribers == null)
+      {
+        return _allPropertySubscribers;
+      }
+      if (_allPropertySubscribers.isEmpty())
+      {
+        return subscribers;
+      }
+      List<PropertyEventSubscriber<T>> all =
+          new ArrayList<PropertyEventSubscriber<T>>(subscribers.size()
+              + _allPropertySubscribers.size());
+      all.addAll(_allPropertySubscribers);
+      all.addAll(subscribers);
+      return all;
+    }
   }
 
   private class PropertyEventExecutor extends PropertyEventThread
@@ -0,0 +1,67 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.d2.discovery.stores.file;
+
+import com.linkedin.d2.discovery.PropertySerializer;
+import com.linkedin.d2.discovery.event.PropertyEventSubscriber;
+import com.linkedin.d2.discovery.stores.PropertyStore;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * A {@link PropertyStore} that caches properties on the local disk, see {@link FileStore} and
+ * {@link SegmentFileStore}.
+ */
+public interface FilePropertyStore<T> extends PropertyStore<T>, PropertyEventSubscriber<T>
+{
+  @Override
+  void put(String listenTo, T discoveryProperties);
+
+  @Override
+  void remove(String listenTo);
+
+  /**
+   * @return The deserialized property or null if the property does not exist or
+   *         there was an error deserializing the property.
+   */
+  @Override
+  T get(String listenTo);
+
+  /**
+   * @return All deserialized properties, filtering out those that were unable to be deserialized properly.
+   */
+  Map<String, T> getAll();
+
+  /**
+   * @return The names of all the properties in the store.
+   */
+  Set<String> getPropertyNames();
+
+  /**
+   * @return The directory of the store.
+   */
+  String getPath();
+
+  PropertySerializer<T> getSerializer();
+
+  long getGetCount();
+
+  long getPutCount();
+
+  long getRemoveCount();
+}
@@ -21,8 +21,6 @@ import com.linkedin.common.util.None;
 import com.linkedin.d2.balancer.util.FileSystemDirectory;
 import com.linkedin.d2.discovery.PropertySerializationException;
 import com.linkedin.d2.discovery.PropertySerializer;
-import com.linkedin.d2.discovery.event.PropertyEventSubscriber;
-import com.linkedin.d2.discovery.stores.PropertyStore;
 import com.linkedin.d2.discovery.util.Stats;
 import java.io.File;
 import java.io.FileInputStream;
@@ -30,9 +28,11 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.annotation.Nullable;
@@ -50,7 +50,7 @@ import static com.linkedin.d2.discovery.util.LogUtil.warn;
  * It has implements a global (non-per-prop) fair read-write lock to access the database,
  * allowing multiple reads at the same time.
  */
-public class FileStore<T> implements PropertyStore<T>, PropertyEventSubscriber<T>
+public class FileStore<T> implements FilePropertyStore<T>
 {
   private static final Logger         _log = LoggerFactory.getLogger(FileStore.class);
   private static final String         TMP_FILE_PREFIX = "d2-";
@@ -179,6 +179,7 @@ public class FileStore<T> implements PropertyStore<T>, PropertyEventSubscriber<T
   /**
    * @return All deserialized properties, filtering out those that were unable to be deserialized properly.
    */
+  @Override
   public Map<String, T> getAll()
   {
     r.lock();
@@ -204,9 +205,25 @@ public class FileStore<T> implements PropertyStore<T>, PropertyEventSubscriber<T
     }
   }
 
+  @Override
+  public Set<String> getPropertyNames()
+  {
+    r.lock();
+    try
+    {
+      return new HashSet<>(FileSystemDirectory.getFileListWithoutExtension(_fsPath));
+    }
+    finally
+    {
+      r.unlock();
+    }
+  }
+
   @Override
   public void put(String listenTo, T discoveryProperties)
   {
+    // serialize before taking the lock, so that puts of different properties only contend on the write
+    byte[] bytes = discoveryProperties == null ? null : _serializer.toBytes(discoveryProperties);
     w.lock();
     try
     {
@@ -225,7 +242,7 @@ public class FileStore<T> implements PropertyStore<T>, PropertyEventSubscriber<T
 
           FileOutputStream outputStream = new FileOutputStream(file,false);
 
-          outputStream.write(_serializer.toBytes(discoveryProperties));
+          outputStream.write(bytes);
           outputStream.close();
         }
         catch (FileNotFoundException e)
@@ -334,26 +351,31 @@ public class FileStore<T> implements PropertyStore<T>, PropertyEventSubscriber<T
     shutdown.onSuccess(None.none());
   }
 
+  @Override
   public String getPath()
   {
     return _fsPath;
   }
 
+  @Override
   public PropertySerializer<T> getSerializer()
   {
     return _serializer;
   }
 
+  @Override
   public long getGetCount()
   {
     return _getStats.getCount();
   }
 
+  @Override
   public long getPutCount()
   {
     return _putStats.getCount();
   }
 
+  @Override
   public long getRemoveCount()
   {
     return _removeStats.getCount();
@@ -0,0 +1,797 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.d2.discovery.stores.file;
+
+import com.linkedin.common.callback.Callback;
+import com.linkedin.common.callback.Callbacks;
+import com.linkedin.common.util.None;
+import com.linkedin.d2.discovery.PropertySerializationException;
+import com.linkedin.d2.discovery.PropertySerializer;
+import com.linkedin.d2.discovery.util.Stats;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.linkedin.d2.discovery.util.LogUtil.error;
+import static com.linkedin.d2.discovery.util.LogUtil.info;
+import static com.linkedin.d2.discovery.util.LogUtil.warn;
+
+/**
+ * A {@link FilePropertyStore} that keeps all the properties in a single append-only segment file, instead of one file
+ * per property like {@link FileStore}.
+ *
+ * Every put or remove appends a record to the segment, which is memory mapped, so writes and reads do not open
+ * files. An in-memory index points to the latest record of each property, and keeps the deserialized value so
+ * that reads do not parse the property again. The whole segment is scanned once when the store is opened, which
+ * makes loading all the cached properties at start up a single sequential read. When the records that were
+ * overwritten or removed take more space than the live ones, the live records are rewritten to a new segment
+ * which atomically replaces the old one.
+ *
+ * A record is laid out as: type (1 byte), name length (4 bytes), value length (4 bytes), name, value, and a CRC32
+ * of all of the above (4 bytes). A record that is truncated or does not match its checksum, for example after a
+ * crash, ends the segment.
+ *
+ * The store uses a global read-write lock: reads run concurrently, while writes and compactions are exclusive.
+ * Only one store may have a segment open at a time. Other readers can list the properties of a segment with
+ * {@link #readPropertyNames(String)}.
+ */
+public class SegmentFileStore<T> implements FilePropertyStore<T>
+{
+  private static final Logger _log = LoggerFactory.getLogger(SegmentFileStore.class);
+
+  public static final String SEGMENT_FILE_NAME = "properties.segment";
+  public static final double DEFAULT_COMPACTION_RATIO = 1.0;
+  public static final int DEFAULT_MIN_COMPACTION_BYTES = 1 << 20;
+
+  private static final String COMPACTION_FILE_SUFFIX = ".compacting";
+  private static final byte PUT = 1;
+  private static final byte REMOVE = 2;
+  private static final int RECORD_HEADER_SIZE = 9;
+  private static final int RECORD_CHECKSUM_SIZE = 4;
+  private static final int MIN_CAPACITY = 64 * 1024;
+
+  private final String _fsPath;
+  private final File _segmentFile;
+  private final PropertySerializer<T> _serializer;
+  private final double _compactionRatio;
+  private final int _minCompactionBytes;
+  private final Stats _getStats;
+  private final Stats _putStats;
+  private final Stats _removeStats;
+
+  private final ReentrantReadWriteLock rwl = new ReentrantReadWriteLock(true);
+  private final Lock r = rwl.readLock();
+  private final Lock w = rwl.writeLock();
+
+  // the fields below are guarded by the lock
+  private final Map<String, Record<T>> _index = new HashMap<>();
+  private FileChannel _channel;
+  private MappedByteBuffer _segment;
+  // end of the last valid record
+  private int _size;
+  // bytes taken by records that were overwritten or removed
+  private long _garbageBytes;
+  private volatile long _compactionCount;
+
+  public SegmentFileStore(String fsPath, PropertySerializer<T> serializer)
+  {
+    this(fsPath, serializer, DEFAULT_COMPACTION_RATIO, DEFAULT_MIN_COMPACTION_BYTES);
+  }
+
+  /**
+   * @param compactionRatio the segment is compacted when the overwritten and removed records take more than this
+   *                        ratio of the space taken by the live records
+   * @param minCompactionBytes the segment is not compacted before the overwritten and removed records take this
+   *                           many bytes
+   */
+  public SegmentFileStore(String fsPath, PropertySerializer<T> serializer, double compactionRatio,
+      int minCompactionBytes)
+  {
+    if (compactionRatio <= 0)
+    {
+      throw new IllegalArgumentException("compactionRatio must be positive, got " + compactionRatio);
+    }
+    _fsPath = fsPath;
+    _segmentFile = new File(fsPath, SEGMENT_FILE_NAME);
+    _serializer = serializer;
+    _compactionRatio = compactionRatio;
+    _minCompactionBytes = minCompactionBytes;
+    _getStats = new Stats(60000);
+    _putStats = new Stats(60000);
+    _removeStats = new Stats(60000);
+
+    start();
+  }
+
+  @Override
+  public void start(Callback<None> callback)
+  {
+    if (start())
+    {
+      callback.onSuccess(None.none());
+    }
+    else
+    {
+      callback.onError(new IOException("unable to open segment file: " + _segmentFile));
+    }
+  }
+
+  /**
+   * Opens the segment file and loads the index of all the properties in it, if it is not open yet.
+   */
+  public boolean start()
+  {
+    w.lock();
+    try
+    {
+      if (_channel != null)
+      {
+        return true;
+      }
+      File dir = new File(_fsPath);
+      if (!dir.exists() && !dir.mkdirs())
+      {
+        error(_log, "unable to create file path: ", _fsPath);
+        return false;
+      }
+      open();
+      return true;
+    }
+    catch (IOException e)
+    {
+      _log.error("Error opening segment file: " + _segmentFile.getAbsolutePath(), e);
+      closeQuietly();
+      return false;
+    }
+    finally
+    {
+      w.unlock();
+    }
+  }
+
+  /**
+   * @return The deserialized property or null if the property does not exist or
+   *         there was an error deserializing the property.
+   */
+  @Nullable
+  @Override
+  public T get(String listenTo)
+  {
+    r.lock();
+    try
+    {
+      _getStats.inc();
+
+      Record<T> record = _index.get(listenTo);
+      if (record == null)
+      {
+        warn(_log, "property didn't exist on get: ", listenTo);
+        return null;
+      }
+      return decode(listenTo, record);
+    }
+    finally
+    {
+      r.unlock();
+    }
+  }
+
+  /**
+   * @return All deserialized properties, filtering out those that were unable to be deserialized properly.
+   */
+  @Override
+  public Map<String, T> getAll()
+  {
+    r.lock();
+    try
+    {
+      Map<String, T> result = new HashMap<>();
+      for (Map.Entry<String, Record<T>> entry : _index.entrySet())
+      {
+        T property = decode(entry.getKey(), entry.getValue());
+        if (property != null)
+        {
+          result.put(entry.getKey(), property);
+        }
+      }
+      return result;
+    }
+    finally
+    {
+      r.unlock();
+    }
+  }
+
+  /**
+   * @return The names of all the properties in the store, without deserializing them.
+   */
+  @Override
+  public Set<String> getPropertyNames()
+  {
+    r.lock();
+    try
+    {
+      return new HashSet<>(_index.keySet());
+    }
+    finally
+    {
+      r.unlock();
+    }
+  }
+
+  @Override
+  public void put(String listenTo, T discoveryProperties)
+  {
+    if (discoveryProperties == null)
+    {
+      warn(_log, "received a null property for resource ", listenTo, " received a null property");
+      return;
+    }
+
+    // serialize before taking the lock, so that concurrent puts only contend on the append
+    byte[] value = _serializer.toBytes(discoveryProperties);
+    w.lock();
+    try
+    {
+      _putStats.inc();
+      if (!ensureOpen())
+      {
+        return;
+      }
+      int offset = append(PUT, listenTo, value);
+      // the caller may still modify the property, so it is deserialized from the segment on the next read
+      Record<T> previous = _index.put(listenTo, new Record<>(offset, value.length, null));
+      if (previous != null)
+      {
+        _garbageBytes += recordSize(listenTo, previous._length);
+      }
+      compactIfNeeded();
+    }
+    catch (IOException e)
+    {
+      _log.error("Error writing property " + listenTo + " to segment file: " + _segmentFile.getAbsolutePath(), e);
+    }
+    finally
+    {
+      w.unlock();
+    }
+  }
+
+  @Override
+  public void remove(String listenTo)
+  {
+    w.lock();
+    try
+    {
+      _removeStats.inc();
+      if (!ensureOpen())
+      {
+        return;
+      }
+      Record<T> previous = _index.get(listenTo);
+      if (previous == null)
+      {
+        warn(_log, "property didn't exist on remove: ", listenTo);
+        return;
+      }
+      append(REMOVE, listenTo, new byte[0]);
+      _index.remove(listenTo);
+      _garbageBytes += recordSize(listenTo, previous._length) + recordSize(listenTo, 0);
+      compactIfNeeded();
+    }
+    catch (IOException e)
+    {
+      _log.error("Error removing property " + listenTo + " from segment file: " + _segmentFile.getAbsolutePath(), e);
+    }
+    finally
+    {
+      w.unlock();
+    }
+  }
+
+  /**
+   * Rewrites the live records to a new segment, which replaces the current one.
+   */
+  public void compact()
+  {
+    w.lock();
+    try
+    {
+      if (ensureOpen())
+      {
+        doCompact();
+      }
+    }
+    catch (IOException e)
+    {
+      _log.error("Error compacting segment file: " + _segmentFile.getAbsolutePath(), e);
+    }
+    finally
+    {
+      w.unlock();
+    }
+  }
+
+  @Override
+  public void onAdd(String propertyName, T propertyValue)
+  {
+    put(propertyName, propertyValue);
+  }
+
+  @Override
+  public void onInitialize(String propertyName, T propertyValue)
+  {
+    put(propertyName, propertyValue);
+  }
+
+  @Override
+  public void onRemove(String propertyName)
+  {
+    remove(propertyName);
+  }
+
+  @Override
+  public void shutdown(Callback<None> shutdown)
+  {
+    info(_log, "shutting down");
+
+    w.lock();
+    try
+    {
+      if (_channel != null)
+      {
+        _segment.force();
+        // drop the unused capacity at the end of the segment
+        _channel.truncate(_size);
+      }
+    }
+    catch (IOException e)
+    {
+      _log.warn("Error truncating segment file: " + _segmentFile.getAbsolutePath(), e);
+    }
+    finally
+    {
+      closeQuietly();
+      w.unlock();
+    }
+
+    shutdown.onSuccess(None.none());
+  }
+
+  @Override
+  public String getPath()
+  {
+    return _fsPath;
+  }
+
+  @Override
+  public PropertySerializer<T> getSerializer()
+  {
+    return _serializer;
+  }
+
+  @Override
+  public long getGetCount()
+  {
+    return _getStats.getCount();
+  }
+
+  @Override
+  public long getPutCount()
+  {
+    return _putStats.getCount();
+  }
+
+  @Override
+  public long getRemoveCount()
+  {
+    return _removeStats.getCount();
+  }
+
+  /**
+   * @return The number of compactions since the store was created.
+   */
+  public long getCompactionCount()
+  {
+    return _compactionCount;
+  }
+
+  /**
+   * @return The size in bytes of the records in the segment, including the overwritten and removed ones.
+   */
+  public int getSegmentSize()
+  {
+    r.lock();
+    try
+    {
+      return _size;
+    }
+    finally
+    {
+      r.unlock();
+    }
+  }
+
+  /**
+   * @return whether the directory contains a segment file
+   */
+  public static boolean exists(String fsPath)
+  {
+    return new File(fsPath, SEGMENT_FILE_NAME).isFile();
+  }
+
+  /**
+   * Reads the names of the properties in the segment file of the directory, without opening a store. This can be
+   * called while a store has the segment open: records that are being written are ignored.
+   *
+   * @return the names of the properties, or an empty set if there is no segment file or it cannot be read
+   */
+  public static Set<String> readPropertyNames(String fsPath)
+  {
+    Set<String> propertyNames = new HashSet<>();
+    File segmentFile = new File(fsPath, SEGMENT_FILE_NAME);
+    if (!segmentFile.isFile())
+    {
+      return propertyNames;
+    }
+
+    try (FileChannel channel = FileChannel.open(segmentFile.toPath(), StandardOpenOption.READ))
+    {
+      long fileSize = channel.size();
+      if (fileSize > Integer.MAX_VALUE)
+      {
+        throw new IOException("segment file is too large: " + fileSize);
+      }
+      ByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+      scan(segment, (type, propertyName, valueOffset, valueLength, recordSize) ->
+      {
+        if (type == PUT)
+        {
+          propertyNames.add(propertyName);
+        }
+        else
+        {
+          propertyNames.remove(propertyName);
+        }
+      });
+    }
+    catch (IOException e)
+    {
+      _log.warn("Error reading segment file: " + segmentFile.getAbsolutePath(), e);
+    }
+    return propertyNames;
+  }
+
+  /**
+   * Removes the given properties from the segment file of the directory. No store may have the segment open.
+   */
+  public static void removeProperties(String fsPath, Collection<String> propertyNames)
+  {
+    if (!exists(fsPath))
+    {
+      return;
+    }
+
+    // removing a property does not deserialize anything
+    SegmentFileStore<Object> store = new SegmentFileStore<>(fsPath, null);
+    propertyNames.forEach(store::remove);
+    store.shutdown(Callbacks.empty());
+  }
+
+  private T decode(String listenTo, Record<T> record)
+  {
+    T value = record._value;
+    if (value != null)
+    {
+      return value;
+    }
+
+    byte[] bytes = new byte[record._length];
+    ByteBuffer segment = _segment.duplicate();
+    segment.position(record._offset);
+    segment.get(bytes);
+    try
+    {
+      value = _serializer.fromBytes(bytes);
+      record._value = value;
+      return value;
+    }
+    catch (PropertySerializationException e)
+    {
+      _log.error("Error deserializing property " + listenTo + " from segment file " + _segmentFile.getAbsolutePath(), e);
+      return null;
+    }
+  }
+
+  private boolean ensureOpen() throws IOException
+  {
+    if (_channel == null)
+    {
+      error(_log, "segment file is not open: ", _segmentFile);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Maps the segment file and indexes its records. Called with the write lock held.
+   */
+  private void open() throws IOException
+  {
+    _channel = FileChannel.open(_segmentFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    long fileSize = _channel.size();
+    if (fileSize > Integer.MAX_VALUE)
+    {
+      throw new IOException("segment file is too large: " + fileSize);
+    }
+    _segment = _channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+    _index.clear();
+    _garbageBytes = 0;
+
+    _size = scan(_segment, (type, propertyName, valueOffset, valueLength, recordSize) ->
+    {
+      Record<T> previous = type == PUT
+          ? _index.put(propertyName, new Record<>(valueOffset, valueLength, null))
+          : _index.remove(propertyName);
+      if (previous != null)
+      {
+        _garbageBytes += recordSize(propertyName, previous._length);
+      }
+      if (type == REMOVE)
+      {
+        _garbageBytes += recordSize;
+      }
+    });
+
+    if (_size < fileSize)
+    {
+      if (_segment.get(_size) != 0)
+      {
+        info(_log, "discarding ", fileSize - _size, " bytes after the last valid record of ", _segmentFile);
+      }
+      // make sure that the space after the last valid record is zeroed, so that new records are not followed by
+      // stale ones
+      _channel.truncate(_size);
+      _segment = _channel.map(FileChannel.MapMode.READ_WRITE, 0, _size);
+    }
+
+    info(_log, "loaded ", _index.size(), " properties from ", _segmentFile);
+    compactIfNeeded();
+  }
+
+  /**
+   * Visits the valid records of a segment, in the order they were written.
+   *
+   * @return the end of the last valid record
+   */
+  private static int scan(ByteBuffer mappedSegment, RecordVisitor visitor)
+  {
+    ByteBuffer segment = mappedSegment.duplicate();
+    CRC32 crc = new CRC32();
+    int end = 0;
+    while (segment.remaining() >= RECORD_HEADER_SIZE + RECORD_CHECKSUM_SIZE)
+    {
+      int start = segment.position();
+      byte type = segment.get();
+      int nameLength = segment.getInt();
+      int valueLength = segment.getInt();
+      if ((type != PUT && type != REMOVE) || nameLength < 0 || valueLength < 0
+          || (long) nameLength + valueLength + RECORD_CHECKSUM_SIZE > segment.remaining())
+      {
+        break;
+      }
+      byte[] name = new byte[nameLength];
+      segment.get(name);
+      int valueOffset = segment.position();
+      segment.position(valueOffset + valueLength);
+
+      crc.reset();
+      ByteBuffer checked = mappedSegment.duplicate();
+      checked.position(start).limit(segment.position());
+      crc.update(checked);
+      if ((int) crc.getValue() != segment.getInt())
+      {
+        break;
+      }
+
+      end = segment.position();
+      visitor.visit(type, new String(name, StandardCharsets.UTF_8), valueOffset, valueLength, end - start);
+    }
+    return end;
+  }
+
+  /**
+   * Appends a record to the segment, growing the mapping if needed. Called with the write lock held.
+   *
+   * @return the offset of the value of the record
+   */
+  private int append(byte type, String listenTo, byte[] value) throws IOException
+  {
+    byte[] name = listenTo.getBytes(StandardCharsets.UTF_8);
+    long recordSize = (long) RECORD_HEADER_SIZE + name.length + value.length + RECORD_CHECKSUM_SIZE;
+    ensureCapacity(_size + recordSize);
+
+    ByteBuffer segment = _segment.duplicate();
+    segment.position(_size);
+    segment.put(type);
+    segment.putInt(name.length);
+    segment.putInt(value.length);
+    segment.put(name);
+    int valueOffset = segment.position();
+    segment.put(value);
+
+    CRC32 crc = new CRC32();
+    ByteBuffer checked = _segment.duplicate();
+    checked.position(_size).limit(segment.position());
+    crc.update(checked);
+    segment.putInt((int) crc.getValue());
+
+    _size = segment.position();
+    return valueOffset;
+  }
+
+  private void ensureCapacity(long capacity) throws IOException
+  {
+    if (capacity <= _segment.capacity())
+    {
+      return;
+    }
+    if (capacity > Integer.MAX_VALUE)
+    {
+      throw new IOException("segment file is too large: " + capacity);
+    }
+    long newCapacity = Math.min(Integer.MAX_VALUE, Math.max(capacity, Math.max(MIN_CAPACITY, 2L * _segment.capacity())));
+    // mapping beyond the end of the file extends it with zeros
+    _segment = _channel.map(FileChannel.MapMode.READ_WRITE, 0, newCapacity);
+  }
+
+  private void compactIfNeeded() throws IOException
+  {
+    long liveBytes = _size - _garbageBytes;
+    if (_garbageBytes >= _minCompactionBytes && _garbageBytes > liveBytes * _compactionRatio)
+    {
+      doCompact();
+    }
+  }
+
+  /**
+   * Called with the write lock held.
+   */
+  private void doCompact() throws IOException
+  {
+    _compactionCount++;
+    int oldSize = _size;
+
+    // copy the entries, since reopening the segment below clears the index
+    List<Map.Entry<String, Record<T>>> live = new ArrayList<>(_index.size());
+    for (Map.Entry<String, Record<T>> entry : _index.entrySet())
+    {
+      live.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+    }
+    // keep the records in the order they were written
+    live.sort((a, b) -> Integer.compare(a.getValue()._offset, b.getValue()._offset));
+
+    File compactionFile = new File(_fsPath, SEGMENT_FILE_NAME + COMPACTION_FILE_SUFFIX);
+    try (FileChannel channel = FileChannel.open(compactionFile.toPath(), StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+    {
+      for (Map.Entry<String, Record<T>> entry : live)
+      {
+        Record<T> record = entry.getValue();
+        ByteBuffer source = _segment.duplicate();
+        int start = record._offset - RECORD_HEADER_SIZE - entry.getKey().getBytes(StandardCharsets.UTF_8).length;
+        source.position(start).limit(record._offset + record._length + RECORD_CHECKSUM_SIZE);
+        while (source.hasRemaining())
+        {
+          channel.write(source);
+        }
+      }
+      channel.force(true);
+    }
+
+    closeQuietly();
+    try
+    {
+      Files.move(compactionFile.toPath(), _segmentFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    }
+    finally
+    {
+      // reload the index from the compacted segment, or from the old one if it could not be replaced
+      open();
+    }
+
+    // keep the deserialized values across the reload
+    for (Map.Entry<String, Record<T>> entry : live)
+    {
+      Record<T> record = _index.get(entry.getKey());
+      if (record != null && record._length == entry.getValue()._length)
+      {
+        record._value = entry.getValue()._value;
+      }
+    }
+
+    info(_log, "compacted ", _segmentFile, " from ", oldSize, " to ", _size, " bytes");
+  }
+
+  private void closeQuietly()
+  {
+    if (_channel != null)
+    {
+      try
+      {
+        _channel.close();
+      }
+      catch (IOException e)
+      {
+        _log.warn("Error closing segment file: " + _segmentFile.getAbsolutePath(), e);
+      }
+    }
+    _channel = null;
+    _segment = null;
+    _index.clear();
+  }
+
+  private static int recordSize(String listenTo, int valueLength)
+  {
+    return RECORD_HEADER_SIZE + listenTo.getBytes(StandardCharsets.UTF_8).length + valueLength + RECORD_CHECKSUM_SIZE;
+  }
+
+  private interface RecordVisitor
+  {
+    void visit(byte type, String propertyName, int valueOffset, int valueLength, int recordSize);
+  }
+
+  /**
+   * The location of the value of the latest record of a property, and the value once it is deserialized.
+   */
+  private static class Record<T>
+  {
+    private final int _offset;
+    private final int _length;
+    private volatile T _value;
+
+    Record(int offset, int length, T value)
+    {
+      _offset = offset;
+      _length = length;
+      _value = value;
+    }
+  }
+}
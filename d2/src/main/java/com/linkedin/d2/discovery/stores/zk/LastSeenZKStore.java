@@ -25,12 +25,14 @@ import com.linkedin.d2.discovery.event.PropertyEventBusImpl;
 import com.linkedin.d2.discovery.event.PropertyEventBusRequestsThrottler;
 import com.linkedin.d2.discovery.event.PropertyEventPublisher;
 import com.linkedin.d2.discovery.event.PropertyEventSubscriber;
+import com.linkedin.d2.discovery.stores.file.FilePropertyStore;
 import com.linkedin.d2.discovery.stores.file.FileStore;
 import com.linkedin.d2.discovery.stores.zk.builder.ZooKeeperStoreBuilder;
 import com.linkedin.r2.transport.http.client.TimeoutCallback;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
@@ -57,7 +59,7 @@ public class LastSeenZKStore<T> implements PropertyEventPublisher<T>
 {
   private static final Logger LOG = LoggerFactory.getLogger(LastSeenZKStore.class);
 
-  private final FileStore<T> _fsStore;
+  private final FilePropertyStore<T> _fsStore;
   private final ZooKeeperConnectionAwareStore<T, ? extends ZooKeeperStore<T>> _zkAwareStore;
   private final ZkBusUpdater _zkBusUpdaterSubscriber;
   private final ScheduledExecutorService _executorService;
@@ -66,16 +68,42 @@ public class LastSeenZKStore<T> implements PropertyEventPublisher<T>
   private PropertyEventBus<T> _zkToFsBus;
   private final int _concurrentRequests;
 
+  /**
+   * Kept for binary compatibility with callers compiled against the {@link FileStore} signature, delegates to
+   * the constructor that takes a {@link FilePropertyStore}.
+   */
   public LastSeenZKStore(FileStore<T> fsStore,
                          ZooKeeperStoreBuilder<? extends ZooKeeperStore<T>> zooKeeperStoreBuilder,
       ZKPersistentConnection zkPersistentConnection, ScheduledExecutorService executorService, int warmUpTimeoutSeconds,
       int concurrentRequests)
+  {
+    this((FilePropertyStore<T>) fsStore, zooKeeperStoreBuilder, zkPersistentConnection, executorService,
+        warmUpTimeoutSeconds, concurrentRequests);
+  }
+
+  public LastSeenZKStore(FilePropertyStore<T> fsStore,
+                         ZooKeeperStoreBuilder<? extends ZooKeeperStore<T>> zooKeeperStoreBuilder,
+      ZKPersistentConnection zkPersistentConnection, ScheduledExecutorService executorService, int warmUpTimeoutSeconds,
+      int concurrentRequests)
+  {
+    this(fsStore, zooKeeperStoreBuilder, zkPersistentConnection, executorService, warmUpTimeoutSeconds,
+        concurrentRequests, Collections.singletonList(executorService));
+  }
+
+  /**
+   * @param zkToFsBusExecutors single-threaded executors the updates received from ZK are partitioned across by
+   *                           property name before being written to the fsStore and published to the client bus
+   */
+  public LastSeenZKStore(FilePropertyStore<T> fsStore,
+                         ZooKeeperStoreBuilder<? extends ZooKeeperStore<T>> zooKeeperStoreBuilder,
+      ZKPersistentConnection zkPersistentConnection, ScheduledExecutorService executorService, int warmUpTimeoutSeconds,
+      int concurrentRequests, List<? extends ExecutorService> zkToFsBusExecutors)
   {
     _executorService = executorService;
     _warmUpTimeoutSeconds = warmUpTimeoutSeconds;
     _concurrentRequests = concurrentRequests;
     _fsStore = fsStore;
-    _zkToFsBus = new PropertyEventBusImpl<>(executorService);
+    _zkToFsBus = new PropertyEventBusImpl<>(zkToFsBusExecutors);
     _zkBusUpdaterSubscriber = new ZkBusUpdater();
     _zkAwareStore = new ZooKeeperConnectionAwareStore<>(zooKeeperStoreBuilder, zkPersistentConnection);
     _zkToFsBus.setPublisher(_zkAwareStore);
@@ -216,7 +244,7 @@ public class LastSeenZKStore<T> implements PropertyEventPublisher<T>
         }, "This message will never be used, even in case of timeout, no exception should be passed up");
 
     // make warmup requests through requests throttler
-    List<String> fileListWithoutExtension = new ArrayList<>(_fsStore.getAll().keySet());
+    List<String> fileListWithoutExtension = new ArrayList<>(_fsStore.getPropertyNames());
     PropertyEventBusRequestsThrottler<T> throttler =
         new PropertyEventBusRequestsThrottler<>(_zkToFsBus, _zkBusUpdaterSubscriber, fileListWithoutExtension,
             _concurrentRequests, true);
@@ -38,6 +38,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -70,6 +71,12 @@ import static com.linkedin.d2.discovery.util.LogUtil.trace;
  * There are several modes in which it can run:
  * - watching each node for data change enabling the watchChildNodes flag
  * - considering the children nodes immutable and watching only for membership changes
+ *
+ * With useNewWatcher, only the data of added children is read on a membership change, and a positive
+ * zookeeperReadWindowMs coalesces the membership changes happening within the window (e.g. during a rolling
+ * deploy) into one read and one merge. The number of reads and the time spent merging are exposed through
+ * {@link #getChildrenReadCount()}, {@link #getDataReadCount()}, {@link #getMergeCount()} and
+ * {@link #getTotalMergeTimeMs()}.
  */
 public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
 {
@@ -91,6 +98,11 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
   private final ZookeeperChildFilter _zookeeperChildFilter;
   private final ZookeeperEphemeralPrefixGenerator _prefixGenerator;
 
+  private final AtomicLong _childrenReadCount = new AtomicLong();
+  private final AtomicLong _dataReadCount = new AtomicLong();
+  private final AtomicLong _mergeCount = new AtomicLong();
+  private final AtomicLong _mergeTimeNanos = new AtomicLong();
+
   public ZooKeeperEphemeralStore(ZKConnection client,
                                  PropertySerializer<T> serializer,
                                  ZooKeeperPropertyMerger<T> merger,
@@ -318,6 +330,7 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
       }
     };
 
+    _childrenReadCount.incrementAndGet();
     _zk.getChildren(path, false, new AsyncCallback.ChildrenCallback()
     {
       @Override
@@ -333,6 +346,7 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
               ChildCollector collector = new ChildCollector(children.size(), childrenCallback);
               for (String child : children)
               {
+                _dataReadCount.incrementAndGet();
                 _zk.getData(path + "/" + child, false, collector, null);
               }
             }
@@ -379,6 +393,7 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
         }
       }
     };
+    _childrenReadCount.incrementAndGet();
     _zk.getChildren(path, null, zkCallback, null);
   }
 
@@ -393,9 +408,10 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
         @Override
         protected T convertResponse(Map<String,T> response) throws Exception
         {
-          return _merger.merge(propertyName, response.values());
+          return merge(propertyName, response.values());
         }
       });
+      _dataReadCount.addAndGet(children.size());
       for (String child : children)
       {
         _zk.getData(path + "/" + child, (_watchChildNodes) ? watcher : null, collector, null);
@@ -404,7 +420,7 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
     else
     {
       _log.debug("getMergedChildren: no children");
-      callback.onSuccess(_merger.merge(propertyName, Collections.emptyList()));
+      callback.onSuccess(merge(propertyName, Collections.emptyList()));
     }
   }
 
@@ -418,6 +434,7 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
     {
       _log.debug("getChildrenData: collecting {}", children);
       ChildCollector collector = new ChildCollector(children.size(), callback);
+      _dataReadCount.addAndGet(children.size());
       children.forEach(child -> _zk.getData(path + "/" + child, null, collector, null));
     }
     else
@@ -427,6 +444,50 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
     }
   }
 
+  private T merge(String propertyName, Collection<T> propertiesToMerge)
+  {
+    long startNanos = System.nanoTime();
+    T merged = _merger.merge(propertyName, propertiesToMerge);
+    long mergeTimeNanos = System.nanoTime() - startNanos;
+    _mergeCount.incrementAndGet();
+    _mergeTimeNanos.addAndGet(mergeTimeNanos);
+    _log.debug("{}: merged {} children in {}us", new Object[]{propertyName, propertiesToMerge.size(),
+        TimeUnit.NANOSECONDS.toMicros(mergeTimeNanos)});
+    return merged;
+  }
+
+  /**
+   * Number of getChildren calls made to ZooKeeper, including the ones that set or reset watches
+   */
+  public long getChildrenReadCount()
+  {
+    return _childrenReadCount.get();
+  }
+
+  /**
+   * Number of children nodes whose data was read from ZooKeeper
+   */
+  public long getDataReadCount()
+  {
+    return _dataReadCount.get();
+  }
+
+  /**
+   * Number of times the children data got merged with the {@link ZooKeeperPropertyMerger}
+   */
+  public long getMergeCount()
+  {
+    return _mergeCount.get();
+  }
+
+  /**
+   * Total time spent merging the children data with the {@link ZooKeeperPropertyMerger}
+   */
+  public long getTotalMergeTimeMs()
+  {
+    return TimeUnit.NANOSECONDS.toMillis(_mergeTimeNanos.get());
+  }
+
   @Override
   public void startPublishing(final String prop)
   {
@@ -452,11 +513,13 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
     {
       EphemeralStoreWatcher watcher = _ephemeralStoreWatchers.computeIfAbsent(prop, k -> new EphemeralStoreWatcher(prop));
       watcher.addWatch(prop);
+      _childrenReadCount.incrementAndGet();
       _zk.getChildren(getPath(prop), watcher, watcher, true);
     }
     else
     {
       _zkStoreWatcher.addWatch(prop);
+      _childrenReadCount.incrementAndGet();
       _zk.getChildren(getPath(prop), _zkStoreWatcher, _zkStoreWatcher, true);
     }
   }
@@ -549,6 +612,7 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
     public void processWatch(final String propertyName, WatchedEvent watchedEvent)
     {
       // Reset the watch
+      _childrenReadCount.incrementAndGet();
       _zk.getChildren(getPath(propertyName), this, this, false);
     }
 
@@ -631,6 +695,7 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
         case OK:
           // The node is back, get children and set child watch
           _log.debug("{}: calling getChildren", path);
+          _childrenReadCount.incrementAndGet();
           _zk.getChildren(path, this, this, false);
           break;
 
@@ -682,12 +747,16 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
         // Delay setting the watch based on configured _readWindowMs
         int midPoint = _zookeeperReadWindowMs / 2;
         int delay = midPoint + ThreadLocalRandom.current().nextInt(midPoint);
-        _executorService.schedule(() -> _zk.getChildren(getPath(propertyName), this, this, false),
-            delay, TimeUnit.MILLISECONDS);
+        _executorService.schedule(() ->
+        {
+          _childrenReadCount.incrementAndGet();
+          _zk.getChildren(getPath(propertyName), this, this, false);
+        }, delay, TimeUnit.MILLISECONDS);
       }
       else
       {
         // Set watch Immediately
+        _childrenReadCount.incrementAndGet();
         _zk.getChildren(getPath(propertyName), this, this, false);
       }
     }
@@ -706,8 +775,15 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
       {
         case OK:
         {
-          initCurrentNode(stat);
+          boolean nodeChanged = initCurrentNode(stat);
+          int childrenCount = _childrenMap.size();
           Set<String> newChildren = calculateChildrenDeltaAndUpdateState(children);
+          if (!init && !nodeChanged && newChildren.isEmpty() && childrenCount == _childrenMap.size())
+          {
+            // membership changes within the read window cancelled each other out, the merged property is unchanged
+            _log.debug("{}: no children changed, skip publishing", path);
+            break;
+          }
           getChildrenData(path, newChildren, getChildrenDataCallback(path, init, property));
           break;
         }
@@ -762,19 +838,22 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
           }
           if (init)
           {
-            _eventBus.publishInitialize(property, _merger.merge(property, _childrenMap.values()));
+            _eventBus.publishInitialize(property, merge(property, _childrenMap.values()));
             _log.debug("{}: published init", path);
           }
           else
           {
-            _eventBus.publishAdd(property, _merger.merge(property, _childrenMap.values()));
+            _eventBus.publishAdd(property, merge(property, _childrenMap.values()));
             _log.debug("{}: published add", path);
           }
         }
       };
     }
 
-    private void initCurrentNode(Stat stat)
+    /**
+     * @return true if the watched node is seen for the first time or has been recreated
+     */
+    private boolean initCurrentNode(Stat stat)
     {
       // in the case of startup or the node gets recreated, create a new file store
       if (_czxid != stat.getCzxid())
@@ -802,7 +881,9 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
           _fileStore.start();
           _childrenMap.putAll(_fileStore.getAll());
         }
+        return true;
       }
+      return false;
     }
 
     private Set<String> calculateChildrenDeltaAndUpdateState(List<String> children)
@@ -833,6 +914,7 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
         case OK:
           // The node is back, get children and set child watch
           _log.debug("{}: calling getChildren", path);
+          _childrenReadCount.incrementAndGet();
           _zk.getChildren(path, this, this, false);
           break;
 
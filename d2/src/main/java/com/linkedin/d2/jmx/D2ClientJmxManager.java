@@ -21,6 +21,7 @@ import com.linkedin.d2.balancer.simple.SimpleLoadBalancer;
 import com.linkedin.d2.balancer.simple.SimpleLoadBalancerState;
 import com.linkedin.d2.balancer.simple.SimpleLoadBalancerState.SimpleLoadBalancerStateListener;
 import com.linkedin.d2.balancer.strategies.LoadBalancerStrategy;
+import com.linkedin.d2.discovery.stores.file.FilePropertyStore;
 import com.linkedin.d2.discovery.stores.file.FileStore;
 import com.linkedin.d2.discovery.stores.zk.ZooKeeperEphemeralStore;
 import com.linkedin.d2.discovery.stores.zk.ZooKeeperPermanentStore;
@@ -104,17 +105,44 @@ public class D2ClientJmxManager
     _jmxManager.registerZooKeeperPermanentStore(_prefix + "-ZooKeeperServiceRegistry", serviceRegistry);
   }
 
+  /**
+   * Kept for binary compatibility with callers compiled against the {@link FileStore} signature, delegates to
+   * {@link #setFsUriStore(FilePropertyStore)}.
+   */
   public <T> void setFsUriStore(FileStore<T> uriStore)
+  {
+    setFsUriStore((FilePropertyStore<T>) uriStore);
+  }
+
+  public <T> void setFsUriStore(FilePropertyStore<T> uriStore)
   {
     _jmxManager.registerFileStore(_prefix + "-FileStoreUriStore", uriStore);
   }
 
+  /**
+   * Kept for binary compatibility with callers compiled against the {@link FileStore} signature, delegates to
+   * {@link #setFsClusterStore(FilePropertyStore)}.
+   */
   public <T> void setFsClusterStore(FileStore<T> clusterStore)
+  {
+    setFsClusterStore((FilePropertyStore<T>) clusterStore);
+  }
+
+  public <T> void setFsClusterStore(FilePropertyStore<T> clusterStore)
   {
     _jmxManager.registerFileStore(_prefix + "-FileStoreClusterStore", clusterStore);
   }
 
+  /**
+   * Kept for binary compatibility with callers compiled against the {@link FileStore} signature, delegates to
+   * {@link #setFsServiceStore(FilePropertyStore)}.
+   */
   public <T> void setFsServiceStore(FileStore<T> serviceStore)
+  {
+    setFsServiceStore((FilePropertyStore<T>) serviceStore);
+  }
+
+  public <T> void setFsServiceStore(FilePropertyStore<T> serviceStore)
   {
     _jmxManager.registerFileStore(_prefix + "-FileStoreServiceStore", serviceStore);
   }
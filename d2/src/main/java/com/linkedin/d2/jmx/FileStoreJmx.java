@@ -23,13 +23,23 @@ import java.util.List;
 
 import com.linkedin.d2.discovery.PropertySerializationException;
 import com.linkedin.d2.discovery.stores.PropertyStoreException;
+import com.linkedin.d2.discovery.stores.file.FilePropertyStore;
 import com.linkedin.d2.discovery.stores.file.FileStore;
 
 public class FileStoreJmx<T> implements FileStoreJmxMBean
 {
-  private final FileStore<T> _store;
+  private final FilePropertyStore<T> _store;
 
+  /**
+   * Kept for binary compatibility with callers compiled against the {@link FileStore} signature, delegates to
+   * {@link #FileStoreJmx(FilePropertyStore)}.
+   */
   public FileStoreJmx(FileStore<T> store)
+  {
+    this((FilePropertyStore<T>) store);
+  }
+
+  public FileStoreJmx(FilePropertyStore<T> store)
   {
     _store = store;
   }
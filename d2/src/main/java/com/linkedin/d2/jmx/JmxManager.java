@@ -23,6 +23,7 @@ import com.linkedin.d2.balancer.simple.SimpleLoadBalancerState;
 import com.linkedin.d2.balancer.strategies.LoadBalancerStrategy;
 import com.linkedin.d2.balancer.strategies.degrader.DegraderLoadBalancerStrategyV3;
 import com.linkedin.d2.balancer.strategies.relative.RelativeLoadBalancerStrategy;
+import com.linkedin.d2.discovery.stores.file.FilePropertyStore;
 import com.linkedin.d2.discovery.stores.file.FileStore;
 import com.linkedin.d2.discovery.stores.zk.ZooKeeperEphemeralStore;
 import com.linkedin.d2.discovery.stores.zk.ZooKeeperPermanentStore;
@@ -61,7 +62,16 @@ public class JmxManager
     }
   }
 
+  /**
+   * Kept for binary compatibility with callers compiled against the {@link FileStore} signature, delegates to
+   * {@link #registerFileStore(String, FilePropertyStore)}.
+   */
   public synchronized <T> JmxManager registerFileStore(String name, FileStore<T> store)
+  {
+    return registerFileStore(name, (FilePropertyStore<T>) store);
+  }
+
+  public synchronized <T> JmxManager registerFileStore(String name, FilePropertyStore<T> store)
   {
     checkReg(new FileStoreJmx<>(store), name);
 
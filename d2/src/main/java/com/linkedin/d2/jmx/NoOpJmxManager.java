@@ -21,6 +21,7 @@ import com.linkedin.d2.balancer.servers.ZooKeeperServer;
 import com.linkedin.d2.balancer.simple.SimpleLoadBalancer;
 import com.linkedin.d2.balancer.simple.SimpleLoadBalancerState;
 import com.linkedin.d2.balancer.strategies.LoadBalancerStrategy;
+import com.linkedin.d2.discovery.stores.file.FilePropertyStore;
 import com.linkedin.d2.discovery.stores.file.FileStore;
 import com.linkedin.d2.discovery.stores.zk.ZooKeeperEphemeralStore;
 import com.linkedin.d2.discovery.stores.zk.ZooKeeperPermanentStore;
@@ -49,6 +50,11 @@ public class NoOpJmxManager extends JmxManager
     return this;
   }
 
+  public synchronized <T> NoOpJmxManager registerFileStore(String name, FilePropertyStore<T> store)
+  {
+    return this;
+  }
+
   public synchronized <T> NoOpJmxManager registerZooKeeperPermanentStore(String name, ZooKeeperPermanentStore<T> store)
   {
     return this;
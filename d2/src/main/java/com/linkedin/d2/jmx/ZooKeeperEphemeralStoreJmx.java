@@ -40,6 +40,30 @@ public class ZooKeeperEphemeralStoreJmx<T> extends ZooKeeperStoreJmx<T> implemen
     return _store.getListenerCount();
   }
 
+  @Override
+  public long getChildrenReadCount()
+  {
+    return _store.getChildrenReadCount();
+  }
+
+  @Override
+  public long getDataReadCount()
+  {
+    return _store.getDataReadCount();
+  }
+
+  @Override
+  public long getMergeCount()
+  {
+    return _store.getMergeCount();
+  }
+
+  @Override
+  public long getTotalMergeTimeMs()
+  {
+    return _store.getTotalMergeTimeMs();
+  }
+
   @Override
   public void removePartial(String listenTo, String discoveryProperties) throws
           PropertyStoreException
@@ -22,5 +22,13 @@ public interface ZooKeeperEphemeralStoreJmxMBean extends ZooKeeperStoreJmxMBean
 {
   int getListenerCount();
 
+  long getChildrenReadCount();
+
+  long getDataReadCount();
+
+  long getMergeCount();
+
+  long getTotalMergeTimeMs();
+
   void removePartial(String listenTo, String discoveryProperties) throws PropertyStoreException;
 }
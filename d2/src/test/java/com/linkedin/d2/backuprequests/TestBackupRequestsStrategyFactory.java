@@ -17,6 +17,8 @@ package com.linkedin.d2.backuprequests;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.io.IOException;
@@ -79,4 +81,29 @@ public class TestBackupRequestsStrategyFactory
     assertEquals(boundedCostStrategy.getPercent(), (double) bcbr.getCost());
   }
 
+  @Test
+  public void testPerPartitionBoundedCostBackupRequestsDeser() throws IOException
+  {
+    BackupRequestsConfiguration brc = new BackupRequestsConfiguration();
+    BoundedCostBackupRequests bcbr = new BoundedCostBackupRequests();
+    bcbr.setCost(3);
+    bcbr.setHistoryLength(4096);
+    brc.setOperation("BATCH_GET");
+    brc.setPerPartition(true);
+    brc.setStrategy(BackupRequestsConfiguration.Strategy.create(bcbr));
+    String json = new JacksonDataCodec().mapToString(brc.data());
+    @SuppressWarnings("unchecked")
+    Map<String, Object> map = JacksonUtil.getObjectMapper().readValue(json, Map.class);
+    BackupRequestsStrategy strategy = BackupRequestsStrategyFactory.tryCreate(map);
+    assertNotNull(strategy);
+    assertTrue(strategy instanceof PartitionedBackupRequestsStrategy);
+    PartitionedBackupRequestsStrategy partitionedStrategy = (PartitionedBackupRequestsStrategy) strategy;
+    BackupRequestsStrategy partitionStrategy = partitionedStrategy.getStrategy(1);
+    assertTrue(partitionStrategy instanceof BoundedCostBackupRequestsStrategy);
+    assertEquals(((BoundedCostBackupRequestsStrategy) partitionStrategy).getHistoryLength(),
+        (int) bcbr.getHistoryLength());
+    assertSame(partitionedStrategy.getStrategy(1), partitionStrategy);
+    assertNotSame(partitionedStrategy.getStrategy(2), partitionStrategy);
+  }
+
 }
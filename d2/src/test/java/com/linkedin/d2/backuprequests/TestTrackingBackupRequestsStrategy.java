@@ -17,10 +17,12 @@ package com.linkedin.d2.backuprequests;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 import java.util.Optional;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import org.testng.annotations.Test;
@@ -278,6 +280,34 @@ public class TestTrackingBackupRequestsStrategy
     }
   }
 
+  @Test
+  public void testPartitionedStats()
+  {
+    // every partition gets a different, constant delay: 1ms, 2ms, ...
+    final AtomicLong createdCount = new AtomicLong();
+    PartitionedBackupRequestsStrategy partitionedStrategy = new PartitionedBackupRequestsStrategy(() ->
+    {
+      final long delay = createdCount.incrementAndGet() * 1000000L;
+      return new MockBackupRequestsStrategy(() -> Optional.of(delay), () -> true);
+    });
+    TrackingBackupRequestsStrategy trackingStrategy = new TrackingBackupRequestsStrategy(partitionedStrategy);
+    assertTrue(trackingStrategy.isPartitioned());
+
+    // default partition was created eagerly
+    assertEquals(trackingStrategy.getTimeUntilBackupRequestNano().get(), Long.valueOf(1000000L));
+    assertEquals(trackingStrategy.getTimeUntilBackupRequestNano(7).get(), Long.valueOf(2000000L));
+    assertEquals(trackingStrategy.getTimeUntilBackupRequestNano(7).get(), Long.valueOf(2000000L));
+    assertEquals(trackingStrategy.getTimeUntilBackupRequestNano(3).get(), Long.valueOf(3000000L));
+    assertTrue(trackingStrategy.isBackupRequestAllowed(3));
+    assertTrue(trackingStrategy.isBackupRequestAllowed(11));
+
+    BackupRequestsStrategyStats stats = trackingStrategy.getStats();
+    assertEquals(stats.getAllowed(), 2);
+    assertEquals(stats.getMinDelayNano(), 1000000L);
+    assertEquals(stats.getMaxDelayNano(), 3000000L);
+    assertEquals(stats.getAvgDelayNano(), 2000000L);
+  }
+
   public static class MockBackupRequestsStrategy implements BackupRequestsStrategy
   {
 
@@ -18,6 +18,7 @@ package com.linkedin.d2.balancer.clients;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.linkedin.common.callback.Callback;
+import com.linkedin.common.callback.FutureCallback;
 import com.linkedin.common.util.None;
 import com.linkedin.d2.BackupRequestsConfiguration;
 import com.linkedin.d2.BoundedCostBackupRequests;
@@ -29,18 +30,24 @@ import com.linkedin.d2.backuprequests.EventsArrival;
 import com.linkedin.d2.backuprequests.GaussianResponseTimeDistribution;
 import com.linkedin.d2.backuprequests.GaussianWithHiccupResponseTimeDistribution;
 import com.linkedin.d2.backuprequests.LatencyMetric;
+import com.linkedin.d2.backuprequests.PartitionedBackupRequestsStrategy;
 import com.linkedin.d2.backuprequests.PoissonEventsArrival;
 import com.linkedin.d2.backuprequests.ResponseTimeDistribution;
 import com.linkedin.d2.backuprequests.TestTrackingBackupRequestsStrategy;
 import com.linkedin.d2.backuprequests.TrackingBackupRequestsStrategy;
+import com.linkedin.d2.balancer.Facilities;
 import com.linkedin.d2.balancer.KeyMapper;
 import com.linkedin.d2.balancer.ServiceUnavailableException;
 import com.linkedin.d2.balancer.StaticLoadBalancerState;
 import com.linkedin.d2.balancer.LoadBalancer;
+import com.linkedin.d2.balancer.LoadBalancerStateItem;
 import com.linkedin.d2.balancer.properties.PartitionData;
 import com.linkedin.d2.balancer.properties.ServiceProperties;
 import com.linkedin.d2.balancer.simple.SimpleLoadBalancer;
+import com.linkedin.d2.balancer.util.DelegatingFacilities;
 import com.linkedin.d2.balancer.util.JacksonUtil;
+import com.linkedin.d2.balancer.util.partitions.DefaultPartitionAccessor;
+import com.linkedin.d2.balancer.util.partitions.PartitionAccessor;
 import com.linkedin.d2.discovery.event.PropertyEventThread.PropertyEventShutdownCallback;
 import com.linkedin.data.ByteString;
 import com.linkedin.data.codec.JacksonDataCodec;
@@ -51,6 +58,13 @@ import com.linkedin.r2.message.rest.RestRequest;
 import com.linkedin.r2.message.rest.RestRequestBuilder;
 import com.linkedin.r2.message.rest.RestResponse;
 import com.linkedin.r2.message.rest.RestResponseBuilder;
+import com.linkedin.r2.message.stream.StreamRequest;
+import com.linkedin.r2.message.stream.StreamRequestBuilder;
+import com.linkedin.r2.message.stream.StreamResponse;
+import com.linkedin.r2.message.stream.StreamResponseBuilder;
+import com.linkedin.r2.message.stream.entitystream.EntityStreams;
+import com.linkedin.r2.message.stream.entitystream.WriteHandle;
+import com.linkedin.r2.message.stream.entitystream.Writer;
 import com.linkedin.r2.transport.common.bridge.client.TransportClient;
 import com.linkedin.r2.transport.common.bridge.common.TransportCallback;
 import com.linkedin.r2.transport.common.bridge.common.TransportResponseImpl;
@@ -69,13 +83,16 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import org.HdrHistogram.AbstractHistogram;
 import org.HdrHistogram.Histogram;
@@ -99,6 +116,7 @@ public class TestBackupRequestsClient
   private static final String PATH = "";
   private static final String STRATEGY_NAME = "degrader";
   private static final ByteString CONTENT = ByteString.copy(new byte[8092]);
+  private static final String HOST_HEADER = "X-Test-Host";
 
   private ScheduledExecutorService _executor;
 
@@ -178,6 +196,135 @@ public class TestBackupRequestsClient
     assertEquals(new HashSet<>(hostsReceivingRequest).size(), 2);
   }
 
+  /**
+   * Backup request should go to another host of the same partition and its delay should be decided by the
+   * strategy of that partition when backup requests are tracked per partition.
+   */
+  @Test(dataProvider = "isD2Async")
+  public void testBackupRequestToSamePartition(boolean isD2Async) throws Exception
+  {
+    int responseDelayNano = 100000000; //100ms till response comes back
+    long backupDelayNano = 50000000; // make backup request after 50ms
+    Map<URI, Map<Integer, PartitionData>> partitionDescriptions = new HashMap<>();
+    partitionDescriptions.put(URI.create("http://test1.com:123"), Collections.singletonMap(0, new PartitionData(1)));
+    partitionDescriptions.put(URI.create("http://test2.com:123"), Collections.singletonMap(1, new PartitionData(1)));
+    partitionDescriptions.put(URI.create("http://test3.com:123"), Collections.singletonMap(1, new PartitionData(1)));
+    // d2://testService/<partitionId>
+    PartitionAccessor partitionAccessor = new PartitionAccessor()
+    {
+      @Override
+      public int getPartitionId(URI uri)
+      {
+        return Integer.parseInt(uri.getPath().substring(1));
+      }
+
+      @Override
+      public int getMaxPartitionId()
+      {
+        return 1;
+      }
+    };
+    // only the strategy of partition 1, created after the one of the default partition, makes backup requests
+    AtomicInteger createdStrategies = new AtomicInteger();
+    BackupRequestsStrategy partitionedStrategy = new PartitionedBackupRequestsStrategy(() ->
+        createdStrategies.getAndIncrement() == 0
+            ? new TestTrackingBackupRequestsStrategy.MockBackupRequestsStrategy(Optional::empty, () -> false)
+            : new TestTrackingBackupRequestsStrategy.MockBackupRequestsStrategy(() -> Optional.of(backupDelayNano),
+                () -> true));
+    Deque<URI> hostsReceivingRequest = new ConcurrentLinkedDeque<>();
+    BackupRequestsClient client = createAlwaysBackupClient(partitionDescriptions, partitionAccessor,
+        uri -> new DegraderTrackerClientImpl(uri, partitionDescriptions.get(uri), null, SystemClock.instance(), null) {
+          @Override
+          public void restRequest(RestRequest request,
+              RequestContext requestContext,
+              Map<String, String> wireAttrs,
+              TransportCallback<RestResponse> callback)
+          {
+            hostsReceivingRequest.add(uri);
+            _executor.schedule(
+                () -> callback.onResponse(TransportResponseImpl.success(new RestResponseBuilder().build())), responseDelayNano,
+                TimeUnit.NANOSECONDS);
+          }
+        }, partitionedStrategy, isD2Async);
+
+    RestRequest restRequest = new RestRequestBuilder(URI.create("d2://testService/1")).setEntity(CONTENT).build();
+    RequestContext context = new RequestContext();
+    context.putLocalAttr(R2Constants.OPERATION, "get");
+    Future<RestResponse> response = client.restRequest(restRequest, context);
+    assertEquals(response.get().getStatus(), 200);
+    assertEquals(createdStrategies.get(), 2);
+    assertEquals(hostsReceivingRequest.size(), 2);
+    assertEquals(new HashSet<>(hostsReceivingRequest),
+        new HashSet<>(Arrays.asList(URI.create("http://test2.com:123"), URI.create("http://test3.com:123"))));
+  }
+
+  /**
+   * When the original request completes before the backup request, the streaming response of the backup request
+   * is never read by the caller and should be cancelled so that it does not hold on to the connection.
+   */
+  @Test(dataProvider = "isD2Async")
+  public void testBackupResponseCancelledWhenOriginalCompletesFirst(boolean isD2Async) throws Exception
+  {
+    int originalResponseDelayNano = 200000000; //200ms till response of the original request comes back
+    int backupResponseDelayNano = 400000000; //400ms till response of the backup request comes back
+    long backupDelayNano = 50000000; // make backup request after 50ms
+    Map<URI, Map<Integer, PartitionData>> partitionDescriptions = new HashMap<>();
+    partitionDescriptions.put(URI.create("http://test1.com:123"), Collections.singletonMap(0, new PartitionData(1)));
+    partitionDescriptions.put(URI.create("http://test2.com:123"), Collections.singletonMap(0, new PartitionData(1)));
+    Deque<URI> hostsReceivingRequest = new ConcurrentLinkedDeque<>();
+    Deque<URI> cancelledResponses = new ConcurrentLinkedDeque<>();
+    CountDownLatch cancelled = new CountDownLatch(1);
+    BackupRequestsStrategy alwaysBackup = new TestTrackingBackupRequestsStrategy.MockBackupRequestsStrategy(
+        () -> Optional.of(backupDelayNano),
+        () -> true
+    );
+    BackupRequestsClient client = createAlwaysBackupClient(partitionDescriptions, DefaultPartitionAccessor.getInstance(),
+        uri -> new DegraderTrackerClientImpl(uri, partitionDescriptions.get(uri), null, SystemClock.instance(), null) {
+          @Override
+          public void streamRequest(StreamRequest request,
+              RequestContext requestContext,
+              Map<String, String> wireAttrs,
+              TransportCallback<StreamResponse> callback)
+          {
+            boolean isOriginal = hostsReceivingRequest.isEmpty();
+            hostsReceivingRequest.add(uri);
+            StreamResponse response = new StreamResponseBuilder().setHeader(HOST_HEADER, uri.toString())
+                .build(EntityStreams.newEntityStream(new Writer()
+                {
+                  @Override
+                  public void onInit(WriteHandle wh)
+                  {
+                  }
+
+                  @Override
+                  public void onWritePossible()
+                  {
+                  }
+
+                  @Override
+                  public void onAbort(Throwable e)
+                  {
+                    cancelledResponses.add(uri);
+                    cancelled.countDown();
+                  }
+                }));
+            _executor.schedule(() -> callback.onResponse(TransportResponseImpl.success(response)),
+                isOriginal ? originalResponseDelayNano : backupResponseDelayNano, TimeUnit.NANOSECONDS);
+          }
+        }, alwaysBackup, isD2Async);
+
+    StreamRequest streamRequest = new StreamRequestBuilder(URI.create("d2://testService")).build(EntityStreams.emptyStream());
+    RequestContext context = new RequestContext();
+    context.putLocalAttr(R2Constants.OPERATION, "get");
+    FutureCallback<StreamResponse> response = new FutureCallback<>();
+    client.streamRequest(streamRequest, context, response);
+
+    assertEquals(response.get().getHeader(HOST_HEADER), hostsReceivingRequest.getFirst().toString());
+    assertTrue(cancelled.await(5, TimeUnit.SECONDS), "Response of the backup request was not cancelled");
+    assertEquals(hostsReceivingRequest.size(), 2);
+    assertEquals(cancelledResponses.toArray(), new URI[]{hostsReceivingRequest.getLast()});
+  }
+
   // @Test - Disabled due to flakiness. See SI-3077 to track and resolve this.
   public void testBackupRequestsRun() throws Exception
   {
@@ -610,12 +757,13 @@ public class TestBackupRequestsClient
     Map<URI,Map<Integer, PartitionData>> partitionDescriptions = new HashMap<URI, Map<Integer, PartitionData>>();
     uris.forEach(uri -> partitionDescriptions.put(URI.create(uri), Collections.singletonMap(0, new PartitionData(1))));
 
-    StaticLoadBalancerState LbState = new StaticLoadBalancerState()
-    {
-      @Override
-      public TrackerClient getClient(String serviceName, URI uri)
-      {
-        return new DegraderTrackerClientImpl(uri, partitionDescriptions.get(uri), null, SystemClock.instance(), null) {
+    // constantly enable backup request after backupDelayNano time.
+    BackupRequestsStrategy alwaysBackup = new TestTrackingBackupRequestsStrategy.MockBackupRequestsStrategy(
+        () -> Optional.of((long) backupDelayNano),
+        () -> true
+    );
+    return createAlwaysBackupClient(partitionDescriptions, DefaultPartitionAccessor.getInstance(),
+        uri -> new DegraderTrackerClientImpl(uri, partitionDescriptions.get(uri), null, SystemClock.instance(), null) {
           @Override
           public void restRequest(RestRequest request,
               RequestContext requestContext,
@@ -629,25 +777,41 @@ public class TestBackupRequestsClient
                 () -> callback.onResponse(TransportResponseImpl.success(new RestResponseBuilder().build())), responseDelayNano,
                 TimeUnit.NANOSECONDS);
           }
-        };
+        }, alwaysBackup, isD2Async);
+  }
+
+  private BackupRequestsClient createAlwaysBackupClient(Map<URI, Map<Integer, PartitionData>> partitionDescriptions,
+      PartitionAccessor partitionAccessor, Function<URI, TrackerClient> trackerClientFactory,
+      BackupRequestsStrategy backupRequestsStrategy, boolean isD2Async)
+      throws IOException
+  {
+    StaticLoadBalancerState LbState = new StaticLoadBalancerState()
+    {
+      @Override
+      public TrackerClient getClient(String serviceName, URI uri)
+      {
+        return trackerClientFactory.apply(uri);
+      }
+
+      @Override
+      public LoadBalancerStateItem<PartitionAccessor> getPartitionAccessor(String clusterName)
+      {
+        return new LoadBalancerStateItem<>(partitionAccessor, 1, 1);
       }
     };
     LbState.TEST_URIS_PARTITIONDESCRIPTIONS.putAll(partitionDescriptions);
     LbState.TEST_SERVICE_BACKUP_REQUEST_PROPERTIES.add(createBackupRequestsConfiguration(5, "get"));
     LbState.refreshDefaultProperties();
-    LoadBalancer loadBalancer = new SimpleLoadBalancer(LbState, _executor);
-    DynamicClient dynamicClient = new DynamicClient(loadBalancer, null);
+    SimpleLoadBalancer loadBalancer = new SimpleLoadBalancer(LbState, _executor);
+    Facilities facilities = new DelegatingFacilities(null, null, null, loadBalancer, loadBalancer, loadBalancer);
+    DynamicClient dynamicClient = new DynamicClient(loadBalancer, facilities);
+    TrackingBackupRequestsStrategy strategy = new TrackingBackupRequestsStrategy(backupRequestsStrategy);
 
     return new BackupRequestsClient(dynamicClient, loadBalancer, _executor, null, 10, TimeUnit.SECONDS, isD2Async) {
       @Override
       Optional<TrackingBackupRequestsStrategy> getStrategyAfterUpdate(final String serviceName, final String operation)
       {
-        // constantly enable backup request after backupDelayNano time.
-        BackupRequestsStrategy alwaysBackup = new TestTrackingBackupRequestsStrategy.MockBackupRequestsStrategy(
-            () -> Optional.of((long) backupDelayNano),
-            () -> true
-        );
-        return Optional.of(new TrackingBackupRequestsStrategy(alwaysBackup));
+        return Optional.of(strategy);
       }
     };
   }
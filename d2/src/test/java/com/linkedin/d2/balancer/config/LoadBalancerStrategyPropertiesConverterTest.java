@@ -67,6 +67,7 @@ public class LoadBalancerStrategyPropertiesConverterTest
     final String errorStatusRegex = "(5..)";
     final Integer lowEmittingInterval = 10;
     final Integer highEmittingInterval = 60;
+    final Boolean concurrentCallTrackingEnabled = true;
 
     hashConfig.setUriRegexes(regexes);
     hashConfig.setWarnOnNoMatch(false);
@@ -99,6 +100,7 @@ public class LoadBalancerStrategyPropertiesConverterTest
     loadBalancerStrategyProperties.put(PropertyKeys.HTTP_LB_ERROR_STATUS_REGEX, errorStatusRegex);
     loadBalancerStrategyProperties.put(PropertyKeys.HTTP_LB_LOW_EVENT_EMITTING_INTERVAL, lowEmittingInterval.toString());
     loadBalancerStrategyProperties.put(PropertyKeys.HTTP_LB_HIGH_EVENT_EMITTING_INTERVAL, highEmittingInterval.toString());
+    loadBalancerStrategyProperties.put(PropertyKeys.HTTP_LB_CONCURRENT_CALL_TRACKING_ENABLED, concurrentCallTrackingEnabled.toString());
 
     D2LoadBalancerStrategyProperties d2LoadBalancerStrategyProperties =
         new D2LoadBalancerStrategyProperties()
@@ -121,7 +123,8 @@ public class LoadBalancerStrategyPropertiesConverterTest
             .setQuarantineCfg(quarantineInfo)
             .setErrorStatusRegex(errorStatusRegex)
             .setLowEmittingInterval(lowEmittingInterval)
-            .setHighEmittingInterval(highEmittingInterval);
+            .setHighEmittingInterval(highEmittingInterval)
+            .setConcurrentCallTrackingEnabled(concurrentCallTrackingEnabled);
 
     Assert.assertEquals(LoadBalancerStrategyPropertiesConverter.toConfig(loadBalancerStrategyProperties), d2LoadBalancerStrategyProperties);
     Assert.assertEquals(LoadBalancerStrategyPropertiesConverter.toProperties(d2LoadBalancerStrategyProperties), loadBalancerStrategyProperties);
@@ -175,6 +175,33 @@ public class DelegatingRingFactoryTest
     }
   }
 
+  @Test(groups = { "small", "back-end" })
+  public void testIncrementalRingMatchesNewRing()
+  {
+    Map<String, Integer> pointsMp = buildPointsMap(20);
+    PointBasedConsistentHashRingFactory<String> ringFactory = new PointBasedConsistentHashRingFactory<>(new DegraderLoadBalancerStrategyConfig(1L));
+    ringFactory.createRing(pointsMp);
+
+    Random random = new Random(0);
+    for (int round = 0; round < 20; round++)
+    {
+      String baseUri = "http://test.linkedin.com:";
+      pointsMp.remove(baseUri + 1000 + random.nextInt(20 + round));
+      pointsMp.put(baseUri + 1000 + (20 + round), 100);
+      pointsMp.put(baseUri + 1000 + random.nextInt(20 + round), random.nextInt(150));
+
+      ConsistentHashRing<String> ring = (ConsistentHashRing<String>) ringFactory.createRing(pointsMp);
+      ConsistentHashRing<String> newRing = (ConsistentHashRing<String>)
+          new PointBasedConsistentHashRingFactory<String>(new DegraderLoadBalancerStrategyConfig(1L)).createRing(pointsMp);
+      assertEquals(ring.getPoints().size(), newRing.getPoints().size());
+      for (int i = 0; i < 10000; i++)
+      {
+        int key = random.nextInt();
+        assertEquals(ring.get(key), newRing.get(key));
+      }
+    }
+  }
+
   @Test(groups = { "small", "back-end" })
   public void testFactoryWithNoneHashConfig() {
     RingFactory<String> factory = new DelegatingRingFactory<>(configBuilder(null, null));
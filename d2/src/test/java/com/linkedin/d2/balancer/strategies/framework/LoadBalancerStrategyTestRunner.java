@@ -55,6 +55,10 @@ import org.slf4j.LoggerFactory;
  * 1. Identify the number of intervals, run iterations
  * 2. In each iteration, send requests based on call count for this interval.
  *    Each iteration is executed at the beginning of an interval
+ *
+ * Time is simulated by {@link ClockedExecutor}, so given the same settings the runs are deterministic and can be
+ * used to compare strategies and their configs, see {@link #getLatencyPercentile(double)}, {@link #getLoadSkew()},
+ * {@link #getConvergenceIntervalIndex()} and {@link #getAvgGetTrackerClientNanos()}.
  */
 public class LoadBalancerStrategyTestRunner
 {
@@ -77,11 +81,15 @@ public class LoadBalancerStrategyTestRunner
   private Map<URI, Integer> _callCountMap;
   private Map<URI, Long> _latencySumMap;
   private Map<URI, List<Integer>> _pointHistoryMap = new HashMap<>();
+  private List<Long> _latencyRecords;
+  private long _getTrackerClientNanos = 0L;
+  private long _getTrackerClientCount = 0L;
 
   public LoadBalancerStrategyTestRunner(LoadBalancerStrategy strategy, String serviceName,
       List<URI> uris, Map<Integer, Map<URI, TrackerClient>> partitionTrackerClientsMap,
       int numIntervals, RequestCountManager requestsManager, ClockedExecutor clockedExecutor, Map<URI, Integer> currentErrorMap,
-      Map<URI, Integer> lastRequestCountMap, Map<URI, Integer> currentRequestCountMap, Map<URI, Integer> callCountMap, Map<URI, Long> latencySumMap)
+      Map<URI, Integer> lastRequestCountMap, Map<URI, Integer> currentRequestCountMap, Map<URI, Integer> callCountMap, Map<URI, Long> latencySumMap,
+      List<Long> latencyRecords)
   {
     _strategy = strategy;
     _serviceName = serviceName;
@@ -96,6 +104,7 @@ public class LoadBalancerStrategyTestRunner
     _currentRequestCountMap = currentRequestCountMap;
     _callCountMap = callCountMap;
     _latencySumMap = latencySumMap;
+    _latencyRecords = latencyRecords;
   }
 
   /**
@@ -164,6 +173,79 @@ public class LoadBalancerStrategyTestRunner
     return latencySum / callCountTotal;
   }
 
+  /**
+   * Get the latency percentile of all the requests sent during the test
+   *
+   * @param percentile The percentile between 0 and 100, e.g. 99 for the 99th percentile
+   * @return the latency at the given percentile, or 0 if no request was sent
+   */
+  public long getLatencyPercentile(double percentile)
+  {
+    if (percentile < 0 || percentile > 100)
+    {
+      throw new IllegalArgumentException("The percentile has to be between 0 and 100");
+    }
+    if (_latencyRecords.isEmpty())
+    {
+      return 0L;
+    }
+    long[] latencies = _latencyRecords.stream().mapToLong(Long::longValue).toArray();
+    Arrays.sort(latencies);
+    int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+    return latencies[Math.max(index, 0)];
+  }
+
+  /**
+   * Get how unevenly the requests are spread across the hosts during the test
+   *
+   * @return the call count of the busiest host divided by the average call count of all the hosts,
+   * 1 means the load is perfectly even
+   */
+  public double getLoadSkew()
+  {
+    int maxCallCount = 0;
+    long callCountTotal = 0;
+    for (URI uri : _uris)
+    {
+      int callCount = _callCountMap.getOrDefault(uri, 0);
+      maxCallCount = Math.max(maxCallCount, callCount);
+      callCountTotal += callCount;
+    }
+    return callCountTotal == 0 ? 0 : (double) maxCallCount * _uris.size() / callCountTotal;
+  }
+
+  /**
+   * Get the index of the interval since which the points of all the hosts stay the same till the end of the test
+   *
+   * @return the index of the first interval of the final stable state, or 0 if the strategy does not keep points
+   */
+  public int getConvergenceIntervalIndex()
+  {
+    int convergenceIntervalIndex = 0;
+    for (List<Integer> pointHistory : _pointHistoryMap.values())
+    {
+      int lastPoints = pointHistory.get(pointHistory.size() - 1);
+      int index = pointHistory.size() - 1;
+      while (index > 0 && pointHistory.get(index - 1) == lastPoints)
+      {
+        index--;
+      }
+      convergenceIntervalIndex = Math.max(convergenceIntervalIndex, index);
+    }
+    return convergenceIntervalIndex;
+  }
+
+  /**
+   * Get the average CPU time spent in {@link LoadBalancerStrategy#getTrackerClient(Request, RequestContext, long, int, Map)}.
+   * Unlike the other stats this is measured with the wall clock, so it varies from run to run.
+   *
+   * @return the average time of one call in nanoseconds
+   */
+  public double getAvgGetTrackerClientNanos()
+  {
+    return _getTrackerClientCount == 0 ? 0 : (double) _getTrackerClientNanos / _getTrackerClientCount;
+  }
+
   public void runWait()
   {
     runWait(Arrays.asList(DEFAULT_PARTITION_ID));
@@ -221,8 +303,11 @@ public class LoadBalancerStrategyTestRunner
       Map<URI, TrackerClient> trackerClientMap = _partitionTrackerClientsMap.get(partitionId);
 
       // Get client with default generation id and cluster id
+      long startNanos = System.nanoTime();
       TrackerClient trackerClient =
           _strategy.getTrackerClient(restRequest, requestContext, DEFAULT_GENERATION_ID, partitionId, trackerClientMap);
+      _getTrackerClientNanos += System.nanoTime() - startNanos;
+      _getTrackerClientCount++;
       partitionIndex = partitionIndex >= partitionIds.size() - 1 ? 0 : partitionIndex + 1;
 
       TransportCallback<RestResponse> restCallback = (response) ->
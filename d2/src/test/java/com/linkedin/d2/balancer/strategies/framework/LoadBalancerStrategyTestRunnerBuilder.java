@@ -29,6 +29,7 @@ import com.linkedin.d2.balancer.properties.ServiceProperties;
 import com.linkedin.d2.balancer.strategies.LoadBalancerStrategy;
 import com.linkedin.d2.balancer.strategies.degrader.DegraderConfigFactory;
 import com.linkedin.d2.balancer.strategies.degrader.DegraderLoadBalancerStrategyFactoryV3;
+import com.linkedin.d2.balancer.strategies.random.RandomLoadBalancerStrategy;
 import com.linkedin.d2.balancer.strategies.relative.RelativeLoadBalancerStrategyFactory;
 import com.linkedin.d2.loadBalancerStrategyType;
 import com.linkedin.r2.message.RequestContext;
@@ -46,6 +47,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -65,6 +67,7 @@ public class LoadBalancerStrategyTestRunnerBuilder
   // This strategy list is not in use, please use the loadBalancerType to indicate the type of strategy
   public static final List<String> DEFAULT_STRATEGY_LIST = Arrays.asList("DEGRADER", "RANDOM", "RELATIVE");
   public static final int HEALTHY_ERROR_COUNT = 0;
+  public static final long DEFAULT_RANDOM_SEED = 0L;
   @SuppressWarnings("serial")
   private static final Map<Integer, PartitionData> DEFAULT_PARTITION_DATA_MAP = new HashMap<Integer, PartitionData>()
   {{
@@ -83,6 +86,7 @@ public class LoadBalancerStrategyTestRunnerBuilder
   private ErrorCountManager _errorCountManager;
   private RequestCountManager _requestCountManager;
   private final loadBalancerStrategyType _type;
+  private long _randomSeed = DEFAULT_RANDOM_SEED;
   private final ClockedExecutor _clockedExecutor = new ClockedExecutor();
 
   // Performance stats
@@ -91,6 +95,7 @@ public class LoadBalancerStrategyTestRunnerBuilder
   private Map<URI, Integer> _currentRequestCountMap = new HashMap<>();
   private Map<URI, Integer> _callCountMap = new HashMap<>();
   private Map<URI, Long> _latencySumMap = new HashMap<>();
+  private List<Long> _latencyRecords = new ArrayList<>();
 
   public LoadBalancerStrategyTestRunnerBuilder(final loadBalancerStrategyType type, final String serviceName, final int numHosts)
   {
@@ -200,6 +205,41 @@ public class LoadBalancerStrategyTestRunnerBuilder
     return this;
   }
 
+  /**
+   * Replay recorded latencies for different hosts, e.g. latencies sampled from a production trace.
+   * Each request sent to a host takes the next latency from the trace of that host, the trace starts over once
+   * all its latencies are used.
+   * @param latencyTraceForHosts The recorded latencies for each host, the size of the list should equal the number of uris.
+   */
+  public LoadBalancerStrategyTestRunnerBuilder setLatencyTrace(List<long[]> latencyTraceForHosts)
+  {
+    if (latencyTraceForHosts.size() != _uris.size())
+    {
+      throw new IllegalArgumentException("The latency trace list size has to match with the host size");
+    }
+    Map<URI, long[]> latencyTraceMap = new HashMap<>();
+    for (int i = 0; i < latencyTraceForHosts.size(); i++)
+    {
+      if (latencyTraceForHosts.get(i).length == 0)
+      {
+        throw new IllegalArgumentException("The latency trace of a host can not be empty");
+      }
+      latencyTraceMap.put(_uris.get(i), latencyTraceForHosts.get(i));
+    }
+    _latencyManager = new TraceLatencyManager(latencyTraceMap);
+    return this;
+  }
+
+  /**
+   * Set the seed used by the random strategy, so that the host selection is the same for every run
+   * @param randomSeed The seed of the random strategy
+   */
+  public LoadBalancerStrategyTestRunnerBuilder setRandomSeed(long randomSeed)
+  {
+    _randomSeed = randomSeed;
+    return this;
+  }
+
   /**
    * Set a constant error count for different hosts in all intervals
    * @param errorCountForHosts The constant error count to set for each host
@@ -281,6 +321,8 @@ public class LoadBalancerStrategyTestRunnerBuilder
     {
       case DEGRADER:
         return buildDegraderStrategy();
+      case RANDOM:
+        return buildRandomStrategy();
       case RELATIVE:
       default:
         return buildRelativeStrategy();
@@ -297,7 +339,7 @@ public class LoadBalancerStrategyTestRunnerBuilder
 
     _transportClients = _uris.stream()
         .map(uri -> new MockTransportClient(_clockedExecutor, _latencyManager, _errorCountManager, uri, INTERVAL_IN_MILLIS,
-            _currentErrorCountMap, _lastRequestCountMap, _callCountMap, _latencySumMap))
+            _currentErrorCountMap, _lastRequestCountMap, _callCountMap, _latencySumMap, _latencyRecords))
         .collect(Collectors.toList());
     Map<URI, TrackerClient> trackerClientMap = _transportClients.stream()
         .map(transportClient -> {
@@ -324,7 +366,29 @@ public class LoadBalancerStrategyTestRunnerBuilder
 
     _transportClients = _uris.stream()
         .map(uri -> new MockTransportClient(_clockedExecutor, _latencyManager, _errorCountManager, uri, INTERVAL_IN_MILLIS,
-            _currentErrorCountMap, _lastRequestCountMap, _callCountMap, _latencySumMap))
+            _currentErrorCountMap, _lastRequestCountMap, _callCountMap, _latencySumMap, _latencyRecords))
+        .collect(Collectors.toList());
+    Map<URI, TrackerClient> trackerClientMap = _transportClients.stream()
+        .map(transportClient -> {
+          // If partition map is not specified, by default we only support one partition
+          Map<Integer, PartitionData> partitionDataMap = _partitionDataMap.getOrDefault(transportClient.getUri(),
+              DEFAULT_PARTITION_DATA_MAP);
+
+          return new TrackerClientImpl(transportClient.getUri(), partitionDataMap, transportClient, _clockedExecutor,
+              INTERVAL_IN_MILLIS, (status) -> status >= 500 && status <= 599);
+        })
+        .collect(Collectors.toMap(TrackerClient::getUri, trackerClient -> trackerClient));
+
+    return buildInternal(trackerClientMap);
+  }
+
+  private LoadBalancerStrategyTestRunner buildRandomStrategy()
+  {
+    _strategy = new RandomLoadBalancerStrategy(new Random(_randomSeed));
+
+    _transportClients = _uris.stream()
+        .map(uri -> new MockTransportClient(_clockedExecutor, _latencyManager, _errorCountManager, uri, INTERVAL_IN_MILLIS,
+            _currentErrorCountMap, _lastRequestCountMap, _callCountMap, _latencySumMap, _latencyRecords))
         .collect(Collectors.toList());
     Map<URI, TrackerClient> trackerClientMap = _transportClients.stream()
         .map(transportClient -> {
@@ -359,7 +423,7 @@ public class LoadBalancerStrategyTestRunnerBuilder
     }
     return new LoadBalancerStrategyTestRunner(_strategy, _serviceName, _uris, partitionTrackerClientsMap, _numIntervals,
         _requestCountManager, _clockedExecutor, _currentErrorCountMap, _lastRequestCountMap, _currentRequestCountMap,
-        _callCountMap, _latencySumMap);
+        _callCountMap, _latencySumMap, _latencyRecords);
   }
 
   /**
@@ -377,11 +441,12 @@ public class LoadBalancerStrategyTestRunnerBuilder
     private Map<URI, Integer> _lastRequestCountMap;
     private Map<URI, Integer> _callCountMap;
     private Map<URI, Long> _latencySumMap;
+    private List<Long> _latencyRecords;
 
     MockTransportClient(
         ClockedExecutor executor, LatencyManager latencyManager, ErrorCountManager errorCountManager, URI uri,
         long intervalMillis, Map<URI, Integer> currentErrorCountMap, Map<URI, Integer> lastRequestCountMap,
-        Map<URI, Integer> callCountMap, Map<URI, Long> latencySumMap)
+        Map<URI, Integer> callCountMap, Map<URI, Long> latencySumMap, List<Long> latencyRecords)
     {
       _clockedExecutor = executor;
       _latencyManager = latencyManager;
@@ -393,6 +458,7 @@ public class LoadBalancerStrategyTestRunnerBuilder
       _lastRequestCountMap = lastRequestCountMap;
       _callCountMap = callCountMap;
       _latencySumMap = latencySumMap;
+      _latencyRecords = latencyRecords;
     }
 
     @Override
@@ -432,6 +498,7 @@ public class LoadBalancerStrategyTestRunnerBuilder
       _callCountMap.put(_uri, _callCountMap.get(_uri) + 1);
       _latencySumMap.putIfAbsent(_uri, 0L);
       _latencySumMap.put(_uri, _latencySumMap.get(_uri) + latency);
+      _latencyRecords.add(latency);
 
     }
 
@@ -0,0 +1,46 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.d2.balancer.strategies.framework;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Replay recorded latencies for each host. Every call to a host takes the next latency sample of the host
+ * in order, and the samples start over once they are exhausted, so the replay is deterministic.
+ */
+class TraceLatencyManager implements LatencyManager
+{
+  private final Map<URI, long[]> _latencyTraceMap;
+  private final Map<URI, Integer> _traceIndexMap = new HashMap<>();
+
+  TraceLatencyManager(Map<URI, long[]> latencyTraceMap)
+  {
+    _latencyTraceMap = latencyTraceMap;
+  }
+
+  @Override
+  public long getLatency(URI uri, int hostRequestCount, int intervalIndex)
+  {
+    long[] trace = _latencyTraceMap.get(uri);
+    int index = _traceIndexMap.getOrDefault(uri, 0);
+    _traceIndexMap.put(uri, index + 1 >= trace.length ? 0 : index + 1);
+    return trace[index];
+  }
+}
@@ -29,7 +29,9 @@ import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -83,6 +85,80 @@ public class WarmUpLoadBalancerTest
     Assert.assertEquals(VALID_FILES.size(), requestCount.get());
   }
 
+  @Test(timeOut = 10000)
+  public void testWarmUpTimings() throws InterruptedException, ExecutionException, TimeoutException
+  {
+    createDefaultServicesIniFiles();
+
+    TestLoadBalancer balancer = new TestLoadBalancer();
+    WarmUpLoadBalancer warmUpLoadBalancer = new WarmUpLoadBalancer(balancer, balancer, Executors.newSingleThreadScheduledExecutor(),
+      _tmpdir.getAbsolutePath(), MY_SERVICES_FS, _FSBasedDownstreamServicesFetcher,
+      WarmUpLoadBalancer.DEFAULT_SEND_REQUESTS_TIMEOUT_SECONDS,
+      WarmUpLoadBalancer.DEFAULT_CONCURRENT_REQUESTS);
+
+    FutureCallback<None> callback = new FutureCallback<>();
+    warmUpLoadBalancer.start(callback);
+    callback.get(5000, TimeUnit.MILLISECONDS);
+
+    List<WarmUpLoadBalancer.ServiceWarmUpTiming> timings = warmUpLoadBalancer.getWarmUpTimings();
+    Assert.assertEquals(timings.size(), VALID_FILES.size());
+    Set<String> warmedUpServices = new HashSet<>();
+    for (WarmUpLoadBalancer.ServiceWarmUpTiming timing : timings)
+    {
+      Assert.assertTrue(timing.isSucceeded());
+      Assert.assertTrue(timing.getStartOffsetMs() >= 0);
+      Assert.assertTrue(timing.getDurationMs() >= 0);
+      warmedUpServices.add(timing.getServiceName());
+    }
+    Assert.assertEquals(warmedUpServices, new HashSet<>(Arrays.asList("service1", "service2", "service3")));
+  }
+
+  @Test(timeOut = 10000)
+  public void testWarmUpConnections() throws InterruptedException, ExecutionException, TimeoutException
+  {
+    createDefaultServicesIniFiles();
+
+    TestLoadBalancer balancer = new TestLoadBalancer();
+    WarmUpLoadBalancer warmUpLoadBalancer = new WarmUpLoadBalancer(balancer, balancer, Executors.newSingleThreadScheduledExecutor(),
+      _tmpdir.getAbsolutePath(), MY_SERVICES_FS, _FSBasedDownstreamServicesFetcher,
+      WarmUpLoadBalancer.DEFAULT_SEND_REQUESTS_TIMEOUT_SECONDS,
+      WarmUpLoadBalancer.DEFAULT_CONCURRENT_REQUESTS, true);
+
+    FutureCallback<None> callback = new FutureCallback<>();
+    warmUpLoadBalancer.start(callback);
+    callback.get(5000, TimeUnit.MILLISECONDS);
+
+    Assert.assertEquals(balancer.getRequestCount().get(), VALID_FILES.size());
+    Assert.assertEquals(balancer.getConnectionWarmUpCount().get(), VALID_FILES.size());
+    List<WarmUpLoadBalancer.ServiceWarmUpTiming> timings = warmUpLoadBalancer.getWarmUpTimings();
+    Assert.assertEquals(timings.size(), VALID_FILES.size());
+    for (WarmUpLoadBalancer.ServiceWarmUpTiming timing : timings)
+    {
+      Assert.assertTrue(timing.isSucceeded());
+      Assert.assertTrue(timing.getConnectionWarmUpDurationMs() >= 0);
+      Assert.assertTrue(timing.getConnectionWarmUpDurationMs() <= timing.getDurationMs());
+    }
+  }
+
+  @Test(timeOut = 10000)
+  public void testNoConnectionWarmUpByDefault() throws InterruptedException, ExecutionException, TimeoutException
+  {
+    createDefaultServicesIniFiles();
+
+    TestLoadBalancer balancer = new TestLoadBalancer();
+    WarmUpLoadBalancer warmUpLoadBalancer = new WarmUpLoadBalancer(balancer, balancer, Executors.newSingleThreadScheduledExecutor(),
+      _tmpdir.getAbsolutePath(), MY_SERVICES_FS, _FSBasedDownstreamServicesFetcher,
+      WarmUpLoadBalancer.DEFAULT_SEND_REQUESTS_TIMEOUT_SECONDS,
+      WarmUpLoadBalancer.DEFAULT_CONCURRENT_REQUESTS);
+
+    FutureCallback<None> callback = new FutureCallback<>();
+    warmUpLoadBalancer.start(callback);
+    callback.get(5000, TimeUnit.MILLISECONDS);
+
+    Assert.assertEquals(balancer.getRequestCount().get(), VALID_FILES.size());
+    Assert.assertEquals(balancer.getConnectionWarmUpCount().get(), 0);
+  }
+
   @Test(timeOut = 10000, groups = { "ci-flaky" })
   public void testDeletingFilesAfterShutdown() throws InterruptedException, ExecutionException, TimeoutException
   {
@@ -251,6 +327,40 @@ public class WarmUpLoadBalancerTest
     Assert.assertEquals(NRequests, requestCount.get());
   }
 
+  @Test(timeOut = 10000)
+  public void testConnectionWarmUpThrottling() throws InterruptedException
+  {
+    int NRequests = 50;
+    createNServicesIniFiles(NRequests);
+
+    TestLoadBalancer balancer = new TestLoadBalancer(50);
+    LoadBalancer warmUpLoadBalancer = new WarmUpLoadBalancer(balancer, balancer, Executors.newSingleThreadScheduledExecutor(),
+      _tmpdir.getAbsolutePath(), MY_SERVICES_FS, _FSBasedDownstreamServicesFetcher,
+      WarmUpLoadBalancer.DEFAULT_SEND_REQUESTS_TIMEOUT_SECONDS,
+      WarmUpLoadBalancer.DEFAULT_CONCURRENT_REQUESTS, true);
+
+    FutureCallback<None> callback = new FutureCallback<>();
+    warmUpLoadBalancer.start(callback);
+
+    while (!callback.isDone())
+    {
+      int currentConcurrentRequests = balancer.getRequestCount().get() - balancer.getCompletedRequestCount().get();
+      int currentConcurrentConnectionWarmUps =
+        balancer.getConnectionWarmUpCount().get() - balancer.getCompletedConnectionWarmUpCount().get();
+      if (currentConcurrentRequests > WarmUpLoadBalancer.DEFAULT_CONCURRENT_REQUESTS
+        || currentConcurrentConnectionWarmUps > WarmUpLoadBalancer.DEFAULT_CONCURRENT_REQUESTS)
+      {
+        Assert.fail("The concurrent requests (" + currentConcurrentRequests + ") or connection warm ups ("
+          + currentConcurrentConnectionWarmUps + ") are greater than the allowed ("
+          + WarmUpLoadBalancer.DEFAULT_CONCURRENT_REQUESTS + ")");
+      }
+      Thread.sleep(50);
+    }
+
+    Assert.assertEquals(balancer.getRequestCount().get(), NRequests);
+    Assert.assertEquals(balancer.getConnectionWarmUpCount().get(), NRequests);
+  }
+
   /**
    * Tests that if the requests are not throttled it makes a large amount of concurrent calls
    */
@@ -25,10 +25,13 @@ import com.linkedin.d2.balancer.strategies.DelegatingRingFactory;
 import com.linkedin.d2.balancer.strategies.degrader.DegraderLoadBalancerStrategyConfig;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.annotations.Test;
@@ -171,4 +174,49 @@ public class ConsistentHashRingTest
     assertEquals(midURI, uri2);
 
   }
+
+  @Test(groups = { "small", "back-end" })
+  public void testLookupMatchesBinarySearchOverPoints()
+  {
+    Random random = new Random(17);
+    for (int size : new int[] { 1, 2, 3, 100, 1000, 100000 })
+    {
+      List<ConsistentHashRing.Point<String>> points = new ArrayList<ConsistentHashRing.Point<String>>();
+      for (int i = 0; i < size; i++)
+      {
+        // draw from a narrow range now and then so that some points share a hash
+        int hash = i % 10 == 0 ? random.nextInt(16) : random.nextInt();
+        points.add(new ConsistentHashRing.Point<String>("host-" + (i % 50), hash));
+      }
+      points.add(new ConsistentHashRing.Point<String>("min", Integer.MIN_VALUE));
+      points.add(new ConsistentHashRing.Point<String>("max", Integer.MAX_VALUE));
+
+      List<ConsistentHashRing.Point<String>> expectedPoints = new ArrayList<ConsistentHashRing.Point<String>>(points);
+      Collections.sort(expectedPoints);
+      ConsistentHashRing<String> ring = new ConsistentHashRing<String>(points);
+      assertEquals(ring.getPoints(), expectedPoints);
+
+      List<Integer> keys = new ArrayList<Integer>();
+      for (ConsistentHashRing.Point<String> point : expectedPoints)
+      {
+        keys.add(point.getHash());
+        keys.add(point.getHash() - 1);
+        keys.add(point.getHash() + 1);
+      }
+      for (int i = 0; i < 1000; i++)
+      {
+        keys.add(random.nextInt());
+      }
+
+      for (int key : keys)
+      {
+        int index = Collections.binarySearch(expectedPoints, new ConsistentHashRing.Point<String>(null, key));
+        if (index < 0)
+        {
+          index = -(index + 1);
+        }
+        assertEquals(ring.get(key), expectedPoints.get(index % expectedPoints.size()).getT(), "Wrong object for key " + key);
+      }
+    }
+  }
 }
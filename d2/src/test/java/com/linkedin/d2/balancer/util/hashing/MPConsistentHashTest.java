@@ -140,6 +140,59 @@ public class MPConsistentHashTest
     Assert.assertTrue(pointsMap.isEmpty());
   }
 
+  @Test
+  public void testMultipleBucketsPerHost()
+  {
+    Map<String, Integer> pointsMap = new HashMap<>();
+    pointsMap.put("host-1", 10);
+    pointsMap.put("host-2", 10);
+    pointsMap.put("host-3", 0);
+    MPConsistentHashRing<String> hashRing =
+        new MPConsistentHashRing<>(pointsMap, MPConsistentHashRing.DEFAULT_NUM_PROBES, 3);
+
+    Map<String, Integer> counts = new HashMap<>();
+    for (int i = 0; i < 10000; i++)
+    {
+      counts.merge(hashRing.get(i), 1, Integer::sum);
+    }
+    Assert.assertEquals(counts.keySet().size(), 2);
+    Assert.assertFalse(counts.containsKey("host-3"));
+
+    Iterator<String> iter = hashRing.getOrderedIterator(42);
+    Assert.assertEquals(iter.next(), hashRing.get(42));
+    Assert.assertTrue(iter.hasNext());
+    iter.next();
+    Assert.assertFalse(iter.hasNext());
+  }
+
+  @Test
+  public void testWithPointsMatchesNewRing()
+  {
+    Map<String, Integer> pointsMap = new HashMap<>();
+    for (int i = 0; i < 20; i++)
+    {
+      pointsMap.put("host-" + i, 100);
+    }
+    MPConsistentHashRing<String> hashRing =
+        new MPConsistentHashRing<>(pointsMap, MPConsistentHashRing.DEFAULT_NUM_PROBES, 3);
+
+    Random random = new Random(0);
+    for (int round = 0; round < 10; round++)
+    {
+      pointsMap.remove("host-" + random.nextInt(20 + round));
+      pointsMap.put("host-" + (20 + round), 100);
+      pointsMap.put("host-" + random.nextInt(20 + round), random.nextInt(100));
+
+      hashRing = hashRing.withPoints(pointsMap);
+      MPConsistentHashRing<String> newRing =
+          new MPConsistentHashRing<>(pointsMap, MPConsistentHashRing.DEFAULT_NUM_PROBES, 3);
+      Assert.assertEquals(hashRing.toString(), newRing.toString());
+      for (int key = 0; key < 1000; key++)
+      {
+        Assert.assertEquals(hashRing.get(key), newRing.get(key));
+      }
+    }
+  }
 
   private Map<Integer, Integer> getDistribution(int numHosts, int pointsPerHost)
   {
@@ -0,0 +1,172 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.d2.balancer.util.hashing;
+
+import com.linkedin.d2.balancer.properties.RangeBasedPartitionProperties;
+import com.linkedin.d2.balancer.util.partitions.PartitionAccessException;
+import com.linkedin.d2.balancer.util.partitions.PartitionAccessor;
+import com.linkedin.d2.balancer.util.partitions.RangeBasedPartitionAccessor;
+import com.linkedin.r2.message.rest.RestRequestBuilder;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+public class MultiPatternMatcherTest
+{
+  private static final List<String> LITERAL_REGEXES = Arrays.asList(
+    "/(\\d+)",
+    "^/service/(\\d+)",
+    "key=([A-Za-z0-9\\+\\/\\=\\-\\_]+)",
+    "/service-3_2/(\\d+)",
+    "partition=(\\d+)$",
+    "id=([^&/?]*)",
+    "(\\w+)",
+    "/items/(.+)",
+    "x\\.y=([a-c-]+)"
+  );
+
+  private static final List<String> FALLBACK_REGEXES = Arrays.asList(
+    "key=(-?\\d+)",
+    "/(\\d+)/(\\w+)",
+    "(?i)ID=(\\d+)",
+    "/a(b)?c=(\\d+)"
+  );
+
+  private static final String URI_CHARACTERS = "abcxyz_ABC0123456789/?&=.-+\u00e9\u2028\n";
+
+  @DataProvider
+  public Object[][] regexes()
+  {
+    return new Object[][]{{LITERAL_REGEXES, true}, {FALLBACK_REGEXES, false}};
+  }
+
+  @Test(dataProvider = "regexes")
+  public void testMatchesLikePattern(List<String> regexes, boolean literal)
+  {
+    Random random = new Random(42);
+    for (String regex : regexes)
+    {
+      MultiPatternMatcher matcher = new MultiPatternMatcher(Collections.singletonList(regex));
+      Assert.assertEquals(matcher.isLiteralPattern(0), literal, regex);
+
+      Pattern pattern = Pattern.compile(regex);
+      int[] groupBounds = matcher.newGroupBounds();
+      for (int i = 0; i < 10000; i++)
+      {
+        String input = randomInput(random, regex);
+        Matcher expected = pattern.matcher(input);
+        if (expected.find())
+        {
+          Assert.assertEquals(matcher.find(input, 0, groupBounds), 0, regex + " " + input);
+          for (int group = 0; group <= expected.groupCount(); group++)
+          {
+            Assert.assertEquals(groupBounds[2 * group], expected.start(group), regex + " " + input);
+            Assert.assertEquals(groupBounds[2 * group + 1], expected.end(group), regex + " " + input);
+          }
+        }
+        else
+        {
+          Assert.assertEquals(matcher.find(input, 0, groupBounds), MultiPatternMatcher.NO_MATCH, regex + " " + input);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFirstMatchingPattern()
+  {
+    MultiPatternMatcher matcher = new MultiPatternMatcher(Arrays.asList("memberId=(\\d+)", "/members/(\\d+)", "(x+)"));
+    int[] groupBounds = matcher.newGroupBounds();
+
+    String uri = "/members/123?memberId=456";
+    Assert.assertEquals(matcher.find(uri, 0, groupBounds), 0);
+    Assert.assertEquals(uri.substring(groupBounds[2], groupBounds[3]), "456");
+    Assert.assertEquals(matcher.find(uri, 1, groupBounds), 1);
+    Assert.assertEquals(uri.substring(groupBounds[2], groupBounds[3]), "123");
+    Assert.assertEquals(matcher.find(uri, 2, groupBounds), MultiPatternMatcher.NO_MATCH);
+  }
+
+  @Test
+  public void testCompiledURIRegexHash() throws Exception
+  {
+    List<String> regexes = Arrays.asList("memberId=(\\d+)", "/(\\d+)/(\\w+)", "/members/([^/?]+)");
+    URIRegexHash expected = new URIRegexHash(regexes, true, false);
+    CompiledURIRegexHash compiled = new CompiledURIRegexHash(regexes, true, false);
+
+    for (String uri : Arrays.asList("/members/123?memberId=456", "/12/abc", "/members/abc%20def", "/members/\u00e9t\u00e9"))
+    {
+      RestRequestBuilder builder = new RestRequestBuilder(new URI(uri));
+      Assert.assertEquals(compiled.hash(builder.build()), expected.hash(builder.build()), uri);
+    }
+
+    try
+    {
+      compiled.hash(new RestRequestBuilder(new URI("/nothing")).build());
+      Assert.fail("No expression should match");
+    }
+    catch (RuntimeException e)
+    {
+      // expected
+    }
+  }
+
+  @Test
+  public void testPartitionKeyExtraction() throws Exception
+  {
+    PartitionAccessor literalAccessor =
+      new RangeBasedPartitionAccessor(new RangeBasedPartitionProperties("partition=(\\d+)", 0, 10, 5));
+    Assert.assertEquals(literalAccessor.getPartitionId(new URI("/foo?partition=23&x=1")), 2);
+
+    PartitionAccessor fallbackAccessor =
+      new RangeBasedPartitionAccessor(new RangeBasedPartitionProperties("(partition|p)=(\\d+)", 0, 10, 5));
+    Assert.assertEquals(fallbackAccessor.getPartitionId(new URI("/foo?p=45")), 4);
+
+    try
+    {
+      literalAccessor.getPartitionId(new URI("/foo?partition=x"));
+      Assert.fail("The partition key regex should not match");
+    }
+    catch (PartitionAccessException e)
+    {
+      // expected
+    }
+  }
+
+  /**
+   * Random inputs made of the characters of the regex and of URIs, so that they often match.
+   */
+  private static String randomInput(Random random, String regex)
+  {
+    String characters = URI_CHARACTERS + regex.replaceAll("[\\\\()\\[\\]^$+*]", "");
+    StringBuilder builder = new StringBuilder();
+    int length = random.nextInt(20);
+    for (int i = 0; i < length; i++)
+    {
+      builder.append(characters.charAt(random.nextInt(characters.length())));
+    }
+    return builder.toString();
+  }
+}
@@ -18,6 +18,7 @@ package com.linkedin.d2.balancer.util.hashing;
 
 import com.linkedin.d2.balancer.ServiceUnavailableException;
 import com.linkedin.d2.balancer.URIMapper;
+import com.linkedin.d2.balancer.util.MapKeyResult;
 import com.linkedin.d2.balancer.util.URIKeyPair;
 import com.linkedin.d2.balancer.util.URIMappingResult;
 import com.linkedin.d2.balancer.util.URIRequest;
@@ -385,6 +386,115 @@ public class RingBasedURIMapperTest
         .forEach((key, value) -> Assert.assertTrue(value.isEmpty()));
   }
 
+  @Test(dataProvider = "stickyPartitionPermutation")
+  public void testPlanCacheMatchesUncachedMapping(boolean sticky, boolean partitioned) throws Exception
+  {
+    int partitionCount = partitioned ? 10 : 1;
+    int requestPerPartition = 100;
+    int totalHostCount = 100;
+
+    HashRingProvider ringProvider = createStaticHashRingProvider(totalHostCount, partitionCount, getHashFunction(sticky));
+    PartitionInfoProvider infoProvider = createRangeBasedPartitionInfoProvider(partitionCount);
+    URIMapper mapper = new RingBasedUriMapper(ringProvider, infoProvider);
+    // a cache smaller than the number of requests is cleared while mapping
+    URIMapper cachedMapper = new RingBasedUriMapper(ringProvider, infoProvider, 10000);
+    URIMapper smallCachedMapper = new RingBasedUriMapper(ringProvider, infoProvider, 10);
+
+    List<URIKeyPair<Integer>> requests = testUtil.generateRequests(partitionCount, requestPerPartition);
+    URIMappingResult<Integer> expected = mapper.mapUris(requests);
+
+    for (URIMapper uriMapper : Arrays.asList(cachedMapper, smallCachedMapper))
+    {
+      for (int i = 0; i < 2; i++)
+      {
+        URIMappingResult<Integer> results = uriMapper.mapUris(requests);
+        Assert.assertTrue(results.getUnmappedKeys().isEmpty());
+        if (sticky)
+        {
+          Assert.assertEquals(results.getMappedKeys(), expected.getMappedKeys());
+          Assert.assertEquals(results.getHostPartitionInfo(), expected.getHostPartitionInfo());
+        }
+        else
+        {
+          Assert.assertEquals(new HashSet<>(results.getHostPartitionInfo().values()),
+              new HashSet<>(expected.getHostPartitionInfo().values()));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testPlanCacheRingUpdate() throws Exception
+  {
+    int partitionCount = 10;
+    int requestPerPartition = 100;
+
+    // same hash function and partition accessor, only the rings change
+    HashFunction<Request> hashFunction = getHashFunction(true);
+    UpdatableRingProvider ringProvider =
+        new UpdatableRingProvider(createStaticHashRingProvider(100, partitionCount, hashFunction));
+    PartitionInfoProvider infoProvider = createRangeBasedPartitionInfoProvider(partitionCount);
+    URIMapper cachedMapper = new RingBasedUriMapper(ringProvider, infoProvider, 10000);
+    List<URIKeyPair<Integer>> requests = testUtil.generateRequests(partitionCount, requestPerPartition);
+    cachedMapper.mapUris(requests);
+
+    // the hosts of each partition change
+    HashRingProvider updatedRingProvider = createStaticHashRingProvider(200, partitionCount, hashFunction);
+    ringProvider._delegate = updatedRingProvider;
+    URIMappingResult<Integer> expected =
+        new RingBasedUriMapper(updatedRingProvider, infoProvider).mapUris(requests);
+
+    URIMappingResult<Integer> results = cachedMapper.mapUris(requests);
+    Assert.assertEquals(results.getMappedKeys(), expected.getMappedKeys());
+    Assert.assertEquals(results.getHostPartitionInfo(), expected.getHostPartitionInfo());
+  }
+
+  @Test
+  public void testPlanCacheDoesNotCacheRandomHashCodes() throws Exception
+  {
+    // no request uri matches the expression, so every mapping falls back to a random hash code
+    HashFunction<Request> hashFunction = new URIRegexHash(Collections.singletonList("nomatch=(\\d+)"), false, false);
+    HashRingProvider ringProvider = createStaticHashRingProvider(100, 1, hashFunction);
+    PartitionInfoProvider infoProvider = createRangeBasedPartitionInfoProvider(1);
+    URIMapper cachedMapper = new RingBasedUriMapper(ringProvider, infoProvider, 10000);
+    List<URIKeyPair<Integer>> requests = Collections.singletonList(createRequestURI(TEST_SERVICE, 0, 1));
+
+    Set<URI> hosts = new HashSet<>();
+    for (int i = 0; i < 20; i++)
+    {
+      hosts.addAll(cachedMapper.mapUris(requests).getMappedKeys().keySet());
+    }
+    Assert.assertTrue(hosts.size() > 1, "the request should not stick to " + hosts);
+  }
+
+  private static class UpdatableRingProvider implements HashRingProvider
+  {
+    private volatile HashRingProvider _delegate;
+
+    UpdatableRingProvider(HashRingProvider delegate)
+    {
+      _delegate = delegate;
+    }
+
+    @Override
+    public <K> MapKeyResult<Ring<URI>, K> getRings(URI serviceUri, Iterable<K> keys) throws ServiceUnavailableException
+    {
+      return _delegate.getRings(serviceUri, keys);
+    }
+
+    @Override
+    public Map<Integer, Ring<URI>> getRings(URI serviceUri) throws ServiceUnavailableException
+    {
+      return _delegate.getRings(serviceUri);
+    }
+
+    @Override
+    public HashFunction<Request> getRequestHashFunction(String serviceName) throws ServiceUnavailableException
+    {
+      return _delegate.getRequestHashFunction(serviceName);
+    }
+  }
+
   @DataProvider
   public Object[][] stickyPartitionPermutation()
   {
@@ -0,0 +1,159 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.d2.discovery.event;
+
+import com.linkedin.d2.discovery.stores.mock.MockStore;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ * Runs the {@link PropertyEventBusTest} tests against a bus partitioned across several executors.
+ */
+public class ShardedPropertyEventBusImplTest extends PropertyEventBusTest
+{
+  private static final int NUM_SHARDS = 4;
+
+  @Override
+  public PropertyEventBus<String> getBus()
+  {
+    List<ExecutorService> executors = new ArrayList<>();
+    for (int i = 0; i < NUM_SHARDS; i++)
+    {
+      executors.add(new SynchronousExecutorService());
+    }
+    return new PropertyEventBusImpl<String>(executors, new MockStore<String>());
+  }
+
+  @Override
+  public void put(PropertyEventBus<String> registry,
+                  String listenTo,
+                  String discoveryProperties)
+  {
+    getStore(registry).put(listenTo, discoveryProperties);
+  }
+
+  @Override
+  public void remove(PropertyEventBus<String> registry, String listenTo)
+  {
+    getStore(registry).remove(listenTo);
+  }
+
+  private MockStore<String> getStore(PropertyEventBus<String> registry)
+  {
+    PropertyEventBusImpl<String> bus = (PropertyEventBusImpl<String>) registry;
+    return (MockStore<String>) bus.getPublisher();
+  }
+
+  @Test(groups = { "small", "back-end" })
+  public void testEventsOfPropertyAreOrdered() throws InterruptedException
+  {
+    List<ExecutorService> executors = new ArrayList<>();
+    for (int i = 0; i < NUM_SHARDS; i++)
+    {
+      executors.add(Executors.newSingleThreadExecutor());
+    }
+    try
+    {
+      PropertyEventBusImpl<String> bus = new PropertyEventBusImpl<>(executors, new MockStore<String>());
+
+      final int numProperties = 20;
+      final int numUpdates = 200;
+      final Map<String, List<String>> received = new ConcurrentHashMap<>();
+      final Set<String> threads = ConcurrentHashMap.newKeySet();
+      final CountDownLatch done = new CountDownLatch(numProperties);
+      Set<String> properties = new HashSet<>();
+      for (int i = 0; i < numProperties; i++)
+      {
+        properties.add("property-" + i);
+        received.put("property-" + i, Collections.synchronizedList(new ArrayList<>()));
+      }
+
+      bus.register(properties, new PropertyEventSubscriber<String>()
+      {
+        @Override
+        public void onInitialize(String propertyName, String propertyValue)
+        {
+          onAdd(propertyName, propertyValue);
+        }
+
+        @Override
+        public void onAdd(String propertyName, String propertyValue)
+        {
+          if (propertyValue == null)
+          {
+            // published by the MockStore when it starts publishing the property
+            return;
+          }
+          threads.add(Thread.currentThread().getName());
+          received.get(propertyName).add(propertyValue);
+          if (propertyValue.equals(String.valueOf(numUpdates - 1)))
+          {
+            done.countDown();
+          }
+        }
+
+        @Override
+        public void onRemove(String propertyName)
+        {
+        }
+      });
+
+      for (int update = 0; update < numUpdates; update++)
+      {
+        for (String property : properties)
+        {
+          if (update == 0)
+          {
+            bus.publishInitialize(property, String.valueOf(update));
+          }
+          else
+          {
+            bus.publishAdd(property, String.valueOf(update));
+          }
+        }
+      }
+
+      Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+      for (List<String> values : received.values())
+      {
+        Assert.assertEquals(values.size(), numUpdates);
+        for (int update = 0; update < numUpdates; update++)
+        {
+          Assert.assertEquals(values.get(update), String.valueOf(update));
+        }
+      }
+      Assert.assertTrue(threads.size() > 1);
+    }
+    finally
+    {
+      executors.forEach(ExecutorService::shutdown);
+    }
+  }
+}
@@ -0,0 +1,288 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.d2.discovery.stores.file;
+
+import com.linkedin.common.callback.FutureCallback;
+import com.linkedin.common.util.None;
+import com.linkedin.d2.balancer.util.FileSystemDirectory;
+import com.linkedin.d2.discovery.PropertySerializationException;
+import com.linkedin.d2.discovery.PropertySerializer;
+import com.linkedin.d2.discovery.stores.PropertyStore;
+import com.linkedin.d2.discovery.stores.PropertyStoreTest;
+import com.linkedin.d2.discovery.stores.PropertyStringSerializer;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static com.linkedin.d2.balancer.util.LoadBalancerUtil.createTempDirectory;
+import static org.testng.Assert.fail;
+
+public class SegmentFileStoreTest extends PropertyStoreTest
+{
+  @Override
+  public PropertyStore<String> getStore()
+  {
+    try
+    {
+      return new SegmentFileStore<>(createTempDirectory("segment-file-store-test").toString(),
+          new PropertyStringSerializer());
+    }
+    catch (IOException e)
+    {
+      fail("unable to create segment file store");
+    }
+
+    return null;
+  }
+
+  @Test
+  public void testReopen() throws Exception
+  {
+    String path = createTempDirectory("segment-file-store-test").toString();
+    SegmentFileStore<String> store = new SegmentFileStore<>(path, new PropertyStringSerializer());
+    store.put("service-1", "value-1");
+    store.put("service-2", "value-2");
+    store.put("service-1", "value-1b");
+    store.put("service-3", "value-3");
+    store.remove("service-2");
+    shutdown(store);
+
+    store = new SegmentFileStore<>(path, new PropertyStringSerializer());
+    Assert.assertEquals(store.getPropertyNames(), new HashSet<>(Arrays.asList("service-1", "service-3")));
+    Assert.assertEquals(store.get("service-1"), "value-1b");
+    Assert.assertNull(store.get("service-2"));
+    Assert.assertEquals(store.get("service-3"), "value-3");
+
+    store.put("service-2", "value-2b");
+    shutdown(store);
+    store = new SegmentFileStore<>(path, new PropertyStringSerializer());
+    Assert.assertEquals(store.get("service-2"), "value-2b");
+  }
+
+  @Test
+  public void testCompaction() throws Exception
+  {
+    String path = createTempDirectory("segment-file-store-test").toString();
+    SegmentFileStore<String> store = new SegmentFileStore<>(path, new PropertyStringSerializer(), 1.0, 1024);
+    Map<String, String> expected = new HashMap<>();
+    for (int i = 0; i < 1000; i++)
+    {
+      String name = "service-" + (i % 10);
+      String value = "value-" + i;
+      store.put(name, value);
+      expected.put(name, value);
+    }
+    store.remove("service-0");
+    expected.remove("service-0");
+
+    Assert.assertTrue(store.getCompactionCount() > 0);
+    Assert.assertTrue(store.getSegmentSize() < 4 * 1024, "segment size " + store.getSegmentSize());
+    Assert.assertEquals(store.getAll(), expected);
+
+    shutdown(store);
+    store = new SegmentFileStore<>(path, new PropertyStringSerializer());
+    Assert.assertEquals(store.getAll(), expected);
+    Assert.assertFalse(new File(path, SegmentFileStore.SEGMENT_FILE_NAME + ".compacting").exists());
+  }
+
+  @Test
+  public void testCorruptedTailIsDiscarded() throws Exception
+  {
+    String path = createTempDirectory("segment-file-store-test").toString();
+    SegmentFileStore<String> store = new SegmentFileStore<>(path, new PropertyStringSerializer());
+    store.put("service-1", "value-1");
+    store.put("service-2", "value-2");
+    shutdown(store);
+
+    // simulate a record that was only partially written
+    File segmentFile = new File(path, SegmentFileStore.SEGMENT_FILE_NAME);
+    try (FileOutputStream outputStream = new FileOutputStream(segmentFile, true))
+    {
+      outputStream.write(new byte[] { 1, 0, 0, 0, 9, 0, 0, 0, 7, 's', 'e', 'r' });
+    }
+
+    store = new SegmentFileStore<>(path, new PropertyStringSerializer());
+    Assert.assertEquals(store.get("service-1"), "value-1");
+    Assert.assertEquals(store.get("service-2"), "value-2");
+
+    store.put("service-3", "value-3");
+    shutdown(store);
+    store = new SegmentFileStore<>(path, new PropertyStringSerializer());
+    Assert.assertEquals(store.getPropertyNames().size(), 3);
+    Assert.assertEquals(store.get("service-3"), "value-3");
+  }
+
+  @Test
+  public void testDeserializedValuesAreCached() throws Exception
+  {
+    String path = createTempDirectory("segment-file-store-test").toString();
+    SegmentFileStore<String> store = new SegmentFileStore<>(path, new PropertyStringSerializer());
+    store.put("service-1", "value-1");
+    store.put("service-2", "value-2");
+    shutdown(store);
+
+    CountingPropertySerializer serializer = new CountingPropertySerializer();
+    store = new SegmentFileStore<>(path, serializer);
+    Assert.assertEquals(serializer._deserializations.get(), 0);
+
+    Assert.assertEquals(store.getAll().size(), 2);
+    Assert.assertEquals(store.get("service-1"), "value-1");
+    Assert.assertEquals(store.get("service-2"), "value-2");
+    Assert.assertEquals(serializer._deserializations.get(), 2);
+
+    // a new value is deserialized once, on its first read
+    store.put("service-1", "value-1b");
+    Assert.assertEquals(store.get("service-1"), "value-1b");
+    Assert.assertEquals(store.get("service-1"), "value-1b");
+    Assert.assertEquals(serializer._deserializations.get(), 3);
+  }
+
+  @Test
+  public void testPutDoesNotKeepProperty() throws Exception
+  {
+    String path = createTempDirectory("segment-file-store-test").toString();
+    SegmentFileStore<StringBuilder> store = new SegmentFileStore<>(path, new PropertySerializer<StringBuilder>()
+    {
+      @Override
+      public byte[] toBytes(StringBuilder property)
+      {
+        return property.toString().getBytes(StandardCharsets.UTF_8);
+      }
+
+      @Override
+      public StringBuilder fromBytes(byte[] bytes)
+      {
+        return new StringBuilder(new String(bytes, StandardCharsets.UTF_8));
+      }
+    });
+    StringBuilder property = new StringBuilder("value-1");
+    store.put("service-1", property);
+    property.append("-modified");
+
+    Assert.assertEquals(store.get("service-1").toString(), "value-1");
+  }
+
+  @Test
+  public void testReadPropertyNames() throws Exception
+  {
+    String path = createTempDirectory("segment-file-store-test").toString();
+    Assert.assertFalse(SegmentFileStore.exists(path));
+    Assert.assertEquals(SegmentFileStore.readPropertyNames(path), Collections.emptySet());
+
+    SegmentFileStore<String> store = new SegmentFileStore<>(path, new PropertyStringSerializer());
+    store.put("service-1", "value-1");
+    store.put("service-2", "value-2");
+    store.remove("service-1");
+    store.put("service-3", "value-3");
+
+    // the names can be read while the store has the segment open
+    Assert.assertTrue(SegmentFileStore.exists(path));
+    Assert.assertEquals(SegmentFileStore.readPropertyNames(path), new HashSet<>(Arrays.asList("service-2", "service-3")));
+    shutdown(store);
+    Assert.assertEquals(SegmentFileStore.readPropertyNames(path), new HashSet<>(Arrays.asList("service-2", "service-3")));
+  }
+
+  @Test
+  public void testRemoveProperties() throws Exception
+  {
+    String path = createTempDirectory("segment-file-store-test").toString();
+    SegmentFileStore<String> store = new SegmentFileStore<>(path, new PropertyStringSerializer());
+    store.put("service-1", "value-1");
+    store.put("service-2", "value-2");
+    store.put("service-3", "value-3");
+    shutdown(store);
+
+    SegmentFileStore.removeProperties(path, Arrays.asList("service-1", "service-3"));
+
+    store = new SegmentFileStore<>(path, new PropertyStringSerializer());
+    Assert.assertEquals(store.getPropertyNames(), Collections.singleton("service-2"));
+    Assert.assertEquals(store.get("service-2"), "value-2");
+  }
+
+  @Test
+  public void testFileSystemDirectoryListsSegmentProperties() throws Exception
+  {
+    String path = createTempDirectory("segment-file-store-test").toString();
+    FileStore<String> fileStore = new FileStore<>(path, new PropertyStringSerializer());
+    fileStore.put("service-1", "value-1");
+    SegmentFileStore<String> store = new SegmentFileStore<>(path, new PropertyStringSerializer());
+    store.put("service-2", "value-2");
+    shutdown(store);
+
+    Assert.assertEquals(new HashSet<>(FileSystemDirectory.getPropertyNames(path)),
+        new HashSet<>(Arrays.asList("service-1", "service-2")));
+
+    FileSystemDirectory.removeAllPropertiesFromDirectory(path, Arrays.asList("service-1", "service-2"));
+    Assert.assertEquals(FileSystemDirectory.getPropertyNames(path), Collections.emptyList());
+  }
+
+  @Test
+  public void testGetDeserializationError() throws Exception
+  {
+    String path = createTempDirectory("segment-file-store-test").toString();
+    SegmentFileStore<String> store = new SegmentFileStore<>(path, new PropertyStringSerializer());
+    store.put("service-1", "value-1");
+    shutdown(store);
+
+    store = new SegmentFileStore<>(path, new CountingPropertySerializer()
+    {
+      @Override
+      public String fromBytes(byte[] bytes) throws PropertySerializationException
+      {
+        throw new PropertySerializationException("Expected exception.");
+      }
+    });
+    Assert.assertNull(store.get("service-1"));
+    Assert.assertEquals(store.getAll(), Collections.emptyMap());
+  }
+
+  private static void shutdown(SegmentFileStore<String> store) throws Exception
+  {
+    FutureCallback<None> callback = new FutureCallback<>();
+    store.shutdown(callback);
+    callback.get();
+  }
+
+  private static class CountingPropertySerializer implements PropertySerializer<String>
+  {
+    private final PropertyStringSerializer _serializer = new PropertyStringSerializer();
+    private final AtomicInteger _deserializations = new AtomicInteger();
+
+    @Override
+    public byte[] toBytes(String property)
+    {
+      return _serializer.toBytes(property);
+    }
+
+    @Override
+    public String fromBytes(byte[] bytes) throws PropertySerializationException
+    {
+      _deserializations.incrementAndGet();
+      return _serializer.fromBytes(bytes);
+    }
+  }
+}
@@ -231,6 +231,9 @@ public class ZooKeeperEphemeralStoreChildrenDelayedWatcherTest
     });
 
     Assert.assertEquals(childrenFromZookeeperPublisher, new HashSet<>(childrenAddedToZookeeper.values()));
+    // only the data of added children is read, every child exactly once
+    Assert.assertEquals(publisher.getDataReadCount(), numberOfAdditionalChildren);
+    Assert.assertTrue(publisher.getMergeCount() <= publisher.getChildrenReadCount());
     _eventBus.unregister(Collections.singleton("bucket"), subscriber);
     client.shutdown();
   }
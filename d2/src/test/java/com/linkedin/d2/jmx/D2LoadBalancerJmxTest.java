@@ -26,6 +26,7 @@ import com.linkedin.d2.balancer.ZKFSLoadBalancerWithFacilitiesFactory;
 import com.linkedin.d2.balancer.clients.TrackerClient;
 import com.linkedin.d2.balancer.simple.SimpleLoadBalancerState;
 import com.linkedin.d2.balancer.strategies.LoadBalancerStrategy;
+import com.linkedin.d2.discovery.stores.file.FilePropertyStore;
 import com.linkedin.d2.discovery.stores.zk.SharedZkConnectionProviderTest;
 import com.linkedin.d2.discovery.stores.zk.ZKServer;
 import com.linkedin.r2.transport.common.TransportClientFactory;
@@ -80,7 +81,7 @@ public class D2LoadBalancerJmxTest
     verify(jmxManager, times(1)).registerLoadBalancerState(any(), any());
 
     // uri, service and cluster stores
-    verify(jmxManager, times(3)).registerFileStore(any(), any());
+    verify(jmxManager, times(3)).registerFileStore(anyString(), any(FilePropertyStore.class));
 
     // ZK might take a little before booting up and registering the stores
     AssertionMethods.assertWithTimeout(10000, () -> {
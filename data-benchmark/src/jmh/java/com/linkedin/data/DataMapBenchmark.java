@@ -0,0 +1,159 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data;
+
+import com.linkedin.data.benchmark.BenchmarkPayloads;
+import com.linkedin.data.benchmark.BenchmarkPayloads.PayloadShape;
+import com.linkedin.data.codec.JacksonCodecOptions;
+import com.linkedin.data.codec.JacksonDataCodec;
+import com.linkedin.data.collections.BackingMapType;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+
+/**
+ * Measures {@link DataMap#copy()}, {@link DataMap#clone()}, decoding and field access of the payloads of
+ * {@link BenchmarkPayloads} with the different {@link BackingMapType}s.
+ *
+ * <p>{@link #measureFootprint} reports the retained size of the decoded payloads measured with JOL as auxiliary
+ * counters. Run the other benchmarks with the GC profiler ({@code -prof gc}) to compare the allocations, for
+ * instance {@code gc.alloc.rate.norm} of {@link #measureDecode} and {@link #measureCopy}.</p>
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DataMapBenchmark
+{
+  private static final String[] MEMBER_FIELDS = {"id", "firstName", "lastName", "headline", "industry", "connections",
+      "score", "rating", "active", "picture", "createdAt", "tags", "positions", "attributes"};
+
+  @State(Scope.Benchmark)
+  public static class DataMapState
+  {
+    @Param
+    PayloadShape _shape;
+
+    @Param
+    BackingMapType _backingMapType;
+
+    JacksonDataCodec _codec;
+    byte[] _bytes;
+    DataMap _map;
+    DataMap _member;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+      _codec = new JacksonDataCodec(new JacksonCodecOptions.Builder().setBackingMapType(_backingMapType).build());
+      _bytes = _codec.mapToBytes(BenchmarkPayloads.create(_shape));
+      _map = _codec.bytesToMap(_bytes);
+      _member = _shape == PayloadShape.COLLECTION ?
+          _map.getDataList("elements").getDataMap(0) : _map;
+    }
+  }
+
+  /**
+   * Retained size of the decoded payload, overwritten by each invocation of {@link #measureFootprint} since it does
+   * not change between invocations.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class FootprintCounters
+  {
+    /**
+     * Bytes retained by the whole decoded payload, including its keys and values.
+     */
+    public long retainedBytes;
+
+    /**
+     * Bytes retained by the payload divided by the number of {@link DataMap}s it contains.
+     */
+    public long retainedBytesPerDataMap;
+  }
+
+  @Benchmark
+  @Warmup(iterations = 1)
+  @Measurement(iterations = 1)
+  @Fork(1)
+  public DataMap measureFootprint(DataMapState state, FootprintCounters counters) throws IOException
+  {
+    DataMap map = state._codec.bytesToMap(state._bytes);
+    GraphLayout layout = GraphLayout.parseInstance(map);
+    counters.retainedBytes = layout.totalSize();
+    counters.retainedBytesPerDataMap = layout.totalSize() / layout.getClassCounts().count(DataMap.class);
+    return map;
+  }
+
+  @Benchmark
+  public DataMap measureDecode(DataMapState state) throws IOException
+  {
+    return state._codec.bytesToMap(state._bytes);
+  }
+
+  @Benchmark
+  public DataMap measureCopy(DataMapState state) throws CloneNotSupportedException
+  {
+    return state._map.copy();
+  }
+
+  @Benchmark
+  public DataMap measureClone(DataMapState state) throws CloneNotSupportedException
+  {
+    return state._map.clone();
+  }
+
+  @Benchmark
+  public int measureGet(DataMapState state)
+  {
+    int found = 0;
+    for (String field : MEMBER_FIELDS)
+    {
+      if (state._member.get(field) != null)
+      {
+        found++;
+      }
+    }
+    return found;
+  }
+
+  @Benchmark
+  public DataMap measurePut(DataMapState state)
+  {
+    DataMap map = new DataMap(DataMapBuilder.getOptimumHashMapCapacityFromSize(MEMBER_FIELDS.length),
+        state._backingMapType);
+    for (String field : MEMBER_FIELDS)
+    {
+      map.put(field, state._member.get(field));
+    }
+    return map;
+  }
+}
@@ -0,0 +1,243 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.benchmark;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.symbol.InMemorySymbolTable;
+import com.linkedin.data.codec.symbol.SymbolTable;
+import com.linkedin.data.schema.ArrayDataSchema;
+import com.linkedin.data.schema.DataSchema;
+import com.linkedin.data.schema.DataSchemaTraverse;
+import com.linkedin.data.schema.EnumDataSchema;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.template.DataTemplateUtil;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+
+/**
+ * Generates the payloads shared by the data benchmarks. The payloads are shaped after typical Rest.li
+ * responses: a single entity with a handful of nested records and collections, a single entity with large
+ * collections, and a collection response of entities.
+ */
+public final class BenchmarkPayloads
+{
+  public static final RecordDataSchema COLLECTION_SCHEMA = (RecordDataSchema) DataTemplateUtil.parseSchema(
+      "{ \"type\" : \"record\", \"name\" : \"MemberCollection\", \"namespace\" : \"com.linkedin.data.benchmark\", \"fields\" : [\n" +
+      "  { \"name\" : \"elements\", \"type\" : { \"type\" : \"array\", \"items\" : {\n" +
+      "    \"type\" : \"record\", \"name\" : \"Member\", \"fields\" : [\n" +
+      "      { \"name\" : \"id\", \"type\" : \"long\" },\n" +
+      "      { \"name\" : \"firstName\", \"type\" : \"string\" },\n" +
+      "      { \"name\" : \"lastName\", \"type\" : \"string\" },\n" +
+      "      { \"name\" : \"headline\", \"type\" : \"string\", \"optional\" : true },\n" +
+      "      { \"name\" : \"industry\", \"type\" : { \"type\" : \"enum\", \"name\" : \"Industry\", \"symbols\" : [ \"TECHNOLOGY\", \"FINANCE\", \"HEALTHCARE\", \"EDUCATION\" ] } },\n" +
+      "      { \"name\" : \"connections\", \"type\" : \"int\" },\n" +
+      "      { \"name\" : \"score\", \"type\" : \"float\" },\n" +
+      "      { \"name\" : \"rating\", \"type\" : \"double\" },\n" +
+      "      { \"name\" : \"active\", \"type\" : \"boolean\" },\n" +
+      "      { \"name\" : \"picture\", \"type\" : \"bytes\", \"optional\" : true },\n" +
+      "      { \"name\" : \"createdAt\", \"type\" : \"long\" },\n" +
+      "      { \"name\" : \"tags\", \"type\" : { \"type\" : \"array\", \"items\" : \"string\" } },\n" +
+      "      { \"name\" : \"positions\", \"type\" : { \"type\" : \"array\", \"items\" : {\n" +
+      "        \"type\" : \"record\", \"name\" : \"Position\", \"fields\" : [\n" +
+      "          { \"name\" : \"title\", \"type\" : \"string\" },\n" +
+      "          { \"name\" : \"companyId\", \"type\" : \"long\" },\n" +
+      "          { \"name\" : \"startYear\", \"type\" : \"int\" },\n" +
+      "          { \"name\" : \"endYear\", \"type\" : \"int\", \"optional\" : true },\n" +
+      "          { \"name\" : \"current\", \"type\" : \"boolean\" }\n" +
+      "        ] } } },\n" +
+      "      { \"name\" : \"attributes\", \"type\" : { \"type\" : \"map\", \"values\" : \"string\" } }\n" +
+      "    ] } } },\n" +
+      "  { \"name\" : \"paging\", \"type\" : { \"type\" : \"record\", \"name\" : \"Paging\", \"fields\" : [\n" +
+      "    { \"name\" : \"start\", \"type\" : \"int\" },\n" +
+      "    { \"name\" : \"count\", \"type\" : \"int\" },\n" +
+      "    { \"name\" : \"total\", \"type\" : \"int\" }\n" +
+      "  ] } }\n" +
+      "] }");
+
+  public static final RecordDataSchema MEMBER_SCHEMA =
+      (RecordDataSchema) ((ArrayDataSchema) COLLECTION_SCHEMA.getField("elements").getType()).getItems();
+
+  public static final RecordDataSchema POSITION_SCHEMA =
+      (RecordDataSchema) ((ArrayDataSchema) MEMBER_SCHEMA.getField("positions").getType()).getItems();
+
+  private static final String[] WORDS = {
+      "software", "engineer", "data", "platform", "distributed", "systems", "manager", "senior", "staff",
+      "principal", "infrastructure", "mobile", "search", "relevance", "machine", "learning", "product", "design"
+  };
+
+  private static final String[] INDUSTRIES = {"TECHNOLOGY", "FINANCE", "HEALTHCARE", "EDUCATION"};
+
+  /**
+   * Shapes of the generated payloads.
+   */
+  public enum PayloadShape
+  {
+    /**
+     * A single {@code Member} with a few positions, tags and attributes.
+     */
+    SMALL(MEMBER_SCHEMA),
+
+    /**
+     * A single {@code Member} with hundreds of positions, tags and attributes.
+     */
+    LARGE(MEMBER_SCHEMA),
+
+    /**
+     * A {@code MemberCollection} of 100 small members.
+     */
+    COLLECTION(COLLECTION_SCHEMA);
+
+    private final RecordDataSchema _schema;
+
+    PayloadShape(RecordDataSchema schema)
+    {
+      _schema = schema;
+    }
+
+    public RecordDataSchema getSchema()
+    {
+      return _schema;
+    }
+  }
+
+  private BenchmarkPayloads()
+  {
+  }
+
+  /**
+   * Generates a payload of the specified shape. The payload is the same across invocations.
+   */
+  public static DataMap create(PayloadShape shape)
+  {
+    final Random random = new Random(shape.ordinal());
+    switch (shape)
+    {
+      case SMALL:
+        return createMember(random, 3, 5, 4);
+      case LARGE:
+        return createMember(random, 200, 500, 200);
+      case COLLECTION:
+        final DataList elements = new DataList();
+        for (int i = 0; i < 100; i++)
+        {
+          elements.add(createMember(random, 3, 5, 4));
+        }
+        final DataMap paging = new DataMap();
+        paging.put("start", 0);
+        paging.put("count", elements.size());
+        paging.put("total", 1000);
+
+        final DataMap collection = new DataMap();
+        collection.put("elements", elements);
+        collection.put("paging", paging);
+        return collection;
+      default:
+        throw new IllegalArgumentException("Unknown payload shape " + shape);
+    }
+  }
+
+  /**
+   * Returns a symbol table with the field names and enum symbols of the payload schemas.
+   */
+  public static SymbolTable createSymbolTable()
+  {
+    final Set<String> symbols = new LinkedHashSet<>();
+    new DataSchemaTraverse().traverse(COLLECTION_SCHEMA, (path, schema) -> {
+      if (schema.getType() == DataSchema.Type.RECORD)
+      {
+        for (RecordDataSchema.Field field : ((RecordDataSchema) schema).getFields())
+        {
+          symbols.add(field.getName());
+        }
+      }
+      else if (schema.getType() == DataSchema.Type.ENUM)
+      {
+        symbols.addAll(((EnumDataSchema) schema).getSymbols());
+      }
+    });
+    return new InMemorySymbolTable("benchmark", new ArrayList<>(symbols));
+  }
+
+  private static DataMap createMember(Random random, int positionCount, int tagCount, int attributeCount)
+  {
+    final DataMap member = new DataMap();
+    member.put("id", random.nextLong() & Long.MAX_VALUE);
+    member.put("firstName", words(random, 1));
+    member.put("lastName", words(random, 1));
+    member.put("headline", words(random, 8));
+    member.put("industry", INDUSTRIES[random.nextInt(INDUSTRIES.length)]);
+    member.put("connections", random.nextInt(5000));
+    member.put("score", random.nextFloat());
+    member.put("rating", random.nextDouble() * 5);
+    member.put("active", random.nextBoolean());
+    final byte[] picture = new byte[64];
+    random.nextBytes(picture);
+    member.put("picture", ByteString.copy(picture));
+    member.put("createdAt", 1500000000000L + random.nextInt(Integer.MAX_VALUE));
+
+    final DataList tags = new DataList();
+    for (int i = 0; i < tagCount; i++)
+    {
+      tags.add(words(random, 2));
+    }
+    member.put("tags", tags);
+
+    final DataList positions = new DataList();
+    for (int i = 0; i < positionCount; i++)
+    {
+      final DataMap position = new DataMap();
+      position.put("title", words(random, 3));
+      position.put("companyId", (long) random.nextInt(1000000));
+      position.put("startYear", 1990 + random.nextInt(30));
+      if (i > 0)
+      {
+        position.put("endYear", 1990 + random.nextInt(30));
+      }
+      position.put("current", i == 0);
+      positions.add(position);
+    }
+    member.put("positions", positions);
+
+    final DataMap attributes = new DataMap();
+    for (int i = 0; i < attributeCount; i++)
+    {
+      attributes.put("attribute" + i, words(random, 2));
+    }
+    member.put("attributes", attributes);
+    return member;
+  }
+
+  private static String words(Random random, int count)
+  {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < count; i++)
+    {
+      if (i > 0)
+      {
+        sb.append(' ');
+      }
+      sb.append(WORDS[random.nextInt(WORDS.length)]);
+    }
+    return sb.toString();
+  }
+}
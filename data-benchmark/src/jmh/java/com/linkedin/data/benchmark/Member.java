@@ -0,0 +1,212 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.linkedin.data.benchmark;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.template.GetMode;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.data.template.SetMode;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.data.template.StringMap;
+
+
+/**
+ * Hand written equivalent of the generated template of the {@code Member} record of {@link BenchmarkPayloads}.
+ */
+public class Member extends RecordTemplate
+{
+  private static final RecordDataSchema SCHEMA = BenchmarkPayloads.MEMBER_SCHEMA;
+  private static final RecordDataSchema.Field FIELD_Id = SCHEMA.getField("id");
+  private static final RecordDataSchema.Field FIELD_FirstName = SCHEMA.getField("firstName");
+  private static final RecordDataSchema.Field FIELD_LastName = SCHEMA.getField("lastName");
+  private static final RecordDataSchema.Field FIELD_Headline = SCHEMA.getField("headline");
+  private static final RecordDataSchema.Field FIELD_Industry = SCHEMA.getField("industry");
+  private static final RecordDataSchema.Field FIELD_Connections = SCHEMA.getField("connections");
+  private static final RecordDataSchema.Field FIELD_Score = SCHEMA.getField("score");
+  private static final RecordDataSchema.Field FIELD_Rating = SCHEMA.getField("rating");
+  private static final RecordDataSchema.Field FIELD_Active = SCHEMA.getField("active");
+  private static final RecordDataSchema.Field FIELD_Picture = SCHEMA.getField("picture");
+  private static final RecordDataSchema.Field FIELD_CreatedAt = SCHEMA.getField("createdAt");
+  private static final RecordDataSchema.Field FIELD_Tags = SCHEMA.getField("tags");
+  private static final RecordDataSchema.Field FIELD_Positions = SCHEMA.getField("positions");
+  private static final RecordDataSchema.Field FIELD_Attributes = SCHEMA.getField("attributes");
+
+  public Member()
+  {
+    super(new DataMap(), SCHEMA);
+  }
+
+  public Member(DataMap data)
+  {
+    super(data, SCHEMA);
+  }
+
+  public Long getId()
+  {
+    return obtainDirect(FIELD_Id, Long.class, GetMode.STRICT);
+  }
+
+  public Member setId(long value)
+  {
+    putDirect(FIELD_Id, Long.class, Long.class, value, SetMode.DISALLOW_NULL);
+    return this;
+  }
+
+  public String getFirstName()
+  {
+    return obtainDirect(FIELD_FirstName, String.class, GetMode.STRICT);
+  }
+
+  public Member setFirstName(String value)
+  {
+    putDirect(FIELD_FirstName, String.class, String.class, value, SetMode.DISALLOW_NULL);
+    return this;
+  }
+
+  public String getLastName()
+  {
+    return obtainDirect(FIELD_LastName, String.class, GetMode.STRICT);
+  }
+
+  public Member setLastName(String value)
+  {
+    putDirect(FIELD_LastName, String.class, String.class, value, SetMode.DISALLOW_NULL);
+    return this;
+  }
+
+  public String getHeadline()
+  {
+    return obtainDirect(FIELD_Headline, String.class, GetMode.STRICT);
+  }
+
+  public Member setHeadline(String value)
+  {
+    putDirect(FIELD_Headline, String.class, String.class, value, SetMode.IGNORE_NULL);
+    return this;
+  }
+
+  public Industry getIndustry()
+  {
+    return obtainDirect(FIELD_Industry, Industry.class, GetMode.STRICT);
+  }
+
+  public Member setIndustry(Industry value)
+  {
+    putDirect(FIELD_Industry, Industry.class, String.class, value, SetMode.DISALLOW_NULL);
+    return this;
+  }
+
+  public Integer getConnections()
+  {
+    return obtainDirect(FIELD_Connections, Integer.class, GetMode.STRICT);
+  }
+
+  public Member setConnections(int value)
+  {
+    putDirect(FIELD_Connections, Integer.class, Integer.class, value, SetMode.DISALLOW_NULL);
+    return this;
+  }
+
+  public Float getScore()
+  {
+    return obtainDirect(FIELD_Score, Float.class, GetMode.STRICT);
+  }
+
+  public Member setScore(float value)
+  {
+    putDirect(FIELD_Score, Float.class, Float.class, value, SetMode.DISALLOW_NULL);
+    return this;
+  }
+
+  public Double getRating()
+  {
+    return obtainDirect(FIELD_Rating, Double.class, GetMode.STRICT);
+  }
+
+  public Member setRating(double value)
+  {
+    putDirect(FIELD_Rating, Double.class, Double.class, value, SetMode.DISALLOW_NULL);
+    return this;
+  }
+
+  public Boolean isActive()
+  {
+    return obtainDirect(FIELD_Active, Boolean.class, GetMode.STRICT);
+  }
+
+  public Member setActive(boolean value)
+  {
+    putDirect(FIELD_Active, Boolean.class, Boolean.class, value, SetMode.DISALLOW_NULL);
+    return this;
+  }
+
+  public ByteString getPicture()
+  {
+    return obtainDirect(FIELD_Picture, ByteString.class, GetMode.STRICT);
+  }
+
+  public Member setPicture(ByteString value)
+  {
+    putDirect(FIELD_Picture, ByteString.class, ByteString.class, value, SetMode.IGNORE_NULL);
+    return this;
+  }
+
+  public Long getCreatedAt()
+  {
+    return obtainDirect(FIELD_CreatedAt, Long.class, GetMode.STRICT);
+  }
+
+  public Member setCreatedAt(long value)
+  {
+    putDirect(FIELD_CreatedAt, Long.class, Long.class, value, SetMode.DISALLOW_NULL);
+    return this;
+  }
+
+  public StringArray getTags()
+  {
+    return obtainWrapped(FIELD_Tags, StringArray.class, GetMode.STRICT);
+  }
+
+  public Member setTags(StringArray value)
+  {
+    putWrapped(FIELD_Tags, StringArray.class, value, SetMode.DISALLOW_NULL);
+    return this;
+  }
+
+  public PositionArray getPositions()
+  {
+    return obtainWrapped(FIELD_Positions, PositionArray.class, GetMode.STRICT);
+  }
+
+  public Member setPositions(PositionArray value)
+  {
+    putWrapped(FIELD_Positions, PositionArray.class, value, SetMode.DISALLOW_NULL);
+    return this;
+  }
+
+  public StringMap getAttributes()
+  {
+    return obtainWrapped(FIELD_Attributes, StringMap.class, GetMode.STRICT);
+  }
+
+  public Member setAttributes(StringMap value)
+  {
+    putWrapped(FIELD_Attributes, StringMap.class, value, SetMode.DISALLOW_NULL);
+    return this;
+  }
+}
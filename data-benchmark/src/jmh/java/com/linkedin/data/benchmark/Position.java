@@ -0,0 +1,101 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.linkedin.data.benchmark;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.template.GetMode;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.data.template.SetMode;
+
+
+/**
+ * Hand written equivalent of the generated template of the {@code Position} record of {@link BenchmarkPayloads}.
+ */
+public class Position extends RecordTemplate
+{
+  private static final RecordDataSchema SCHEMA = BenchmarkPayloads.POSITION_SCHEMA;
+  private static final RecordDataSchema.Field FIELD_Title = SCHEMA.getField("title");
+  private static final RecordDataSchema.Field FIELD_CompanyId = SCHEMA.getField("companyId");
+  private static final RecordDataSchema.Field FIELD_StartYear = SCHEMA.getField("startYear");
+  private static final RecordDataSchema.Field FIELD_EndYear = SCHEMA.getField("endYear");
+  private static final RecordDataSchema.Field FIELD_Current = SCHEMA.getField("current");
+
+  public Position()
+  {
+    super(new DataMap(), SCHEMA);
+  }
+
+  public Position(DataMap data)
+  {
+    super(data, SCHEMA);
+  }
+
+  public String getTitle()
+  {
+    return obtainDirect(FIELD_Title, String.class, GetMode.STRICT);
+  }
+
+  public Position setTitle(String value)
+  {
+    putDirect(FIELD_Title, String.class, String.class, value, SetMode.DISALLOW_NULL);
+    return this;
+  }
+
+  public Long getCompanyId()
+  {
+    return obtainDirect(FIELD_CompanyId, Long.class, GetMode.STRICT);
+  }
+
+  public Position setCompanyId(long value)
+  {
+    putDirect(FIELD_CompanyId, Long.class, Long.class, value, SetMode.DISALLOW_NULL);
+    return this;
+  }
+
+  public Integer getStartYear()
+  {
+    return obtainDirect(FIELD_StartYear, Integer.class, GetMode.STRICT);
+  }
+
+  public Position setStartYear(int value)
+  {
+    putDirect(FIELD_StartYear, Integer.class, Integer.class, value, SetMode.DISALLOW_NULL);
+    return this;
+  }
+
+  public Integer getEndYear()
+  {
+    return obtainDirect(FIELD_EndYear, Integer.class, GetMode.STRICT);
+  }
+
+  public Position setEndYear(Integer value)
+  {
+    putDirect(FIELD_EndYear, Integer.class, Integer.class, value, SetMode.IGNORE_NULL);
+    return this;
+  }
+
+  public Boolean isCurrent()
+  {
+    return obtainDirect(FIELD_Current, Boolean.class, GetMode.STRICT);
+  }
+
+  public Position setCurrent(boolean value)
+  {
+    putDirect(FIELD_Current, Boolean.class, Boolean.class, value, SetMode.DISALLOW_NULL);
+    return this;
+  }
+}
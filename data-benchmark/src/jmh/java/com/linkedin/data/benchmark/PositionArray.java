@@ -0,0 +1,40 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.linkedin.data.benchmark;
+
+import com.linkedin.data.DataList;
+import com.linkedin.data.schema.ArrayDataSchema;
+import com.linkedin.data.template.WrappingArrayTemplate;
+
+
+/**
+ * Hand written equivalent of the generated template of an array of {@link Position}s.
+ */
+public class PositionArray extends WrappingArrayTemplate<Position>
+{
+  private static final ArrayDataSchema SCHEMA =
+      (ArrayDataSchema) BenchmarkPayloads.MEMBER_SCHEMA.getField("positions").getType();
+
+  public PositionArray()
+  {
+    this(new DataList());
+  }
+
+  public PositionArray(DataList data)
+  {
+    super(data, SCHEMA, Position.class);
+  }
+}
@@ -0,0 +1,155 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.codec;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.data.benchmark.BenchmarkPayloads;
+import com.linkedin.data.benchmark.BenchmarkPayloads.PayloadShape;
+import com.linkedin.data.codec.symbol.SymbolTable;
+import com.linkedin.data.collections.BackingMapType;
+import com.linkedin.data.schema.RecordDataSchema;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures {@link DataCodec#mapToBytes(DataMap)} and {@link DataCodec#bytesToMap(byte[])} of every codec over
+ * the payloads of {@link BenchmarkPayloads}.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataCodecBenchmark
+{
+  /**
+   * Codecs under test. The symbol table variants use a table of the field names and enum symbols of the payloads.
+   */
+  public enum CodecType
+  {
+    JSON(JacksonDataCodec::new),
+    SMILE(JacksonSmileDataCodec::new),
+    LICOR_TEXT(() -> new JacksonLICORDataCodec(false)),
+    LICOR_BINARY(() -> new JacksonLICORDataCodec(true)),
+    LICOR_BINARY_SYMBOLS(() -> new JacksonLICORDataCodec(true, SymbolTableHolder.SYMBOL_TABLE)),
+    PROTOBUF(ProtobufDataCodec::new),
+    PROTOBUF_SYMBOLS(() -> new ProtobufDataCodec(SymbolTableHolder.SYMBOL_TABLE)),
+    PSON(PsonDataCodec::new),
+    BSON(BsonDataCodec::new);
+
+    private final Supplier<DataCodec> _supplier;
+
+    CodecType(Supplier<DataCodec> supplier)
+    {
+      _supplier = supplier;
+    }
+
+    public DataCodec newCodec()
+    {
+      return _supplier.get();
+    }
+  }
+
+  private static final class SymbolTableHolder
+  {
+    private static final SymbolTable SYMBOL_TABLE = BenchmarkPayloads.createSymbolTable();
+  }
+
+  @State(Scope.Benchmark)
+  public static class CodecState
+  {
+    @Param
+    CodecType _codecType;
+
+    @Param
+    PayloadShape _shape;
+
+    DataCodec _codec;
+    DataMap _map;
+    byte[] _bytes;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+      _codec = _codecType.newCodec();
+      _map = BenchmarkPayloads.create(_shape);
+      _bytes = _codec.mapToBytes(_map);
+    }
+  }
+
+  @Benchmark
+  public byte[] measureEncode(CodecState state) throws IOException
+  {
+    return state._codec.mapToBytes(state._map);
+  }
+
+  @Benchmark
+  public DataMap measureDecode(CodecState state) throws IOException
+  {
+    return state._codec.bytesToMap(state._bytes);
+  }
+
+  /**
+   * Compares the schema-less and schema-driven parsing of the JSON codec, with the different backing maps.
+   */
+  @State(Scope.Benchmark)
+  public static class SchemaDrivenState
+  {
+    @Param
+    PayloadShape _shape;
+
+    @Param
+    BackingMapType _backingMapType;
+
+    JacksonDataCodec _codec;
+    RecordDataSchema _schema;
+    byte[] _bytes;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+      _codec = new JacksonDataCodec(new JacksonCodecOptions.Builder().setBackingMapType(_backingMapType).build());
+      _schema = _shape.getSchema();
+      _bytes = _codec.mapToBytes(BenchmarkPayloads.create(_shape));
+    }
+  }
+
+  @Benchmark
+  public DataMap measureJsonDecodeWithoutSchema(SchemaDrivenState state) throws IOException
+  {
+    return state._codec.bytesToMap(state._bytes);
+  }
+
+  @Benchmark
+  public DataMap measureJsonDecodeWithSchema(SchemaDrivenState state) throws IOException
+  {
+    return state._codec.bytesToMap(state._bytes, state._schema);
+  }
+}
@@ -0,0 +1,135 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.codec.entitystream;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.data.ChunkedByteStringCollector;
+import com.linkedin.data.ChunkedByteStringWriter;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.benchmark.BenchmarkPayloads;
+import com.linkedin.data.benchmark.BenchmarkPayloads.PayloadShape;
+import com.linkedin.data.codec.ProtobufCodecOptions;
+import com.linkedin.data.codec.symbol.SymbolTable;
+import com.linkedin.entitystream.CollectingReader;
+import com.linkedin.entitystream.EntityStream;
+import com.linkedin.entitystream.EntityStreams;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures {@link StreamDataCodec#encodeMap(DataMap)} and {@link StreamDataCodec#decodeMap(EntityStream)} of every
+ * streaming codec over the payloads of {@link com.linkedin.data.benchmark.BenchmarkPayloads}. The encoded bytes are
+ * fed to the decoders in chunks of {@link #CHUNK_SIZE} bytes, which is the typical size of a network read.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StreamDataCodecBenchmark
+{
+  private static final int BUFFER_SIZE = 4096;
+  private static final int CHUNK_SIZE = 8192;
+
+  /**
+   * Streaming codecs under test. The symbol table variants use a table of the field names and enum symbols of
+   * the payloads.
+   */
+  public enum StreamCodecType
+  {
+    JSON(() -> new JacksonStreamDataCodec(BUFFER_SIZE)),
+    SMILE(() -> new JacksonSmileStreamDataCodec(BUFFER_SIZE)),
+    LICOR_TEXT(() -> new JacksonLICORStreamDataCodec(BUFFER_SIZE, false)),
+    LICOR_BINARY(() -> new JacksonLICORStreamDataCodec(BUFFER_SIZE, true)),
+    LICOR_BINARY_SYMBOLS(() -> new JacksonLICORStreamDataCodec(BUFFER_SIZE, true, SymbolTableHolder.SYMBOL_TABLE)),
+    PROTOBUF(() -> new ProtobufStreamDataCodec(BUFFER_SIZE)),
+    PROTOBUF_SYMBOLS(() -> new ProtobufStreamDataCodec(BUFFER_SIZE,
+        new ProtobufCodecOptions.Builder().setSymbolTable(SymbolTableHolder.SYMBOL_TABLE).build()));
+
+    private final Supplier<StreamDataCodec> _supplier;
+
+    StreamCodecType(Supplier<StreamDataCodec> supplier)
+    {
+      _supplier = supplier;
+    }
+
+    public StreamDataCodec newCodec()
+    {
+      return _supplier.get();
+    }
+  }
+
+  private static final class SymbolTableHolder
+  {
+    private static final SymbolTable SYMBOL_TABLE = BenchmarkPayloads.createSymbolTable();
+  }
+
+  @State(Scope.Benchmark)
+  public static class StreamCodecState
+  {
+    @Param
+    StreamCodecType _codecType;
+
+    @Param
+    PayloadShape _shape;
+
+    StreamDataCodec _codec;
+    DataMap _map;
+    byte[] _bytes;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+      _codec = _codecType.newCodec();
+      _map = BenchmarkPayloads.create(_shape);
+      _bytes = encode(_codec, _map);
+    }
+  }
+
+  @Benchmark
+  public byte[] measureEncode(StreamCodecState state) throws Exception
+  {
+    return encode(state._codec, state._map);
+  }
+
+  @Benchmark
+  public DataMap measureDecode(StreamCodecState state) throws Exception
+  {
+    EntityStream<ByteString> entityStream = EntityStreams.newEntityStream(new ChunkedByteStringWriter(state._bytes, CHUNK_SIZE));
+    return state._codec.decodeMap(entityStream).toCompletableFuture().get();
+  }
+
+  private static byte[] encode(StreamDataCodec codec, DataMap map) throws Exception
+  {
+    CollectingReader<ByteString, ?, ChunkedByteStringCollector.Result> reader =
+        new CollectingReader<>(new ChunkedByteStringCollector());
+    codec.encodeMap(map).setReader(reader);
+    return reader.getResult().toCompletableFuture().get().data;
+  }
+}
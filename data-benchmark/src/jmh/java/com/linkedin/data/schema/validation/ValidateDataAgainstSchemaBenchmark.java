@@ -0,0 +1,90 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.schema.validation;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.data.benchmark.BenchmarkPayloads;
+import com.linkedin.data.benchmark.BenchmarkPayloads.PayloadShape;
+import com.linkedin.data.codec.JacksonDataCodec;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures {@link ValidateDataAgainstSchema} over the payloads of {@link BenchmarkPayloads} as decoded from JSON,
+ * i.e. with long fields holding integers that are coerced by {@link CoercionMode#NORMAL}.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValidateDataAgainstSchemaBenchmark
+{
+  @State(Scope.Thread)
+  public static class ValidationState
+  {
+    @Param
+    PayloadShape _shape;
+
+    @Param({"OFF", "NORMAL"})
+    CoercionMode _coercionMode;
+
+    @Param({"IGNORE", "DISALLOW"})
+    UnrecognizedFieldMode _unrecognizedFieldMode;
+
+    JacksonDataCodec _codec;
+    byte[] _bytes;
+    ValidationOptions _options;
+    DataMap _map;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+      _codec = new JacksonDataCodec();
+      _bytes = _codec.mapToBytes(BenchmarkPayloads.create(_shape));
+      _options = new ValidationOptions(RequiredMode.CAN_BE_ABSENT_IF_HAS_DEFAULT, _coercionMode, _unrecognizedFieldMode);
+    }
+
+    /**
+     * Coercion modifies the validated data in place, so every invocation validates a freshly decoded payload.
+     */
+    @Setup(Level.Invocation)
+    public void decode() throws IOException
+    {
+      _map = _codec.bytesToMap(_bytes);
+    }
+  }
+
+  @Benchmark
+  public ValidationResult measureValidate(ValidationState state)
+  {
+    return ValidateDataAgainstSchema.validate(state._map, state._shape.getSchema(), state._options);
+  }
+}
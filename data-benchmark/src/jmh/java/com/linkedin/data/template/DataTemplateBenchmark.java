@@ -0,0 +1,159 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.template;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.data.benchmark.BenchmarkPayloads;
+import com.linkedin.data.benchmark.BenchmarkPayloads.PayloadShape;
+import com.linkedin.data.benchmark.Industry;
+import com.linkedin.data.benchmark.Member;
+import com.linkedin.data.benchmark.Position;
+import com.linkedin.data.benchmark.PositionArray;
+import com.linkedin.data.codec.JacksonDataCodec;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * Measures the {@link RecordTemplate} getters and setters and the {@link DataTemplateUtil} coercion they rely on.
+ * The getters are measured over a member decoded from JSON without a schema, whose long fields hold integers
+ * and whose bytes fields hold strings, and over the same member decoded with its schema.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DataTemplateBenchmark
+{
+  @State(Scope.Benchmark)
+  public static class GetterState
+  {
+    @Param({"false", "true"})
+    boolean _decodeWithSchema;
+
+    Member _member;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+      JacksonDataCodec codec = new JacksonDataCodec();
+      byte[] bytes = codec.mapToBytes(BenchmarkPayloads.create(PayloadShape.SMALL));
+      _member = new Member(_decodeWithSchema ?
+          codec.bytesToMap(bytes, BenchmarkPayloads.MEMBER_SCHEMA) : codec.bytesToMap(bytes));
+    }
+  }
+
+  @Benchmark
+  public void measurePrimitiveGetters(GetterState state, Blackhole blackhole)
+  {
+    Member member = state._member;
+    blackhole.consume(member.getId());
+    blackhole.consume(member.getFirstName());
+    blackhole.consume(member.getLastName());
+    blackhole.consume(member.getConnections());
+    blackhole.consume(member.getScore());
+    blackhole.consume(member.getRating());
+    blackhole.consume(member.isActive());
+    blackhole.consume(member.getCreatedAt());
+  }
+
+  @Benchmark
+  public Industry measureEnumGetter(GetterState state)
+  {
+    return state._member.getIndustry();
+  }
+
+  @Benchmark
+  public ByteString measureBytesGetter(GetterState state)
+  {
+    return state._member.getPicture();
+  }
+
+  @Benchmark
+  public long measureWrappedGetters(GetterState state)
+  {
+    long sum = 0;
+    for (Position position : state._member.getPositions())
+    {
+      sum += position.getCompanyId() + position.getStartYear();
+    }
+    return sum + state._member.getTags().size() + state._member.getAttributes().size();
+  }
+
+  @Benchmark
+  public Member measureSetters()
+  {
+    Position position = new Position()
+        .setTitle("software engineer")
+        .setCompanyId(1337L)
+        .setStartYear(2010)
+        .setCurrent(true);
+    PositionArray positions = new PositionArray();
+    positions.add(position);
+
+    return new Member()
+        .setId(1L)
+        .setFirstName("first")
+        .setLastName("last")
+        .setIndustry(Industry.TECHNOLOGY)
+        .setConnections(500)
+        .setScore(0.5f)
+        .setRating(4.5d)
+        .setActive(true)
+        .setCreatedAt(1500000000000L)
+        .setTags(new StringArray("distributed", "systems"))
+        .setPositions(positions)
+        .setAttributes(new StringMap());
+  }
+
+  @Benchmark
+  public Long measureCoerceIntegerToLong()
+  {
+    return DataTemplateUtil.coerceOutput(42, Long.class);
+  }
+
+  @Benchmark
+  public Float measureCoerceDoubleToFloat()
+  {
+    return DataTemplateUtil.coerceOutput(4.2d, Float.class);
+  }
+
+  @Benchmark
+  public Industry measureCoerceStringToEnum()
+  {
+    return DataTemplateUtil.coerceOutput("HEALTHCARE", Industry.class);
+  }
+
+  @Benchmark
+  public Object measureCoerceEnumToString()
+  {
+    return DataTemplateUtil.coerceInput(Industry.HEALTHCARE, Industry.class, String.class);
+  }
+}
@@ -0,0 +1,154 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.internal.server;
+
+import com.linkedin.r2.message.RequestContext;
+import com.linkedin.r2.message.rest.RestRequestBuilder;
+import com.linkedin.restli.common.EmptyRecord;
+import com.linkedin.restli.common.RestConstants;
+import com.linkedin.restli.internal.common.AllProtocolVersions;
+import com.linkedin.restli.internal.server.model.ResourceMethodDescriptor;
+import com.linkedin.restli.internal.server.model.ResourceModel;
+import com.linkedin.restli.internal.server.model.RestLiApiBuilder;
+import com.linkedin.restli.internal.server.util.RestLiSyntaxException;
+import com.linkedin.restli.server.RestLiConfig;
+import com.linkedin.restli.server.annotations.Action;
+import com.linkedin.restli.server.annotations.Finder;
+import com.linkedin.restli.server.annotations.RestLiCollection;
+import com.linkedin.restli.server.resources.CollectionResourceTemplate;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Compares {@link RestLiRouter#process(ServerResourceContext)} with {@link TrieRestLiRouter#process(ServerResourceContext)}
+ * for the common request shapes.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RestLiRouterBenchmark
+{
+  /**
+   * Requests under test, as HTTP method and URI.
+   */
+  public enum RequestShape
+  {
+    GET("GET", "/greetings/1"),
+    SUBRESOURCE_GET("GET", "/greetings/1/replies/2"),
+    FINDER("GET", "/greetings?q=search"),
+    ACTION("POST", "/greetings?action=purge");
+
+    private final String _method;
+    private final String _uri;
+
+    RequestShape(String method, String uri)
+    {
+      _method = method;
+      _uri = uri;
+    }
+  }
+
+  @RestLiCollection(name = "greetings", keyName = "greetingId")
+  public static class GreetingsResource extends CollectionResourceTemplate<Long, EmptyRecord>
+  {
+    @Override
+    public EmptyRecord get(Long key)
+    {
+      return null;
+    }
+
+    @Finder("search")
+    public List<EmptyRecord> search()
+    {
+      return null;
+    }
+
+    @Action(name = "purge")
+    public int purge()
+    {
+      return 0;
+    }
+  }
+
+  @RestLiCollection(parent = GreetingsResource.class, name = "replies", keyName = "replyId")
+  public static class RepliesResource extends CollectionResourceTemplate<Long, EmptyRecord>
+  {
+    @Override
+    public EmptyRecord get(Long key)
+    {
+      return null;
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class RouterState
+  {
+    @Param
+    RequestShape _shape;
+
+    RestLiRouter _router;
+    RestLiRouter _trieRouter;
+    ServerResourceContext _context;
+
+    @Setup
+    public void setUp() throws RestLiSyntaxException
+    {
+      Map<String, ResourceModel> rootResources =
+          RestLiApiBuilder.buildResourceModels(new HashSet<>(Arrays.asList(GreetingsResource.class, RepliesResource.class)));
+      _router = new RestLiRouter(rootResources, new RestLiConfig());
+      _trieRouter = new TrieRestLiRouter(rootResources, new RestLiConfig());
+
+      // Routing only overwrites the path keys of the context, so the same context is routed on every invocation.
+      _context = new ResourceContextImpl(new PathKeysImpl(),
+          new RestRequestBuilder(URI.create(_shape._uri)).setMethod(_shape._method)
+              .setHeader(RestConstants.HEADER_RESTLI_PROTOCOL_VERSION,
+                  AllProtocolVersions.RESTLI_PROTOCOL_2_0_0.getProtocolVersion().toString())
+              .build(),
+          new RequestContext());
+    }
+  }
+
+  @Benchmark
+  public ResourceMethodDescriptor measureRestLiRouter(RouterState state)
+  {
+    return state._router.process(state._context);
+  }
+
+  @Benchmark
+  public ResourceMethodDescriptor measureTrieRestLiRouter(RouterState state)
+  {
+    return state._trieRouter.process(state._context);
+  }
+}
@@ -22,6 +22,7 @@ import com.linkedin.data.DataList;
 import com.linkedin.data.DataMap;
 import com.linkedin.data.collections.CheckedUtil;
 
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -36,6 +37,7 @@ public class CopyFilter extends AbstractFilter
 {
   public CopyFilter()
   {
+    _positiveMaskFastPath = true;
   }
 
   /**
@@ -46,6 +48,28 @@ public class CopyFilter extends AbstractFilter
   public CopyFilter(Set<String> alwaysIncludedFields)
   {
     super(alwaysIncludedFields);
+    _positiveMaskFastPath = alwaysIncludedFields == null || alwaysIncludedFields.isEmpty();
+  }
+
+  /**
+   * Masks that only select fields at every depth (every leaf is {@link FilterConstants#POSITIVE}, no wildcards,
+   * ranges, negations or empty sub-masks) are applied by walking the mask instead of the data, so only the projected
+   * paths are touched. Any other mask falls back to the general algorithm in {@link AbstractFilter}.
+   */
+  @Override
+  public Object filter(Object data, DataMap opNode)
+  {
+    if (_positiveMaskFastPath && data != null && data.getClass() == DataMap.class && opNode != null
+        && isPositiveMask(opNode))
+    {
+      final DataMap projected = filterWithPositiveMask((DataMap) data, opNode);
+      if (projected != null)
+      {
+        return projected;
+      }
+    }
+
+    return super.filter(data, opNode);
   }
 
   @Override
@@ -112,6 +136,113 @@ public class CopyFilter extends AbstractFilter
     return resultMap;
   }
 
+  /**
+   * @param mask a mask for which {@link #isPositiveMask(DataMap)} holds
+   * @return the projected data, or null if the shape of the data does not match the mask, in which case
+   *         nothing should be assumed about the result and the general algorithm must be used instead.
+   */
+  private DataMap filterWithPositiveMask(DataMap data, DataMap mask)
+  {
+    final DataMap resultMap = new DataMap((int)(Math.min(mask.size(), data.size()) / 0.75f) + 1);
+
+    for (Map.Entry<String, Object> entry : mask.entrySet())
+    {
+      final String name = entry.getKey();
+      final Object operation = entry.getValue();
+      final Object original = data.get(name);
+      final Object value;
+
+      if (operation.getClass() == Integer.class)
+      {
+        if (original == null)
+        {
+          continue;
+        }
+        value = original;
+      }
+      else if (operation.getClass() == DataMap.class)
+      {
+        if (original == null)
+        {
+          continue;
+        }
+        else if (original.getClass() == DataMap.class)
+        {
+          value = filterWithPositiveMask((DataMap) original, (DataMap) operation);
+          if (value == null)
+          {
+            return null;
+          }
+        }
+        else if (original.getClass() == DataList.class)
+        {
+          // a list under a mask without $*, $start or $count is copied as a whole
+          value = onFilterDataList((DataList) original, 0, Integer.MAX_VALUE, FilterConstants.POSITIVE);
+        }
+        else
+        {
+          return null;
+        }
+      }
+      else
+      {
+        return null;
+      }
+
+      CheckedUtil.putWithoutChecking(resultMap, name, value);
+    }
+
+    return resultMap;
+  }
+
+  /**
+   * A mask is positive if it is non-empty and, at every depth, each field is either {@link FilterConstants#POSITIVE}
+   * or a positive mask itself. The default node mode of every node in such a mask is {@link NodeMode#HIDE_LOW},
+   * so the fields it does not mention are removed.
+   */
+  private boolean isPositiveMask(DataMap mask)
+  {
+    Boolean positive = _positiveMasks.get(mask);
+    if (positive == null)
+    {
+      positive = computeIsPositiveMask(mask);
+      _positiveMasks.put(mask, positive);
+    }
+
+    return positive;
+  }
+
+  private boolean computeIsPositiveMask(DataMap mask)
+  {
+    if (mask.isEmpty())
+    {
+      return false;
+    }
+
+    for (Map.Entry<String, Object> entry : mask.entrySet())
+    {
+      if (entry.getKey().indexOf('$') >= 0)
+      {
+        return false;
+      }
+
+      final Object operation = entry.getValue();
+      if (operation.getClass() == Integer.class)
+      {
+        if (!operation.equals(FilterConstants.POSITIVE))
+        {
+          return false;
+        }
+      }
+      else if (operation.getClass() != DataMap.class || !isPositiveMask((DataMap) operation))
+      {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
   @Override
   protected Object onError(Object field, String format, Object... args)
   {
@@ -124,6 +255,10 @@ public class CopyFilter extends AbstractFilter
     return operation != FilterConstants.NEGATIVE;
   }
 
+  private final boolean _positiveMaskFastPath;
+  // used for memoization of isPositiveMask, masks are not modified while being applied
+  private final IdentityHashMap<DataMap, Boolean> _positiveMasks = new IdentityHashMap<>();
+
   private static final DataList EMPTY_DATALIST = new DataList();
   static
   {
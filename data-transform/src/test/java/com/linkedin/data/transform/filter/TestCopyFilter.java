@@ -17,11 +17,16 @@
 package com.linkedin.data.transform.filter;
 
 
+import com.linkedin.data.DataList;
 import com.linkedin.data.DataMap;
 import com.linkedin.data.transform.DataProcessingException;
+import java.util.Collections;
 import java.util.Set;
+import org.testng.annotations.Test;
 
+import static com.linkedin.data.TestUtil.dataMapFromString;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 
 /**
@@ -39,4 +44,43 @@ public class TestCopyFilter extends TestFilterOnData
         "\nData: " + dataBefore + "\nFilter: " + filter + "\nAlwaysIncludedFields: " + alwaysIncludedFields +
         "\nExpected: " + expected + "\nActual result: " + filtered);
   }
+
+  @Test
+  public void testPositiveMaskSharesProjectedValues() throws Exception
+  {
+    final DataMap data = dataMapFromString(
+        "{'a': {'x': 1, 'y': {'z': 2}}, 'b': [{'c': 1}, {'c': 2}], 'd': 'foo', 'e': {'f': 3}}".replace('\'', '"'));
+    final DataMap mask = dataMapFromString("{'a': {'y': 1}, 'b': {'c': 1}, 'd': 1, 'g': 1}".replace('\'', '"'));
+
+    final DataMap filtered = (DataMap) new CopyFilter().filter(data, mask);
+
+    assertEquals(filtered, dataMapFromString(
+        "{'a': {'y': {'z': 2}}, 'b': [{'c': 1}, {'c': 2}], 'd': 'foo'}".replace('\'', '"')));
+    assertSame(filtered.getDataMap("a").get("y"), data.getDataMap("a").get("y"));
+    assertSame(((DataList) filtered.get("b")).get(0), data.getDataList("b").get(0));
+    assertEquals(filtered, new CopyFilter(Collections.singleton("unused")).filter(data, mask));
+  }
+
+  @Test
+  public void testNonPositiveMaskFallsBack() throws Exception
+  {
+    final DataMap data = dataMapFromString("{'a': {'x': 1, 'y': 2}, 'b': [1, 2, 3]}".replace('\'', '"'));
+
+    assertEquals(new CopyFilter().filter(data, dataMapFromString("{'a': {'x': 0}}".replace('\'', '"'))),
+        dataMapFromString("{'a': {'y': 2}, 'b': [1, 2, 3]}".replace('\'', '"')));
+    assertEquals(new CopyFilter().filter(data, dataMapFromString("{'b': {'$start': 1, '$count': 1}}".replace('\'', '"'))),
+        dataMapFromString("{'b': [2]}".replace('\'', '"')));
+    assertEquals(new CopyFilter().filter(data, dataMapFromString("{'a': {}}".replace('\'', '"'))), data);
+  }
+
+  @Test
+  public void testNestedNonPositiveListMaskFallsBack() throws Exception
+  {
+    final DataMap data = dataMapFromString("{'name': 'n', 'items': [{'x': 1, 'y': 2}]}".replace('\'', '"'));
+    final DataMap mask = dataMapFromString("{'items': {'x': 0}}".replace('\'', '"'));
+
+    assertEquals(new CopyFilter().filter(data, mask),
+        dataMapFromString("{'name': 'n', 'items': [{'x': 1, 'y': 2}]}".replace('\'', '"')));
+    assertEquals(new CopyFilter().filter(data, mask), new CopyFilter(Collections.singleton("unused")).filter(data, mask));
+  }
 }
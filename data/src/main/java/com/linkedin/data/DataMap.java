@@ -16,6 +16,7 @@
 
 package com.linkedin.data;
 
+import com.linkedin.data.collections.BackingMapType;
 import com.linkedin.data.collections.CheckedMap;
 import com.linkedin.data.collections.CommonMap;
 import com.linkedin.data.collections.MapChecker;
@@ -111,6 +112,21 @@ public final class DataMap extends CheckedMap<String,Object> implements DataComp
     super(initialCapacity, loadFactor, _checker);
   }
 
+  /**
+   * Constructs a {@link DataMap} with the specified initial capacity and
+   * type of underlying map.
+   *
+   * @param initialCapacity provides the initial capacity of the {@link DataMap}.
+   * @param backingMapType provides the type of the underlying map, the default
+   *                       type is used if null.
+   *
+   * @see CheckedMap#getDefaultBackingMapType()
+   */
+  public DataMap(int initialCapacity, BackingMapType backingMapType)
+  {
+    super(initialCapacity, _checker, backingMapType);
+  }
+
   @Override
   public DataMap clone() throws CloneNotSupportedException
   {
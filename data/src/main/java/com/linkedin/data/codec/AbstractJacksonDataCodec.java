@@ -27,7 +27,10 @@ import com.linkedin.data.DataComplex;
 import com.linkedin.data.DataList;
 import com.linkedin.data.DataMap;
 import com.linkedin.data.DataMapBuilder;
+import com.linkedin.data.collections.BackingMapType;
 import com.linkedin.data.collections.CheckedUtil;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.schema.validation.UnrecognizedFieldMode;
 import com.linkedin.util.FastByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -66,10 +69,18 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
   protected static final int DEFAULT_BUFFER_SIZE = 4096;
 
   protected final JsonFactory _factory;
+  protected final JacksonCodecOptions _options;
+  private final SchemaDrivenJacksonParser.LayoutCache _layoutCache = new SchemaDrivenJacksonParser.LayoutCache();
 
   protected AbstractJacksonDataCodec(JsonFactory factory)
+  {
+    this(factory, JacksonCodecOptions.DEFAULT);
+  }
+
+  protected AbstractJacksonDataCodec(JsonFactory factory, JacksonCodecOptions options)
   {
     _factory = factory;
+    _options = options;
   }
 
   @Override
@@ -84,6 +95,14 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
     return objectToBytes(list);
   }
 
+  @Override
+  public ByteString mapToByteString(DataMap map) throws IOException
+  {
+    FastByteArrayOutputStream out = new FastByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
+    writeObject(map, createJsonGenerator(out));
+    return out.toUnsafeByteString();
+  }
+
   protected byte[] objectToBytes(Object object) throws IOException
   {
     FastByteArrayOutputStream out = new FastByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
@@ -97,6 +116,21 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
     return parse(_factory.createParser(input), DataMap.class);
   }
 
+  /**
+   * Parses the input into a {@link DataMap} guided by the specified {@link RecordDataSchema}. Values are produced
+   * in the representation of their schema, so that the templates wrapping the result do not coerce them on access.
+   *
+   * @param input provides the serialized record.
+   * @param schema provides the {@link RecordDataSchema} of the record.
+   * @return the parsed {@link DataMap}.
+   * @throws IOException if there is a syntax error in the input, or an unrecognized field is present and
+   *                     the {@link JacksonCodecOptions#getUnrecognizedFieldMode()} is {@link UnrecognizedFieldMode#DISALLOW}.
+   */
+  public DataMap bytesToMap(byte[] input, RecordDataSchema schema) throws IOException
+  {
+    return parse(_factory.createParser(input), schema);
+  }
+
   @Override
   public DataList bytesToList(byte[] input) throws IOException
   {
@@ -155,6 +189,14 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
     return parse(_factory.createParser(in), DataMap.class);
   }
 
+  /**
+   * Same as {@link #bytesToMap(byte[], RecordDataSchema)}, reading the serialized record from an {@link InputStream}.
+   */
+  public DataMap readMap(InputStream in, RecordDataSchema schema) throws IOException
+  {
+    return parse(_factory.createParser(in), schema);
+  }
+
   @Override
   public DataList readList(InputStream in) throws IOException
   {
@@ -165,7 +207,7 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
   {
     try
     {
-      return new Parser().parse(jsonParser, expectType);
+      return new Parser(false, _options.getBackingMapType()).parse(jsonParser, expectType);
     }
     catch (IOException e)
     {
@@ -177,6 +219,18 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
     }
   }
 
+  protected DataMap parse(JsonParser jsonParser, RecordDataSchema schema) throws IOException
+  {
+    try
+    {
+      return new SchemaDrivenJacksonParser(_layoutCache, _options.getUnrecognizedFieldMode(), _options.getBackingMapType()).parse(jsonParser, schema);
+    }
+    finally
+    {
+      DataCodec.closeQuietly(jsonParser);
+    }
+  }
+
   /**
    * Uses the {@link JsonParser} and parses its contents into a list of Data objects.
    *
@@ -195,7 +249,7 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
   {
     try
     {
-      return new Parser(true).parse(jsonParser, mesg, locationMap);
+      return new Parser(true, _options.getBackingMapType()).parse(jsonParser, mesg, locationMap);
     }
     catch (IOException e)
     {
@@ -397,21 +451,19 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
      * When you add the 7th entry, the capacity will grow to 16 from 8, so 6 is Max Recursive Depth
      */
     private static final int MAX_DATA_MAP_RECURSION_SIZE = 6;
+    private static final int DEFAULT_DATA_MAP_CAPACITY = 16;
 
     private StringBuilder _errorBuilder = null;
     private JsonParser _parser = null;
     private boolean _debug = false;
     private Deque<Object> _nameStack = null;
     private Map<Object, DataLocation> _locationMap = null;
+    private final BackingMapType _backingMapType;
 
-    Parser()
-    {
-      this(false);
-    }
-
-    Parser(boolean debug)
+    Parser(boolean debug, BackingMapType backingMapType)
     {
       _debug = debug;
+      _backingMapType = backingMapType;
     }
 
     /**
@@ -657,7 +709,7 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
      */
     private DataMap parseDataMapRecursive(int dataMapSize) throws IOException {
       if (_parser.nextToken() == JsonToken.END_OBJECT) {
-        return new DataMap(DataMapBuilder.getOptimumHashMapCapacityFromSize(dataMapSize));
+        return new DataMap(DataMapBuilder.getOptimumHashMapCapacityFromSize(dataMapSize), _backingMapType);
       // prevent stack from getting too deep
       } else if (dataMapSize >= MAX_DATA_MAP_RECURSION_SIZE) {
         return parseDataMapIterative();
@@ -686,7 +738,7 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
      * this should only be called from parseDataMapRecursive; it assumes the current token is a Map-Key.
      */
     private DataMap parseDataMapIterative() throws IOException {
-      DataMap map = new DataMap();
+      DataMap map = new DataMap(DEFAULT_DATA_MAP_CAPACITY, _backingMapType);
       addToMap(map);
       while (_parser.nextToken() != JsonToken.END_OBJECT)
       {
@@ -45,6 +45,21 @@ public interface DataCodec
    */
   byte[] mapToBytes(DataMap map) throws IOException;
 
+  /**
+   * Serialize a {@link DataMap} to a {@link ByteString}.
+   *
+   * <p>Implementations may return a {@link ByteString} backed by several buffers to avoid copying a large output
+   * into a single byte array.</p>
+   *
+   * @param map to serialize.
+   * @return the output serialized from the {@link DataMap}.
+   * @throws IOException if there is a serialization error.
+   */
+  default ByteString mapToByteString(DataMap map) throws IOException
+  {
+    return ByteString.unsafeWrap(mapToBytes(map));
+  }
+
   /**
    * Serialize a {@link DataList} to a byte array.
    *
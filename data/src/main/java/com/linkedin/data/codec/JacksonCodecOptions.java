@@ -0,0 +1,126 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.codec;
+
+import com.linkedin.data.collections.BackingMapType;
+import com.linkedin.data.schema.validation.UnrecognizedFieldMode;
+
+
+/**
+ * Encapsulates options to configure the behavior of the {@link AbstractJacksonDataCodec} implementations.
+ *
+ * <p>Options are immutable so that codecs configured with them can be shared between threads.</p>
+ */
+public class JacksonCodecOptions
+{
+  /**
+   * Options used by the codecs that are created without explicit options.
+   */
+  public static final JacksonCodecOptions DEFAULT = new Builder().build();
+
+  /**
+   * The {@link BackingMapType} of the {@link com.linkedin.data.DataMap}s created when deserializing payloads.
+   *
+   * <p>Set to null, meaning {@link com.linkedin.data.collections.CheckedMap#getDefaultBackingMapType()}, if
+   * unspecified.</p>
+   */
+  private final BackingMapType _backingMapType;
+
+  /**
+   * How fields that are not defined by the schema are handled when deserializing payloads against a
+   * {@link com.linkedin.data.schema.RecordDataSchema}.
+   */
+  private final UnrecognizedFieldMode _unrecognizedFieldMode;
+
+  private JacksonCodecOptions(BackingMapType backingMapType, UnrecognizedFieldMode unrecognizedFieldMode)
+  {
+    _backingMapType = backingMapType;
+    _unrecognizedFieldMode = unrecognizedFieldMode;
+  }
+
+  /**
+   * @return The {@link BackingMapType} of the {@link com.linkedin.data.DataMap}s created when deserializing payloads,
+   * or null to use the default type.
+   */
+  public BackingMapType getBackingMapType()
+  {
+    return _backingMapType;
+  }
+
+  /**
+   * @return How fields that are not defined by the schema are handled when deserializing payloads against a
+   * {@link com.linkedin.data.schema.RecordDataSchema}.
+   */
+  public UnrecognizedFieldMode getUnrecognizedFieldMode()
+  {
+    return _unrecognizedFieldMode;
+  }
+
+  /**
+   * Builder to incrementally build options.
+   */
+  public static final class Builder
+  {
+    /**
+     * The {@link BackingMapType} of the {@link com.linkedin.data.DataMap}s created when deserializing payloads.
+     *
+     * <p>Default value is null.</p>
+     */
+    private BackingMapType _backingMapType;
+
+    /**
+     * How fields that are not defined by the schema are handled when deserializing payloads against a
+     * {@link com.linkedin.data.schema.RecordDataSchema}.
+     *
+     * <p>Default value is {@link UnrecognizedFieldMode#IGNORE}.</p>
+     */
+    private UnrecognizedFieldMode _unrecognizedFieldMode;
+
+    public Builder()
+    {
+      _backingMapType = null;
+      _unrecognizedFieldMode = UnrecognizedFieldMode.IGNORE;
+    }
+
+    /**
+     * Set the {@link BackingMapType} of the {@link com.linkedin.data.DataMap}s created when deserializing payloads.
+     */
+    public Builder setBackingMapType(BackingMapType backingMapType)
+    {
+      this._backingMapType = backingMapType;
+      return this;
+    }
+
+    /**
+     * Set how fields that are not defined by the schema are handled when deserializing payloads against a
+     * {@link com.linkedin.data.schema.RecordDataSchema}.
+     */
+    public Builder setUnrecognizedFieldMode(UnrecognizedFieldMode unrecognizedFieldMode)
+    {
+      this._unrecognizedFieldMode = unrecognizedFieldMode;
+      return this;
+    }
+
+    /**
+     * Build an options instance.
+     */
+    public JacksonCodecOptions build()
+    {
+      return new JacksonCodecOptions(_backingMapType, _unrecognizedFieldMode);
+    }
+  }
+}
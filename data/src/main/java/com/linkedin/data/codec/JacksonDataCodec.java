@@ -53,7 +53,17 @@ public class JacksonDataCodec extends AbstractJacksonDataCodec implements TextDa
 
   public JacksonDataCodec(JsonFactory jsonFactory)
   {
-    super(jsonFactory);
+    this(jsonFactory, JacksonCodecOptions.DEFAULT);
+  }
+
+  public JacksonDataCodec(JacksonCodecOptions options)
+  {
+    this(JSON_FACTORY, options);
+  }
+
+  public JacksonDataCodec(JsonFactory jsonFactory, JacksonCodecOptions options)
+  {
+    super(jsonFactory, options);
     setAllowComments(true);
   }
 
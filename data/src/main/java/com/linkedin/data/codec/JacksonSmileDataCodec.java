@@ -35,7 +35,17 @@ public class JacksonSmileDataCodec extends AbstractJacksonDataCodec
 
   public JacksonSmileDataCodec(SmileFactory smileFactory)
   {
-    super(smileFactory);
+    this(smileFactory, JacksonCodecOptions.DEFAULT);
+  }
+
+  public JacksonSmileDataCodec(JacksonCodecOptions options)
+  {
+    this(createDefaultSmileFactory(), options);
+  }
+
+  public JacksonSmileDataCodec(SmileFactory smileFactory, JacksonCodecOptions options)
+  {
+    super(smileFactory, options);
   }
 
   private static SmileFactory createDefaultSmileFactory()
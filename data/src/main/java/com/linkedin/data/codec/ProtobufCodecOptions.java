@@ -17,6 +17,7 @@
 package com.linkedin.data.codec;
 
 import com.linkedin.data.codec.symbol.EmptySymbolTable;
+import com.linkedin.data.collections.BackingMapType;
 import com.linkedin.data.codec.symbol.SymbolTable;
 
 
@@ -76,17 +77,27 @@ public class ProtobufCodecOptions
    */
   private final int _protoWriterBufferSize;
 
+  /**
+   * The {@link BackingMapType} of the {@link com.linkedin.data.DataMap}s created when deserializing payloads.
+   *
+   * <p>Set to null, meaning {@link com.linkedin.data.collections.CheckedMap#getDefaultBackingMapType()}, if
+   * unspecified.</p>
+   */
+  private final BackingMapType _backingMapType;
+
   private ProtobufCodecOptions(SymbolTable symbolTable,
                                boolean enableASCIIOnlyStrings,
                                boolean enableFixedLengthFloatDoubles,
                                boolean tolerateInvalidSurrogatePairs,
-                               int protoWriterBufferSize)
+                               int protoWriterBufferSize,
+                               BackingMapType backingMapType)
   {
     _symbolTable = symbolTable == null ? EmptySymbolTable.SHARED : symbolTable;
     _enableASCIIOnlyStrings = enableASCIIOnlyStrings;
     _enableFixedLengthFloatDoubles = enableFixedLengthFloatDoubles;
     _shouldTolerateInvalidSurrogatePairs = tolerateInvalidSurrogatePairs;
     _protoWriterBufferSize = protoWriterBufferSize;
+    _backingMapType = backingMapType;
   }
 
   /**
@@ -130,6 +141,15 @@ public class ProtobufCodecOptions
     return _protoWriterBufferSize;
   }
 
+  /**
+   * @return The {@link BackingMapType} of the {@link com.linkedin.data.DataMap}s created when deserializing payloads,
+   * or null to use the default type.
+   */
+  public BackingMapType getBackingMapType()
+  {
+    return _backingMapType;
+  }
+
   /**
    * Builder to incrementally build options.
    */
@@ -180,6 +200,13 @@ public class ProtobufCodecOptions
      */
     private int _protoWriterBufferSize;
 
+    /**
+     * The {@link BackingMapType} of the {@link com.linkedin.data.DataMap}s created when deserializing payloads.
+     *
+     * <p>Default value is null.</p>
+     */
+    private BackingMapType _backingMapType;
+
     public Builder()
     {
       _symbolTable = null;
@@ -187,6 +214,7 @@ public class ProtobufCodecOptions
       _enableFixedLengthFloatDoubles = false;
       _shouldTolerateInvalidSurrogatePairs = true;
       _protoWriterBufferSize = DEFAULT_BUFFER_SIZE;
+      _backingMapType = null;
     }
 
     /**
@@ -245,6 +273,15 @@ public class ProtobufCodecOptions
       return this;
     }
 
+    /**
+     * Set the {@link BackingMapType} of the {@link com.linkedin.data.DataMap}s created when deserializing payloads.
+     */
+    public Builder setBackingMapType(BackingMapType backingMapType)
+    {
+      this._backingMapType = backingMapType;
+      return this;
+    }
+
     /**
      * Build an options instance.
      */
@@ -254,7 +291,8 @@ public class ProtobufCodecOptions
           _enableASCIIOnlyStrings,
           _enableFixedLengthFloatDoubles,
           _shouldTolerateInvalidSurrogatePairs,
-          _protoWriterBufferSize);
+          _protoWriterBufferSize,
+          _backingMapType);
     }
   }
 }
@@ -134,6 +134,14 @@ public class ProtobufDataCodec implements DataCodec
     return baos.toByteArray();
   }
 
+  @Override
+  public ByteString mapToByteString(DataMap map) throws IOException
+  {
+    FastByteArrayOutputStream baos = new FastByteArrayOutputStream(_options.getProtoWriterBufferSize());
+    writeMap(map, baos);
+    return baos.toUnsafeByteString();
+  }
+
   @Override
   public byte[] listToBytes(DataList list) throws IOException
   {
@@ -246,7 +254,7 @@ public class ProtobufDataCodec implements DataCodec
   protected final DataMap readMap(ProtoReader reader) throws IOException
   {
     int size = reader.readInt32();
-    DataMap dataMap = new DataMap(DataMapBuilder.getOptimumHashMapCapacityFromSize(size));
+    DataMap dataMap = new DataMap(DataMapBuilder.getOptimumHashMapCapacityFromSize(size), _options.getBackingMapType());
     for (int i = 0; i < size; i++)
     {
       CheckedUtil.putWithoutChecking(dataMap, (String) readValue(reader, this::isString), readValue(reader, null));
@@ -0,0 +1,349 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linkedin.data.ByteString;
+import com.linkedin.data.Data;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.DataMapBuilder;
+import com.linkedin.data.collections.BackingMapType;
+import com.linkedin.data.collections.CheckedUtil;
+import com.linkedin.data.schema.ArrayDataSchema;
+import com.linkedin.data.schema.DataSchema;
+import com.linkedin.data.schema.EnumDataSchema;
+import com.linkedin.data.schema.MapDataSchema;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.schema.UnionDataSchema;
+import com.linkedin.data.schema.validation.UnrecognizedFieldMode;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Parses JSON (or any other Jackson format) into Data objects guided by a {@link RecordDataSchema}.
+ * <p>
+ *
+ * Compared to the schema-less parser of {@link AbstractJacksonDataCodec}, values are produced in the
+ * representation expected by the schema, e.g. a JSON integer is read as a {@link Long} for a long field and
+ * as a {@link Float} for a float field, enum symbols are shared with the schema and bytes are decoded into
+ * {@link ByteString}s. This saves the coercion that would otherwise happen on every access through the
+ * generated templates. Field names are resolved through a per record {@link RecordLayout} and the
+ * {@link DataMap} keys are the field name instances of the schema. Values that do not match their schema are
+ * parsed as is and left to validation.
+ * <p>
+ *
+ * Fields that are not part of the record schema are handled according to the {@link UnrecognizedFieldMode}:
+ * {@link UnrecognizedFieldMode#IGNORE} parses them as schema-less values, {@link UnrecognizedFieldMode#TRIM}
+ * skips them without building any Data object and {@link UnrecognizedFieldMode#DISALLOW} fails the parsing
+ * with a {@link DataDecodingException}.
+ * <p>
+ *
+ * An instance parses a single input and is not thread-safe.
+ */
+final class SchemaDrivenJacksonParser
+{
+  private static final int DEFAULT_DATA_MAP_CAPACITY = 16;
+
+  private final LayoutCache _layoutCache;
+  private final UnrecognizedFieldMode _unrecognizedFieldMode;
+  private final BackingMapType _backingMapType;
+  private JsonParser _parser;
+  private StringBuilder _errorBuilder;
+
+  SchemaDrivenJacksonParser(LayoutCache layoutCache, UnrecognizedFieldMode unrecognizedFieldMode,
+      BackingMapType backingMapType)
+  {
+    _layoutCache = layoutCache;
+    _unrecognizedFieldMode = unrecognizedFieldMode;
+    _backingMapType = backingMapType;
+  }
+
+  DataMap parse(JsonParser parser, RecordDataSchema schema) throws IOException
+  {
+    _parser = parser;
+    _errorBuilder = null;
+    if (_parser.nextToken() != JsonToken.START_OBJECT)
+    {
+      throw new DataDecodingException("Object must start with start object token.");
+    }
+
+    final DataMap map = parseRecord(_layoutCache.getRecordLayout(schema));
+    if (_errorBuilder != null)
+    {
+      map.addError(_errorBuilder.toString());
+    }
+    return map;
+  }
+
+  /**
+   * Parses the value starting at the specified token.
+   *
+   * @param schema provides the dereferenced schema of the value, null if the value is schema-less.
+   */
+  private Object parseValue(DataSchema schema, JsonToken token) throws IOException
+  {
+    final DataSchema.Type type = schema == null ? null : schema.getType();
+    switch (token)
+    {
+      case START_OBJECT:
+        if (type == DataSchema.Type.RECORD)
+        {
+          return parseRecord(_layoutCache.getRecordLayout((RecordDataSchema) schema));
+        }
+        else if (type == DataSchema.Type.MAP)
+        {
+          return parseMap(dereference(((MapDataSchema) schema).getValues()));
+        }
+        else if (type == DataSchema.Type.UNION)
+        {
+          return parseUnion((UnionDataSchema) schema);
+        }
+        return parseMap(null);
+      case START_ARRAY:
+        return parseList(type == DataSchema.Type.ARRAY ? dereference(((ArrayDataSchema) schema).getItems()) : null);
+      case VALUE_STRING:
+        return parseString(schema, type);
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        return parseNumber(type, token);
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_NULL:
+        return Data.NULL;
+      default:
+        throw new DataDecodingException("Unexpected token " + token + " at " + _parser.getTokenLocation());
+    }
+  }
+
+  private DataMap parseRecord(RecordLayout layout) throws IOException
+  {
+    final DataMap map = new DataMap(layout._capacity, _backingMapType);
+    while (_parser.nextToken() != JsonToken.END_OBJECT)
+    {
+      final String name = _parser.getCurrentName();
+      final FieldSlot slot = layout._slots.get(name);
+      final JsonToken token = _parser.nextToken();
+      if (slot != null)
+      {
+        put(map, slot._name, parseValue(slot._schema, token));
+      }
+      else if (_unrecognizedFieldMode == UnrecognizedFieldMode.TRIM)
+      {
+        _parser.skipChildren();
+      }
+      else if (_unrecognizedFieldMode == UnrecognizedFieldMode.DISALLOW)
+      {
+        throw new DataDecodingException("Field \"" + name + "\" is not defined in " + layout._schemaName
+            + " at " + _parser.getTokenLocation());
+      }
+      else
+      {
+        put(map, name, parseValue(null, token));
+      }
+    }
+    return map;
+  }
+
+  private DataMap parseUnion(UnionDataSchema schema) throws IOException
+  {
+    final DataMap map = new DataMap(DataMapBuilder.getOptimumHashMapCapacityFromSize(1), _backingMapType);
+    while (_parser.nextToken() != JsonToken.END_OBJECT)
+    {
+      final String memberKey = _parser.getCurrentName();
+      put(map, memberKey, parseValue(dereference(schema.getTypeByMemberKey(memberKey)), _parser.nextToken()));
+    }
+    return map;
+  }
+
+  private DataMap parseMap(DataSchema valueSchema) throws IOException
+  {
+    final DataMap map = new DataMap(DEFAULT_DATA_MAP_CAPACITY, _backingMapType);
+    while (_parser.nextToken() != JsonToken.END_OBJECT)
+    {
+      final String key = _parser.getCurrentName();
+      put(map, key, parseValue(valueSchema, _parser.nextToken()));
+    }
+    return map;
+  }
+
+  private DataList parseList(DataSchema itemSchema) throws IOException
+  {
+    final DataList list = new DataList();
+    JsonToken token;
+    while ((token = _parser.nextToken()) != JsonToken.END_ARRAY)
+    {
+      CheckedUtil.addWithoutChecking(list, parseValue(itemSchema, token));
+    }
+    return list;
+  }
+
+  private Object parseString(DataSchema schema, DataSchema.Type type) throws IOException
+  {
+    final String text = _parser.getText();
+    if (type == DataSchema.Type.ENUM)
+    {
+      // Share the symbol instances of the schema instead of keeping a copy per value
+      final String symbol = _layoutCache.getEnumSymbols((EnumDataSchema) schema).get(text);
+      return symbol == null ? text : symbol;
+    }
+    else if (type == DataSchema.Type.BYTES || type == DataSchema.Type.FIXED)
+    {
+      final ByteString bytes = ByteString.copyAvroString(text, true);
+      return bytes == null ? text : bytes;
+    }
+    return text;
+  }
+
+  private Object parseNumber(DataSchema.Type type, JsonToken token) throws IOException
+  {
+    final JsonParser.NumberType numberType = _parser.getNumberType();
+    if (type != null)
+    {
+      switch (type)
+      {
+        case INT:
+          if (numberType == JsonParser.NumberType.INT)
+          {
+            return _parser.getIntValue();
+          }
+          break;
+        case LONG:
+          if (numberType == JsonParser.NumberType.INT || numberType == JsonParser.NumberType.LONG)
+          {
+            return _parser.getLongValue();
+          }
+          break;
+        case FLOAT:
+          return _parser.getFloatValue();
+        case DOUBLE:
+          return _parser.getDoubleValue();
+        default:
+          break;
+      }
+    }
+
+    if (numberType != null)
+    {
+      switch (numberType)
+      {
+        case INT:
+          return _parser.getIntValue();
+        case LONG:
+          return _parser.getLongValue();
+        case FLOAT:
+          return _parser.getFloatValue();
+        case DOUBLE:
+          return _parser.getDoubleValue();
+        default:
+          break;
+      }
+    }
+    throw new DataDecodingException("JSON number of type " + numberType + " for token " + token
+        + " at " + _parser.getTokenLocation() + " is not supported.");
+  }
+
+  private void put(DataMap map, String key, Object value)
+  {
+    if (CheckedUtil.putWithoutChecking(map, key, value) != null)
+    {
+      if (_errorBuilder == null)
+      {
+        _errorBuilder = new StringBuilder();
+      }
+      _errorBuilder.append(_parser.getTokenLocation()).append(": \"").append(key).append("\" defined more than once.\n");
+    }
+  }
+
+  private static DataSchema dereference(DataSchema schema)
+  {
+    return schema == null ? null : schema.getDereferencedDataSchema();
+  }
+
+  /**
+   * Pre-computed lookup table from the field names of a record to their {@link FieldSlot}.
+   */
+  static final class RecordLayout
+  {
+    private final String _schemaName;
+    private final Map<String, FieldSlot> _slots;
+    private final int _capacity;
+
+    RecordLayout(RecordDataSchema schema)
+    {
+      final List<RecordDataSchema.Field> fields = schema.getFields();
+      _schemaName = schema.getFullName();
+      _slots = new HashMap<>(DataMapBuilder.getOptimumHashMapCapacityFromSize(fields.size()));
+      for (RecordDataSchema.Field field : fields)
+      {
+        _slots.put(field.getName(), new FieldSlot(field.getName(), dereference(field.getType())));
+      }
+      _capacity = DataMapBuilder.getOptimumHashMapCapacityFromSize(fields.size());
+    }
+  }
+
+  private static final class FieldSlot
+  {
+    private final String _name;
+    private final DataSchema _schema;
+
+    FieldSlot(String name, DataSchema schema)
+    {
+      _name = name;
+      _schema = schema;
+    }
+  }
+
+  /**
+   * Caches the {@link RecordLayout}s and enum symbol tables by schema identity. Keys are weakly referenced so that
+   * layouts of unused schemas can be collected, and the cache is bounded since a layout may strongly reference its
+   * own schema through a recursive field.
+   */
+  static final class LayoutCache
+  {
+    private static final int MAX_SIZE = 1000;
+
+    private final Cache<DataSchema, Object> _cache = Caffeine.newBuilder().weakKeys().maximumSize(MAX_SIZE).build();
+
+    RecordLayout getRecordLayout(RecordDataSchema schema)
+    {
+      return (RecordLayout) _cache.get(schema, key -> new RecordLayout((RecordDataSchema) key));
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<String, String> getEnumSymbols(EnumDataSchema schema)
+    {
+      return (Map<String, String>) _cache.get(schema, key ->
+      {
+        final Map<String, String> symbols = new HashMap<>();
+        for (String symbol : ((EnumDataSchema) key).getSymbols())
+        {
+          symbols.put(symbol, symbol);
+        }
+        return symbols;
+      });
+    }
+  }
+}
@@ -25,6 +25,14 @@ import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLSocketFactory;
 import org.slf4j.Logger;
@@ -73,6 +81,11 @@ public class DefaultSymbolTableProvider implements SymbolTableProvider
    */
   private final Cache<String, SymbolTable> _cache;
 
+  /**
+   * Fetches of remote symbol tables in flight, keyed by symbol table name, shared by prefetches and lookups.
+   */
+  private final ConcurrentMap<String, CompletableFuture<SymbolTable>> _inFlightFetches = new ConcurrentHashMap<>();
+
   /**
    * Set the overridden SSL socket factory.
    */
@@ -105,67 +118,153 @@ public class DefaultSymbolTableProvider implements SymbolTableProvider
     }
   }
 
+  /**
+   * Fetch the given symbol tables in the background and cache them, so that decoding the first responses that
+   * reference them does not block on a remote call. Tables that are already cached are not fetched again, and tables
+   * that are already being fetched are not fetched twice.
+   *
+   * @param symbolTableNames Names of the symbol tables to fetch, as they appear in responses.
+   * @param executor Executor to fetch the symbol tables on.
+   *
+   * @return A future completed once all symbol tables have been fetched. Tables that could not be fetched are
+   * logged and skipped, they will be fetched again on first use.
+   */
+  @Override
+  public CompletableFuture<Void> prefetchSymbolTables(Collection<String> symbolTableNames, Executor executor)
+  {
+    List<CompletableFuture<SymbolTable>> futures = new ArrayList<>(symbolTableNames.size());
+    for (String symbolTableName : symbolTableNames)
+    {
+      // The failure has already been logged by the fetch.
+      futures.add(getSymbolTable(symbolTableName, executor).exceptionally(e -> null));
+    }
+
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+  }
+
   @Override
   public SymbolTable getSymbolTable(String symbolTableName)
   {
+    try
+    {
+      return getSymbolTable(symbolTableName, Runnable::run).join();
+    }
+    catch (CompletionException e)
+    {
+      throw new IllegalStateException("Unable to fetch symbol table with name: " + symbolTableName, e.getCause());
+    }
+  }
+
+  /**
+   * Look up the symbol table with the given name in the cache, or fetch it from the service it was served from.
+   * Concurrent lookups of a table that is not cached share the same fetch.
+   *
+   * @param symbolTableName The name of the symbol table to lookup.
+   * @param executor Executor to fetch the symbol table on.
+   *
+   * @return A future completed with the symbol table, or completed exceptionally if it could not be fetched.
+   */
+  private CompletableFuture<SymbolTable> getSymbolTable(String symbolTableName, Executor executor)
+  {
+    CompletableFuture<SymbolTable> future = new CompletableFuture<>();
     try
     {
       SymbolTableMetadata metadata = METADATA_EXTRACTOR.extractMetadata(symbolTableName);
       String serverNodeUri = metadata.getServerNodeUri();
       String tableName = metadata.getSymbolTableName();
-      boolean isRemote = metadata.isRemote();
 
       // First check the cache.
       SymbolTable symbolTable = _cache.getIfPresent(tableName);
       if (symbolTable != null)
       {
-        return symbolTable;
+        return CompletableFuture.completedFuture(symbolTable);
       }
 
       // If this is not a remote table, and we didn't find it in the cache, cry foul.
-      if (!isRemote)
+      if (!metadata.isRemote())
       {
-        throw new IllegalStateException("Unable to fetch symbol table with name: " + symbolTableName);
+        throw new IllegalStateException("Unable to find local symbol table with name: " + symbolTableName);
       }
 
-      // Ok, we didn't find it in the cache, let's go query the service the table was served from.
-      String url = serverNodeUri + "/" + SYMBOL_TABLE_URI_PATH + "/" + tableName;
-      HttpURLConnection connection = openConnection(url);
-      try
+      // Share the fetch that is already in flight, if any.
+      CompletableFuture<SymbolTable> inFlightFuture = _inFlightFetches.putIfAbsent(tableName, future);
+      if (inFlightFuture != null)
       {
-        connection.setRequestProperty(ACCEPT_HEADER, ProtobufDataCodec.DEFAULT_HEADER);
-        int responseCode = connection.getResponseCode();
+        return inFlightFuture;
+      }
 
-        if (responseCode == HttpURLConnection.HTTP_OK)
+      executor.execute(() ->
+      {
+        try
         {
-          InputStream inputStream = connection.getInputStream();
-          // Deserialize
-          symbolTable = SymbolTableSerializer.fromInputStream(inputStream, CODEC, null);
+          // The table may have been cached by a fetch that completed after the cache was checked.
+          SymbolTable fetchedTable = _cache.getIfPresent(tableName);
+          if (fetchedTable == null)
+          {
+            fetchedTable = fetchRemoteSymbolTable(serverNodeUri, tableName);
+            _cache.put(tableName, fetchedTable);
+          }
+          _inFlightFetches.remove(tableName, future);
+          future.complete(fetchedTable);
         }
-        else
+        catch (Throwable e)
         {
-          throw new IOException("Unexpected response status: " + responseCode);
+          onFetchFailure(symbolTableName, tableName, future, e);
         }
-      }
-      finally
-      {
-        connection.disconnect();
-      }
-
-      // Cache the retrieved table.
-      _cache.put(tableName, symbolTable);
-      return symbolTable;
+      });
+    }
+    catch (Throwable e)
+    {
+      onFetchFailure(symbolTableName, null, future, e);
     }
-    catch (MalformedURLException ex)
+
+    return future;
+  }
+
+  private void onFetchFailure(String symbolTableName, String tableName, CompletableFuture<SymbolTable> future,
+      Throwable e)
+  {
+    if (e instanceof MalformedURLException)
     {
-      LOGGER.error("Failed to construct symbol table URL from symbol table name: " + symbolTableName, ex);
+      LOGGER.error("Failed to construct symbol table URL from symbol table name: " + symbolTableName, e);
     }
-    catch (Exception e)
+    else
     {
       LOGGER.error("Failed to fetch remote symbol table with name: " + symbolTableName, e);
     }
 
-    throw new IllegalStateException("Unable to fetch symbol table with name: " + symbolTableName);
+    if (tableName != null)
+    {
+      _inFlightFetches.remove(tableName, future);
+    }
+    future.completeExceptionally(e);
+  }
+
+  private SymbolTable fetchRemoteSymbolTable(String serverNodeUri, String tableName) throws IOException
+  {
+    // Ok, we didn't find it in the cache, let's go query the service the table was served from.
+    String url = serverNodeUri + "/" + SYMBOL_TABLE_URI_PATH + "/" + tableName;
+    HttpURLConnection connection = openConnection(url);
+    try
+    {
+      connection.setRequestProperty(ACCEPT_HEADER, ProtobufDataCodec.DEFAULT_HEADER);
+      int responseCode = connection.getResponseCode();
+
+      if (responseCode == HttpURLConnection.HTTP_OK)
+      {
+        InputStream inputStream = connection.getInputStream();
+        // Deserialize
+        return SymbolTableSerializer.fromInputStream(inputStream, CODEC, null);
+      }
+      else
+      {
+        throw new IOException("Unexpected response status: " + responseCode);
+      }
+    }
+    finally
+    {
+      connection.disconnect();
+    }
   }
 
   HttpURLConnection openConnection(String url) throws IOException
@@ -17,46 +17,83 @@
 package com.linkedin.data.codec.symbol;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 
 /**
  * A {@link SymbolTable} that stores symbol mappings in memory.
+ *
+ * <p>Symbol name to ID lookups go through an open addressing hash table of symbol IDs, so no boxed integers are
+ * created or traversed on the encoding path. Names returned by {@link #getSymbolName(int)} are the table's own
+ * instances, so all decoded occurrences of a symbol share the same {@link String}.</p>
  */
 public class InMemorySymbolTable implements SymbolTable {
 
-  private final Map<String, Integer> _symbolNameToId;
+  /**
+   * Marks an empty slot in {@link #_slots}.
+   */
+  private static final int EMPTY_SLOT = -1;
+
   private final String[] _symbols;
   private final String _symbolTableName;
+  // Symbol IDs indexed by the hash of their name, using linear probing. Sized to at most half full.
+  private final int[] _slots;
+  private final int _slotMask;
 
   public InMemorySymbolTable(String symbolTableName, List<String> symbols)
   {
     _symbolTableName = symbolTableName;
-    _symbolNameToId = new HashMap<>();
     _symbols = new String[symbols.size()];
+    _slots = new int[tableSizeFor(symbols.size())];
+    _slotMask = _slots.length - 1;
+    Arrays.fill(_slots, EMPTY_SLOT);
 
     for (int i = 0; i < symbols.size(); i++)
     {
       String symbol = symbols.get(i);
-      _symbolNameToId.put(symbol, i);
       _symbols[i] = symbol;
+
+      // Later duplicates take over the slot of earlier ones.
+      int slot = findSlot(symbol);
+      _slots[slot] = i;
     }
   }
 
   @Override
   public int getSymbolId(String symbolName)
   {
+    if (symbolName == null)
+    {
+      return UNKNOWN_SYMBOL_ID;
+    }
+
+    int symbolId = _slots[findSlot(symbolName)];
+    return symbolId == EMPTY_SLOT ? UNKNOWN_SYMBOL_ID : symbolId;
+  }
 
-    Integer symbolId = _symbolNameToId.get(symbolName);
-    if (symbolId != null)
+  /**
+   * @return the slot holding the given symbol, or the empty slot where it would be inserted.
+   */
+  private int findSlot(String symbolName)
+  {
+    int slot = spread(symbolName.hashCode()) & _slotMask;
+    int symbolId;
+    while ((symbolId = _slots[slot]) != EMPTY_SLOT && !symbolName.equals(_symbols[symbolId]))
     {
-      return symbolId;
+      slot = (slot + 1) & _slotMask;
     }
+    return slot;
+  }
+
+  private static int spread(int hash)
+  {
+    return hash ^ (hash >>> 16);
+  }
 
-    return UNKNOWN_SYMBOL_ID;
+  private static int tableSizeFor(int size)
+  {
+    return Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
   }
 
   @Override
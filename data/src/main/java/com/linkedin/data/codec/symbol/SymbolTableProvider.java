@@ -17,7 +17,10 @@
 package com.linkedin.data.codec.symbol;
 
 import java.net.URI;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 
 /**
@@ -64,4 +67,18 @@ public interface SymbolTableProvider {
   {
     return null;
   }
+
+  /**
+   * Fetch the given symbol tables in the background, so that decoding the first responses that reference them does
+   * not block on a remote call.
+   *
+   * @param symbolTableNames Names of the symbol tables to fetch, as they appear in responses.
+   * @param executor Executor to fetch the symbol tables on.
+   *
+   * @return A future completed once all symbol tables have been fetched or have failed to be fetched.
+   */
+  default CompletableFuture<Void> prefetchSymbolTables(Collection<String> symbolTableNames, Executor executor)
+  {
+    return CompletableFuture.completedFuture(null);
+  }
 }
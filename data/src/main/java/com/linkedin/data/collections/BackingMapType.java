@@ -0,0 +1,84 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.collections;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Implementations of the map backing a {@link CheckedMap}.
+ *
+ * <p>The type used when none is specified is returned by {@link CheckedMap#getDefaultBackingMapType()}.</p>
+ */
+public enum BackingMapType
+{
+  /**
+   * Backed by {@link HashMap}.
+   */
+  HASH_MAP
+  {
+    @Override
+    <K, V> Map<K, V> newMap()
+    {
+      return new HashMap<>();
+    }
+
+    @Override
+    <K, V> Map<K, V> newMap(int initialCapacity)
+    {
+      return new HashMap<>(initialCapacity);
+    }
+
+    @Override
+    <K, V> Map<K, V> newMap(Map<? extends K, ? extends V> map)
+    {
+      return new HashMap<>(map);
+    }
+  },
+
+  /**
+   * Backed by {@link CompactMap}, which avoids per entry allocations and is cheaper to build and
+   * clone for the small maps that make up most records.
+   */
+  COMPACT
+  {
+    @Override
+    <K, V> Map<K, V> newMap()
+    {
+      return new CompactMap<>();
+    }
+
+    @Override
+    <K, V> Map<K, V> newMap(int initialCapacity)
+    {
+      return new CompactMap<>(initialCapacity);
+    }
+
+    @Override
+    <K, V> Map<K, V> newMap(Map<? extends K, ? extends V> map)
+    {
+      return new CompactMap<>(map);
+    }
+  };
+
+  abstract <K, V> Map<K, V> newMap();
+
+  abstract <K, V> Map<K, V> newMap(int initialCapacity);
+
+  abstract <K, V> Map<K, V> newMap(Map<? extends K, ? extends V> map);
+}
@@ -26,6 +26,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 
 /**
@@ -36,14 +37,14 @@ import java.util.Set;
  * keys and values being stored into the {@link CheckedMap}.
  * <p>
  *
- * The underlying map implementation is {@link HashMap}. It delegates
- * map operations to the underlying {@link HashMap} associated
- * with this {@link CheckedMap}.
+ * The underlying map implementation is {@link HashMap} by default, or
+ * {@link CompactMap} if selected through {@link BackingMapType}. It delegates
+ * map operations to the underlying map associated with this {@link CheckedMap}.
  * <P>
  *
  * A {@link CheckedMap} may be marked read-only to disable mutations,
  * and to avoid unintentional changes. It may also be invalidated
- * to release its reference the underlying {@link HashMap}.
+ * to release its reference the underlying map.
  * <p>
  *
  * The {@link #entrySet}, {@link #keySet} and {@link #values}
@@ -59,7 +60,7 @@ public class CheckedMap<K,V> implements CommonMap<K,V>, Cloneable
   public CheckedMap()
   {
     _checker = null;
-    _map = new HashMap<>();
+    _map = _defaultBackingMapType.newMap();
   }
 
   /**
@@ -71,7 +72,7 @@ public class CheckedMap<K,V> implements CommonMap<K,V>, Cloneable
   {
     _checker = null;
     checkAll(map);
-    _map = new HashMap<>(map);
+    _map = _defaultBackingMapType.newMap(map);
   }
 
   /**
@@ -84,7 +85,7 @@ public class CheckedMap<K,V> implements CommonMap<K,V>, Cloneable
   public CheckedMap(int initialCapacity)
   {
     _checker = null;
-    _map = new HashMap<>(initialCapacity);
+    _map = _defaultBackingMapType.newMap(initialCapacity);
   }
 
   /**
@@ -109,7 +110,7 @@ public class CheckedMap<K,V> implements CommonMap<K,V>, Cloneable
   public CheckedMap(MapChecker<K,V> checker)
   {
     _checker = checker;
-    _map = new HashMap<>();
+    _map = _defaultBackingMapType.newMap();
   }
 
   /**
@@ -125,7 +126,7 @@ public class CheckedMap<K,V> implements CommonMap<K,V>, Cloneable
   {
     _checker = checker;
     checkAll(map);
-    _map = new HashMap<>(map);
+    _map = _defaultBackingMapType.newMap(map);
   }
 
   /**
@@ -140,7 +141,21 @@ public class CheckedMap<K,V> implements CommonMap<K,V>, Cloneable
   public CheckedMap(int initialCapacity, MapChecker<K,V> checker)
   {
     _checker = checker;
-    _map = new HashMap<>(initialCapacity);
+    _map = _defaultBackingMapType.newMap(initialCapacity);
+  }
+
+  /**
+   * Construct a map with the specified initial capacity, {@link MapChecker} and {@link BackingMapType}.
+   *
+   * @param initialCapacity provides the initial capacity.
+   * @param checker provides the {@link MapChecker}.
+   * @param backingMapType provides the type of the underlying map,
+   *                       {@link #getDefaultBackingMapType()} is used if null.
+   */
+  public CheckedMap(int initialCapacity, MapChecker<K,V> checker, BackingMapType backingMapType)
+  {
+    _checker = checker;
+    _map = (backingMapType == null ? _defaultBackingMapType : backingMapType).newMap(initialCapacity);
   }
 
   /**
@@ -179,7 +194,7 @@ public class CheckedMap<K,V> implements CommonMap<K,V>, Cloneable
   public CheckedMap<K,V> clone() throws CloneNotSupportedException
   {
     CheckedMap<K,V> o = (CheckedMap<K,V>) super.clone();
-    o._map = (HashMap<K,V>) _map.clone();
+    o._map = _map instanceof CompactMap ? ((CompactMap<K,V>) _map).clone() : (Map<K,V>) ((HashMap<K,V>) _map).clone();
     o._readOnly = false;
     o._changeListeners = null;
     return o;
@@ -220,6 +235,12 @@ public class CheckedMap<K,V> implements CommonMap<K,V>, Cloneable
     return _map.get(key);
   }
 
+  @Override
+  public void forEach(BiConsumer<? super K, ? super V> action)
+  {
+    _map.forEach(action);
+  }
+
   @Override
   public int hashCode()
   {
@@ -511,6 +532,29 @@ public class CheckedMap<K,V> implements CommonMap<K,V>, Cloneable
     });
   }
 
+  /**
+   * Returns the {@link BackingMapType} of the maps constructed without an explicit type.
+   */
+  public static BackingMapType getDefaultBackingMapType()
+  {
+    return _defaultBackingMapType;
+  }
+
+  /**
+   * Sets the {@link BackingMapType} of the maps constructed without an explicit type. This should be set
+   * once at application startup, it does not affect maps that are already constructed.
+   *
+   * @param backingMapType provides the default type of the underlying maps.
+   */
+  public static void setDefaultBackingMapType(BackingMapType backingMapType)
+  {
+    if (backingMapType == null)
+    {
+      throw new IllegalArgumentException("backingMapType should not be null");
+    }
+    _defaultBackingMapType = backingMapType;
+  }
+
   /**
    * Change listener interface invoked when the underlying map changes.
    */
@@ -527,6 +571,8 @@ public class CheckedMap<K,V> implements CommonMap<K,V>, Cloneable
 
   private boolean _readOnly = false;
   protected MapChecker<K,V> _checker;
-  private HashMap<K,V> _map;
+  private Map<K,V> _map;
+
+  private static volatile BackingMapType _defaultBackingMapType = BackingMapType.HASH_MAP;
   private List<WeakReference<ChangeListener<K, V>>> _changeListeners;
 }
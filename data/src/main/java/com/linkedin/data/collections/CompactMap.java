@@ -0,0 +1,479 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.collections;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+
+/**
+ * Compact open-addressing {@link Map} used as an alternative backing map of {@link CheckedMap}.
+ * <p>
+ *
+ * Keys and values are stored next to each other in a single array probed linearly, so an entry costs
+ * two array slots instead of a {@link java.util.HashMap} node. Keys are compared by identity before
+ * {@link Object#equals(Object)}, which makes lookups of the field names produced by the codecs cheap.
+ * Removal uses backward shift deletion, so no tombstones are left behind.
+ * <p>
+ *
+ * {@link #clone()} shares the underlying array with the clone, and the array is copied by whichever
+ * instance is mutated first.
+ * <p>
+ *
+ * The {@link #entrySet}, {@link #keySet} and {@link #values} views are read-only. Iterating over
+ * {@link #entrySet} allocates an entry per mapping, {@link #forEach(BiConsumer)} does not.
+ */
+public final class CompactMap<K, V> extends AbstractMap<K, V> implements Cloneable
+{
+  private static final int MINIMUM_CAPACITY = 4;
+  private static final int MAXIMUM_CAPACITY = 1 << 29;
+  private static final Object NULL_KEY = new Object();
+
+  // Interleaved keys and values, table[2 * i] is the key and table[2 * i + 1] the value of slot i.
+  private Object[] _table;
+  private int _size;
+  private boolean _shared;
+
+  /**
+   * Construct an empty map with the default capacity.
+   */
+  public CompactMap()
+  {
+    this(MINIMUM_CAPACITY);
+  }
+
+  /**
+   * Construct an empty map with the specified initial capacity. The capacity has the same meaning
+   * as the one of {@link java.util.HashMap}, i.e. the map holds {@code 0.75 * initialCapacity}
+   * entries before it is resized.
+   *
+   * @param initialCapacity provides the initial capacity.
+   */
+  public CompactMap(int initialCapacity)
+  {
+    if (initialCapacity < 0)
+    {
+      throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+    }
+    _table = new Object[2 * tableSizeFor(initialCapacity)];
+  }
+
+  /**
+   * Construct a map with the initial entries provided by the specified map.
+   *
+   * @param map provides the initial entries for the new map.
+   */
+  public CompactMap(Map<? extends K, ? extends V> map)
+  {
+    this(capacityForSize(map.size()));
+    putAll(map);
+  }
+
+  @Override
+  public int size()
+  {
+    return _size;
+  }
+
+  @Override
+  public boolean isEmpty()
+  {
+    return _size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key)
+  {
+    return indexOf(maskNull(key)) >= 0;
+  }
+
+  @Override
+  public boolean containsValue(Object value)
+  {
+    final Object[] table = _table;
+    for (int i = 0; i < table.length; i += 2)
+    {
+      if (table[i] != null && (value == null ? table[i + 1] == null : value.equals(table[i + 1])))
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(Object key)
+  {
+    final int index = indexOf(maskNull(key));
+    return index < 0 ? null : (V) _table[index + 1];
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V put(K key, V value)
+  {
+    ensureExclusive();
+    final Object k = maskNull(key);
+    final Object[] table = _table;
+    final int mask = table.length - 1;
+    int index = slot(k, table.length);
+    Object existing;
+    while ((existing = table[index]) != null)
+    {
+      if (existing == k || existing.equals(k))
+      {
+        final V oldValue = (V) table[index + 1];
+        table[index + 1] = value;
+        return oldValue;
+      }
+      index = (index + 2) & mask;
+    }
+
+    table[index] = k;
+    table[index + 1] = value;
+    if (++_size > threshold(table.length))
+    {
+      rehash(table.length * 2);
+    }
+    return null;
+  }
+
+  @Override
+  public void putAll(Map<? extends K, ? extends V> map)
+  {
+    final int needed = _size + map.size();
+    if (needed > threshold(_table.length))
+    {
+      ensureExclusive();
+      rehash(2 * tableSizeFor(capacityForSize(needed)));
+    }
+    for (Map.Entry<? extends K, ? extends V> e : map.entrySet())
+    {
+      put(e.getKey(), e.getValue());
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V remove(Object key)
+  {
+    int index = indexOf(maskNull(key));
+    if (index < 0)
+    {
+      return null;
+    }
+
+    ensureExclusive();
+    final Object[] table = _table;
+    final int mask = table.length - 1;
+    final V oldValue = (V) table[index + 1];
+
+    // Backward shift deletion: move entries of the same probe run into the freed slot so that
+    // subsequent lookups never stop early at an empty slot.
+    int next = (index + 2) & mask;
+    Object k;
+    while ((k = table[next]) != null)
+    {
+      final int home = slot(k, table.length);
+      if (((next - home) & mask) >= ((next - index) & mask))
+      {
+        table[index] = k;
+        table[index + 1] = table[next + 1];
+        index = next;
+      }
+      next = (next + 2) & mask;
+    }
+    table[index] = null;
+    table[index + 1] = null;
+    _size--;
+    return oldValue;
+  }
+
+  @Override
+  public void clear()
+  {
+    if (_shared)
+    {
+      _table = new Object[_table.length];
+      _shared = false;
+    }
+    else
+    {
+      Arrays.fill(_table, null);
+    }
+    _size = 0;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEach(BiConsumer<? super K, ? super V> action)
+  {
+    final Object[] table = _table;
+    for (int i = 0; i < table.length; i += 2)
+    {
+      final Object k = table[i];
+      if (k != null)
+      {
+        action.accept((K) unmaskNull(k), (V) table[i + 1]);
+      }
+    }
+  }
+
+  @Override
+  public Set<Map.Entry<K, V>> entrySet()
+  {
+    return new AbstractSet<Map.Entry<K, V>>()
+    {
+      @Override
+      public Iterator<Map.Entry<K, V>> iterator()
+      {
+        return new TableIterator<Map.Entry<K, V>>()
+        {
+          @Override
+          @SuppressWarnings("unchecked")
+          Map.Entry<K, V> element(Object[] table, int index)
+          {
+            return new AbstractMap.SimpleImmutableEntry<>((K) unmaskNull(table[index]), (V) table[index + 1]);
+          }
+        };
+      }
+
+      @Override
+      public int size()
+      {
+        return _size;
+      }
+    };
+  }
+
+  @Override
+  public Set<K> keySet()
+  {
+    return new AbstractSet<K>()
+    {
+      @Override
+      public Iterator<K> iterator()
+      {
+        return new TableIterator<K>()
+        {
+          @Override
+          @SuppressWarnings("unchecked")
+          K element(Object[] table, int index)
+          {
+            return (K) unmaskNull(table[index]);
+          }
+        };
+      }
+
+      @Override
+      public boolean contains(Object o)
+      {
+        return containsKey(o);
+      }
+
+      @Override
+      public int size()
+      {
+        return _size;
+      }
+    };
+  }
+
+  @Override
+  public Collection<V> values()
+  {
+    return new AbstractCollection<V>()
+    {
+      @Override
+      public Iterator<V> iterator()
+      {
+        return new TableIterator<V>()
+        {
+          @Override
+          @SuppressWarnings("unchecked")
+          V element(Object[] table, int index)
+          {
+            return (V) table[index + 1];
+          }
+        };
+      }
+
+      @Override
+      public int size()
+      {
+        return _size;
+      }
+    };
+  }
+
+  /**
+   * Returns a shallow copy of this map. The underlying array is shared until either map is mutated.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public CompactMap<K, V> clone()
+  {
+    try
+    {
+      final CompactMap<K, V> o = (CompactMap<K, V>) super.clone();
+      _shared = true;
+      o._shared = true;
+      return o;
+    }
+    catch (CloneNotSupportedException e)
+    {
+      throw new AssertionError(e);
+    }
+  }
+
+  private int indexOf(Object k)
+  {
+    final Object[] table = _table;
+    final int mask = table.length - 1;
+    int index = slot(k, table.length);
+    Object existing;
+    while ((existing = table[index]) != null)
+    {
+      if (existing == k || existing.equals(k))
+      {
+        return index;
+      }
+      index = (index + 2) & mask;
+    }
+    return -1;
+  }
+
+  private void ensureExclusive()
+  {
+    if (_shared)
+    {
+      _table = _table.clone();
+      _shared = false;
+    }
+  }
+
+  private void rehash(int newLength)
+  {
+    final Object[] oldTable = _table;
+    if (newLength / 2 > MAXIMUM_CAPACITY)
+    {
+      throw new IllegalStateException("Capacity exhausted");
+    }
+
+    final Object[] newTable = new Object[newLength];
+    final int mask = newLength - 1;
+    for (int i = 0; i < oldTable.length; i += 2)
+    {
+      final Object k = oldTable[i];
+      if (k != null)
+      {
+        int index = slot(k, newLength);
+        while (newTable[index] != null)
+        {
+          index = (index + 2) & mask;
+        }
+        newTable[index] = k;
+        newTable[index + 1] = oldTable[i + 1];
+      }
+    }
+    _table = newTable;
+  }
+
+  private static int slot(Object k, int tableLength)
+  {
+    final int h = k.hashCode();
+    return ((h ^ (h >>> 16)) << 1) & (tableLength - 1);
+  }
+
+  private static int threshold(int tableLength)
+  {
+    // Same load factor of 0.75 as java.util.HashMap, tableLength / 2 being the capacity.
+    return (tableLength >> 1) - (tableLength >> 3);
+  }
+
+  private static int capacityForSize(int size)
+  {
+    return (int) (size / 0.75f) + 1;
+  }
+
+  private static int tableSizeFor(int capacity)
+  {
+    int n = MINIMUM_CAPACITY;
+    while (n < capacity && n < MAXIMUM_CAPACITY)
+    {
+      n <<= 1;
+    }
+    return n;
+  }
+
+  private static Object maskNull(Object key)
+  {
+    return key == null ? NULL_KEY : key;
+  }
+
+  private static Object unmaskNull(Object key)
+  {
+    return key == NULL_KEY ? null : key;
+  }
+
+  /**
+   * Read-only iterator over the occupied slots of the table at the time of the iterator creation.
+   */
+  private abstract class TableIterator<E> implements Iterator<E>
+  {
+    private final Object[] _iteratedTable = _table;
+    private int _next = advance(0);
+
+    @Override
+    public boolean hasNext()
+    {
+      return _next < _iteratedTable.length;
+    }
+
+    @Override
+    public E next()
+    {
+      if (!hasNext())
+      {
+        throw new NoSuchElementException();
+      }
+      final E element = element(_iteratedTable, _next);
+      _next = advance(_next + 2);
+      return element;
+    }
+
+    abstract E element(Object[] table, int index);
+
+    private int advance(int index)
+    {
+      while (index < _iteratedTable.length && _iteratedTable[index] == null)
+      {
+        index += 2;
+      }
+      return index;
+    }
+  }
+}
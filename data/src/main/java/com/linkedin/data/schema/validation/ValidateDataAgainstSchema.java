@@ -17,6 +17,8 @@
 package com.linkedin.data.schema.validation;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.linkedin.data.ByteString;
 import com.linkedin.data.Data;
 import com.linkedin.data.DataList;
@@ -28,6 +30,8 @@ import com.linkedin.data.element.MutableDataElement;
 import com.linkedin.data.element.SimpleDataElement;
 import com.linkedin.data.it.IterationOrder;
 import com.linkedin.data.it.ObjectIterator;
+import com.linkedin.data.it.Predicate;
+import com.linkedin.data.it.Predicates;
 import com.linkedin.data.message.Message;
 import com.linkedin.data.message.MessageList;
 import com.linkedin.data.schema.ArrayDataSchema;
@@ -49,7 +53,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
@@ -64,19 +68,59 @@ public final class ValidateDataAgainstSchema
   {
   }
 
-  @SuppressWarnings("serial")
-  private static final HashMap<DataSchema.Type, Class<?>> _primitiveTypeToClassMap = new HashMap<DataSchema.Type, Class<?>>()
+  private static final Map<DataSchema.Type, Class<?>> _primitiveTypeToClassMap = new EnumMap<>(DataSchema.Type.class);
+  static
   {
+    _primitiveTypeToClassMap.put(DataSchema.Type.INT, Integer.class);
+    _primitiveTypeToClassMap.put(DataSchema.Type.LONG, Long.class);
+    _primitiveTypeToClassMap.put(DataSchema.Type.FLOAT, Float.class);
+    _primitiveTypeToClassMap.put(DataSchema.Type.DOUBLE, Double.class);
+    _primitiveTypeToClassMap.put(DataSchema.Type.STRING, String.class);
+    _primitiveTypeToClassMap.put(DataSchema.Type.BOOLEAN, Boolean.class);
+    _primitiveTypeToClassMap.put(DataSchema.Type.NULL, Null.class);
+  }
+
+  /**
+   * Non-optional fields of each record schema, keyed by schema identity so that the required field check does not
+   * walk every field of a record on every validation. Weak keys let schemas built on the fly be collected.
+   */
+  private static final Cache<RecordDataSchema, RequiredFields> _requiredFieldsCache =
+      Caffeine.newBuilder().weakKeys().build();
+
+  /**
+   * The non-optional fields of a record schema, along with the field list they were computed from.
+   */
+  private static final class RequiredFields
+  {
+    private final List<RecordDataSchema.Field> _fields;
+    private final List<RecordDataSchema.Field> _requiredFields;
+
+    private RequiredFields(List<RecordDataSchema.Field> fields)
+    {
+      List<RecordDataSchema.Field> requiredFields = new ArrayList<>();
+      for (RecordDataSchema.Field field : fields)
+      {
+        if (!field.getOptional())
+        {
+          requiredFields.add(field);
+        }
+      }
+      _fields = fields;
+      _requiredFields = requiredFields.isEmpty() ? Collections.emptyList() : requiredFields;
+    }
+  }
+
+  static List<RecordDataSchema.Field> getRequiredFields(RecordDataSchema schema)
+  {
+    RequiredFields requiredFields = _requiredFieldsCache.getIfPresent(schema);
+    // Fields are set after construction by the schema parser, recompute if they have changed since.
+    if (requiredFields == null || requiredFields._fields != schema.getFields())
     {
-      put(DataSchema.Type.INT, Integer.class);
-      put(DataSchema.Type.LONG, Long.class);
-      put(DataSchema.Type.FLOAT, Float.class);
-      put(DataSchema.Type.DOUBLE, Double.class);
-      put(DataSchema.Type.STRING, String.class);
-      put(DataSchema.Type.BOOLEAN, Boolean.class);
-      put(DataSchema.Type.NULL, Null.class);
+      requiredFields = new RequiredFields(schema.getFields());
+      _requiredFieldsCache.put(schema, requiredFields);
     }
-  };
+    return requiredFields._requiredFields;
+  }
 
   public static ValidationResult validate(DataTemplate<?> dataTemplate, ValidationOptions options)
   {
@@ -386,13 +430,11 @@ public final class ValidateDataAgainstSchema
       }
     }
 
-    private boolean isFieldOptional(RecordDataSchema.Field field, DataElement element)
+    private boolean isTreatedOptional(RecordDataSchema.Field field, DataElement element)
     {
-      if (field.getOptional())
-      {
-        return true;
-      }
-      return _options.getTreatOptional().evaluate(new SimpleDataElement(null, field.getName(), field.getType(), element));
+      Predicate treatOptional = _options.getTreatOptional();
+      return treatOptional != Predicates.alwaysFalse()
+          && treatOptional.evaluate(new SimpleDataElement(null, field.getName(), field.getType(), element));
     }
 
     protected Object validateRecord(DataElement element, RecordDataSchema schema, Object object)
@@ -407,9 +449,9 @@ public final class ValidateDataAgainstSchema
         RequiredMode requiredMode = _options.getRequiredMode();
         if (requiredMode != RequiredMode.IGNORE)
         {
-          for (RecordDataSchema.Field field : schema.getFields())
+          for (RecordDataSchema.Field field : getRequiredFields(schema))
           {
-            if (isFieldOptional(field, element) == false && map.containsKey(field.getName()) == false)
+            if (map.containsKey(field.getName()) == false && isTreatedOptional(field, element) == false)
             {
               switch (requiredMode)
               {
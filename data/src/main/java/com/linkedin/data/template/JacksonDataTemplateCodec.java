@@ -333,6 +333,21 @@ public class JacksonDataTemplateCodec extends JacksonDataCodec
     return objectToString(template.data());
   }
 
+  /**
+   * Parses the provided bytes into a {@link com.linkedin.data.template.RecordTemplate} of the specified class. The
+   * record is parsed guided by the schema of the class, see {@link #bytesToMap(byte[], RecordDataSchema)}.
+   *
+   * @param  input the serialized record.
+   * @param  templateClass the class of the {@link com.linkedin.data.template.RecordTemplate} to return.
+   * @return the parsed record.
+   * @throws IOException if there is a syntax error in the input or it cannot be parsed with the schema of the class.
+   */
+  public <T extends RecordTemplate> T bytesToDataTemplate(byte[] input, Class<T> templateClass) throws IOException
+  {
+    final RecordDataSchema schema = (RecordDataSchema) DataTemplateUtil.getSchema(templateClass);
+    return DataTemplateUtil.wrap(bytesToMap(input, schema), schema, templateClass);
+  }
+
   /**
    * A {@link com.linkedin.data.Data.TraverseCallback} that output record fields in the
    * order the fields are defined by the {@link RecordDataSchema} and
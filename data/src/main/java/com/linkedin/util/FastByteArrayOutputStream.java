@@ -20,6 +20,7 @@
 package com.linkedin.util;
 
 
+import com.linkedin.data.ByteString;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -194,6 +195,23 @@ public class FastByteArrayOutputStream extends OutputStream
     }
   }
 
+  /**
+   * Return a {@link ByteString} backed by the internal buffers. Unlike {@link #toByteArray()}, the content is not
+   * copied into a single array, so the output stream must not be written to after calling this method.
+   */
+  public ByteString toUnsafeByteString()
+  {
+    ByteString.Builder builder = new ByteString.Builder();
+    Iterator<byte[]> iter = this._bufferList.iterator();
+    while (iter.hasNext())
+    {
+      byte[] buffer = iter.next();
+      // Only the last buffer may be partially filled.
+      builder.append(ByteString.unsafeWrap(buffer, 0, iter.hasNext() ? buffer.length : this._index));
+    }
+    return builder.build();
+  }
+
   /**
    * The maximum number of bytes the stream is allowed to store. Exceeding the limit will
    * result in OutOfMemoryError when invoking toByteArray().
@@ -72,6 +72,10 @@ public class TestCodec
     byte[] outputStreamBytes = outputStream.toByteArray();
     assertEquals(outputStreamBytes, bytes);
 
+    // test mapToByteString
+
+    assertEquals(codec.mapToByteString(map).copyBytes(), bytes);
+
     // test readMap (InputStream)
 
     ByteArrayInputStream inputStream = new ByteArrayInputStream(outputStreamBytes);
@@ -26,6 +26,7 @@ import com.linkedin.data.DataComplex;
 import com.linkedin.data.DataList;
 import com.linkedin.data.DataMap;
 import com.linkedin.data.TestData;
+import com.linkedin.data.collections.BackingMapType;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Arrays;
@@ -48,6 +49,14 @@ public class TestJacksonCodec extends TestCodec
     testDataCodec(codec, dataComplex);
   }
 
+  @Test(dataProvider = "codecData", dataProviderClass = CodecDataProviders.class)
+  public void testJacksonDataCodecWithCompactBackingMap(String testName, DataComplex dataComplex) throws IOException
+  {
+    JacksonDataCodec codec =
+        new JacksonDataCodec(new JacksonCodecOptions.Builder().setBackingMapType(BackingMapType.COMPACT).build());
+    testDataCodec(codec, dataComplex);
+  }
+
   @Test
   public void testJacksonDataCodec() throws IOException
   {
@@ -0,0 +1,165 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.codec;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.data.Data;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.TestUtil;
+import com.linkedin.data.schema.EnumDataSchema;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.schema.validation.UnrecognizedFieldMode;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+/**
+ * Tests for the schema-driven parsing of {@link AbstractJacksonDataCodec}.
+ */
+public class TestSchemaDrivenJacksonParser
+{
+  private static final String SCHEMA =
+      "namespace com.linkedin.test\n" +
+      "record Foo {\n" +
+      "  intField: int\n" +
+      "  longField: long\n" +
+      "  floatField: float\n" +
+      "  doubleField: double\n" +
+      "  stringField: string\n" +
+      "  bytesField: bytes\n" +
+      "  enumField: enum Fruits { APPLE, ORANGE }\n" +
+      "  typerefField: typeref Timestamp = long\n" +
+      "  arrayField: array[long]\n" +
+      "  mapField: map[string, float]\n" +
+      "  unionField: union[int, long, Foo]\n" +
+      "  child: optional Foo\n" +
+      "}";
+
+  private RecordDataSchema _schema;
+
+  @BeforeClass
+  public void setUp() throws IOException
+  {
+    _schema = (RecordDataSchema) TestUtil.dataSchemaFromPdlString(SCHEMA);
+  }
+
+  @Test
+  public void testCoercesToSchemaTypes() throws IOException
+  {
+    JacksonDataCodec codec = new JacksonDataCodec();
+    String json = "{\"intField\":1,\"longField\":2,\"floatField\":3,\"doubleField\":4,\"stringField\":\"s\","
+        + "\"bytesField\":\"\\u0001\\u0002\",\"enumField\":\"APPLE\",\"typerefField\":5,\"arrayField\":[6,7],"
+        + "\"mapField\":{\"a\":8},\"unionField\":{\"long\":9},\"child\":{\"longField\":10,\"child\":{\"floatField\":11}}}";
+    DataMap map = codec.bytesToMap(json.getBytes(Data.UTF_8_CHARSET), _schema);
+
+    assertEquals(map.get("intField"), 1);
+    assertEquals(map.get("longField"), 2L);
+    assertEquals(map.get("floatField"), 3f);
+    assertEquals(map.get("doubleField"), 4d);
+    assertEquals(map.get("stringField"), "s");
+    assertEquals(map.get("bytesField"), ByteString.copy(new byte[] {1, 2}));
+    assertSame(map.get("enumField"), ((EnumDataSchema) _schema.getField("enumField").getType()).getSymbols().get(0));
+    assertEquals(map.get("typerefField"), 5L);
+    assertEquals(map.get("arrayField"), new DataList(Arrays.asList(6L, 7L)));
+    assertEquals(map.getDataMap("mapField").get("a"), 8f);
+    assertEquals(map.getDataMap("unionField").get("long"), 9L);
+    assertEquals(map.getDataMap("child").get("longField"), 10L);
+    assertEquals(map.getDataMap("child").getDataMap("child").get("floatField"), 11f);
+
+    // Keys are the field name instances of the schema
+    for (String key : map.keySet())
+    {
+      assertSame(key, _schema.getField(key).getName());
+    }
+  }
+
+  @Test
+  public void testMatchesSchemaLessParsing() throws IOException
+  {
+    JacksonDataCodec codec = new JacksonDataCodec();
+    String json = "{\"intField\":1,\"stringField\":\"s\",\"arrayField\":[],\"child\":{\"intField\":2}}";
+    assertEquals(codec.readMap(new ByteArrayInputStream(json.getBytes(Data.UTF_8_CHARSET)), _schema),
+        codec.bytesToMap(json.getBytes(Data.UTF_8_CHARSET)));
+  }
+
+  @Test
+  public void testMismatchedValuesAreKept() throws IOException
+  {
+    JacksonDataCodec codec = new JacksonDataCodec();
+    String json = "{\"intField\":\"one\",\"longField\":1.5,\"child\":[1],\"enumField\":\"BANANA\",\"bytesField\":\"\\u1234\"}";
+    DataMap map = codec.bytesToMap(json.getBytes(Data.UTF_8_CHARSET), _schema);
+
+    assertEquals(map.get("intField"), "one");
+    assertEquals(map.get("longField"), 1.5d);
+    assertEquals(map.get("child"), new DataList(Arrays.asList(1)));
+    assertEquals(map.get("enumField"), "BANANA");
+    assertEquals(map.get("bytesField"), "\u1234");
+  }
+
+  @Test
+  public void testUnrecognizedFields() throws IOException
+  {
+    JacksonDataCodec codec = new JacksonDataCodec();
+    byte[] json = "{\"intField\":1,\"unknown\":{\"a\":[1,2,{\"b\":3}]},\"child\":{\"unknown\":2}}".getBytes(Data.UTF_8_CHARSET);
+
+    DataMap ignored = codec.bytesToMap(json, _schema);
+    assertEquals(ignored, codec.bytesToMap(json));
+
+    JacksonDataCodec trimCodec =
+        new JacksonDataCodec(new JacksonCodecOptions.Builder().setUnrecognizedFieldMode(UnrecognizedFieldMode.TRIM).build());
+    DataMap trimmed = trimCodec.bytesToMap(json, _schema);
+    assertEquals(trimmed.size(), 2);
+    assertEquals(trimmed.get("intField"), 1);
+    assertTrue(trimmed.getDataMap("child").isEmpty());
+
+    JacksonDataCodec disallowCodec =
+        new JacksonDataCodec(new JacksonCodecOptions.Builder().setUnrecognizedFieldMode(UnrecognizedFieldMode.DISALLOW).build());
+    try
+    {
+      disallowCodec.bytesToMap(json, _schema);
+      fail("Expected DataDecodingException");
+    }
+    catch (DataDecodingException e)
+    {
+      assertTrue(e.getMessage().contains("unknown"));
+    }
+  }
+
+  @Test
+  public void testSmile() throws IOException
+  {
+    JacksonSmileDataCodec codec = new JacksonSmileDataCodec();
+    DataMap input = new DataMap();
+    input.put("longField", 1);
+    input.put("floatField", 2.5d);
+    DataMap map = codec.bytesToMap(codec.mapToBytes(input), _schema);
+    assertEquals(map.get("longField"), 1L);
+    assertEquals(map.get("floatField"), 2.5f);
+  }
+
+  @Test(expectedExceptions = DataDecodingException.class)
+  public void testNotAnObject() throws IOException
+  {
+    new JacksonDataCodec().bytesToMap("[1]".getBytes(Data.UTF_8_CHARSET), _schema);
+  }
+}
@@ -21,7 +21,11 @@ import com.linkedin.data.codec.ProtobufDataCodec;
 import java.net.HttpURLConnection;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -105,4 +109,71 @@ public class TestDefaultSymbolTableProvider
     DefaultSymbolTableProvider provider = new DefaultSymbolTableProvider();
     provider.getSymbolTable("random");
   }
+
+  @Test
+  public void testPrefetchRemoteSymbolTables() throws Exception
+  {
+    ByteString serializedTable = SymbolTableSerializer.toByteString(DefaultSymbolTableProvider.CODEC, _symbolTable);
+
+    HttpURLConnection connection = mock(HttpURLConnection.class);
+    DefaultSymbolTableProvider provider = spy(new DefaultSymbolTableProvider());
+    doReturn(connection).when(provider).openConnection(eq("https://someservice:100/symbolTable/tableName"));
+    doThrow(new RuntimeException()).when(provider).openConnection(eq("https://otherservice:100/symbolTable/otherTable"));
+    when(connection.getResponseCode()).thenReturn(200);
+    when(connection.getInputStream()).thenReturn(serializedTable.asInputStream());
+
+    // Failing tables are skipped, the returned future still completes normally.
+    provider.prefetchSymbolTables(Arrays.asList(_symbolTableName, "https://otherservice:100|otherTable"), Runnable::run)
+        .get();
+
+    // Mock out the network to throw exceptions on any interactions.
+    doThrow(new RuntimeException()).when(provider).openConnection(anyString());
+
+    // Verify that the prefetched table is in cache.
+    Assert.assertEquals(provider.getSymbolTable("tableName"), _symbolTable);
+  }
+
+  @Test
+  public void testPrefetchSharesInFlightFetch() throws Exception
+  {
+    ByteString serializedTable = SymbolTableSerializer.toByteString(DefaultSymbolTableProvider.CODEC, _symbolTable);
+
+    HttpURLConnection connection = mock(HttpURLConnection.class);
+    DefaultSymbolTableProvider provider = spy(new DefaultSymbolTableProvider());
+    doReturn(connection).when(provider).openConnection(eq("https://someservice:100/symbolTable/tableName"));
+    when(connection.getResponseCode()).thenReturn(200);
+    when(connection.getInputStream()).thenReturn(serializedTable.asInputStream());
+
+    // Hold the fetch so that the second prefetch finds it in flight.
+    Queue<Runnable> pendingFetches = new ArrayDeque<>();
+    CompletableFuture<Void> prefetchFuture =
+        provider.prefetchSymbolTables(Collections.singletonList(_symbolTableName), pendingFetches::add);
+    CompletableFuture<Void> secondPrefetchFuture =
+        provider.prefetchSymbolTables(Collections.singletonList(_symbolTableName), pendingFetches::add);
+    Assert.assertEquals(pendingFetches.size(), 1);
+    pendingFetches.poll().run();
+
+    prefetchFuture.get();
+    secondPrefetchFuture.get();
+    Assert.assertEquals(provider.getSymbolTable(_symbolTableName), _symbolTable);
+    verify(provider, times(1)).openConnection(anyString());
+  }
+
+  @Test
+  public void testFailedPrefetchIsRetriedOnLookup() throws Exception
+  {
+    ByteString serializedTable = SymbolTableSerializer.toByteString(DefaultSymbolTableProvider.CODEC, _symbolTable);
+
+    HttpURLConnection connection = mock(HttpURLConnection.class);
+    DefaultSymbolTableProvider provider = spy(new DefaultSymbolTableProvider());
+    doThrow(new RuntimeException()).doReturn(connection)
+        .when(provider).openConnection(eq("https://someservice:100/symbolTable/tableName"));
+    when(connection.getResponseCode()).thenReturn(200);
+    when(connection.getInputStream()).thenReturn(serializedTable.asInputStream());
+
+    provider.prefetchSymbolTables(Collections.singletonList(_symbolTableName), Runnable::run).get();
+
+    Assert.assertEquals(provider.getSymbolTable(_symbolTableName), _symbolTable);
+    verify(provider, times(2)).openConnection(anyString());
+  }
 }
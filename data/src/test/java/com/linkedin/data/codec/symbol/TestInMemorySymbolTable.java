@@ -0,0 +1,83 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.codec.symbol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestInMemorySymbolTable
+{
+  @Test
+  public void testLookups()
+  {
+    List<String> symbols = new ArrayList<>();
+    for (int i = 0; i < 1000; i++)
+    {
+      symbols.add("symbol" + i);
+    }
+    SymbolTable symbolTable = new InMemorySymbolTable("table", symbols);
+
+    Assert.assertEquals(symbolTable.size(), 1000);
+    for (int i = 0; i < 1000; i++)
+    {
+      Assert.assertEquals(symbolTable.getSymbolId(new String("symbol" + i)), i);
+      Assert.assertSame(symbolTable.getSymbolName(i), symbols.get(i));
+    }
+    Assert.assertEquals(symbolTable.getSymbolId("symbol1000"), SymbolTable.UNKNOWN_SYMBOL_ID);
+    Assert.assertEquals(symbolTable.getSymbolId(null), SymbolTable.UNKNOWN_SYMBOL_ID);
+    Assert.assertNull(symbolTable.getSymbolName(1000));
+    Assert.assertNull(symbolTable.getSymbolName(-1));
+  }
+
+  @Test
+  public void testCollidingSymbols()
+  {
+    // "Aa" and "BB" have the same hash code.
+    SymbolTable symbolTable = new InMemorySymbolTable("table", Arrays.asList("Aa", "BB", "AaBB", "BBAa"));
+
+    Assert.assertEquals(symbolTable.getSymbolId("Aa"), 0);
+    Assert.assertEquals(symbolTable.getSymbolId("BB"), 1);
+    Assert.assertEquals(symbolTable.getSymbolId("AaBB"), 2);
+    Assert.assertEquals(symbolTable.getSymbolId("BBAa"), 3);
+    Assert.assertEquals(symbolTable.getSymbolId("AaAa"), SymbolTable.UNKNOWN_SYMBOL_ID);
+  }
+
+  @Test
+  public void testDuplicateSymbols()
+  {
+    SymbolTable symbolTable = new InMemorySymbolTable("table", Arrays.asList("a", "b", "a"));
+
+    Assert.assertEquals(symbolTable.getSymbolId("a"), 2);
+    Assert.assertEquals(symbolTable.getSymbolId("b"), 1);
+    Assert.assertEquals(symbolTable.getSymbolName(0), "a");
+  }
+
+  @Test
+  public void testEmptyTable()
+  {
+    SymbolTable symbolTable = new InMemorySymbolTable("table", Collections.emptyList());
+
+    Assert.assertEquals(symbolTable.size(), 0);
+    Assert.assertEquals(symbolTable.getSymbolId("a"), SymbolTable.UNKNOWN_SYMBOL_ID);
+    Assert.assertNull(symbolTable.getSymbolName(0));
+  }
+}
@@ -0,0 +1,228 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.collections;
+
+import com.linkedin.data.DataMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+public class TestCompactMap
+{
+  /**
+   * Key with a constant hash code, so that every entry lands in the same probe run.
+   */
+  private static class CollidingKey
+  {
+    private final int _id;
+
+    CollidingKey(int id)
+    {
+      _id = id;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+      return o instanceof CollidingKey && ((CollidingKey) o)._id == _id;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return 42;
+    }
+  }
+
+  @Test
+  public void testAgainstReferenceMap()
+  {
+    CompactMap<String, String> map = new CompactMap<>(TestCommonMap.referenceMap1);
+    TestCommonMap.testAgainstReferenceMap1(map);
+  }
+
+  @Test
+  public void testRandomOperationsAgainstHashMap()
+  {
+    Random random = new Random(0);
+    Map<Integer, Integer> reference = new HashMap<>();
+    CompactMap<Integer, Integer> map = new CompactMap<>();
+    for (int i = 0; i < 100000; i++)
+    {
+      Integer key = random.nextInt(500);
+      if (random.nextInt(3) == 0)
+      {
+        assertEquals(map.remove(key), reference.remove(key));
+      }
+      else
+      {
+        assertEquals(map.put(key, i), reference.put(key, i));
+      }
+      assertEquals(map.size(), reference.size());
+    }
+    assertEquals(map, reference);
+    assertEquals(reference, map);
+    assertEquals(map.hashCode(), reference.hashCode());
+    for (Integer key : reference.keySet())
+    {
+      assertEquals(map.get(key), reference.get(key));
+    }
+  }
+
+  @Test
+  public void testCollisions()
+  {
+    CompactMap<CollidingKey, Integer> map = new CompactMap<>();
+    for (int i = 0; i < 20; i++)
+    {
+      map.put(new CollidingKey(i), i);
+    }
+    assertEquals(map.size(), 20);
+
+    // Removing from the middle of the probe run must keep the following entries reachable
+    for (int i = 0; i < 20; i += 2)
+    {
+      assertEquals(map.remove(new CollidingKey(i)), Integer.valueOf(i));
+    }
+    assertEquals(map.size(), 10);
+    for (int i = 0; i < 20; i++)
+    {
+      assertEquals(map.get(new CollidingKey(i)), i % 2 == 0 ? null : Integer.valueOf(i));
+    }
+  }
+
+  @Test
+  public void testNullKeyAndValue()
+  {
+    CompactMap<String, String> map = new CompactMap<>();
+    assertNull(map.put(null, "a"));
+    assertNull(map.put("b", null));
+    assertTrue(map.containsKey(null));
+    assertTrue(map.containsKey("b"));
+    assertTrue(map.containsValue(null));
+    assertEquals(map.get(null), "a");
+    assertTrue(map.keySet().contains(null));
+
+    Map<String, String> reference = new HashMap<>();
+    reference.put(null, "a");
+    reference.put("b", null);
+    assertEquals(map, reference);
+
+    assertEquals(map.remove(null), "a");
+    assertFalse(map.containsKey(null));
+    assertEquals(map.size(), 1);
+  }
+
+  @Test
+  public void testCloneIsCopyOnWrite()
+  {
+    CompactMap<String, String> map = new CompactMap<>(TestCommonMap.referenceMap1);
+    CompactMap<String, String> clone = map.clone();
+    TestCommonMap.testAgainstReferenceMap1(clone);
+
+    clone.put("k4", "4");
+    clone.remove("k1");
+    TestCommonMap.testAgainstReferenceMap1(map);
+
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertEquals(clone.size(), 3);
+    assertEquals(clone.get("k4"), "4");
+  }
+
+  @Test
+  public void testIteratorIsReadOnly()
+  {
+    CompactMap<String, String> map = new CompactMap<>(TestCommonMap.referenceMap1);
+    Iterator<Map.Entry<String, String>> it = map.entrySet().iterator();
+    it.next();
+    try
+    {
+      it.remove();
+      throw new AssertionError("Expected UnsupportedOperationException");
+    }
+    catch (UnsupportedOperationException e)
+    {
+      // expected
+    }
+  }
+
+  @Test
+  public void testForEach()
+  {
+    CompactMap<String, String> map = new CompactMap<>(TestCommonMap.referenceMap1);
+    Map<String, String> visited = new HashMap<>();
+    map.forEach(visited::put);
+    assertEquals(visited, TestCommonMap.referenceMap1);
+  }
+
+  @Test
+  public void testDataMapWithCompactBackingMap() throws CloneNotSupportedException
+  {
+    DataMap map = new DataMap(4, BackingMapType.COMPACT);
+    for (int i = 0; i < 10; i++)
+    {
+      map.put("field" + i, i);
+    }
+
+    DataMap reference = new DataMap();
+    for (int i = 0; i < 10; i++)
+    {
+      reference.put("field" + i, i);
+    }
+    assertEquals(map, reference);
+
+    DataMap clone = map.clone();
+    clone.put("field0", "changed");
+    assertEquals(map.get("field0"), 0);
+    assertEquals(clone.get("field0"), "changed");
+
+    DataMap copy = map.copy();
+    assertEquals(copy, reference);
+  }
+
+  @Test
+  public void testDefaultBackingMapType()
+  {
+    BackingMapType original = CheckedMap.getDefaultBackingMapType();
+    try
+    {
+      CheckedMap.setDefaultBackingMapType(BackingMapType.COMPACT);
+      DataMap map = new DataMap();
+      map.put("a", "b");
+      assertEquals(map.get("a"), "b");
+    }
+    finally
+    {
+      CheckedMap.setDefaultBackingMapType(original);
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNullDefaultBackingMapType()
+  {
+    CheckedMap.setDefaultBackingMapType(null);
+  }
+}
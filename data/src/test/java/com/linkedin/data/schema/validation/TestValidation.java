@@ -19,8 +19,10 @@ package com.linkedin.data.schema.validation;
 
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import com.linkedin.data.ByteString;
 import com.linkedin.data.Data;
@@ -29,9 +31,11 @@ import com.linkedin.data.DataList;
 import com.linkedin.data.DataMap;
 import com.linkedin.data.element.DataElement;
 import com.linkedin.data.element.DataElementUtil;
+import com.linkedin.data.it.Predicate;
 import com.linkedin.data.message.Message;
 import com.linkedin.data.message.MessageUtil;
 import com.linkedin.data.schema.DataSchema;
+import com.linkedin.data.schema.DataSchemaConstants;
 import com.linkedin.data.schema.RecordDataSchema;
 import com.linkedin.data.schema.validator.VisitedTrackingValidator;
 
@@ -2275,4 +2279,48 @@ public class TestValidation
       Assert.assertTrue(message.contains(expected), message + " does not contain " + expected);
     }
   }
+
+  @Test
+  public void testRequiredFieldsWithTreatOptional() throws IOException
+  {
+    String schemaText =
+        "{ \"type\" : \"record\", \"name\" : \"foo\", \"fields\" : [ " +
+            "{ \"name\" : \"a\", \"type\" : \"int\" }, " +
+            "{ \"name\" : \"b\", \"type\" : \"int\" }, " +
+            "{ \"name\" : \"c\", \"type\" : \"int\", \"optional\" : true } ] }";
+    DataSchema schema = dataSchemaFromString(schemaText);
+    DataMap toValidate = dataMapFromString("{ \"a\" : 1 }");
+
+    ValidationOptions options = new ValidationOptions(RequiredMode.MUST_BE_PRESENT);
+    ValidationResult result = validate(toValidate, schema, options);
+    Assert.assertFalse(result.isValid());
+    Assert.assertEquals(result.getMessages().size(), 1);
+    Assert.assertTrue(result.getMessages().toString().contains("/b :: field is required but not found"));
+
+    Predicate treatBOptional = element -> "b".equals(element.getName());
+    options.setTreatOptional(treatBOptional);
+    Assert.assertTrue(validate(toValidate, schema, options).isValid());
+  }
+
+  @Test
+  public void testRequiredFieldsAfterFieldsChange() throws IOException
+  {
+    String schemaText =
+        "{ \"type\" : \"record\", \"name\" : \"foo\", \"fields\" : [ " +
+            "{ \"name\" : \"a\", \"type\" : \"int\" } ] }";
+    RecordDataSchema schema = (RecordDataSchema) dataSchemaFromString(schemaText);
+    DataMap toValidate = dataMapFromString("{ \"a\" : 1 }");
+    ValidationOptions options = new ValidationOptions(RequiredMode.MUST_BE_PRESENT);
+    Assert.assertTrue(validate(toValidate, schema, options).isValid());
+
+    RecordDataSchema.Field newField = new RecordDataSchema.Field(DataSchemaConstants.INTEGER_DATA_SCHEMA);
+    newField.setName("b", new StringBuilder());
+    List<RecordDataSchema.Field> fields = new ArrayList<>(schema.getFields());
+    fields.add(newField);
+    schema.setFields(fields, new StringBuilder());
+
+    ValidationResult result = validate(toValidate, schema, options);
+    Assert.assertFalse(result.isValid());
+    Assert.assertTrue(result.getMessages().toString().contains("/b :: field is required but not found"));
+  }
 }
@@ -1,5 +1,6 @@
 package com.linkedin.util;
 
+import com.linkedin.data.ByteString;
 import java.lang.reflect.Field;
 import java.util.LinkedList;
 import org.testng.Assert;
@@ -79,4 +80,25 @@ public class TestFastByteArrayOutputStream {
     Assert.assertEquals(((LinkedList<byte[]>) bufferListField.get(testStream)).size(), 2);
     Assert.assertEquals(testStream.toByteArray().length, defaultSize + 1);
   }
+
+  @Test
+  public void testToUnsafeByteString()
+  {
+    FastByteArrayOutputStream emptyStream = new FastByteArrayOutputStream();
+    Assert.assertEquals(emptyStream.toUnsafeByteString(), ByteString.empty());
+
+    FastByteArrayOutputStream testStream = new FastByteArrayOutputStream(4);
+    byte[] inputArray = new byte[1000];
+    for (int i = 0; i < inputArray.length; i++)
+    {
+      inputArray[i] = (byte) i;
+    }
+    testStream.write(inputArray, 0, 10);
+    testStream.write(inputArray, 10, inputArray.length - 10);
+
+    ByteString byteString = testStream.toUnsafeByteString();
+    Assert.assertEquals(byteString.length(), inputArray.length);
+    Assert.assertEquals(byteString.copyBytes(), inputArray);
+    Assert.assertEquals(byteString, ByteString.copy(inputArray));
+  }
 }
@@ -560,7 +560,11 @@ public class CallTrackerImpl implements CallTracker
     }
   }
 
-  private static class Pending
+  /**
+   * Rollover events collected while holding a lock, to be delivered after releasing it.
+   * Shared with {@link ConcurrentCallTrackerImpl}.
+   */
+  static class Pending
   {
     private static class PendingEvent implements StatsRolloverEvent
     {
@@ -589,18 +593,18 @@ public class CallTrackerImpl implements CallTracker
     private final List<PendingEvent> _pendingEvents;
     private final List<StatsRolloverEventListener> _listeners;
 
-    private Pending(List<StatsRolloverEventListener> listeners)
+    Pending(List<StatsRolloverEventListener> listeners)
     {
       _pendingEvents = new ArrayList<PendingEvent>(4);
       _listeners = listeners;
     }
 
-    private void add(CallStats stats, boolean reset)
+    void add(CallStats stats, boolean reset)
     {
       _pendingEvents.add(new PendingEvent(stats, reset));
     }
 
-    private void deliver()
+    void deliver()
     {
       for (PendingEvent event : _pendingEvents)
       {
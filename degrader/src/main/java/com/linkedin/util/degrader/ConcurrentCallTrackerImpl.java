@@ -0,0 +1,554 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.util.degrader;
+
+import com.linkedin.common.stats.ConcurrentLongTracking;
+import com.linkedin.util.clock.Clock;
+import com.linkedin.util.clock.SystemClock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * A {@link CallTracker} that produces the same {@link CallStats} snapshots as {@link CallTrackerImpl}
+ * without serializing every call start and end on a single lock.
+ *
+ * Totals and per-interval counters are {@link LongAdder}s, call times are recorded in a
+ * {@link ConcurrentLongTracking} histogram and concurrency is a single atomic counter. The only
+ * lock is taken when an interval rolls over, on {@link #reset()} and when listeners are changed,
+ * so a host receiving thousands of concurrent requests no longer contends on the tracker.
+ * Rollover events are still delivered outside of the lock.
+ *
+ * Two interval buffers are alternated so that rolling over does not allocate. Because calls are
+ * recorded without holding the lock, a call ending exactly while its interval rolls over may be
+ * recorded into the interval that has just been snapshotted. That interval becomes the spare and
+ * is cleared at the next rollover, so such a call is missing from the interval stats, although it
+ * is still counted in the totals. A snapshot may also miss the last few updates to the totals.
+ * Percentiles are approximate for call times of 32 ms or more, see {@link ConcurrentLongTracking}.
+ */
+public class ConcurrentCallTrackerImpl implements CallTracker
+{
+  private static final Clock DEFAULT_CLOCK = SystemClock.instance();
+  private static final ErrorType[] ERROR_TYPES = ErrorType.values();
+  private static final int MAX_OUTSTANDING_READ_ATTEMPTS = 16;
+
+  private final Object _lock = new Object();
+
+  private final Clock _clock;
+  private final long _interval;
+
+  private volatile long _lastStartTime;
+  private volatile long _lastResetTime;
+  private final LongAdder _callCountTotal = new LongAdder();
+  private final LongAdder _callStartCountTotal = new LongAdder();
+  private final LongAdder _errorCountTotal = new LongAdder();
+  private final AtomicInteger _concurrency = new AtomicInteger();
+  private final LongAdder _sumOfOutstandingStartTimes = new LongAdder();
+  //Total counts of specific types of error, indexed by ErrorType ordinal
+  private final AtomicIntegerArray _errorTypeCountsTotal = new AtomicIntegerArray(ERROR_TYPES.length);
+
+  // Bracket every update of _concurrency and _sumOfOutstandingStartTimes so that rollover can
+  // read both of them without a concurrent call start or end in between.
+  private final LongAdder _outstandingUpdatesStarted = new LongAdder();
+  private final LongAdder _outstandingUpdatesFinished = new LongAdder();
+
+  // The interval currently being recorded into and the spare one; swapped under _lock.
+  private volatile Interval _current;
+  private Interval _spare;
+  private volatile CallStats _stats;
+
+  private CallTrackerImpl.Pending _pending = null;
+
+  // This CallTrackerListener list is immutable and copy-on-write.
+  private volatile List<StatsRolloverEventListener> _listeners = new ArrayList<StatsRolloverEventListener>();
+
+  public ConcurrentCallTrackerImpl(long interval)
+  {
+    this(interval, DEFAULT_CLOCK);
+  }
+
+  public ConcurrentCallTrackerImpl(long interval, Clock clock)
+  {
+    this(interval, clock, true);
+  }
+
+  public ConcurrentCallTrackerImpl(long interval, Clock clock, boolean percentileTrackingEnabled)
+  {
+    _clock = clock;
+    _interval = interval;
+    _lastStartTime = -1;
+    _lastResetTime = _clock.currentTimeMillis();
+    _current = new Interval(percentileTrackingEnabled);
+    _spare = new Interval(percentileTrackingEnabled);
+    synchronized (_lock)
+    {
+      resetInterval();
+    }
+  }
+
+  @Override
+  public CallCompletion startCall()
+  {
+    long currentTime = _clock.currentTimeMillis();
+    CallTrackerImpl.Pending pending = rolloverIfStale(currentTime);
+
+    _callStartCountTotal.increment();
+    Interval current = _current;
+    current._callStartCount.increment();
+
+    _outstandingUpdatesStarted.increment();
+    int concurrency = _concurrency.incrementAndGet();
+    _sumOfOutstandingStartTimes.add(currentTime);
+    _outstandingUpdatesFinished.increment();
+
+    current.updateConcurrentMax(concurrency);
+    if (_lastStartTime != currentTime)
+    {
+      _lastStartTime = currentTime;
+    }
+
+    deliver(pending);
+    return new CallCompletionImpl(this, currentTime);
+  }
+
+  @Override
+  public CallStats getCallStats()
+  {
+    long currentTimeMillis = _clock.currentTimeMillis();
+    CallStats stats = _stats;
+    if (stats.stale(currentTimeMillis))
+    {
+      CallTrackerImpl.Pending pending;
+      synchronized (_lock)
+      {
+        stats = getStatsWithCurrentTime(currentTimeMillis);
+        pending = checkForPending();
+      }
+      // Always deliver events without holding _lock to avoid deadlocks.
+      deliver(pending);
+    }
+    return stats;
+  }
+
+  @Override
+  public long getInterval()
+  {
+    return _interval;
+  }
+
+  @Override
+  public void addStatsRolloverEventListener(StatsRolloverEventListener listener)
+  {
+    synchronized (_lock)
+    {
+      List<StatsRolloverEventListener> copy = new ArrayList<StatsRolloverEventListener>(_listeners);
+      copy.add(listener);
+      _listeners = Collections.unmodifiableList(copy);
+    }
+  }
+
+  @Override
+  public boolean removeStatsRolloverEventListener(StatsRolloverEventListener listener)
+  {
+    boolean removed = false;
+    synchronized (_lock)
+    {
+      if (_listeners.contains(listener))
+      {
+        List<StatsRolloverEventListener> copy = new ArrayList<StatsRolloverEventListener>(_listeners);
+        removed = copy.remove(listener);
+        _listeners = Collections.unmodifiableList(copy);
+      }
+    }
+    return removed;
+  }
+
+  @Override
+  public long getCurrentCallCountTotal()
+  {
+    return _callCountTotal.sum();
+  }
+
+  @Override
+  public long getCurrentCallStartCountTotal()
+  {
+    return _callStartCountTotal.sum();
+  }
+
+  @Override
+  public long getCurrentErrorCountTotal()
+  {
+    return _errorCountTotal.sum();
+  }
+
+  @Override
+  public Map<ErrorType, Integer> getCurrentErrorTypeCountsTotal()
+  {
+    return Collections.unmodifiableMap(toErrorTypeMap(_errorTypeCountsTotal));
+  }
+
+  @Override
+  public int getCurrentConcurrency()
+  {
+    return _concurrency.get();
+  }
+
+  @Override
+  public long getTimeSinceLastCallStart()
+  {
+    long lastStartTime = _lastStartTime;
+    return lastStartTime == -1 ? -1 : _clock.currentTimeMillis() - lastStartTime;
+  }
+
+  @Override
+  public long getLastResetTime()
+  {
+    return _lastResetTime;
+  }
+
+  @Override
+  public void reset()
+  {
+    CallTrackerImpl.Pending pending;
+    synchronized (_lock)
+    {
+      _lastStartTime = -1;
+      _lastResetTime = _clock.currentTimeMillis();
+      _callCountTotal.reset();
+      _callStartCountTotal.reset();
+      _errorCountTotal.reset();
+      for (int i = 0; i < ERROR_TYPES.length; i++)
+      {
+        _errorTypeCountsTotal.set(i, 0);
+      }
+      resetInterval();
+      pending = checkForPending();
+    }
+    // Always deliver pending events without holding _lock to avoid deadlocks.
+    deliver(pending);
+  }
+
+  @Override
+  public void trackCall(long duration)
+  {
+    deliver(addCallData(duration, false, _clock.currentTimeMillis(), null));
+  }
+
+  @Override
+  public void trackCallWithError(long duration)
+  {
+    deliver(addCallData(duration, true, _clock.currentTimeMillis(), null));
+  }
+
+  private void endCall(long startTime, long endTime, boolean hasError, ErrorType errorType)
+  {
+    CallTrackerImpl.Pending pending = null;
+    if (startTime >= _lastResetTime)
+    {
+      pending = addCallData(endTime - startTime, hasError, endTime, errorType);
+    }
+
+    // Concurrency and the sum of outstanding start times are not reset
+    _outstandingUpdatesStarted.increment();
+    int concurrency = _concurrency.get();
+    while (concurrency > 0 && !_concurrency.compareAndSet(concurrency, concurrency - 1))
+    {
+      concurrency = _concurrency.get();
+    }
+    if (concurrency > 0)
+    {
+      _sumOfOutstandingStartTimes.add(-startTime);
+    }
+    _outstandingUpdatesFinished.increment();
+
+    deliver(pending);
+  }
+
+  private CallTrackerImpl.Pending addCallData(long duration, boolean hasError, long currentTime, ErrorType errorType)
+  {
+    CallTrackerImpl.Pending pending = rolloverIfStale(currentTime);
+
+    Interval current = _current;
+    current._callTimeTracking.addValue(duration);
+    if (hasError)
+    {
+      current._errorCount.increment();
+      _errorCountTotal.increment();
+    }
+    if (errorType != null)
+    {
+      current._errorTypeCounts.incrementAndGet(errorType.ordinal());
+      if (hasError)
+      {
+        _errorTypeCountsTotal.incrementAndGet(errorType.ordinal());
+      }
+    }
+    _callCountTotal.increment();
+    return pending;
+  }
+
+  /**
+   * Rolls the current interval over if the most recent stats are stale. The common case only
+   * reads the volatile stats reference.
+   *
+   * @return pending events to be delivered by the caller, or null.
+   */
+  private CallTrackerImpl.Pending rolloverIfStale(long currentTime)
+  {
+    if (!_stats.stale(currentTime))
+    {
+      return null;
+    }
+    synchronized (_lock)
+    {
+      getStatsWithCurrentTime(currentTime);
+      return checkForPending();
+    }
+  }
+
+  /**
+   * Must be called while holding _lock.
+   */
+  private CallStats getStatsWithCurrentTime(long currentTime)
+  {
+    if (_stats.stale(currentTime))
+    {
+      long offset = currentTime - _lastResetTime;
+      long currentStartOffset = ((offset / _interval) * _interval);
+      long lastEnd = _lastResetTime + currentStartOffset;
+      long lastStart = lastEnd - _interval;
+      if (_current._startTime == lastStart)
+      {
+        // Current interval has elapsed.
+        // Emit stats and start new current interval.
+        rolloverStats(lastEnd, false);
+      }
+      else if (_current._startTime < lastStart)
+      {
+        // Current interval is stale, emit stale accumulated stats.
+        rolloverStats(_current._startTime + _interval, false);
+        // Start new interval.
+        _current._startTime = lastStart;
+        rolloverStats(lastEnd, false);
+      }
+    }
+    return _stats;
+  }
+
+  /**
+   * Must be called while holding _lock.
+   */
+  private void resetInterval()
+  {
+    _current.reset(_lastResetTime - _interval, _concurrency.get());
+    rolloverStats(_lastResetTime, true);
+  }
+
+  /**
+   * Publishes the stats of the current interval and starts recording into the spare interval.
+   * Must be called while holding _lock.
+   */
+  private void rolloverStats(long endTime, boolean reset)
+  {
+    Interval current = _current;
+
+    int concurrency = 0;
+    long sumOfOutstandingStartTimes = 0;
+    for (int i = 0; i < MAX_OUTSTANDING_READ_ATTEMPTS; i++)
+    {
+      long finished = _outstandingUpdatesFinished.sum();
+      concurrency = _concurrency.get();
+      sumOfOutstandingStartTimes = _sumOfOutstandingStartTimes.sum();
+      if (_outstandingUpdatesStarted.sum() == finished)
+      {
+        break;
+      }
+    }
+    long outstandingStartTimeAvg = concurrency == 0 ? 0 : Math.min(sumOfOutstandingStartTimes / concurrency, endTime);
+
+    _stats = new CallTrackerImpl.CallTrackerStats(
+      _interval,
+      current._startTime,
+      endTime,
+      _callCountTotal.sum(),
+      (int) current._callStartCount.sum(),
+      _callStartCountTotal.sum(),
+      (int) current._errorCount.sum(),
+      _errorCountTotal.sum(),
+      current._concurrentMax.get(),
+      outstandingStartTimeAvg,
+      concurrency,
+      current._callTimeTracking.getStats(), toErrorTypeMap(current._errorTypeCounts), toErrorTypeMap(_errorTypeCountsTotal));
+
+    Interval next = _spare;
+    next.reset(endTime, _concurrency.get());
+    _spare = current;
+    _current = next;
+
+    addPending(_stats, reset);
+  }
+
+  /**
+   * Add a pending event that will be delivered to listeners after releasing _lock.
+   * Must be called while holding _lock.
+   */
+  private void addPending(CallStats stats, boolean reset)
+  {
+    if (!_listeners.isEmpty())
+    {
+      if (_pending == null)
+      {
+        _pending = new CallTrackerImpl.Pending(_listeners);
+      }
+      _pending.add(stats, reset);
+    }
+  }
+
+  /**
+   * Returns and clears the pending events so that only the caller delivers them.
+   * Must be called while holding _lock.
+   */
+  private CallTrackerImpl.Pending checkForPending()
+  {
+    CallTrackerImpl.Pending pending = _pending;
+    _pending = null;
+    return pending;
+  }
+
+  private static void deliver(CallTrackerImpl.Pending pending)
+  {
+    if (pending != null)
+    {
+      pending.deliver();
+    }
+  }
+
+  private static Map<ErrorType, Integer> toErrorTypeMap(AtomicIntegerArray counts)
+  {
+    Map<ErrorType, Integer> map = new HashMap<ErrorType, Integer>();
+    for (int i = 0; i < ERROR_TYPES.length; i++)
+    {
+      int count = counts.get(i);
+      if (count != 0)
+      {
+        map.put(ERROR_TYPES[i], count);
+      }
+    }
+    return map;
+  }
+
+  /**
+   * Counts the events happening in one interval.
+   */
+  private static class Interval
+  {
+    // Only accessed while holding _lock.
+    private long _startTime;
+    private final LongAdder _callStartCount = new LongAdder();
+    private final LongAdder _errorCount = new LongAdder();
+    private final AtomicInteger _concurrentMax = new AtomicInteger();
+    private final ConcurrentLongTracking _callTimeTracking;
+    private final AtomicIntegerArray _errorTypeCounts = new AtomicIntegerArray(ERROR_TYPES.length);
+
+    private Interval(boolean percentileTrackingEnabled)
+    {
+      _callTimeTracking = new ConcurrentLongTracking(percentileTrackingEnabled);
+    }
+
+    private void reset(long startTime, int concurrency)
+    {
+      _startTime = startTime;
+      _callStartCount.reset();
+      _errorCount.reset();
+      _concurrentMax.set(concurrency);
+      _callTimeTracking.reset();
+      for (int i = 0; i < ERROR_TYPES.length; i++)
+      {
+        _errorTypeCounts.set(i, 0);
+      }
+    }
+
+    private void updateConcurrentMax(int concurrency)
+    {
+      int max = _concurrentMax.get();
+      while (concurrency > max && !_concurrentMax.compareAndSet(max, concurrency))
+      {
+        max = _concurrentMax.get();
+      }
+    }
+  }
+
+  private static class CallCompletionImpl implements CallCompletion
+  {
+    private static final AtomicIntegerFieldUpdater<CallCompletionImpl> DONE_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(CallCompletionImpl.class, "_done");
+    private static final AtomicLongFieldUpdater<CallCompletionImpl> END_TIME_UPDATER =
+        AtomicLongFieldUpdater.newUpdater(CallCompletionImpl.class, "_endTime");
+
+    private final ConcurrentCallTrackerImpl _tracker;
+    private final long _start;
+    private volatile int _done;
+    private volatile long _endTime;
+
+    private CallCompletionImpl(ConcurrentCallTrackerImpl tracker, long currentTime)
+    {
+      _tracker = tracker;
+      _start = currentTime;
+    }
+
+    @Override
+    public void record()
+    {
+      END_TIME_UPDATER.compareAndSet(this, 0, _tracker._clock.currentTimeMillis());
+    }
+
+    @Override
+    public void endCall()
+    {
+      endCall(false, null);
+    }
+
+    @Override
+    public void endCallWithError()
+    {
+      endCall(true, null);
+    }
+
+    @Override
+    public void endCallWithError(ErrorType errorType)
+    {
+      endCall(true, errorType);
+    }
+
+    private void endCall(boolean hasError, ErrorType errorType)
+    {
+      if (DONE_UPDATER.compareAndSet(this, 0, 1))
+      {
+        END_TIME_UPDATER.compareAndSet(this, 0, _tracker._clock.currentTimeMillis());
+        _tracker.endCall(_start, _endTime, hasError, errorType);
+      }
+    }
+  }
+}
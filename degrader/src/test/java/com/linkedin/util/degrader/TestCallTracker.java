@@ -26,6 +26,7 @@ import org.testng.Assert;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 
+import com.linkedin.util.clock.Clock;
 import com.linkedin.util.clock.SettableClock;
 import com.linkedin.util.clock.Time;
 import org.testng.annotations.Test;
@@ -43,7 +44,7 @@ public class TestCallTracker
   private static final long FIVE_MS = Time.milliseconds(5);
   private static final long TEN_MS = Time.milliseconds(10);
 
-  private CallTrackerImpl _callTracker;
+  private CallTracker _callTracker;
   private long _interval = INTERVAL;
   private SettableClock _clock;
 
@@ -51,7 +52,12 @@ public class TestCallTracker
   protected void setUp() throws Exception
   {
     _clock = new SettableClock();
-    _callTracker = new CallTrackerImpl(_interval, _clock);
+    _callTracker = createCallTracker(_interval, _clock);
+  }
+
+  protected CallTracker createCallTracker(long interval, Clock clock)
+  {
+    return new CallTrackerImpl(interval, clock);
   }
 
   @AfterMethod
@@ -632,7 +638,7 @@ public class TestCallTracker
   @org.testng.annotations.Test public void testStandardDeviationWithSmallVarianceAndLargeSample()
   {
     long interval = 7200000;
-    _callTracker = new CallTrackerImpl(interval, _clock);
+    _callTracker = createCallTracker(interval, _clock);
 
     List<CallCompletion> dones = startCall(_callTracker, 50 * 1000);
     _clock.addDuration(Time.minutes(60));
@@ -0,0 +1,141 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.util.degrader;
+
+import com.linkedin.util.clock.Clock;
+import com.linkedin.util.clock.SettableClock;
+import com.linkedin.util.clock.Time;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ * Runs all of {@link TestCallTracker} against {@link ConcurrentCallTrackerImpl} and adds tests for
+ * concurrent use.
+ */
+public class TestConcurrentCallTracker extends TestCallTracker
+{
+  private static final long INTERVAL = Time.minutes(1);
+
+  @Override
+  protected CallTracker createCallTracker(long interval, Clock clock)
+  {
+    return new ConcurrentCallTrackerImpl(interval, clock);
+  }
+
+  @Test
+  public void testConcurrentCalls() throws Exception
+  {
+    SettableClock clock = new SettableClock();
+    CallTracker callTracker = createCallTracker(INTERVAL, clock);
+    int threads = 16;
+    int callsPerThread = 10000;
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<Future<?>>();
+    for (int i = 0; i < threads; i++)
+    {
+      final int thread = i;
+      futures.add(executor.submit(() -> {
+        start.await();
+        for (int j = 0; j < callsPerThread; j++)
+        {
+          CallCompletion completion = callTracker.startCall();
+          if ((thread + j) % 10 == 0)
+          {
+            completion.endCallWithError(ErrorType.REMOTE_INVOCATION_EXCEPTION);
+          }
+          else
+          {
+            completion.endCall();
+          }
+        }
+        return null;
+      }));
+    }
+    start.countDown();
+    for (Future<?> future : futures)
+    {
+      future.get(30, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    int calls = threads * callsPerThread;
+    Assert.assertEquals(callTracker.getCurrentConcurrency(), 0, "Concurrency is incorrect");
+    Assert.assertEquals(callTracker.getCurrentCallCountTotal(), calls, "Total call count is incorrect");
+    Assert.assertEquals(callTracker.getCurrentCallStartCountTotal(), calls, "Total call start count is incorrect");
+    Assert.assertEquals(callTracker.getCurrentErrorCountTotal(), calls / 10, "Total error count is incorrect");
+    Assert.assertEquals(callTracker.getCurrentErrorTypeCountsTotal().get(ErrorType.REMOTE_INVOCATION_EXCEPTION),
+        Integer.valueOf(calls / 10), "Total error type count is incorrect");
+
+    clock.addDuration(INTERVAL);
+    CallTracker.CallStats stats = callTracker.getCallStats();
+    Assert.assertEquals(stats.getCallCount(), calls, "Interval call count is incorrect");
+    Assert.assertEquals(stats.getCallStartCount(), calls, "Interval call start count is incorrect");
+    Assert.assertEquals(stats.getErrorCount(), calls / 10, "Interval error count is incorrect");
+    Assert.assertEquals(stats.getOutstandingCount(), 0, "Interval outstanding count is incorrect");
+    Assert.assertTrue(stats.getConcurrentMax() >= 1 && stats.getConcurrentMax() <= threads,
+        "Interval max concurrent is incorrect");
+  }
+
+  @Test
+  public void testOutstandingStartTimeWithConcurrentCalls() throws Exception
+  {
+    SettableClock clock = new SettableClock();
+    CallTracker callTracker = createCallTracker(INTERVAL, clock);
+    long startTime = clock.currentTimeMillis();
+    CallCompletion outstanding = callTracker.startCall();
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<?>> futures = new ArrayList<Future<?>>();
+    for (int i = 0; i < 4; i++)
+    {
+      futures.add(executor.submit(() -> {
+        for (int j = 0; j < 10000; j++)
+        {
+          callTracker.startCall().endCall();
+        }
+      }));
+    }
+    for (int i = 0; i < 100; i++)
+    {
+      // Every rollover must see the outstanding count and start times of the same set of calls.
+      clock.addDuration(INTERVAL);
+      CallTracker.CallStats stats = callTracker.getCallStats();
+      if (stats.getOutstandingCount() == 1)
+      {
+        Assert.assertEquals(stats.getOutstandingStartTimeAvg(), stats.getIntervalEndTime() - startTime,
+            "Outstanding start time average is incorrect");
+      }
+    }
+    for (Future<?> future : futures)
+    {
+      future.get(30, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+    outstanding.endCall();
+    Assert.assertEquals(callTracker.getCurrentConcurrency(), 0, "Concurrency is incorrect");
+  }
+}
@@ -0,0 +1,187 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.common.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Thread-safe {@link LongTracker} that can be updated concurrently without external
+ * synchronization and without allocating on {@link #addValue(long)}.
+ *
+ * Count, sum and sum of squares are kept in {@link LongAdder}s and minimum and maximum are
+ * maintained with compare-and-set. When percentile tracking is enabled, values are also
+ * recorded in a fixed-size log-linear histogram: values below {@value #SUB_BUCKET_COUNT} are
+ * counted exactly and every larger power-of-two range is split into {@value #SUB_BUCKET_COUNT}
+ * equal sub-buckets, so reported percentiles are within about 1.6% of the recorded value.
+ * When percentile tracking is disabled, percentiles are reported as -1 like
+ * {@link SimpleLongTracking}.
+ *
+ * {@link #getStats()} may run concurrently with {@link #addValue(long)}; the result then reflects
+ * a consistent-enough view of the values added so far. {@link #reset()} is not atomic with
+ * respect to concurrent {@link #addValue(long)} calls, so values added while resetting may be
+ * partially retained.
+ */
+public class ConcurrentLongTracking implements LongTracker
+{
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_EXPONENT = 40;
+  private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+  private final LongAdder _count = new LongAdder();
+  private final LongAdder _sum = new LongAdder();
+  private final LongAdder _sumOfSquares = new LongAdder();
+  private final AtomicLong _min = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicLong _max = new AtomicLong(Long.MIN_VALUE);
+  private final AtomicLongArray _buckets;
+
+  public ConcurrentLongTracking()
+  {
+    this(true);
+  }
+
+  public ConcurrentLongTracking(boolean percentileTrackingEnabled)
+  {
+    _buckets = percentileTrackingEnabled ? new AtomicLongArray(BUCKET_COUNT) : null;
+  }
+
+  @Override
+  public void addValue(long value)
+  {
+    long min = _min.get();
+    while (value < min && !_min.compareAndSet(min, value))
+    {
+      min = _min.get();
+    }
+    long max = _max.get();
+    while (value > max && !_max.compareAndSet(max, value))
+    {
+      max = _max.get();
+    }
+    _sum.add(value);
+    _sumOfSquares.add(value * value);
+    if (_buckets != null)
+    {
+      _buckets.incrementAndGet(bucketIndex(value));
+    }
+    _count.increment();
+  }
+
+  @Override
+  public LongStats getStats()
+  {
+    int count = (int) _count.sum();
+    double average = safeDivide(_sum.sum(), count);
+    double variation = safeDivide(_sumOfSquares.sum() - _sum.sum() * average, count);
+    long min = count == 0 ? 0 : _min.get();
+    long max = count == 0 ? 0 : _max.get();
+    if (_buckets == null)
+    {
+      return new LongStats(count, average, Math.sqrt(Math.max(variation, 0)), min, max, -1L, -1L, -1L, -1L);
+    }
+
+    long[] snapshot = new long[BUCKET_COUNT];
+    long total = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++)
+    {
+      snapshot[i] = _buckets.get(i);
+      total += snapshot[i];
+    }
+    return new LongStats(count, average, Math.sqrt(Math.max(variation, 0)), min, max,
+        getPercentile(snapshot, total, 0.50, min, max),
+        getPercentile(snapshot, total, 0.90, min, max),
+        getPercentile(snapshot, total, 0.95, min, max),
+        getPercentile(snapshot, total, 0.99, min, max));
+  }
+
+  @Override
+  public void reset()
+  {
+    _count.reset();
+    _sum.reset();
+    _sumOfSquares.reset();
+    _min.set(Long.MAX_VALUE);
+    _max.set(Long.MIN_VALUE);
+    if (_buckets != null)
+    {
+      for (int i = 0; i < BUCKET_COUNT; i++)
+      {
+        _buckets.set(i, 0);
+      }
+    }
+  }
+
+  /**
+   * Uses the same nearest-rank definition as {@link LongTracking#getPercentile(double)} and
+   * reports the midpoint of the bucket holding that rank, clamped to the observed range.
+   */
+  private static long getPercentile(long[] buckets, long total, double pct, long min, long max)
+  {
+    if (total == 0)
+    {
+      return 0;
+    }
+    long rank = Math.round(pct * (total - 1));
+    long seen = 0;
+    for (int i = 0; i < buckets.length; i++)
+    {
+      seen += buckets[i];
+      if (seen > rank)
+      {
+        long value = bucketMidpoint(i);
+        return Math.max(min, Math.min(max, value));
+      }
+    }
+    return max;
+  }
+
+  private static int bucketIndex(long value)
+  {
+    if (value < SUB_BUCKET_COUNT)
+    {
+      return value < 0 ? 0 : (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    if (exponent > MAX_EXPONENT)
+    {
+      return BUCKET_COUNT - 1;
+    }
+    int shift = exponent - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+    return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  private static long bucketMidpoint(int index)
+  {
+    if (index < SUB_BUCKET_COUNT)
+    {
+      return index;
+    }
+    int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+    long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+    long lower = (SUB_BUCKET_COUNT + subBucket) << shift;
+    return lower + ((1L << shift) >>> 1);
+  }
+
+  private static double safeDivide(final double numerator, final double denominator)
+  {
+    return denominator != 0 ? numerator / denominator : 0;
+  }
+}
@@ -0,0 +1,160 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.common.stats;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+public class TestConcurrentLongTracking
+{
+  @Test
+  public void testEmpty()
+  {
+    LongStats stats = new ConcurrentLongTracking().getStats();
+
+    assertEquals(stats.getCount(), 0, "Count is incorrect");
+    assertEquals(stats.getAverage(), 0.0, "Average is incorrect");
+    assertEquals(stats.getStandardDeviation(), 0.0, "Standard deviation is incorrect");
+    assertEquals(stats.getMinimum(), 0, "Minimum is incorrect");
+    assertEquals(stats.getMaximum(), 0, "Maximum is incorrect");
+    assertEquals(stats.get50Pct(), 0, "50 percentile is incorrect");
+    assertEquals(stats.get99Pct(), 0, "99 percentile is incorrect");
+  }
+
+  @Test
+  public void testSmallValuesAreExact()
+  {
+    ConcurrentLongTracking tracking = new ConcurrentLongTracking();
+    LongTracking expected = new LongTracking();
+    for (long i = 0; i < 32; i++)
+    {
+      tracking.addValue(i);
+      expected.addValue(i);
+    }
+
+    LongStats stats = tracking.getStats();
+    LongStats expectedStats = expected.getStats();
+    assertEquals(stats.getCount(), expectedStats.getCount(), "Count is incorrect");
+    assertEquals(stats.getAverage(), expectedStats.getAverage(), 0.0001, "Average is incorrect");
+    assertEquals(stats.getStandardDeviation(), expectedStats.getStandardDeviation(), 0.0001,
+        "Standard deviation is incorrect");
+    assertEquals(stats.getMinimum(), expectedStats.getMinimum(), "Minimum is incorrect");
+    assertEquals(stats.getMaximum(), expectedStats.getMaximum(), "Maximum is incorrect");
+    assertEquals(stats.get50Pct(), expectedStats.get50Pct(), "50 percentile is incorrect");
+    assertEquals(stats.get90Pct(), expectedStats.get90Pct(), "90 percentile is incorrect");
+    assertEquals(stats.get95Pct(), expectedStats.get95Pct(), "95 percentile is incorrect");
+    assertEquals(stats.get99Pct(), expectedStats.get99Pct(), "99 percentile is incorrect");
+  }
+
+  @Test
+  public void testPercentilesWithinBucketResolution()
+  {
+    ConcurrentLongTracking tracking = new ConcurrentLongTracking();
+    LongTracking expected = new LongTracking(1000000, 1000000, 2.0);
+    Random random = new Random(42);
+    for (int i = 0; i < 100000; i++)
+    {
+      long value = (long) Math.abs(random.nextGaussian() * 200) + 1;
+      tracking.addValue(value);
+      expected.addValue(value);
+    }
+
+    LongStats stats = tracking.getStats();
+    LongStats expectedStats = expected.getStats();
+    assertEquals(stats.getAverage(), expectedStats.getAverage(), 0.0001, "Average is incorrect");
+    assertEquals(stats.getMinimum(), expectedStats.getMinimum(), "Minimum is incorrect");
+    assertEquals(stats.getMaximum(), expectedStats.getMaximum(), "Maximum is incorrect");
+    assertEquals(stats.get50Pct(), expectedStats.get50Pct(), expectedStats.get50Pct() * 0.02, "50 percentile is incorrect");
+    assertEquals(stats.get90Pct(), expectedStats.get90Pct(), expectedStats.get90Pct() * 0.02, "90 percentile is incorrect");
+    assertEquals(stats.get95Pct(), expectedStats.get95Pct(), expectedStats.get95Pct() * 0.02, "95 percentile is incorrect");
+    assertEquals(stats.get99Pct(), expectedStats.get99Pct(), expectedStats.get99Pct() * 0.02, "99 percentile is incorrect");
+  }
+
+  @Test
+  public void testPercentileTrackingDisabled()
+  {
+    ConcurrentLongTracking tracking = new ConcurrentLongTracking(false);
+    SimpleLongTracking expected = new SimpleLongTracking();
+    for (long i = 1000; i < 2000; i++)
+    {
+      tracking.addValue(i);
+      expected.addValue(i);
+    }
+
+    LongStats stats = tracking.getStats();
+    LongStats expectedStats = expected.getStats();
+    assertEquals(stats.getCount(), expectedStats.getCount(), "Count is incorrect");
+    assertEquals(stats.getAverage(), expectedStats.getAverage(), 0.0001, "Average is incorrect");
+    assertEquals(stats.getStandardDeviation(), expectedStats.getStandardDeviation(), 0.0001,
+        "Standard deviation is incorrect");
+    assertEquals(stats.getMinimum(), 1000, "Minimum is incorrect");
+    assertEquals(stats.getMaximum(), 1999, "Maximum is incorrect");
+    assertEquals(stats.get50Pct(), -1L, "50 percentile is incorrect");
+    assertEquals(stats.get99Pct(), -1L, "99 percentile is incorrect");
+  }
+
+  @Test
+  public void testReset()
+  {
+    ConcurrentLongTracking tracking = new ConcurrentLongTracking();
+    tracking.addValue(100);
+    tracking.addValue(Long.MAX_VALUE / 1024);
+    tracking.reset();
+    tracking.addValue(7);
+
+    LongStats stats = tracking.getStats();
+    assertEquals(stats.getCount(), 1, "Count is incorrect");
+    assertEquals(stats.getMinimum(), 7, "Minimum is incorrect");
+    assertEquals(stats.getMaximum(), 7, "Maximum is incorrect");
+    assertEquals(stats.get99Pct(), 7, "99 percentile is incorrect");
+  }
+
+  @Test
+  public void testConcurrentAdds() throws Exception
+  {
+    ConcurrentLongTracking tracking = new ConcurrentLongTracking();
+    int threads = 8;
+    int valuesPerThread = 100000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    for (int i = 0; i < threads; i++)
+    {
+      executor.execute(() -> {
+        for (int j = 1; j <= valuesPerThread; j++)
+        {
+          tracking.addValue(j);
+        }
+      });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+    LongStats stats = tracking.getStats();
+    assertEquals(stats.getCount(), threads * valuesPerThread, "Count is incorrect");
+    assertEquals(stats.getAverage(), (valuesPerThread + 1) / 2.0, 0.0001, "Average is incorrect");
+    assertEquals(stats.getMinimum(), 1, "Minimum is incorrect");
+    assertEquals(stats.getMaximum(), valuesPerThread, "Maximum is incorrect");
+    assertEquals(stats.get50Pct(), valuesPerThread * 0.5, valuesPerThread * 0.01, "50 percentile is incorrect");
+    assertEquals(stats.get99Pct(), valuesPerThread * 0.99, valuesPerThread * 0.02, "99 percentile is incorrect");
+  }
+}
@@ -27,6 +27,7 @@ import com.linkedin.r2.message.stream.StreamRequest;
 import com.linkedin.r2.message.stream.StreamResponse;
 import com.linkedin.r2.transport.common.bridge.common.TransportCallback;
 
+import java.net.URI;
 import java.util.Map;
 
 /**
@@ -69,6 +70,21 @@ public interface TransportClient
     throw new UnsupportedOperationException("Please use an implementation that supports streaming.");
   }
 
+  /**
+   * Asynchronously establishes a connection to the host of the given URI ahead of the first request, for example
+   * while warming up a client. The given callback is invoked once a connection is ready.
+   *
+   * The default implementation does nothing. Implementations that pool connections should override this method, and
+   * implementations that delegate to another client should pass it along.
+   *
+   * @param uri the URI of the host
+   * @param callback the callback to invoke once a connection is ready
+   */
+  default void warmUpConnections(URI uri, Callback<None> callback)
+  {
+    callback.onSuccess(None.none());
+  }
+
   /**
    * Starts asynchronous shutdown of the client. This method should block minimally, if at all.
    *
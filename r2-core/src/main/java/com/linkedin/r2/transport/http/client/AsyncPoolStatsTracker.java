@@ -161,11 +161,29 @@ public class AsyncPoolStatsTracker
     _currentMaxPoolSize = Math.max(_poolSizeSupplier.get(), _currentMaxPoolSize);
   }
 
+  /**
+   * Samples the given pool size instead of the one of the pool size supplier. Used by pools that
+   * track the peak pool size themselves in between two calls to {@link #getStats()}.
+   */
+  public void sampleMaxPoolSize(int poolSize)
+  {
+    _currentMaxPoolSize = Math.max(poolSize, _currentMaxPoolSize);
+  }
+
   public void sampleMaxCheckedOut()
   {
     _currentMaxCheckedOut = Math.max(_checkedOutSupplier.get(), _currentMaxCheckedOut);
   }
 
+  /**
+   * Samples the given checked out count instead of the one of the checked out supplier. Used by pools
+   * that track the peak checked out count themselves in between two calls to {@link #getStats()}.
+   */
+  public void sampleMaxCheckedOut(int checkedOut)
+  {
+    _currentMaxCheckedOut = Math.max(checkedOut, _currentMaxCheckedOut);
+  }
+
   public void sampleMaxWaitTime(long waitTimeMillis)
   {
     _currentMaxWaitTime = Math.max(waitTimeMillis, _currentMaxWaitTime);
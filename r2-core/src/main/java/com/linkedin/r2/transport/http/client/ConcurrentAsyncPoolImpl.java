@@ -0,0 +1,886 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.transport.http.client;
+
+import com.linkedin.common.callback.Callback;
+import com.linkedin.common.callback.SimpleCallback;
+import com.linkedin.common.stats.LongTracker;
+import com.linkedin.common.stats.NoopLongTracker;
+import com.linkedin.common.util.None;
+import com.linkedin.r2.SizeLimitExceededException;
+import com.linkedin.r2.transport.http.client.AsyncPoolImpl.Strategy;
+import com.linkedin.r2.transport.http.client.RateLimiter.Task;
+import com.linkedin.r2.util.Cancellable;
+import com.linkedin.r2.util.SingleTimeout;
+import com.linkedin.util.ArgumentUtil;
+import com.linkedin.util.clock.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * An {@link AsyncPool} with the same contract, statistics and {@link RateLimiter} driven object creation as
+ * {@link AsyncPoolImpl}, but without a pool-wide lock.
+ *
+ * <p>Idle objects live in lock-free stripes. An object is returned to the stripe of the thread calling
+ * {@link #put(Object)} and a {@link #get(Callback)} first polls the stripe of the calling thread before stealing
+ * from the other stripes. With Netty, objects are returned on the event loop of their channel, so the event loop
+ * threads tend to check out the channels they serve. The {@link Strategy} applies within a stripe.</p>
+ *
+ * <p>The pool, idle, checked out and waiter counts are maintained with atomic operations. Waiters are kept in a
+ * single FIFO queue: a getter enqueues itself before checking the idle stripes again and a putter enqueues an
+ * idle object before checking the waiters again, so that no waiter is left behind while an object is idle.</p>
+ *
+ * <p>The {@link AsyncPoolStatsTracker} is not thread safe, so it is updated under its own monitor, but only when
+ * objects are created or destroyed and when the statistics are read. The peak checked out count, pool size and
+ * wait time are tracked lock-free in between. The wait time tracker is only synchronized on if it is not a
+ * {@link NoopLongTracker}.</p>
+ */
+public class ConcurrentAsyncPoolImpl<T> implements AsyncPool<T>
+{
+  private static final Logger LOG = LoggerFactory.getLogger(ConcurrentAsyncPoolImpl.class);
+
+  private static final int MAX_STRIPES = 64;
+
+  // Configured
+  private final String _poolName;
+  private final Lifecycle<T> _lifecycle;
+  private final int _maxSize;
+  private final int _maxWaiters;
+  private final long _idleTimeout;
+  private final long _waiterTimeout;
+  private final long _creationTimeout;
+  private final ScheduledExecutorService _timeoutExecutor;
+  private final int _minSize;
+  private volatile ScheduledFuture<?> _objectTimeoutFuture;
+  private final RateLimiter _rateLimiter;
+  private final Strategy _strategy;
+
+  private enum State { NOT_YET_STARTED, RUNNING, SHUTTING_DOWN, STOPPED }
+
+  // Unused objects live here. Within a stripe, the first object is the least recently added object.
+  private final ConcurrentLinkedDeque<TimedObject>[] _idle;
+  private final int _stripeMask;
+  // Never greater than the number of objects in the stripes: incremented after an object is added to
+  // a stripe and decremented before an object is polled from a stripe.
+  private final AtomicInteger _idleCount = new AtomicInteger();
+  // Including idle, checked out, and creations/destructions in progress
+  private final AtomicInteger _poolSize = new AtomicInteger();
+  private final AtomicInteger _checkedOut = new AtomicInteger();
+  // When no unused objects are available, callbacks live here while they wait for a new object. A waiter
+  // is owned by the thread that removes it from the queue.
+  private final ConcurrentLinkedDeque<Callback<T>> _waiters = new ConcurrentLinkedDeque<>();
+  // Never less than the number of waiters: incremented before a waiter is added to the queue and
+  // decremented after a waiter is removed from the queue.
+  private final AtomicInteger _waiterCount = new AtomicInteger();
+  private final AtomicReference<State> _state = new AtomicReference<>(State.NOT_YET_STARTED);
+  private final AtomicReference<Callback<None>> _shutdownCallback = new AtomicReference<>();
+
+  private final AsyncPoolStatsTracker _statsTracker;
+  private final boolean _trackWaitTime;
+  private final AtomicInteger _peakCheckedOut = new AtomicInteger();
+  private final AtomicInteger _peakPoolSize = new AtomicInteger();
+  private final AtomicLong _peakWaitTime = new AtomicLong();
+  private final Clock _clock;
+
+  /**
+   * Creates a ConcurrentAsyncPoolImpl. The parameters have the same meaning as the ones of
+   * {@link AsyncPoolImpl#AsyncPoolImpl(String, Lifecycle, int, long, long, ScheduledExecutorService, int,
+   * Strategy, int, RateLimiter, Clock, LongTracker)}.
+   */
+  @SuppressWarnings("unchecked")
+  public ConcurrentAsyncPoolImpl(String name,
+      Lifecycle<T> lifecycle,
+      int maxSize,
+      long idleTimeout,
+      long waiterTimeout,
+      ScheduledExecutorService timeoutExecutor,
+      int maxWaiters,
+      Strategy strategy,
+      int minSize,
+      RateLimiter rateLimiter,
+      Clock clock,
+      LongTracker waitTimeTracker)
+  {
+    ArgumentUtil.notNull(lifecycle, "lifecycle");
+    ArgumentUtil.notNull(timeoutExecutor, "timeoutExecutor");
+    ArgumentUtil.notNull(strategy, "strategy");
+    ArgumentUtil.notNull(rateLimiter, "rateLimiter");
+
+    _poolName = name + "/" + Integer.toHexString(hashCode());
+    _lifecycle = lifecycle;
+    _maxSize = maxSize;
+    _idleTimeout = idleTimeout;
+    _waiterTimeout = waiterTimeout;
+    _creationTimeout = AsyncPoolImpl.DEFAULT_OBJECT_CREATION_TIMEOUT;
+    _timeoutExecutor = timeoutExecutor;
+    _maxWaiters = maxWaiters;
+    _strategy = strategy;
+    _minSize = minSize;
+    _rateLimiter = rateLimiter;
+    _clock = clock;
+
+    int stripes = stripeCount(Math.min(Runtime.getRuntime().availableProcessors(), maxSize));
+    _idle = new ConcurrentLinkedDeque[stripes];
+    for (int i = 0; i < stripes; i++)
+    {
+      _idle[i] = new ConcurrentLinkedDeque<>();
+    }
+    _stripeMask = stripes - 1;
+
+    _trackWaitTime = !(waitTimeTracker instanceof NoopLongTracker);
+    _statsTracker = new AsyncPoolStatsTracker(
+        () -> _lifecycle.getStats(),
+        () -> _maxSize,
+        () -> _minSize,
+        _poolSize::get,
+        _checkedOut::get,
+        _idleCount::get,
+        clock,
+        waitTimeTracker);
+  }
+
+  /**
+   * @return the smallest power of two that is not less than the given count, within [1, {@link #MAX_STRIPES}]
+   */
+  private static int stripeCount(int count)
+  {
+    int stripes = 1;
+    while (stripes < count && stripes < MAX_STRIPES)
+    {
+      stripes <<= 1;
+    }
+    return stripes;
+  }
+
+  @Override
+  public String getName()
+  {
+    return _poolName;
+  }
+
+  @Override
+  public void start()
+  {
+    if (!_state.compareAndSet(State.NOT_YET_STARTED, State.RUNNING))
+    {
+      throw new IllegalStateException(_poolName + " is " + _state.get());
+    }
+    if (_idleTimeout > 0)
+    {
+      long freq = Math.min(_idleTimeout / 10, 1000);
+      _objectTimeoutFuture = _timeoutExecutor.scheduleAtFixedRate(this::timeoutObjects, freq, freq, TimeUnit.MILLISECONDS);
+    }
+
+    // Make the minimum required number of connections now
+    for (int i = 0; i < _minSize; i++)
+    {
+      if (shouldCreate())
+      {
+        create();
+      }
+    }
+  }
+
+  @Override
+  public void shutdown(Callback<None> callback)
+  {
+    if (!_state.compareAndSet(State.RUNNING, State.SHUTTING_DOWN))
+    {
+      callback.onError(new IllegalStateException(_poolName + " is " + _state.get()));
+      return;
+    }
+    _shutdownCallback.set(callback);
+    LOG.info("{}: {}", _poolName, "shutdown requested");
+    shutdownIfNeeded();
+  }
+
+  @Override
+  public Collection<Callback<T>> cancelWaiters()
+  {
+    List<Callback<T>> cancelled = new ArrayList<>();
+    for (Callback<T> item; (item = pollWaiter()) != null;)
+    {
+      cancelled.add(item);
+    }
+    return cancelled;
+  }
+
+  @Override
+  public Cancellable get(final Callback<T> callback)
+  {
+    Callback<T> callbackWithTracking = new TimeTrackingCallback(callback);
+    for (;;)
+    {
+      if (_state.get() != State.RUNNING)
+      {
+        callbackWithTracking.onError(new IllegalStateException(_poolName + " is " + _state.get()));
+        return () -> false;
+      }
+      TimedObject obj = pollIdle();
+      if (obj == null)
+      {
+        break;
+      }
+      T rawObj = obj.get();
+      if (_lifecycle.validateGet(rawObj))
+      {
+        trc("dequeued an idle object");
+        incrementCheckedOut();
+        callbackWithTracking.onSuccess(rawObj);
+        return () -> false;
+      }
+      // Invalid object, discard it and keep trying
+      destroy(rawObj, true);
+      trc("dequeued and disposed an invalid idle object");
+    }
+
+    if (!reserveWaiter())
+    {
+      // This is a recoverable exception. User can simply retry the failed get() operation.
+      callbackWithTracking.onError(
+          new SizeLimitExceededException("AsyncPool " + _poolName + " reached maximum waiter size: " + _maxWaiters));
+      return () -> false;
+    }
+    if (isWaiterTimeoutEnabled())
+    {
+      callbackWithTracking = new WaiterTimeoutCallback(callbackWithTracking);
+    }
+    final Callback<T> waiter = callbackWithTracking;
+    _waiters.offerLast(waiter);
+    if (_state.get() != State.RUNNING && removeWaiter(waiter))
+    {
+      // The pool was shut down while the waiter was being enqueued
+      waiter.onError(new IllegalStateException(_poolName + " is " + _state.get()));
+      shutdownIfNeeded();
+      return () -> false;
+    }
+    trc("enqueued a waiter");
+    if (shouldCreate())
+    {
+      create();
+    }
+    // An object may have been put back after the idle stripes were polled but before the waiter was enqueued
+    serveWaiters();
+    return () ->
+    {
+      boolean cancelled = removeWaiter(waiter);
+      if (cancelled)
+      {
+        shutdownIfNeeded();
+      }
+      return cancelled;
+    };
+  }
+
+  private boolean isWaiterTimeoutEnabled()
+  {
+    // Do not enable waiter timeout if the configured value is not within the fail fast threshold
+    return _waiterTimeout >= AsyncPoolImpl.MIN_WAITER_TIMEOUT && _waiterTimeout <= AsyncPoolImpl.MAX_WAITER_TIMEOUT;
+  }
+
+  @Override
+  public void put(T obj)
+  {
+    _checkedOut.decrementAndGet();
+    if (!_lifecycle.validatePut(obj))
+    {
+      destroy(obj, true);
+      return;
+    }
+    // A channel made it through a complete request lifecycle
+    _rateLimiter.setPeriod(0);
+    add(obj);
+  }
+
+  private void add(T obj)
+  {
+    // If we have waiters, the idle stripes must already be empty.
+    // Therefore, immediately reusing the object is valid with
+    // both MRU and LRU strategies.
+    Callback<T> waiter = pollWaiter();
+    if (waiter != null)
+    {
+      incrementCheckedOut();
+      trc("dequeued a waiter");
+      waiter.onSuccess(obj);
+    }
+    else
+    {
+      offerIdle(new TimedObject(obj));
+      trc("enqueued an idle object");
+      // A waiter may have been enqueued after the waiters were polled but before the object was added
+      serveWaiters();
+    }
+    // Now that the user callback has been executed, pool shutdown can complete
+    shutdownIfNeeded();
+  }
+
+  /**
+   * Hands idle objects to waiters for as long as there are both.
+   */
+  private void serveWaiters()
+  {
+    while (_waiterCount.get() > 0 && _idleCount.get() > 0)
+    {
+      TimedObject obj = pollIdle();
+      if (obj == null)
+      {
+        return;
+      }
+      Callback<T> waiter = pollWaiter();
+      if (waiter == null)
+      {
+        restoreIdle(obj);
+        continue;
+      }
+      T rawObj = obj.get();
+      if (!_lifecycle.validateGet(rawObj))
+      {
+        // Give the waiter its place back; the destruction of the invalid object initiates a creation for it
+        _waiterCount.incrementAndGet();
+        _waiters.offerFirst(waiter);
+        destroy(rawObj, true);
+        continue;
+      }
+      incrementCheckedOut();
+      trc("dequeued a waiter");
+      waiter.onSuccess(rawObj);
+    }
+  }
+
+  @Override
+  public void dispose(T obj)
+  {
+    _checkedOut.decrementAndGet();
+    destroy(obj, true);
+  }
+
+  @Override
+  public AsyncPoolStats getStats()
+  {
+    synchronized (_statsTracker)
+    {
+      _statsTracker.sampleMaxCheckedOut(_peakCheckedOut.getAndSet(_checkedOut.get()));
+      _statsTracker.sampleMaxPoolSize(_peakPoolSize.getAndSet(_poolSize.get()));
+      _statsTracker.sampleMaxWaitTime(_peakWaitTime.getAndSet(0));
+      return _statsTracker.getStats();
+    }
+  }
+
+  private int homeStripe()
+  {
+    return (int) Thread.currentThread().getId() & _stripeMask;
+  }
+
+  /**
+   * @return an idle object, polled from the stripe of the calling thread first, or {@code null} if there is none
+   */
+  private TimedObject pollIdle()
+  {
+    for (int idle = _idleCount.get(); ; idle = _idleCount.get())
+    {
+      if (idle <= 0)
+      {
+        return null;
+      }
+      if (_idleCount.compareAndSet(idle, idle - 1))
+      {
+        break;
+      }
+    }
+    // The decremented count reserves an object in the stripes, but it may be added to a stripe that was
+    // already scanned, so keep scanning until it is found
+    int home = homeStripe();
+    for (;;)
+    {
+      for (int i = 0; i <= _stripeMask; i++)
+      {
+        ConcurrentLinkedDeque<TimedObject> stripe = _idle[(home + i) & _stripeMask];
+        TimedObject obj = _strategy == Strategy.LRU ? stripe.pollFirst() : stripe.pollLast();
+        if (obj != null)
+        {
+          return obj;
+        }
+      }
+    }
+  }
+
+  private void offerIdle(TimedObject obj)
+  {
+    _idle[homeStripe()].offerLast(obj);
+    _idleCount.incrementAndGet();
+  }
+
+  /**
+   * Returns an object obtained from {@link #pollIdle()} to the end it was polled from.
+   */
+  private void restoreIdle(TimedObject obj)
+  {
+    ConcurrentLinkedDeque<TimedObject> stripe = _idle[homeStripe()];
+    if (_strategy == Strategy.LRU)
+    {
+      stripe.offerFirst(obj);
+    }
+    else
+    {
+      stripe.offerLast(obj);
+    }
+    _idleCount.incrementAndGet();
+  }
+
+  private boolean reserveWaiter()
+  {
+    for (int waiters = _waiterCount.get(); waiters < _maxWaiters; waiters = _waiterCount.get())
+    {
+      if (_waiterCount.compareAndSet(waiters, waiters + 1))
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Callback<T> pollWaiter()
+  {
+    Callback<T> waiter = _waiters.pollFirst();
+    if (waiter != null)
+    {
+      _waiterCount.decrementAndGet();
+    }
+    return waiter;
+  }
+
+  private boolean removeWaiter(Callback<T> waiter)
+  {
+    if (_waiters.removeFirstOccurrence(waiter))
+    {
+      _waiterCount.decrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  private void incrementCheckedOut()
+  {
+    samplePeak(_peakCheckedOut, _checkedOut.incrementAndGet());
+  }
+
+  private static void samplePeak(AtomicInteger peak, int value)
+  {
+    for (int current = peak.get(); value > current && !peak.compareAndSet(current, value); current = peak.get())
+    {
+    }
+  }
+
+  private static void samplePeak(AtomicLong peak, long value)
+  {
+    for (long current = peak.get(); value > current && !peak.compareAndSet(current, value); current = peak.get())
+    {
+    }
+  }
+
+  private void destroy(T obj, boolean bad)
+  {
+    if (bad)
+    {
+      synchronized (_statsTracker)
+      {
+        _statsTracker.incrementBadDestroyed();
+      }
+    }
+    trc("disposing a pooled object");
+    _lifecycle.destroy(obj, bad, new Callback<T>()
+    {
+      @Override
+      public void onSuccess(T t)
+      {
+        synchronized (_statsTracker)
+        {
+          _statsTracker.incrementDestroyed();
+        }
+        if (objectDestroyed(1))
+        {
+          create();
+        }
+      }
+
+      @Override
+      public void onError(Throwable e)
+      {
+        synchronized (_statsTracker)
+        {
+          _statsTracker.incrementDestroyErrors();
+        }
+        if (objectDestroyed(1))
+        {
+          create();
+        }
+      }
+    });
+  }
+
+  /**
+   * @param num number of objects have been destroyed
+   * @return true if another object creation should be initiated
+   */
+  private boolean objectDestroyed(int num)
+  {
+    for (int size = _poolSize.get(); !_poolSize.compareAndSet(size, Math.max(size - num, 0)); size = _poolSize.get())
+    {
+    }
+    boolean create = shouldCreate();
+    shutdownIfNeeded();
+    return create;
+  }
+
+  /**
+   * DO NOT call any callbacks in this method!
+   * @return true if another object creation should be initiated, in which case the pool size has been incremented.
+   */
+  private boolean shouldCreate()
+  {
+    if (_state.get() != State.RUNNING)
+    {
+      return false;
+    }
+    for (int size = _poolSize.get(); size < _maxSize; size = _poolSize.get())
+    {
+      if (_waiterCount.get() == 0 && size >= _minSize)
+      {
+        return false;
+      }
+      if (_poolSize.compareAndSet(size, size + 1))
+      {
+        samplePeak(_peakPoolSize, size + 1);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * It invokes user code.
+   */
+  private void create()
+  {
+    trc("initiating object creation");
+    _rateLimiter.submit(new Task()
+    {
+      @Override
+      public void run(final SimpleCallback callback)
+      {
+        // Ignore the object creation if no one is waiting for the object and the pool already has _minSize objects
+        if (_waiterCount.get() == 0 && _checkedOut.get() + _idleCount.get() >= _minSize)
+        {
+          synchronized (_statsTracker)
+          {
+            _statsTracker.incrementIgnoredCreation();
+          }
+          // _poolSize also include the count of creation requests pending. So we have to make sure the pool size
+          // count is updated when we ignore the creation request.
+          for (int size = _poolSize.get(); size >= 1 && !_poolSize.compareAndSet(size, size - 1); size = _poolSize.get())
+          {
+          }
+          shutdownIfNeeded();
+          callback.onDone();
+          return;
+        }
+
+        // Lets not trust the _lifecycle to timely return a response here.
+        // Embedding the callback inside a timeout callback (ObjectCreationTimeoutCallback)
+        // to force a response within creationTimeout deadline to reclaim the object slot in the pool
+        _lifecycle.create(new TimeoutCallback<>(_timeoutExecutor, _creationTimeout, TimeUnit.MILLISECONDS, new Callback<T>() {
+          @Override
+          public void onSuccess(T t)
+          {
+            synchronized (_statsTracker)
+            {
+              _statsTracker.incrementCreated();
+            }
+            add(t);
+            callback.onDone();
+          }
+
+          @Override
+          public void onError(final Throwable e)
+          {
+            // Note we drain all waiters and cancel all pending creates if a create fails.
+            // When a create fails, rate-limiting logic will be applied.  In this case,
+            // we may be initiating creations at a lower rate than incoming requests.  While
+            // creations are suppressed, it is better to deny all waiters and let them see
+            // the real reason (this exception) rather than keep them around to eventually
+            // get an unhelpful timeout error
+            final Collection<Task> cancelledCreate = _rateLimiter.cancelPendingTasks();
+            synchronized (_statsTracker)
+            {
+              _statsTracker.incrementCreateErrors();
+            }
+            final Collection<Callback<T>> waitersDenied = cancelWaiters();
+
+            // reclaim the slot in the pool
+            boolean create = objectDestroyed(1 + cancelledCreate.size());
+
+            // lets fail all the waiters with the object creation error
+            for (Callback<T> denied : waitersDenied)
+            {
+              try
+              {
+                denied.onError(e);
+              }
+              catch (Exception ex)
+              {
+                LOG.error("Encountered error while invoking error waiter callback", ex);
+              }
+            }
+
+            // Now after cancelling all the pending tasks, lets make sure to back off on the creation
+            _rateLimiter.incrementPeriod();
+
+            // if we still need to create a new object, lets initiate that now
+            // since all waiters are cancelled, the only condition that makes this true is when the pool is below
+            // the min poolSize
+            if (create)
+            {
+              create();
+            }
+            LOG.debug(_poolName + ": object creation failed", e);
+            callback.onDone();
+          }
+        }, new ObjectCreationTimeoutException(
+            "Exceeded creation timeout of " + _creationTimeout + "ms: in Pool: "+ _poolName)));
+      }
+    });
+  }
+
+  private void timeoutObjects()
+  {
+    Collection<T> expiredObjects = getExpiredObjects();
+    if (expiredObjects.size() > 0)
+    {
+      LOG.debug("{}: disposing {} objects due to idle timeout", _poolName, expiredObjects.size());
+      for (T obj : expiredObjects)
+      {
+        destroy(obj, false);
+      }
+    }
+  }
+
+  private Collection<T> getExpiredObjects()
+  {
+    List<T> expiredObjects = new ArrayList<>();
+    long deadline = _clock.currentTimeMillis() - _idleTimeout;
+    int excess = _poolSize.get() - _minSize;
+    for (ConcurrentLinkedDeque<TimedObject> stripe : _idle)
+    {
+      for (TimedObject p; excess > 0 && (p = stripe.peekFirst()) != null && p.getTime() < deadline;)
+      {
+        int idle = _idleCount.get();
+        if (idle <= 0)
+        {
+          break;
+        }
+        if (!_idleCount.compareAndSet(idle, idle - 1))
+        {
+          continue;
+        }
+        if (stripe.removeFirstOccurrence(p))
+        {
+          expiredObjects.add(p.get());
+          excess--;
+        }
+        else
+        {
+          // Someone else polled the object first
+          _idleCount.incrementAndGet();
+        }
+      }
+    }
+    if (!expiredObjects.isEmpty())
+    {
+      synchronized (_statsTracker)
+      {
+        for (int i = 0; i < expiredObjects.size(); i++)
+        {
+          _statsTracker.incrementTimedOut();
+        }
+      }
+    }
+    return expiredObjects;
+  }
+
+  private void shutdownIfNeeded()
+  {
+    if (_state.get() == State.SHUTTING_DOWN)
+    {
+      // No waiter is enqueued and no idle object is polled while shutting down, and the idle count never
+      // exceeds the number of idle objects, so the shutdown cannot complete while an object is checked out
+      int waiters = _waiterCount.get();
+      int idle = _idleCount.get();
+      int poolSize = _poolSize.get();
+      if (waiters == 0 && idle == poolSize)
+      {
+        _state.compareAndSet(State.SHUTTING_DOWN, State.STOPPED);
+      }
+      else
+      {
+        LOG.info("{}: {} waiters and {} objects outstanding before shutdown", new Object[]{ _poolName, waiters, poolSize - idle });
+      }
+    }
+    // The shutdown callback may be set after another thread completed the shutdown, so whoever observes both
+    // completes it
+    if (_state.get() == State.STOPPED)
+    {
+      Callback<None> shutdown = _shutdownCallback.getAndSet(null);
+      if (shutdown != null)
+      {
+        finishShutdown(shutdown);
+      }
+    }
+  }
+
+  private void finishShutdown(Callback<None> shutdown)
+  {
+    ScheduledFuture<?> future = _objectTimeoutFuture;
+    if (future != null)
+    {
+      future.cancel(false);
+    }
+
+    LOG.info("{}: {}", _poolName, "shutdown complete");
+
+    shutdown.onSuccess(None.none());
+  }
+
+  private class TimedObject
+  {
+    private final T _obj;
+    private final long _time;
+
+    public TimedObject(T obj)
+    {
+      _obj = obj;
+      _time = _clock.currentTimeMillis();
+    }
+
+    public T get()
+    {
+      return _obj;
+    }
+
+    public long getTime()
+    {
+      return _time;
+    }
+  }
+
+  private class WaiterTimeoutCallback implements Callback<T>
+  {
+    private final SingleTimeout<Callback<T>> _timeout;
+
+    private WaiterTimeoutCallback(final Callback<T> callback)
+    {
+      _timeout = new SingleTimeout<>(_timeoutExecutor, _waiterTimeout, TimeUnit.MILLISECONDS, callback, (callbackIfTimeout) -> {
+        if (removeWaiter(this))
+        {
+          shutdownIfNeeded();
+        }
+        synchronized (_statsTracker)
+        {
+          _statsTracker.incrementWaiterTimedOut();
+        }
+        LOG.debug("{}: failing waiter due to waiter timeout", _poolName);
+        callbackIfTimeout.onError(
+            new WaiterTimeoutException(
+                "Exceeded waiter timeout of " + _waiterTimeout + "ms: in Pool: "+ _poolName));
+      });
+    }
+
+    @Override
+    public void onError(Throwable e)
+    {
+      Callback<T> callback = _timeout.getItem();
+      if (callback != null)
+      {
+        callback.onError(e);
+      }
+    }
+
+    @Override
+    public void onSuccess(T result)
+    {
+      Callback<T> callback = _timeout.getItem();
+      if (callback != null)
+      {
+        callback.onSuccess(result);
+      }
+    }
+  }
+
+  private class TimeTrackingCallback implements Callback<T>
+  {
+    private final long _startTime;
+    private final Callback<T> _callback;
+
+    public TimeTrackingCallback(Callback<T> callback)
+    {
+      _callback = callback;
+      _startTime = _clock.currentTimeMillis();
+    }
+
+    @Override
+    public void onError(Throwable e)
+    {
+      trackWaitTime(_clock.currentTimeMillis() - _startTime);
+      _callback.onError(e);
+    }
+
+    @Override
+    public void onSuccess(T result)
+    {
+      trackWaitTime(_clock.currentTimeMillis() - _startTime);
+      _callback.onSuccess(result);
+    }
+  }
+
+  private void trackWaitTime(long waitTime)
+  {
+    samplePeak(_peakWaitTime, waitTime);
+    if (_trackWaitTime)
+    {
+      synchronized (_statsTracker)
+      {
+        _statsTracker.trackWaitTime(waitTime);
+      }
+    }
+  }
+
+  private void trc(Object toLog)
+  {
+    LOG.trace("{}: {}", _poolName, toLog);
+  }
+}
@@ -0,0 +1,388 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package test.r2.transport.http.client;
+
+import com.linkedin.common.callback.FutureCallback;
+import com.linkedin.common.stats.NoopLongTracker;
+import com.linkedin.common.util.None;
+import com.linkedin.r2.SizeLimitExceededException;
+import com.linkedin.r2.transport.http.client.AsyncPool;
+import com.linkedin.r2.transport.http.client.AsyncPoolImpl;
+import com.linkedin.r2.transport.http.client.ConcurrentAsyncPoolImpl;
+import com.linkedin.r2.transport.http.client.NoopRateLimiter;
+import com.linkedin.r2.transport.http.client.PoolStats;
+import com.linkedin.r2.util.Cancellable;
+import com.linkedin.util.clock.SystemClock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+import test.r2.transport.http.client.TestAsyncPool.SynchronousLifecycle;
+import test.r2.transport.http.client.TestAsyncPool.UnreliableLifecycle;
+
+
+/**
+ * Tests the {@link AsyncPool} contract of {@link ConcurrentAsyncPoolImpl}.
+ */
+public class TestConcurrentAsyncPoolImpl
+{
+  private final ScheduledExecutorService _executor = Executors.newSingleThreadScheduledExecutor();
+
+  @AfterClass
+  public void stopExecutor()
+  {
+    _executor.shutdown();
+  }
+
+  private <T> AsyncPool<T> createPool(AsyncPool.Lifecycle<T> lifecycle, int maxSize, long idleTimeout, int maxWaiters,
+      AsyncPoolImpl.Strategy strategy, int minSize)
+  {
+    return new ConcurrentAsyncPoolImpl<>("object pool", lifecycle, maxSize, idleTimeout, Integer.MAX_VALUE, _executor,
+        maxWaiters, strategy, minSize, new NoopRateLimiter(), SystemClock.instance(), NoopLongTracker.instance());
+  }
+
+  private <T> AsyncPool<T> createPool(AsyncPool.Lifecycle<T> lifecycle, int maxSize)
+  {
+    return createPool(lifecycle, maxSize, 100, Integer.MAX_VALUE, AsyncPoolImpl.Strategy.MRU, 0);
+  }
+
+  @Test
+  public void testMustStart() throws Exception
+  {
+    AsyncPool<Object> pool = createPool(new SynchronousLifecycle(), 1);
+    FutureCallback<Object> cb = new FutureCallback<>();
+    pool.get(cb);
+    try
+    {
+      cb.get(30, TimeUnit.SECONDS);
+      Assert.fail("Get succeeded on pool not yet started");
+    }
+    catch (ExecutionException e)
+    {
+      Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+  }
+
+  @Test
+  public void testReuse() throws Exception
+  {
+    SynchronousLifecycle lifecycle = new SynchronousLifecycle();
+    AsyncPool<Object> pool = createPool(lifecycle, 1);
+    pool.start();
+
+    FutureCallback<Object> cb = new FutureCallback<>();
+    pool.get(cb);
+    Object obj = cb.get();
+    pool.put(obj);
+
+    cb = new FutureCallback<>();
+    pool.get(cb);
+    Assert.assertSame(cb.get(), obj);
+    Assert.assertEquals(lifecycle.getLive(), 1);
+  }
+
+  @Test
+  public void testMaxSize() throws Exception
+  {
+    final int ITERATIONS = 1000;
+    final int THREADS = 64;
+    final int POOL_SIZE = 8;
+    SynchronousLifecycle lifecycle = new SynchronousLifecycle();
+    final AsyncPool<Object> pool = createPool(lifecycle, POOL_SIZE);
+    pool.start();
+
+    final AtomicBoolean failed = new AtomicBoolean(false);
+    Runnable r = () ->
+    {
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+        FutureCallback<Object> cb = new FutureCallback<>();
+        pool.get(cb);
+        try
+        {
+          pool.put(cb.get(30, TimeUnit.SECONDS));
+        }
+        catch (Exception e)
+        {
+          failed.set(true);
+          return;
+        }
+      }
+    };
+    List<Thread> threads = new ArrayList<>(THREADS);
+    for (int i = 0; i < THREADS; i++)
+    {
+      Thread t = new Thread(r);
+      t.start();
+      threads.add(t);
+    }
+    for (Thread t : threads)
+    {
+      t.join();
+    }
+
+    Assert.assertFalse(failed.get(), "A checkout failed or was never served");
+    Assert.assertTrue(lifecycle.getHighWaterMark() <= POOL_SIZE, "High water mark exceeded " + POOL_SIZE);
+    PoolStats stats = pool.getStats();
+    Assert.assertEquals(stats.getCheckedOut(), 0);
+    Assert.assertEquals(stats.getIdleCount(), stats.getPoolSize());
+    Assert.assertTrue(stats.getSampleMaxPoolSize() <= POOL_SIZE);
+
+    FutureCallback<None> shutdown = new FutureCallback<>();
+    pool.shutdown(shutdown);
+    shutdown.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testShutdown() throws Exception
+  {
+    final int POOL_SIZE = 25;
+    AsyncPool<Object> pool = createPool(new SynchronousLifecycle(), POOL_SIZE);
+    pool.start();
+
+    List<Object> objects = new ArrayList<>(POOL_SIZE);
+    for (int i = 0; i < POOL_SIZE; i++)
+    {
+      FutureCallback<Object> cb = new FutureCallback<>();
+      pool.get(cb);
+      objects.add(cb.get());
+    }
+    FutureCallback<None> shutdown = new FutureCallback<>();
+    pool.shutdown(shutdown);
+
+    for (Object o : objects)
+    {
+      Assert.assertFalse(shutdown.isDone(), "Pool shutdown with objects checked out");
+      pool.put(o);
+    }
+    shutdown.get(5, TimeUnit.SECONDS);
+
+    FutureCallback<Object> cb = new FutureCallback<>();
+    pool.get(cb);
+    try
+    {
+      cb.get(5, TimeUnit.SECONDS);
+      Assert.fail("Get succeeded on pool shut down");
+    }
+    catch (ExecutionException e)
+    {
+      Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+  }
+
+  @Test
+  public void testCancelTriggerShutdown() throws Exception
+  {
+    AsyncPool<Object> pool = createPool(new SynchronousLifecycle(), 1);
+    pool.start();
+
+    FutureCallback<Object> callback1 = new FutureCallback<>();
+    pool.get(callback1);
+
+    FutureCallback<Object> callback2 = new FutureCallback<>();
+    Cancellable cancellable2 = pool.get(callback2);
+
+    FutureCallback<None> shutdownCallback = new FutureCallback<>();
+    pool.shutdown(shutdownCallback);
+
+    // The pool has no outstanding checkouts but still one waiter
+    pool.dispose(callback1.get(5, TimeUnit.SECONDS));
+    Assert.assertFalse(shutdownCallback.isDone());
+
+    Assert.assertTrue(cancellable2.cancel());
+    shutdownCallback.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testWaiterIsServedByPut() throws Exception
+  {
+    AsyncPool<Object> pool = createPool(new SynchronousLifecycle(), 1);
+    pool.start();
+
+    FutureCallback<Object> callback1 = new FutureCallback<>();
+    pool.get(callback1);
+    Object obj = callback1.get(5, TimeUnit.SECONDS);
+
+    FutureCallback<Object> callback2 = new FutureCallback<>();
+    pool.get(callback2);
+    Assert.assertFalse(callback2.isDone());
+
+    pool.put(obj);
+    Assert.assertSame(callback2.get(5, TimeUnit.SECONDS), obj);
+  }
+
+  @Test
+  public void testMaxWaiters() throws Exception
+  {
+    AsyncPool<Object> pool = createPool(new SynchronousLifecycle(), 1, 100, 1, AsyncPoolImpl.Strategy.MRU, 0);
+    pool.start();
+
+    FutureCallback<Object> callback1 = new FutureCallback<>();
+    pool.get(callback1);
+    callback1.get(5, TimeUnit.SECONDS);
+
+    FutureCallback<Object> callback2 = new FutureCallback<>();
+    pool.get(callback2);
+
+    FutureCallback<Object> callback3 = new FutureCallback<>();
+    pool.get(callback3);
+    try
+    {
+      callback3.get(5, TimeUnit.SECONDS);
+      Assert.fail("Get succeeded with the waiter queue full");
+    }
+    catch (ExecutionException e)
+    {
+      Assert.assertTrue(e.getCause() instanceof SizeLimitExceededException);
+    }
+    Assert.assertFalse(callback2.isDone());
+  }
+
+  @Test
+  public void testLRU() throws Exception
+  {
+    final int POOL_SIZE = 25;
+    final int GET = 15;
+    AsyncPool<Object> pool = createPool(new SynchronousLifecycle(), POOL_SIZE, 1000, Integer.MAX_VALUE,
+        AsyncPoolImpl.Strategy.LRU, 0);
+    pool.start();
+
+    List<Object> objects = new ArrayList<>();
+    for (int i = 0; i < GET; i++)
+    {
+      FutureCallback<Object> cb = new FutureCallback<>();
+      pool.get(cb);
+      objects.add(cb.get());
+    }
+    for (Object object : objects)
+    {
+      pool.put(object);
+    }
+
+    // objects put back by the same thread are got back in FIFO order
+    for (int i = 0; i < GET; i++)
+    {
+      FutureCallback<Object> cb = new FutureCallback<>();
+      pool.get(cb);
+      Assert.assertSame(cb.get(), objects.get(i));
+    }
+  }
+
+  @Test
+  public void testMinSize() throws Exception
+  {
+    final int POOL_SIZE = 25;
+    final int MIN_SIZE = 15;
+    final int GET = 20;
+    final int DELAY = 1200;
+
+    for (AsyncPoolImpl.Strategy strategy : AsyncPoolImpl.Strategy.values())
+    {
+      SynchronousLifecycle lifecycle = new SynchronousLifecycle();
+      AsyncPool<Object> pool = createPool(lifecycle, POOL_SIZE, 100, Integer.MAX_VALUE, strategy, MIN_SIZE);
+      pool.start();
+
+      Assert.assertEquals(lifecycle.getLive(), MIN_SIZE);
+
+      List<Object> objects = new ArrayList<>();
+      for (int i = 0; i < GET; i++)
+      {
+        FutureCallback<Object> cb = new FutureCallback<>();
+        pool.get(cb);
+        objects.add(cb.get());
+      }
+      Assert.assertEquals(lifecycle.getLive(), GET);
+      for (Object object : objects)
+      {
+        pool.put(object);
+      }
+
+      Thread.sleep(DELAY);
+
+      Assert.assertEquals(lifecycle.getLive(), MIN_SIZE);
+      Assert.assertEquals(pool.getStats().getTotalTimedOut(), GET - MIN_SIZE);
+    }
+  }
+
+  @Test
+  public void testGetStatsWithErrors() throws Exception
+  {
+    final int POOL_SIZE = 25;
+    final int GET = 20;
+    final int PUT_BAD = 5;
+    final int DISPOSE = 7;
+    final int CREATE_BAD = 9;
+
+    UnreliableLifecycle lifecycle = new UnreliableLifecycle();
+    AsyncPool<AtomicBoolean> pool = createPool(lifecycle, POOL_SIZE);
+    pool.start();
+
+    List<AtomicBoolean> objects = new ArrayList<>();
+    for (int i = 0; i < GET; i++)
+    {
+      FutureCallback<AtomicBoolean> cb = new FutureCallback<>();
+      pool.get(cb);
+      objects.add(cb.get());
+    }
+    PoolStats stats = pool.getStats();
+    Assert.assertEquals(stats.getTotalCreated(), GET);
+    Assert.assertEquals(stats.getCheckedOut(), GET);
+    Assert.assertEquals(stats.getSampleMaxCheckedOut(), GET);
+
+    lifecycle.setFail(true);
+    for (int i = 0; i < PUT_BAD; i++)
+    {
+      AtomicBoolean obj = objects.remove(objects.size() - 1);
+      obj.set(false);
+      pool.put(obj);
+    }
+    for (int i = 0; i < DISPOSE; i++)
+    {
+      pool.dispose(objects.remove(objects.size() - 1));
+    }
+    stats = pool.getStats();
+    Assert.assertEquals(stats.getTotalDestroyed(), 0);
+    Assert.assertEquals(stats.getTotalDestroyErrors(), PUT_BAD + DISPOSE);
+    Assert.assertEquals(stats.getTotalBadDestroyed(), PUT_BAD + DISPOSE);
+
+    // creation errors are reported to the waiters
+    for (int i = 0; i < CREATE_BAD; i++)
+    {
+      FutureCallback<AtomicBoolean> cb = new FutureCallback<>();
+      pool.get(cb);
+      try
+      {
+        cb.get(5, TimeUnit.SECONDS);
+        Assert.fail("Get succeeded with a failing lifecycle");
+      }
+      catch (ExecutionException e)
+      {
+        // this error is expected
+      }
+    }
+    stats = pool.getStats();
+    Assert.assertEquals(stats.getCheckedOut(), GET - PUT_BAD - DISPOSE);
+    Assert.assertEquals(stats.getTotalCreateErrors(), CREATE_BAD);
+    Assert.assertEquals(stats.getPoolSize(), GET - PUT_BAD - DISPOSE);
+  }
+}
@@ -0,0 +1,335 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package test.r2.integ.clientserver;
+
+import com.linkedin.common.callback.Callback;
+import com.linkedin.common.callback.FutureCallback;
+import com.linkedin.common.util.None;
+import com.linkedin.data.ByteString;
+import com.linkedin.r2.message.Messages;
+import com.linkedin.r2.message.RequestContext;
+import com.linkedin.r2.message.rest.RestException;
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestRequestBuilder;
+import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.r2.message.rest.RestStatus;
+import com.linkedin.r2.message.stream.StreamRequest;
+import com.linkedin.r2.message.stream.StreamRequestBuilder;
+import com.linkedin.r2.message.stream.StreamResponse;
+import com.linkedin.r2.message.stream.StreamResponseBuilder;
+import com.linkedin.r2.message.stream.entitystream.DrainReader;
+import com.linkedin.r2.message.stream.entitystream.EntityStreams;
+import com.linkedin.r2.transport.common.StreamRequestHandler;
+import com.linkedin.r2.transport.common.bridge.server.TransportDispatcher;
+import com.linkedin.r2.transport.common.bridge.server.TransportDispatcherBuilder;
+import com.linkedin.r2.transport.http.client.HttpClientFactory;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Factory;
+import org.testng.annotations.Test;
+import test.r2.integ.clientserver.providers.AbstractServiceTest;
+import test.r2.integ.clientserver.providers.ClientServerConfiguration;
+import test.r2.integ.clientserver.providers.client.ClientProvider;
+import test.r2.integ.clientserver.providers.server.Http2NettyServerProvider;
+import test.r2.integ.clientserver.providers.server.ServerProvider;
+import test.r2.integ.helper.BytesReader;
+import test.r2.integ.helper.BytesWriter;
+import test.r2.integ.helper.EchoHandler;
+
+
+/**
+ * Drives the Netty server in streaming mode with the R2 HTTP/1.1 and HTTP/2 stream clients over HTTP/1.1,
+ * h2c upgrade and h2 through ALPN, and with a plain Netty client using HTTP/2 prior knowledge. The entities
+ * are larger than the 1 MB limit of the aggregating server pipeline.
+ */
+public class TestHttpNettyStreamServer extends AbstractServiceTest
+{
+  private static final URI ECHO_URI = URI.create("/echo");
+  private static final URI LARGE_REQUEST_URI = URI.create("/large-request");
+  private static final URI LARGE_RESPONSE_URI = URI.create("/large-response");
+
+  private CheckRequestHandler _checkRequestHandler;
+
+  @Factory(dataProvider = "allNettyStreamCombinations", dataProviderClass = ClientServerConfiguration.class)
+  public TestHttpNettyStreamServer(ClientProvider clientProvider, ServerProvider serverProvider, int port)
+  {
+    super(clientProvider, serverProvider, port);
+  }
+
+  @Override
+  protected TransportDispatcher getTransportDispatcher()
+  {
+    _checkRequestHandler = new CheckRequestHandler(BYTE);
+    return new TransportDispatcherBuilder()
+        .addRestHandler(ECHO_URI, new EchoHandler())
+        .addStreamHandler(LARGE_REQUEST_URI, _checkRequestHandler)
+        .addStreamHandler(LARGE_RESPONSE_URI, new BytesWriterRequestHandler(BYTE, SMALL_BYTES_NUM))
+        .build();
+  }
+
+  @Override
+  protected Map<String, Object> getHttpClientProperties()
+  {
+    Map<String, Object> clientProperties = new HashMap<>();
+    clientProperties.put(HttpClientFactory.HTTP_MAX_RESPONSE_SIZE, String.valueOf(SMALL_BYTES_NUM * 2));
+    clientProperties.put(HttpClientFactory.HTTP_REQUEST_TIMEOUT, "60000");
+    return clientProperties;
+  }
+
+  @Test
+  public void testEcho() throws Exception
+  {
+    final ByteString entity = ByteString.copyString("hello", StandardCharsets.UTF_8);
+    final RestRequest request = new RestRequestBuilder(getHttpUri(ECHO_URI)).setMethod("POST").setEntity(entity).build();
+
+    final FutureCallback<RestResponse> callback = new FutureCallback<>();
+    _client.restRequest(request, callback);
+    final RestResponse response = callback.get(60, TimeUnit.SECONDS);
+
+    Assert.assertEquals(response.getStatus(), RestStatus.OK);
+    Assert.assertEquals(response.getEntity(), entity);
+  }
+
+  @Test
+  public void testLargeRequest() throws Exception
+  {
+    final StreamRequest request = new StreamRequestBuilder(getHttpUri(LARGE_REQUEST_URI)).setMethod("POST")
+        .build(EntityStreams.newEntityStream(new BytesWriter(SMALL_BYTES_NUM, BYTE)));
+
+    final FutureCallback<StreamResponse> callback = new FutureCallback<>();
+    _client.streamRequest(request, callback);
+    final StreamResponse response = callback.get(60, TimeUnit.SECONDS);
+    response.getEntityStream().setReader(new DrainReader());
+
+    Assert.assertEquals(response.getStatus(), RestStatus.OK);
+    final BytesReader reader = _checkRequestHandler.getReader();
+    Assert.assertNotNull(reader);
+    Assert.assertEquals(reader.getTotalBytes(), SMALL_BYTES_NUM);
+    Assert.assertTrue(reader.allBytesCorrect());
+  }
+
+  @Test
+  public void testLargeResponse() throws Exception
+  {
+    final StreamRequest request = new StreamRequestBuilder(getHttpUri(LARGE_RESPONSE_URI))
+        .build(EntityStreams.emptyStream());
+
+    final AtomicInteger status = new AtomicInteger(-1);
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    final CountDownLatch latch = new CountDownLatch(1);
+    final BytesReader reader = new BytesReader(BYTE, new Callback<None>()
+    {
+      @Override
+      public void onError(Throwable e)
+      {
+        error.set(e);
+        latch.countDown();
+      }
+
+      @Override
+      public void onSuccess(None result)
+      {
+        latch.countDown();
+      }
+    });
+    _client.streamRequest(request, new Callback<StreamResponse>()
+    {
+      @Override
+      public void onError(Throwable e)
+      {
+        error.set(e);
+        latch.countDown();
+      }
+
+      @Override
+      public void onSuccess(StreamResponse result)
+      {
+        status.set(result.getStatus());
+        result.getEntityStream().setReader(reader);
+      }
+    });
+
+    Assert.assertTrue(latch.await(60, TimeUnit.SECONDS));
+    Assert.assertNull(error.get());
+    Assert.assertEquals(status.get(), RestStatus.OK);
+    Assert.assertEquals(reader.getTotalBytes(), SMALL_BYTES_NUM);
+    Assert.assertTrue(reader.allBytesCorrect());
+  }
+
+  @Test
+  public void testHttp2PriorKnowledge() throws Exception
+  {
+    if (!(_serverProvider instanceof Http2NettyServerProvider))
+    {
+      throw new SkipException("HTTP/2 prior knowledge is only accepted by the clear text HTTP/2 server");
+    }
+
+    final EventLoopGroup eventLoopGroup = new NioEventLoopGroup(1);
+    try
+    {
+      final Channel channel = new Bootstrap()
+          .group(eventLoopGroup)
+          .channel(NioSocketChannel.class)
+          .handler(new ChannelInitializer<Channel>()
+          {
+            @Override
+            protected void initChannel(Channel ch)
+            {
+              // Starts HTTP/2 with the connection preface, without an upgrade request
+              ch.pipeline().addLast(Http2FrameCodecBuilder.forClient().build());
+              ch.pipeline().addLast(new Http2MultiplexHandler(new SimpleChannelInboundHandler<Object>()
+              {
+                @Override
+                protected void channelRead0(ChannelHandlerContext ctx, Object msg)
+                {
+                }
+              }));
+            }
+          })
+          .connect("localhost", _port).sync().channel();
+
+      final CompletableFuture<FullHttpResponse> responseFuture = new CompletableFuture<>();
+      final Http2StreamChannel streamChannel = new Http2StreamChannelBootstrap(channel)
+          .handler(new ChannelInitializer<Channel>()
+          {
+            @Override
+            protected void initChannel(Channel ch)
+            {
+              ch.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(false));
+              ch.pipeline().addLast(new HttpObjectAggregator((int) TINY_BYTES_NUM));
+              ch.pipeline().addLast(new SimpleChannelInboundHandler<FullHttpResponse>()
+              {
+                @Override
+                protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse msg)
+                {
+                  responseFuture.complete(msg.retainedDuplicate());
+                }
+              });
+            }
+          })
+          .open().sync().getNow();
+
+      final FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST,
+          ECHO_URI.toString(), Unpooled.copiedBuffer("hello", StandardCharsets.UTF_8));
+      request.headers().set(HttpHeaderNames.HOST, "localhost:" + _port);
+      HttpUtil.setContentLength(request, request.content().readableBytes());
+      streamChannel.writeAndFlush(request).sync();
+
+      final FullHttpResponse response = responseFuture.get(60, TimeUnit.SECONDS);
+      try
+      {
+        Assert.assertEquals(response.status().code(), RestStatus.OK);
+        Assert.assertEquals(response.content().toString(StandardCharsets.UTF_8), "hello");
+      }
+      finally
+      {
+        response.release();
+      }
+      channel.close().sync();
+    }
+    finally
+    {
+      eventLoopGroup.shutdownGracefully().sync();
+    }
+  }
+
+  private static class CheckRequestHandler implements StreamRequestHandler
+  {
+    private final byte _b;
+    private volatile BytesReader _reader;
+
+    CheckRequestHandler(byte b)
+    {
+      _b = b;
+    }
+
+    @Override
+    public void handleRequest(StreamRequest request, RequestContext requestContext, final Callback<StreamResponse> callback)
+    {
+      _reader = new BytesReader(_b, new Callback<None>()
+      {
+        @Override
+        public void onError(Throwable e)
+        {
+          callback.onError(new RestException(RestStatus.responseForError(RestStatus.INTERNAL_SERVER_ERROR, e)));
+        }
+
+        @Override
+        public void onSuccess(None result)
+        {
+          callback.onSuccess(Messages.toStreamResponse(RestStatus.responseForStatus(RestStatus.OK, "")));
+        }
+      });
+      request.getEntityStream().setReader(_reader);
+    }
+
+    BytesReader getReader()
+    {
+      return _reader;
+    }
+  }
+
+  private static class BytesWriterRequestHandler implements StreamRequestHandler
+  {
+    private final byte _b;
+    private final long _bytesNum;
+
+    BytesWriterRequestHandler(byte b, long bytesNum)
+    {
+      _b = b;
+      _bytesNum = bytesNum;
+    }
+
+    @Override
+    public void handleRequest(StreamRequest request, RequestContext requestContext, Callback<StreamResponse> callback)
+    {
+      request.getEntityStream().setReader(new DrainReader());
+      callback.onSuccess(new StreamResponseBuilder().build(EntityStreams.newEntityStream(new BytesWriter(_bytesNum, _b))));
+    }
+  }
+}
@@ -16,6 +16,7 @@
 
 package test.r2.integ.clientserver.providers;
 
+import io.netty.handler.ssl.SslProvider;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -81,6 +82,22 @@ public class ClientServerConfiguration
     return filteredStreamCombinations;
   }
 
+  /**
+   * Stream clients against the Netty server in streaming mode. HTTP/2 over TLS is only included when the
+   * JDK supports ALPN.
+   */
+  @DataProvider
+  public static Object[][] allNettyStreamCombinations()
+  {
+    Object[][] combinations = ArrayUtils.addAll(allHttp1NettyStream(), allHttp2NettyStream());
+    combinations = ArrayUtils.addAll(combinations, allHttps1NettyStream());
+    if (SslProvider.isAlpnSupported(SslProvider.JDK))
+    {
+      combinations = ArrayUtils.addAll(combinations, allHttps2NettyStream());
+    }
+    return combinations;
+  }
+
   @DataProvider
   public static Object[][] allRestCombinations()
   {
@@ -230,6 +247,30 @@ public class ClientServerConfiguration
     return combinations(ClientsProviderConfiguration.allHttps2RestClient(), ServerProviderConfiguration.allHttps2RestServer());
   }
 
+  @DataProvider
+  public static Object[][] allHttp1NettyStream()
+  {
+    return combinations(ClientsProviderConfiguration.allHttp1StreamClient(), ServerProviderConfiguration.allHttp1NettyStreamServer());
+  }
+
+  @DataProvider
+  public static Object[][] allHttp2NettyStream()
+  {
+    return combinations(ClientsProviderConfiguration.allHttp2StreamClient(), ServerProviderConfiguration.allHttp2NettyStreamServer());
+  }
+
+  @DataProvider
+  public static Object[][] allHttps1NettyStream()
+  {
+    return combinations(ClientsProviderConfiguration.allHttps1StreamClient(), ServerProviderConfiguration.allHttps1NettyStreamServer());
+  }
+
+  @DataProvider
+  public static Object[][] allHttps2NettyStream()
+  {
+    return combinations(ClientsProviderConfiguration.allHttps2StreamClient(), ServerProviderConfiguration.allHttps2NettyStreamServer());
+  }
+
 
   // ############ utils ############
   static int PORT = 15001;
@@ -27,29 +27,51 @@ import com.linkedin.r2.transport.http.server.HttpNettyServerBuilder;
 
 public class Http1NettyServerProvider implements ServerProvider
 {
-  public Http1NettyServerProvider(){}
+  private final boolean _streaming;
+  private final boolean _http2;
+
+  public Http1NettyServerProvider()
+  {
+    this(false);
+  }
+
+  public Http1NettyServerProvider(boolean streaming)
+  {
+    this(streaming, false);
+  }
+
+  protected Http1NettyServerProvider(boolean streaming, boolean http2)
+  {
+    _streaming = streaming;
+    _http2 = http2;
+  }
 
   @Override
   public Server createServer(FilterChain filters, int port)
   {
     final TransportDispatcher dispatcher = getTransportDispatcher();
 
-    return new HttpNettyServerBuilder().filters(filters).port(port).transportDispatcher(dispatcher).build();
+    return newServerBuilder().filters(filters).port(port).transportDispatcher(dispatcher).build();
   }
 
   @Override
   public Server createServer(FilterChain filters, int port, TransportDispatcher dispatcher) throws Exception
   {
-    return new HttpNettyServerBuilder().filters(filters).port(port).transportDispatcher(dispatcher).build();
+    return newServerBuilder().filters(filters).port(port).transportDispatcher(dispatcher).build();
   }
 
   @Override
   public Server createServer(ServerCreationContext context)
   {
-    return new HttpNettyServerBuilder().filters(context.getFilterChain()).port(context.getPort()).
+    return newServerBuilder().filters(context.getFilterChain()).port(context.getPort()).
         transportDispatcher(context.getTransportDispatcher()).build();
   }
 
+  private HttpNettyServerBuilder newServerBuilder()
+  {
+    return NettyServerProviderUtil.newServerBuilder(_streaming, _http2);
+  }
+
   protected TransportDispatcher getTransportDispatcher()
   {
     return new TransportDispatcherBuilder()
@@ -60,6 +82,6 @@ public class Http1NettyServerProvider implements ServerProvider
   @Override
   public String toString()
   {
-    return "[" + getClass().getName() + "]";
+    return "[" + getClass().getName() + ", stream=" + _streaming + ", http2=" + _http2 + "]";
   }
 }
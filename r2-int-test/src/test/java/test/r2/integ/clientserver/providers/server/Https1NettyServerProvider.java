@@ -23,14 +23,28 @@ import com.linkedin.r2.sample.echo.rest.RestEchoServer;
 import com.linkedin.r2.transport.common.Server;
 import com.linkedin.r2.transport.common.bridge.server.TransportDispatcher;
 import com.linkedin.r2.transport.common.bridge.server.TransportDispatcherBuilder;
-import com.linkedin.r2.transport.http.server.HttpNettyServerBuilder;
 import java.io.IOException;
 import test.r2.integ.clientserver.providers.common.SslContextUtil;
 
 public class Https1NettyServerProvider implements ServerProvider
 {
+  private final boolean _streaming;
+  private final boolean _http2;
+
   public Https1NettyServerProvider()
   {
+    this(false);
+  }
+
+  public Https1NettyServerProvider(boolean streaming)
+  {
+    this(streaming, false);
+  }
+
+  protected Https1NettyServerProvider(boolean streaming, boolean http2)
+  {
+    _streaming = streaming;
+    _http2 = http2;
   }
 
   @Override
@@ -43,12 +57,14 @@ public class Https1NettyServerProvider implements ServerProvider
   @Override
   public Server createServer(FilterChain filters, int port, TransportDispatcher dispatcher) throws Exception
   {
-    Server httpServer = new Http1NettyServerProvider().createServer(filters, SslContextUtil.getHttpPortFromHttps(port));
-    Server httpsServer = new HttpNettyServerBuilder()
+    Server httpServer = new Http1NettyServerProvider(_streaming, _http2)
+        .createServer(filters, SslContextUtil.getHttpPortFromHttps(port));
+    Server httpsServer = NettyServerProviderUtil.newServerBuilder(_streaming, _http2)
         .port(port)
         .filters(filters)
         .transportDispatcher(dispatcher)
-        .sslContext(SslContextUtil.getContext()).build();
+        .sslContext(SslContextUtil.getContext())
+        .sslParameters(_streaming ? SslContextUtil.getSSLParameters() : null).build();
 
     // start both an http and https server
     return new HttpAndHttpsServer(httpServer, httpsServer);
@@ -76,7 +92,7 @@ public class Https1NettyServerProvider implements ServerProvider
   @Override
   public String toString()
   {
-    return "[" + getClass().getName() + "]";
+    return "[" + getClass().getName() + ", stream=" + _streaming + ", http2=" + _http2 + "]";
   }
 
   private class HttpAndHttpsServer implements Server
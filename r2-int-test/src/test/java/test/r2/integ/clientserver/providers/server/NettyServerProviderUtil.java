@@ -0,0 +1,45 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package test.r2.integ.clientserver.providers.server;
+
+import com.linkedin.r2.transport.http.server.HttpNettyServerBuilder;
+
+
+/**
+ * Creates the {@link HttpNettyServerBuilder} shared by the Netty server providers.
+ */
+final class NettyServerProviderUtil
+{
+  /**
+   * Maximum request entity length accepted by the streaming servers, large enough for the large entity tests.
+   */
+  static final long STREAMING_MAX_CONTENT_LENGTH = 1024L * 1024 * 1024 * 2;
+
+  private NettyServerProviderUtil()
+  {
+  }
+
+  static HttpNettyServerBuilder newServerBuilder(boolean streaming, boolean http2)
+  {
+    final HttpNettyServerBuilder builder = new HttpNettyServerBuilder();
+    if (streaming)
+    {
+      builder.streamingEnabled(true).http2Enabled(http2).maxContentLength(STREAMING_MAX_CONTENT_LENGTH);
+    }
+    return builder;
+  }
+}
@@ -141,4 +141,33 @@ public class ServerProviderConfiguration
     );
   }
 
+  public static List<ServerProvider> allHttp1NettyStreamServer()
+  {
+    return Arrays.asList(
+        new Http1NettyServerProvider(true),
+        new Http2NettyServerProvider()
+    );
+  }
+
+  public static List<ServerProvider> allHttp2NettyStreamServer()
+  {
+    return Arrays.asList(
+        new Http2NettyServerProvider()
+    );
+  }
+
+  public static List<ServerProvider> allHttps1NettyStreamServer()
+  {
+    return Arrays.asList(
+        new Https1NettyServerProvider(true),
+        new Https2NettyServerProvider()
+    );
+  }
+
+  public static List<ServerProvider> allHttps2NettyStreamServer()
+  {
+    return Arrays.asList(
+        new Https2NettyServerProvider()
+    );
+  }
 }
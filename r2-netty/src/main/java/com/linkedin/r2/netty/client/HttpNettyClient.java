@@ -200,7 +200,30 @@ public class HttpNettyClient implements TransportClient
     }
   }
 
+  @Override
+  public void warmUpConnections(URI uri, Callback<None> callback)
+  {
+    final NettyClientState state = _state.get();
+    if (state != NettyClientState.RUNNING)
+    {
+      callback.onError(new IllegalStateException("Client is not running"));
+      return;
+    }
 
+    final SocketAddress address;
+    try
+    {
+      address = resolveAddress(uri);
+    }
+    catch (UnknownHostException | UnknownSchemeException e)
+    {
+      callback.onError(e);
+      return;
+    }
+
+    final ChannelPoolManager channelPoolManager = HTTPS_SCHEME.equals(uri.getScheme()) ? _sslChannelPoolManager : _channelPoolManager;
+    channelPoolManager.warmUpPool(address, callback);
+  }
 
   @Override
   public void shutdown(Callback<None> callback)
@@ -539,7 +562,21 @@ public class HttpNettyClient implements TransportClient
   public static SocketAddress resolveAddress(Request request, RequestContext requestContext)
       throws UnknownHostException, UnknownSchemeException
   {
-    final URI uri = request.getURI();
+    final InetSocketAddress address = resolveAddress(request.getURI());
+    requestContext.putLocalAttr(R2Constants.REMOTE_SERVER_ADDR, address.getAddress().getHostAddress());
+    requestContext.putLocalAttr(R2Constants.REMOTE_SERVER_PORT, address.getPort());
+
+    return address;
+  }
+
+  /**
+   * Resolves the IP Address from the URI host
+   *
+   * @param uri URI of the host
+   * @return InetSocketAddress resolved from the URI host
+   */
+  public static InetSocketAddress resolveAddress(URI uri) throws UnknownHostException, UnknownSchemeException
+  {
     final String scheme = uri.getScheme();
 
     if (!HTTP_SCHEME.equalsIgnoreCase(scheme) && !HTTPS_SCHEME.equalsIgnoreCase(scheme))
@@ -556,10 +593,6 @@ public class HttpNettyClient implements TransportClient
 
     // TODO investigate DNS resolution and timing
     final InetAddress inetAddress = InetAddress.getByName(host);
-    final SocketAddress address = new InetSocketAddress(inetAddress, port);
-    requestContext.putLocalAttr(R2Constants.REMOTE_SERVER_ADDR, inetAddress.getHostAddress());
-    requestContext.putLocalAttr(R2Constants.REMOTE_SERVER_PORT, port);
-
-    return address;
+    return new InetSocketAddress(inetAddress, port);
   }
 }
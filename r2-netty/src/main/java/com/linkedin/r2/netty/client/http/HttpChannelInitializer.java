@@ -26,7 +26,7 @@ import com.linkedin.r2.netty.handler.common.SslHandshakeTimingHandler;
 import com.linkedin.r2.netty.handler.http.HttpMessageDecoders;
 import com.linkedin.r2.netty.handler.http.HttpMessageEncoders;
 import io.netty.channel.ChannelInitializer;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpScheme;
 import javax.net.ssl.SSLContext;
@@ -60,7 +60,7 @@ import javax.net.ssl.SSLParameters;
  * @author Sean Sheng
  * @author Nizar Mankulangara
  */
-class HttpChannelInitializer extends ChannelInitializer<NioSocketChannel>
+class HttpChannelInitializer extends ChannelInitializer<SocketChannel>
 {
   /**
    * HTTP/2 stream channels are not recyclable and should be disposed upon completion.
@@ -93,7 +93,7 @@ class HttpChannelInitializer extends ChannelInitializer<NioSocketChannel>
   }
 
   @Override
-  protected void initChannel(NioSocketChannel channel)
+  protected void initChannel(SocketChannel channel)
   {
     if (_ssl)
     {
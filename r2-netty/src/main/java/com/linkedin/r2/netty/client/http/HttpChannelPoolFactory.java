@@ -17,9 +17,12 @@
 package com.linkedin.r2.netty.client.http;
 
 import com.linkedin.common.stats.NoopLongTracker;
+import com.linkedin.r2.netty.common.NettyTransportType;
 import com.linkedin.r2.transport.http.client.AsyncPool;
 import com.linkedin.r2.transport.http.client.AsyncPoolImpl;
+import com.linkedin.r2.transport.http.client.ConcurrentAsyncPoolImpl;
 import com.linkedin.r2.transport.http.client.ExponentialBackOffRateLimiter;
+import com.linkedin.r2.transport.http.client.RateLimiter;
 import com.linkedin.r2.transport.http.client.common.ChannelPoolFactory;
 import com.linkedin.r2.transport.http.client.common.ChannelPoolLifecycle;
 import com.linkedin.util.clock.SystemClock;
@@ -29,7 +32,7 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.socket.SocketChannel;
 import java.net.SocketAddress;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.net.ssl.SSLContext;
@@ -53,6 +56,7 @@ public class HttpChannelPoolFactory implements ChannelPoolFactory
   private final ScheduledExecutorService _scheduler;
   private final AsyncPoolImpl.Strategy _strategy;
   private int _channelPoolWaiterTimeout;
+  private final boolean _useConcurrentAsyncPool;
 
   public HttpChannelPoolFactory(
       ScheduledExecutorService scheduler,
@@ -74,9 +78,10 @@ public class HttpChannelPoolFactory implements ChannelPoolFactory
       boolean enableSSLSessionResumption,
       int channelPoolWaiterTimeout,
       int connectTimeout,
-      int sslHandShakeTimeout)
+      int sslHandShakeTimeout,
+      boolean useConcurrentAsyncPool)
   {
-    ChannelInitializer<NioSocketChannel> initializer = new HttpChannelInitializer(sslContext, sslParameters,
+    ChannelInitializer<SocketChannel> initializer = new HttpChannelInitializer(sslContext, sslParameters,
         maxInitialLineLength, maxHeaderSize, maxChunkSize, maxContentLength, enableSSLSessionResumption, sslHandShakeTimeout);
 
     _scheduler = scheduler;
@@ -89,33 +94,29 @@ public class HttpChannelPoolFactory implements ChannelPoolFactory
     _idleTimeout = idleTimeout;
     _tcpNoDelay = tcpNoDelay;
     _channelPoolWaiterTimeout = channelPoolWaiterTimeout;
+    _useConcurrentAsyncPool = useConcurrentAsyncPool;
 
-    _bootstrap = new Bootstrap().group(eventLoopGroup).channel(NioSocketChannel.class).
+    _bootstrap = new Bootstrap().group(eventLoopGroup).channel(NettyTransportType.of(eventLoopGroup).socketChannelClass()).
         option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout).handler(initializer);
   }
 
   @Override
   public AsyncPool<Channel> getPool(SocketAddress address)
   {
-    return new AsyncPoolImpl<>(address.toString(),
-        new ChannelPoolLifecycle(address,
-            _bootstrap,
-            _allChannels,
-            _tcpNoDelay),
-        _maxPoolSize,
-        _idleTimeout,
-        _channelPoolWaiterTimeout,
+    ChannelPoolLifecycle lifecycle = new ChannelPoolLifecycle(address, _bootstrap, _allChannels, _tcpNoDelay);
+    RateLimiter rateLimiter = new ExponentialBackOffRateLimiter(0,
+        ChannelPoolLifecycle.MAX_PERIOD_BEFORE_RETRY_CONNECTIONS,
+        ChannelPoolLifecycle.INITIAL_PERIOD_BEFORE_RETRY_CONNECTIONS,
         _scheduler,
-        _maxPoolWaiterSize,
-        _strategy,
-        _minPoolSize,
-        new ExponentialBackOffRateLimiter(0,
-            ChannelPoolLifecycle.MAX_PERIOD_BEFORE_RETRY_CONNECTIONS,
-            ChannelPoolLifecycle.INITIAL_PERIOD_BEFORE_RETRY_CONNECTIONS,
-            _scheduler,
-            _maxConcurrentConnectionInitializations),
-        SystemClock.instance(),
-        NoopLongTracker.instance()
-    );
+        _maxConcurrentConnectionInitializations);
+    if (_useConcurrentAsyncPool)
+    {
+      return new ConcurrentAsyncPoolImpl<>(address.toString(), lifecycle, _maxPoolSize, _idleTimeout,
+          _channelPoolWaiterTimeout, _scheduler, _maxPoolWaiterSize, _strategy, _minPoolSize, rateLimiter,
+          SystemClock.instance(), NoopLongTracker.instance());
+    }
+    return new AsyncPoolImpl<>(address.toString(), lifecycle, _maxPoolSize, _idleTimeout,
+        _channelPoolWaiterTimeout, _scheduler, _maxPoolWaiterSize, _strategy, _minPoolSize, rateLimiter,
+        SystemClock.instance(), NoopLongTracker.instance());
   }
 }
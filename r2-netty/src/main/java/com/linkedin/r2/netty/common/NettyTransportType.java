@@ -0,0 +1,157 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.netty.common;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.concurrent.ThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Enumerates the Netty transports that can back R2 clients and servers. The native transports
+ * require the corresponding native library on the class path and fall back to {@link #NIO}
+ * through {@link #resolve()} if the library cannot be loaded.
+ */
+public enum NettyTransportType
+{
+  /**
+   * Java NIO transport, available on every platform.
+   */
+  NIO("Nio")
+  {
+    @Override
+    public boolean isAvailable()
+    {
+      return true;
+    }
+
+    @Override
+    public EventLoopGroup newEventLoopGroup(int nThreads, ThreadFactory threadFactory)
+    {
+      return new NioEventLoopGroup(nThreads, threadFactory);
+    }
+
+    @Override
+    public Class<? extends SocketChannel> socketChannelClass()
+    {
+      return NioSocketChannel.class;
+    }
+
+    @Override
+    public Class<? extends ServerSocketChannel> serverSocketChannelClass()
+    {
+      return NioServerSocketChannel.class;
+    }
+  },
+
+  /**
+   * Linux native epoll transport. Supports SO_REUSEPORT and produces less garbage than {@link #NIO}.
+   */
+  EPOLL("Epoll")
+  {
+    @Override
+    public boolean isAvailable()
+    {
+      return Epoll.isAvailable();
+    }
+
+    @Override
+    public EventLoopGroup newEventLoopGroup(int nThreads, ThreadFactory threadFactory)
+    {
+      return new EpollEventLoopGroup(nThreads, threadFactory);
+    }
+
+    @Override
+    public Class<? extends SocketChannel> socketChannelClass()
+    {
+      return EpollSocketChannel.class;
+    }
+
+    @Override
+    public Class<? extends ServerSocketChannel> serverSocketChannelClass()
+    {
+      return EpollServerSocketChannel.class;
+    }
+  };
+
+  private static final Logger LOG = LoggerFactory.getLogger(NettyTransportType.class);
+
+  private final String _threadNamePrefix;
+
+  NettyTransportType(String threadNamePrefix)
+  {
+    _threadNamePrefix = threadNamePrefix;
+  }
+
+  /**
+   * @return the name used as prefix of the event loop thread names, e.g. "R2 Nio Event Loop"
+   */
+  public String getThreadNamePrefix()
+  {
+    return _threadNamePrefix;
+  }
+
+  /**
+   * @return true if the transport can be used on the current platform
+   */
+  public abstract boolean isAvailable();
+
+  /**
+   * Creates a new {@link EventLoopGroup} of the transport.
+   *
+   * @param nThreads number of threads, 0 to use Netty's default
+   * @param threadFactory factory of the event loop threads
+   */
+  public abstract EventLoopGroup newEventLoopGroup(int nThreads, ThreadFactory threadFactory);
+
+  public abstract Class<? extends SocketChannel> socketChannelClass();
+
+  public abstract Class<? extends ServerSocketChannel> serverSocketChannelClass();
+
+  /**
+   * @return this transport if available on the current platform, {@link #NIO} otherwise
+   */
+  public NettyTransportType resolve()
+  {
+    if (isAvailable())
+    {
+      return this;
+    }
+
+    LOG.warn("Netty transport {} is not available on this platform, falling back to {}", this, NIO);
+    return NIO;
+  }
+
+  /**
+   * Finds the transport of the given {@link EventLoopGroup}, so that channels are always created
+   * with the socket channel type matching the event loops they are registered to.
+   */
+  public static NettyTransportType of(EventLoopGroup eventLoopGroup)
+  {
+    return eventLoopGroup instanceof EpollEventLoopGroup ? EPOLL : NIO;
+  }
+}
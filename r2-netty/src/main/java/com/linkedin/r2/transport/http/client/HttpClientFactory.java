@@ -38,6 +38,7 @@ import com.linkedin.r2.message.rest.RestRequest;
 import com.linkedin.r2.message.rest.RestResponse;
 import com.linkedin.r2.message.stream.StreamRequest;
 import com.linkedin.r2.message.stream.StreamResponse;
+import com.linkedin.r2.netty.common.NettyTransportType;
 import com.linkedin.r2.transport.common.TransportClientFactory;
 import com.linkedin.r2.transport.common.bridge.client.TransportClient;
 import com.linkedin.r2.transport.common.bridge.common.TransportCallback;
@@ -57,6 +58,7 @@ import com.linkedin.r2.util.NamedThreadFactory;
 import com.linkedin.util.clock.SystemClock;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -194,6 +196,7 @@ public class HttpClientFactory implements TransportClientFactory
   private final int _connectTimeout;
   private final int _sslHandShakeTimeout;
   private final int _channelPoolWaiterTimeout;
+  private final boolean _useConcurrentAsyncPool;
   /** Request compression config for each http service. */
   private final Map<String, CompressionConfig> _requestCompressionConfigs;
   /** Response compression config for each http service. */
@@ -616,7 +619,7 @@ public class HttpClientFactory implements TransportClientFactory
         shutdownCallbackExecutor, jmxManager, requestCompressionThresholdDefault, requestCompressionConfigs,
         responseCompressionConfigs, compressionExecutor, defaultHttpVersion, shareConnection, eventProviderRegistry,
         enableSSLSessionResumption, usePipelineV2, executorsToShutDown, DEFAULT_CONNECT_TIMEOUT,
-        DEFAULT_SSL_HANDSHAKE_TIMEOUT, DEFAULT_CHANNELPOOL_WAITER_TIMEOUT);
+        DEFAULT_SSL_HANDSHAKE_TIMEOUT, DEFAULT_CHANNELPOOL_WAITER_TIMEOUT, false);
   }
 
   private HttpClientFactory(FilterChain filters,
@@ -639,7 +642,8 @@ public class HttpClientFactory implements TransportClientFactory
                             List<ExecutorService> executorsToShutDown,
                             int connectTimeout,
                             int sslHandShakeTimeout,
-                            int channelPoolWaiterTimeout)
+                            int channelPoolWaiterTimeout,
+                            boolean useConcurrentAsyncPool)
   {
     _filters = filters;
     _eventLoopGroup = eventLoopGroup;
@@ -655,6 +659,7 @@ public class HttpClientFactory implements TransportClientFactory
     _connectTimeout = connectTimeout;
     _sslHandShakeTimeout = sslHandShakeTimeout;
     _channelPoolWaiterTimeout = channelPoolWaiterTimeout;
+    _useConcurrentAsyncPool = useConcurrentAsyncPool;
     if (requestCompressionConfigs == null)
     {
       throw new IllegalArgumentException("requestCompressionConfigs should not be null.");
@@ -670,7 +675,7 @@ public class HttpClientFactory implements TransportClientFactory
     _defaultHttpVersion = defaultHttpVersion;
     _channelPoolManagerFactory = new ChannelPoolManagerFactoryImpl(
         _eventLoopGroup, _executor, enableSSLSessionResumption,_usePipelineV2, _channelPoolWaiterTimeout,
-        _connectTimeout, _sslHandShakeTimeout);
+        _connectTimeout, _sslHandShakeTimeout, _useConcurrentAsyncPool);
 
     if (eventProviderRegistry != null)
     {
@@ -709,6 +714,8 @@ public class HttpClientFactory implements TransportClientFactory
     private int _connectTimeout = DEFAULT_CONNECT_TIMEOUT;
     private int _sslHandShakeTimeout = DEFAULT_SSL_HANDSHAKE_TIMEOUT;
     private int _channelPoolWaiterTimeout = DEFAULT_CHANNELPOOL_WAITER_TIMEOUT;
+    private boolean _useConcurrentAsyncPool = false;
+    private NettyTransportType _transportType = NettyTransportType.NIO;
 
     /**
      * @param eventLoopGroup the {@link EventLoopGroup} that all Clients created by this
@@ -732,6 +739,17 @@ public class HttpClientFactory implements TransportClientFactory
       return this;
     }
 
+    /**
+     * @param transportType the Netty transport of the {@link EventLoopGroup} created by the factory if none
+     *                      is set through {@link #setEventLoopGroup}. Native transports fall back to NIO if the
+     *                      native library is not available on the current platform.
+     */
+    public Builder setTransportType(NettyTransportType transportType)
+    {
+      _transportType = transportType;
+      return this;
+    }
+
     /**
      * @param scheduleExecutorService an executor shared by all Clients created by this factory to schedule
      *                                tasks
@@ -879,6 +897,17 @@ public class HttpClientFactory implements TransportClientFactory
       return this;
     }
 
+    /**
+     * @param useConcurrentAsyncPool use a {@link ConcurrentAsyncPoolImpl}, which does not serialize the checkouts
+     *                               and returns of channels on a pool-wide lock, for the HTTP/1.1 channel pools
+     *                               instead of an {@link AsyncPoolImpl}
+     */
+    public Builder setUseConcurrentAsyncPool(boolean useConcurrentAsyncPool)
+    {
+      _useConcurrentAsyncPool = useConcurrentAsyncPool;
+      return this;
+    }
+
     public Builder setUsePipelineV2(boolean usePipelineV2)
     {
       _usePipelineV2 = usePipelineV2;
@@ -898,7 +927,9 @@ public class HttpClientFactory implements TransportClientFactory
       EventLoopGroup eventLoopGroup = _eventLoopGroup;
       if (eventLoopGroup == null)
       {
-        eventLoopGroup = new NioEventLoopGroup(0 /* use default settings */, new NamedThreadFactory("R2 Nio Event Loop"));
+        final NettyTransportType transportType = _transportType.resolve();
+        eventLoopGroup = transportType.newEventLoopGroup(0 /* use default settings */,
+            new NamedThreadFactory("R2 " + transportType.getThreadNamePrefix() + " Event Loop"));
       }
 
       ScheduledExecutorService scheduledExecutorService = _executor;
@@ -940,7 +971,8 @@ public class HttpClientFactory implements TransportClientFactory
         _shutdownExecutor, callbackExecutorGroup, _shutdownCallbackExecutor, _jmxManager,
         _requestCompressionThresholdDefault, _requestCompressionConfigs, _responseCompressionConfigs,
         compressionExecutor, _defaultHttpVersion, _shareConnection, eventProviderRegistry, _enableSSLSessionResumption,
-          _usePipelineV2, executorsToShutDown, _connectTimeout, _sslHandShakeTimeout, _channelPoolWaiterTimeout);
+          _usePipelineV2, executorsToShutDown, _connectTimeout, _sslHandShakeTimeout, _channelPoolWaiterTimeout,
+          _useConcurrentAsyncPool);
     }
 
   }
@@ -1615,6 +1647,12 @@ public class HttpClientFactory implements TransportClientFactory
       _client.streamRequest(request, requestContext, wireAttrs, callback);
     }
 
+    @Override
+    public void warmUpConnections(URI uri, Callback<None> callback)
+    {
+      _client.warmUpConnections(uri, callback);
+    }
+
     @Override
     public void shutdown(final Callback<None> callback)
     {
@@ -1692,6 +1730,17 @@ public class HttpClientFactory implements TransportClientFactory
       _streamClient.streamRequest(request, requestContext, wireAttrs, callback);
     }
 
+    /**
+     * Warms up both clients, since whether rest requests go through the legacy client depends on the caller.
+     */
+    @Override
+    public void warmUpConnections(URI uri, Callback<None> callback)
+    {
+      Callback<None> multiCallback = new MultiCallback(callback, 2);
+      _legacyClient.warmUpConnections(uri, multiCallback);
+      _streamClient.warmUpConnections(uri, multiCallback);
+    }
+
     @Override
     public void shutdown(final Callback<None> callback)
     {
@@ -46,6 +46,7 @@ import com.linkedin.r2.transport.http.common.HttpBridge;
 import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import java.net.SocketAddress;
+import java.net.URI;
 import java.net.UnknownHostException;
 import java.util.Map;
 import java.util.Set;
@@ -235,7 +236,36 @@ public abstract class AbstractNettyClient<Req extends Request, Res extends Respo
 
   private static boolean isSslRequest(Request request)
   {
-    return "https".equals(request.getURI().getScheme());
+    return isSslUri(request.getURI());
+  }
+
+  private static boolean isSslUri(URI uri)
+  {
+    return "https".equals(uri.getScheme());
+  }
+
+  @Override
+  public void warmUpConnections(URI uri, Callback<None> callback)
+  {
+    NettyClientState state = _state.get();
+    if (state != NettyClientState.RUNNING)
+    {
+      callback.onError(new IllegalStateException("Client is " + state));
+      return;
+    }
+
+    final SocketAddress address;
+    try
+    {
+      address = HttpNettyClient.resolveAddress(uri);
+    }
+    catch (UnknownHostException | UnknownSchemeException e)
+    {
+      callback.onError(e);
+      return;
+    }
+
+    (isSslUri(uri) ? _sslChannelPoolManager : _channelPoolManager).warmUpPool(address, callback);
   }
 
   protected ChannelPoolManager getChannelPoolManagerPerRequest(Request request)
@@ -43,6 +43,43 @@ public interface ChannelPoolManager extends PoolStatsProvider
 
   AsyncPool<Channel> getPoolForAddress(SocketAddress address) throws IllegalStateException;
 
+  /**
+   * Gets the pool for the address, creating and starting it if needed, which creates its minimum number of
+   * connections. Then waits for a connection of the pool to be ready and returns it to the pool.
+   *
+   * @param address the address of the host
+   * @param callback the callback to invoke once a connection is ready
+   */
+  default void warmUpPool(SocketAddress address, Callback<None> callback)
+  {
+    final AsyncPool<Channel> pool;
+    try
+    {
+      pool = getPoolForAddress(address);
+    }
+    catch (IllegalStateException e)
+    {
+      callback.onError(e);
+      return;
+    }
+
+    pool.get(new Callback<Channel>()
+    {
+      @Override
+      public void onError(Throwable e)
+      {
+        callback.onError(e);
+      }
+
+      @Override
+      public void onSuccess(Channel channel)
+      {
+        pool.put(channel);
+        callback.onSuccess(None.none());
+      }
+    });
+  }
+
   /**
    * Get statistics from each pool. The map keys represent pool names.
    * The values are the corresponding {@link AsyncPoolStats} objects.
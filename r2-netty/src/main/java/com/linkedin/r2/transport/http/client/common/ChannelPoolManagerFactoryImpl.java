@@ -56,6 +56,7 @@ public class ChannelPoolManagerFactoryImpl implements ChannelPoolManagerFactory
   private final int _channelPoolWaiterTimeout;
   private final int _connectTimeout;
   private final int _sslHandShakeTimeout;
+  private final boolean _useConcurrentAsyncPool;
 
   /**
    * @param eventLoopGroup The EventLoopGroup; it is the caller's responsibility to shut
@@ -68,6 +69,19 @@ public class ChannelPoolManagerFactoryImpl implements ChannelPoolManagerFactory
   public ChannelPoolManagerFactoryImpl(EventLoopGroup eventLoopGroup, ScheduledExecutorService scheduler,
       boolean enableSSLSessionResumption, boolean usePipelineV2, int channelPoolWaiterTimeout,
       int connectTimeout, int sslHandShakeTimeout)
+  {
+    this(eventLoopGroup, scheduler, enableSSLSessionResumption, usePipelineV2, channelPoolWaiterTimeout, connectTimeout,
+        sslHandShakeTimeout, false);
+  }
+
+  /**
+   * @param useConcurrentAsyncPool use a {@link com.linkedin.r2.transport.http.client.ConcurrentAsyncPoolImpl} instead
+   *                               of an {@link com.linkedin.r2.transport.http.client.AsyncPoolImpl} for the HTTP/1.1
+   *                               channel pools.
+   */
+  public ChannelPoolManagerFactoryImpl(EventLoopGroup eventLoopGroup, ScheduledExecutorService scheduler,
+      boolean enableSSLSessionResumption, boolean usePipelineV2, int channelPoolWaiterTimeout,
+      int connectTimeout, int sslHandShakeTimeout, boolean useConcurrentAsyncPool)
   {
     _eventLoopGroup = eventLoopGroup;
     _scheduler = scheduler;
@@ -76,6 +90,7 @@ public class ChannelPoolManagerFactoryImpl implements ChannelPoolManagerFactory
     _channelPoolWaiterTimeout = channelPoolWaiterTimeout;
     _connectTimeout = connectTimeout;
     _sslHandShakeTimeout = sslHandShakeTimeout;
+    _useConcurrentAsyncPool = useConcurrentAsyncPool;
   }
 
   @Override
@@ -111,7 +126,8 @@ public class ChannelPoolManagerFactoryImpl implements ChannelPoolManagerFactory
         channelGroup,
         _channelPoolWaiterTimeout,
         _connectTimeout,
-        _sslHandShakeTimeout),
+        _sslHandShakeTimeout,
+        _useConcurrentAsyncPool),
       channelPoolManagerKey.getName(),
       channelGroup,
       _scheduler);
@@ -144,7 +160,8 @@ public class ChannelPoolManagerFactoryImpl implements ChannelPoolManagerFactory
           _enableSSLSessionResumption,
           _channelPoolWaiterTimeout,
           _connectTimeout,
-          _sslHandShakeTimeout);
+          _sslHandShakeTimeout,
+          _useConcurrentAsyncPool);
     }
     else
     {
@@ -167,7 +184,8 @@ public class ChannelPoolManagerFactoryImpl implements ChannelPoolManagerFactory
           channelGroup,
           _channelPoolWaiterTimeout,
           _connectTimeout,
-          _sslHandShakeTimeout);
+          _sslHandShakeTimeout,
+          _useConcurrentAsyncPool);
     }
     return new ChannelPoolManagerImpl(
         channelPoolFactory,
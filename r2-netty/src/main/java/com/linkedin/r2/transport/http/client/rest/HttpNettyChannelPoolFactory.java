@@ -17,11 +17,14 @@
 package com.linkedin.r2.transport.http.client.rest;
 
 import com.linkedin.common.stats.NoopLongTracker;
+import com.linkedin.r2.netty.common.NettyTransportType;
 import com.linkedin.r2.netty.common.SslHandlerUtil;
 import com.linkedin.r2.netty.handler.common.SessionResumptionSslHandler;
 import com.linkedin.r2.transport.http.client.AsyncPool;
 import com.linkedin.r2.transport.http.client.AsyncPoolImpl;
+import com.linkedin.r2.transport.http.client.ConcurrentAsyncPoolImpl;
 import com.linkedin.r2.transport.http.client.ExponentialBackOffRateLimiter;
+import com.linkedin.r2.transport.http.client.RateLimiter;
 import com.linkedin.r2.transport.http.client.common.ChannelPoolFactory;
 import com.linkedin.r2.transport.http.client.common.ChannelPoolLifecycle;
 import com.linkedin.util.clock.SystemClock;
@@ -31,7 +34,7 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import java.net.SocketAddress;
@@ -56,20 +59,22 @@ public class HttpNettyChannelPoolFactory implements ChannelPoolFactory
   private final ScheduledExecutorService _scheduler;
   private final int _maxConcurrentConnectionInitializations;
   private final int _channelPoolWaiterTimeout;
+  private final boolean _useConcurrentAsyncPool;
 
   public HttpNettyChannelPoolFactory(int maxPoolSize, long idleTimeout, int maxPoolWaiterSize, AsyncPoolImpl.Strategy strategy,
                                      int minPoolSize, EventLoopGroup eventLoopGroup, SSLContext sslContext, SSLParameters sslParameters, int maxHeaderSize,
                                      int maxChunkSize, int maxResponseSize, ScheduledExecutorService scheduler, int maxConcurrentConnectionInitializations,
                                      boolean enableSSLSessionResumption, ChannelGroup allChannels, int channelPoolWaiterTimeout,
-                                     int connectTimeout, int sslHandShakeTimeout)
+                                     int connectTimeout, int sslHandShakeTimeout, boolean useConcurrentAsyncPool)
   {
 
     _allChannels = allChannels;
     _scheduler = scheduler;
     _maxConcurrentConnectionInitializations = maxConcurrentConnectionInitializations;
     _channelPoolWaiterTimeout = channelPoolWaiterTimeout;
+    _useConcurrentAsyncPool = useConcurrentAsyncPool;
     Bootstrap bootstrap = new Bootstrap().group(eventLoopGroup)
-      .channel(NioSocketChannel.class)
+      .channel(NettyTransportType.of(eventLoopGroup).socketChannelClass())
       .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
       .handler(new HttpClientPipelineInitializer(sslContext, sslParameters, maxHeaderSize, maxChunkSize, maxResponseSize,
           enableSSLSessionResumption, sslHandShakeTimeout));
@@ -85,29 +90,24 @@ public class HttpNettyChannelPoolFactory implements ChannelPoolFactory
   @Override
   public AsyncPool<Channel> getPool(SocketAddress address)
   {
-    return new AsyncPoolImpl<>(address.toString(),
-      new ChannelPoolLifecycle(address,
-        _bootstrap,
-        _allChannels,
-        false),
-      _maxPoolSize,
-      _idleTimeout,
-      _channelPoolWaiterTimeout,
-      _scheduler,
-      _maxPoolWaiterSize,
-      _strategy,
-      _minPoolSize,
-      new ExponentialBackOffRateLimiter(0,
+    ChannelPoolLifecycle lifecycle = new ChannelPoolLifecycle(address, _bootstrap, _allChannels, false);
+    RateLimiter rateLimiter = new ExponentialBackOffRateLimiter(0,
         ChannelPoolLifecycle.MAX_PERIOD_BEFORE_RETRY_CONNECTIONS,
         ChannelPoolLifecycle.INITIAL_PERIOD_BEFORE_RETRY_CONNECTIONS,
         _scheduler,
-        _maxConcurrentConnectionInitializations),
-      SystemClock.instance(),
-      NoopLongTracker.instance()
-    );
+        _maxConcurrentConnectionInitializations);
+    if (_useConcurrentAsyncPool)
+    {
+      return new ConcurrentAsyncPoolImpl<>(address.toString(), lifecycle, _maxPoolSize, _idleTimeout,
+          _channelPoolWaiterTimeout, _scheduler, _maxPoolWaiterSize, _strategy, _minPoolSize, rateLimiter,
+          SystemClock.instance(), NoopLongTracker.instance());
+    }
+    return new AsyncPoolImpl<>(address.toString(), lifecycle, _maxPoolSize, _idleTimeout,
+        _channelPoolWaiterTimeout, _scheduler, _maxPoolWaiterSize, _strategy, _minPoolSize, rateLimiter,
+        SystemClock.instance(), NoopLongTracker.instance());
   }
 
-  static class HttpClientPipelineInitializer extends ChannelInitializer<NioSocketChannel>
+  static class HttpClientPipelineInitializer extends ChannelInitializer<SocketChannel>
   {
     private final SSLContext _sslContext;
     private final SSLParameters _sslParameters;
@@ -149,7 +149,7 @@ public class HttpNettyChannelPoolFactory implements ChannelPoolFactory
     }
 
     @Override
-    protected void initChannel(NioSocketChannel ch) throws Exception
+    protected void initChannel(SocketChannel ch) throws Exception
     {
       if (_sslContext != null)
       {
@@ -17,11 +17,14 @@
 package com.linkedin.r2.transport.http.client.stream.http;
 
 import com.linkedin.common.stats.NoopLongTracker;
+import com.linkedin.r2.netty.common.NettyTransportType;
 import com.linkedin.r2.transport.http.client.AsyncPool;
 import com.linkedin.r2.transport.http.client.AsyncPoolImpl;
+import com.linkedin.r2.transport.http.client.ConcurrentAsyncPoolImpl;
 import com.linkedin.r2.transport.http.client.common.ChannelPoolFactory;
 import com.linkedin.r2.transport.http.client.common.ChannelPoolLifecycle;
 import com.linkedin.r2.transport.http.client.ExponentialBackOffRateLimiter;
+import com.linkedin.r2.transport.http.client.RateLimiter;
 import com.linkedin.r2.transport.http.client.stream.http2.Http2NettyStreamClient;
 import com.linkedin.util.clock.SystemClock;
 import io.netty.bootstrap.Bootstrap;
@@ -30,7 +33,7 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.socket.SocketChannel;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLParameters;
@@ -53,6 +56,7 @@ public class HttpNettyStreamChannelPoolFactory implements ChannelPoolFactory
   private final ScheduledExecutorService _scheduler;
   private final int _maxConcurrentConnectionInitializations;
   private final int _channelPoolWaiterTimeout;
+  private final boolean _useConcurrentAsyncPool;
 
   public HttpNettyStreamChannelPoolFactory(int maxPoolSize,
                                            long idleTimeout,
@@ -72,14 +76,14 @@ public class HttpNettyStreamChannelPoolFactory implements ChannelPoolFactory
                                            ChannelGroup channelGroup,
                                            int channelPoolWaiterTimeout,
                                            int connectTimeout,
-                                           int sslHandShakeTimeout)
+                                           int sslHandShakeTimeout, boolean useConcurrentAsyncPool)
   {
-    ChannelInitializer<NioSocketChannel> initializer =
+    ChannelInitializer<SocketChannel> initializer =
       new RAPStreamClientPipelineInitializer(sslContext, sslParameters, maxHeaderSize, maxChunkSize, maxResponseSize,
           enableSSLSessionResumption, sslHandShakeTimeout);
 
     Bootstrap bootstrap = new Bootstrap().group(eventLoopGroup)
-      .channel(NioSocketChannel.class)
+      .channel(NettyTransportType.of(eventLoopGroup).socketChannelClass())
       .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
       .handler(initializer);
 
@@ -94,30 +98,26 @@ public class HttpNettyStreamChannelPoolFactory implements ChannelPoolFactory
     _scheduler = scheduler;
     _maxConcurrentConnectionInitializations = maxConcurrentConnectionInitializations;
     _channelPoolWaiterTimeout = channelPoolWaiterTimeout;
+    _useConcurrentAsyncPool = useConcurrentAsyncPool;
   }
 
   @Override
   public AsyncPool<Channel> getPool(SocketAddress address)
   {
-    return new AsyncPoolImpl<>(address.toString(),
-      new ChannelPoolLifecycle(address,
-        _bootstrap,
-        _allChannels,
-        _tcpNoDelay),
-      _maxPoolSize,
-      _idleTimeout,
-      _channelPoolWaiterTimeout,
-      _scheduler,
-      _maxPoolWaiterSize,
-      _strategy,
-      _minPoolSize,
-      new ExponentialBackOffRateLimiter(0,
+    ChannelPoolLifecycle lifecycle = new ChannelPoolLifecycle(address, _bootstrap, _allChannels, _tcpNoDelay);
+    RateLimiter rateLimiter = new ExponentialBackOffRateLimiter(0,
         ChannelPoolLifecycle.MAX_PERIOD_BEFORE_RETRY_CONNECTIONS,
         ChannelPoolLifecycle.INITIAL_PERIOD_BEFORE_RETRY_CONNECTIONS,
         _scheduler,
-        _maxConcurrentConnectionInitializations),
-      SystemClock.instance(),
-      NoopLongTracker.instance()
-    );
+        _maxConcurrentConnectionInitializations);
+    if (_useConcurrentAsyncPool)
+    {
+      return new ConcurrentAsyncPoolImpl<>(address.toString(), lifecycle, _maxPoolSize, _idleTimeout,
+          _channelPoolWaiterTimeout, _scheduler, _maxPoolWaiterSize, _strategy, _minPoolSize, rateLimiter,
+          SystemClock.instance(), NoopLongTracker.instance());
+    }
+    return new AsyncPoolImpl<>(address.toString(), lifecycle, _maxPoolSize, _idleTimeout,
+        _channelPoolWaiterTimeout, _scheduler, _maxPoolWaiterSize, _strategy, _minPoolSize, rateLimiter,
+        SystemClock.instance(), NoopLongTracker.instance());
   }
 }
@@ -21,10 +21,13 @@
 package com.linkedin.r2.transport.http.server;
 
 import com.linkedin.r2.filter.R2Constants;
+import com.linkedin.r2.netty.common.NettyTransportType;
 import com.linkedin.r2.util.NamedThreadFactory;
 import io.netty.bootstrap.ServerBootstrap;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.socket.SocketChannel;
 import io.netty.util.concurrent.DefaultEventExecutorGroup;
 import io.netty.util.concurrent.EventExecutorGroup;
 import java.net.InetSocketAddress;
@@ -40,6 +43,9 @@ import javax.net.ssl.SSLParameters;
 
 /* package private */ class HttpNettyServer implements HttpServer
 {
+  static final int DEFAULT_STARTUP_TIMEOUT_MILLIS = 10000;
+  static final long DEFAULT_MAX_CONTENT_LENGTH = 1048576;
+
   private final int _port;
   private final int _threadPoolSize;
   private final HttpDispatcher _dispatcher;
@@ -47,9 +53,14 @@ import javax.net.ssl.SSLParameters;
   private final SSLContext _sslContext;
   private final SSLParameters _sslParameters;
   private final int _startupTimeoutMillis;
-
-  private NioEventLoopGroup _bossGroup;
-  private NioEventLoopGroup _workerGroup;
+  private final boolean _streamingEnabled;
+  private final boolean _http2Enabled;
+  private final long _maxContentLength;
+  private final NettyTransportType _transportType;
+  private final int _acceptorCount;
+
+  private EventLoopGroup _bossGroup;
+  private EventLoopGroup _workerGroup;
   private EventExecutorGroup _eventExecutors;
 
   public HttpNettyServer(int port, int threadPoolSize, HttpDispatcher dispatcher)
@@ -71,11 +82,31 @@ import javax.net.ssl.SSLParameters;
   public HttpNettyServer(int port, int threadPoolSize, HttpDispatcher dispatcher, boolean restOverStream,
       SSLContext sslContext, SSLParameters sslParameters)
   {
-    this(port, threadPoolSize, dispatcher, restOverStream, sslContext, sslParameters, 10000);
+    this(port, threadPoolSize, dispatcher, restOverStream, sslContext, sslParameters, DEFAULT_STARTUP_TIMEOUT_MILLIS);
   }
 
   public HttpNettyServer(int port, int threadPoolSize, HttpDispatcher dispatcher, boolean restOverStream,
                          SSLContext sslContext, SSLParameters sslParameters, int startupTimeoutMillis)
+  {
+    this(port, threadPoolSize, dispatcher, restOverStream, sslContext, sslParameters, startupTimeoutMillis,
+        false, false, DEFAULT_MAX_CONTENT_LENGTH, NettyTransportType.NIO, 1);
+  }
+
+  /**
+   * @param streamingEnabled if true, requests are dispatched as stream requests as soon as the headers are
+   *                         received and entities are never aggregated; {@code restOverStream} is ignored
+   * @param http2Enabled if true and streaming is enabled, h2 (ALPN) and h2c connections are accepted
+   *                     in addition to HTTP/1.1
+   * @param maxContentLength maximum request entity length in bytes accepted in streaming mode
+   * @param transportType the Netty transport of the boss and worker event loops, falls back to NIO if the
+   *                      transport is not available on the current platform
+   * @param acceptorCount number of sockets bound to the port with SO_REUSEPORT, each served by its own boss
+   *                      event loop; only effective with the {@link NettyTransportType#EPOLL} transport
+   */
+  public HttpNettyServer(int port, int threadPoolSize, HttpDispatcher dispatcher, boolean restOverStream,
+                         SSLContext sslContext, SSLParameters sslParameters, int startupTimeoutMillis,
+                         boolean streamingEnabled, boolean http2Enabled, long maxContentLength,
+                         NettyTransportType transportType, int acceptorCount)
   {
     _port = port;
     _threadPoolSize = threadPoolSize;
@@ -84,22 +115,45 @@ import javax.net.ssl.SSLParameters;
     _sslContext = sslContext;
     _sslParameters = sslParameters;
     _startupTimeoutMillis = startupTimeoutMillis;
+    _streamingEnabled = streamingEnabled;
+    _http2Enabled = http2Enabled;
+    _maxContentLength = maxContentLength;
+    _transportType = transportType;
+    _acceptorCount = acceptorCount;
   }
 
   @Override
   public void start()
   {
     _eventExecutors =  new DefaultEventExecutorGroup(_threadPoolSize);
-    _bossGroup = new NioEventLoopGroup(1, new NamedThreadFactory("R2 Nio Boss"));
-    _workerGroup = new NioEventLoopGroup(0, new NamedThreadFactory("R2 Nio Worker"));
-
-    final HttpNettyServerPipelineInitializer pipelineInitializer = new HttpNettyServerPipelineInitializer(
-        _dispatcher, _eventExecutors, _sslContext, _sslParameters, _restOverStream);
+    final NettyTransportType transportType = _transportType.resolve();
+    final boolean reusePort = transportType == NettyTransportType.EPOLL && _acceptorCount > 1;
+    final int acceptorCount = reusePort ? _acceptorCount : 1;
+    _bossGroup = transportType.newEventLoopGroup(acceptorCount,
+        new NamedThreadFactory("R2 " + transportType.getThreadNamePrefix() + " Boss"));
+    _workerGroup = transportType.newEventLoopGroup(0,
+        new NamedThreadFactory("R2 " + transportType.getThreadNamePrefix() + " Worker"));
+
+    final ChannelInitializer<SocketChannel> pipelineInitializer = _streamingEnabled ?
+        new HttpNettyStreamServerPipelineInitializer(
+            _dispatcher, _eventExecutors, _sslContext, _sslParameters, _maxContentLength, _http2Enabled) :
+        new HttpNettyServerPipelineInitializer(
+            _dispatcher, _eventExecutors, _sslContext, _sslParameters, _restOverStream);
     ServerBootstrap bootstrap = new ServerBootstrap()
                                       .group(_bossGroup, _workerGroup)
-                                      .channel(NioServerSocketChannel.class)
+                                      .channel(transportType.serverSocketChannelClass())
                                       .childHandler(pipelineInitializer);
-    bootstrap.bind(new InetSocketAddress(_port)).awaitUninterruptibly(_startupTimeoutMillis);
+    if (reusePort)
+    {
+      bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+    }
+
+    // With SO_REUSEPORT each bind creates a new listening socket registered to the next boss event loop,
+    // and the kernel load balances incoming connections among them.
+    for (int i = 0; i < acceptorCount; i++)
+    {
+      bootstrap.bind(new InetSocketAddress(_port)).awaitUninterruptibly(_startupTimeoutMillis);
+    }
   }
 
   @Override
@@ -19,6 +19,7 @@ package com.linkedin.r2.transport.http.server;
 import com.linkedin.r2.filter.FilterChain;
 import com.linkedin.r2.filter.R2Constants;
 import com.linkedin.r2.filter.transport.FilterChainDispatcher;
+import com.linkedin.r2.netty.common.NettyTransportType;
 import com.linkedin.r2.transport.common.bridge.server.TransportDispatcher;
 import com.linkedin.util.ArgumentUtil;
 import javax.net.ssl.SSLContext;
@@ -45,6 +46,11 @@ public class HttpNettyServerBuilder
   private int _port = DEFAULT_NETTY_HTTP_SERVER_PORT;
   private int _threadPoolSize = DEFAULT_THREAD_POOL_SIZE;
   private boolean _restOverStream = R2Constants.DEFAULT_REST_OVER_STREAM;
+  private boolean _streamingEnabled = false;
+  private boolean _http2Enabled = false;
+  private long _maxContentLength = HttpNettyServer.DEFAULT_MAX_CONTENT_LENGTH;
+  private NettyTransportType _transportType = NettyTransportType.NIO;
+  private int _acceptorCount = 1;
 
   // The following fields are optional.
   private SSLContext _sslContext = null;
@@ -80,6 +86,54 @@ public class HttpNettyServerBuilder
     return this;
   }
 
+  /**
+   * Enables the streaming mode in which requests are dispatched as stream requests as soon as the headers
+   * are received, and request and response entities are streamed instead of being aggregated in memory.
+   */
+  public HttpNettyServerBuilder streamingEnabled(boolean streamingEnabled)
+  {
+    _streamingEnabled = streamingEnabled;
+    return this;
+  }
+
+  /**
+   * Accepts h2 (through ALPN) and h2c connections in addition to HTTP/1.1. Only effective in streaming mode.
+   */
+  public HttpNettyServerBuilder http2Enabled(boolean http2Enabled)
+  {
+    _http2Enabled = http2Enabled;
+    return this;
+  }
+
+  /**
+   * Sets the maximum request entity length in bytes accepted in streaming mode.
+   */
+  public HttpNettyServerBuilder maxContentLength(long maxContentLength)
+  {
+    _maxContentLength = maxContentLength;
+    return this;
+  }
+
+  /**
+   * Sets the Netty transport of the server event loops. Native transports fall back to NIO if
+   * the native library is not available on the current platform.
+   */
+  public HttpNettyServerBuilder transportType(NettyTransportType transportType)
+  {
+    _transportType = transportType;
+    return this;
+  }
+
+  /**
+   * Sets the number of listening sockets bound to the port with SO_REUSEPORT, each accepting connections
+   * on its own thread. Only effective with the {@link NettyTransportType#EPOLL} transport.
+   */
+  public HttpNettyServerBuilder acceptorCount(int acceptorCount)
+  {
+    _acceptorCount = acceptorCount;
+    return this;
+  }
+
   public HttpNettyServerBuilder sslContext(SSLContext sslContext)
   {
     _sslContext = sslContext;
@@ -97,12 +151,17 @@ public class HttpNettyServerBuilder
     validateParameters();
     final TransportDispatcher filterDispatcher = new FilterChainDispatcher(_transportDispatcher, _filters);
     final HttpDispatcher dispatcher = HttpDispatcherFactory.create((filterDispatcher));
-    return new HttpNettyServer(_port, _threadPoolSize, dispatcher, _sslContext, _sslParameters);
+    return new HttpNettyServer(_port, _threadPoolSize, dispatcher, _restOverStream, _sslContext, _sslParameters,
+        HttpNettyServer.DEFAULT_STARTUP_TIMEOUT_MILLIS, _streamingEnabled, _http2Enabled, _maxContentLength,
+        _transportType, _acceptorCount);
   }
 
   private void validateParameters()
   {
     ArgumentUtil.notNull(_transportDispatcher, "transportDispatcher");
     ArgumentUtil.notNull(_filters, "filters");
+    ArgumentUtil.checkArgument(_maxContentLength > 0, "maxContentLength");
+    ArgumentUtil.notNull(_transportType, "transportType");
+    ArgumentUtil.checkArgument(_acceptorCount > 0, "acceptorCount");
   }
 }
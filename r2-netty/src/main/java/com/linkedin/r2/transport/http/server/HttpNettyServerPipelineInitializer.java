@@ -20,7 +20,7 @@ import com.linkedin.r2.message.rest.RestRequest;
 import com.linkedin.r2.netty.common.SslHandlerUtil;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.SimpleChannelInboundHandler;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponseEncoder;
@@ -30,7 +30,7 @@ import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLParameters;
 
 
-public class HttpNettyServerPipelineInitializer extends ChannelInitializer<NioSocketChannel>
+public class HttpNettyServerPipelineInitializer extends ChannelInitializer<SocketChannel>
 {
   private final SSLContext _sslContext;
   private final SSLParameters _sslParameters;
@@ -51,7 +51,7 @@ public class HttpNettyServerPipelineInitializer extends ChannelInitializer<NioSo
   }
 
   @Override
-  protected void initChannel(NioSocketChannel ch) throws Exception
+  protected void initChannel(SocketChannel ch) throws Exception
   {
     SslHandlerUtil.validateSslParameters(_sslContext, _sslParameters);
     // If _sslContext is not NULL, we should first add SSL handler to the pipeline to secure the channel.
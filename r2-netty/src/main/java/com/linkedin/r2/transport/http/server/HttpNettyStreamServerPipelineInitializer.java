@@ -0,0 +1,279 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.transport.http.server;
+
+import com.linkedin.r2.netty.common.SslHandlerUtil;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
+import io.netty.handler.ssl.ClientAuth;
+import io.netty.handler.ssl.IdentityCipherSuiteFilter;
+import io.netty.handler.ssl.JdkSslContext;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.AsciiString;
+import io.netty.util.concurrent.EventExecutorGroup;
+import java.util.Arrays;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+
+
+/**
+ * Streaming implementation of the server side {@link ChannelInitializer}. Compared to
+ * {@link HttpNettyServerPipelineInitializer}, requests are not aggregated and are dispatched as
+ * {@link com.linkedin.r2.message.stream.StreamRequest}s while the entity is still arriving.
+ *
+ * If HTTP/2 is enabled, clear text channels accept HTTP/1.1, h2c upgrade and h2c prior knowledge
+ * connections, and SSL channels negotiate h2 or HTTP/1.1 through ALPN. HTTP/1.1 channels are setup
+ * with the following handlers.
+ *
+ * DefaultChannelPipeline {
+ *   (sslHandler = {@link io.netty.handler.ssl.SslHandler}),
+ *   (codec = {@link HttpServerCodec}),
+ *   (rapi = {@link RAPStreamServerCodec}),
+ *   (handler = {@link PipelineEntityStreamHandler})
+ * }
+ *
+ * HTTP/2 channels are setup with {@link Http2FrameCodec} and {@link Http2MultiplexHandler}, and each
+ * HTTP/2 stream is represented as a child channel with the following handlers.
+ *
+ * DefaultHttp2StreamChannel {
+ *   (codec = {@link Http2StreamFrameToHttpObjectCodec}),
+ *   (rapi = {@link RAPStreamServerCodec}),
+ *   (handler = {@link PipelineEntityStreamHandler})
+ * }
+ */
+public class HttpNettyStreamServerPipelineInitializer extends ChannelInitializer<SocketChannel>
+{
+  private static final boolean IS_SERVER = true;
+  private static final int MAX_INITIAL_LINE_LENGTH = 4096;
+  private static final int MAX_HEADER_SIZE = 8192;
+  private static final int MAX_CHUNK_SIZE = 8192;
+  private static final int MAX_UPGRADE_CONTENT_LENGTH = 64 * 1024;
+
+  private final SSLContext _sslContext;
+  private final SSLParameters _sslParameters;
+  private final SslContext _alpnSslContext;
+  private final EventExecutorGroup _eventExecutors;
+  private final HttpDispatcher _dispatcher;
+  private final long _maxContentLength;
+  private final boolean _http2Enabled;
+
+  HttpNettyStreamServerPipelineInitializer(HttpDispatcher dispatcher, EventExecutorGroup eventExecutors,
+      SSLContext sslContext, SSLParameters sslParameters, long maxContentLength, boolean http2Enabled)
+  {
+    _dispatcher = dispatcher;
+    _sslContext = sslContext;
+    _sslParameters = sslParameters;
+    _eventExecutors = eventExecutors;
+    _maxContentLength = maxContentLength;
+    _http2Enabled = http2Enabled;
+    _alpnSslContext = sslContext != null && http2Enabled ? createAlpnSslContext() : null;
+  }
+
+  @Override
+  protected void initChannel(SocketChannel ch) throws Exception
+  {
+    SslHandlerUtil.validateSslParameters(_sslContext, _sslParameters);
+    if (_sslContext == null)
+    {
+      configureClearText(ch.pipeline());
+    }
+    else if (_http2Enabled)
+    {
+      configureAlpn(ch);
+    }
+    else
+    {
+      ch.pipeline().addLast(SslHandlerUtil.PIPELINE_SSL_HANDLER,
+          SslHandlerUtil.getServerSslHandler(_sslContext, _sslParameters));
+      configureHttp1(ch.pipeline());
+    }
+  }
+
+  private void configureClearText(ChannelPipeline pipeline)
+  {
+    if (!_http2Enabled)
+    {
+      configureHttp1(pipeline);
+      return;
+    }
+
+    final HttpServerCodec sourceCodec = newHttpServerCodec();
+    final HttpServerUpgradeHandler.UpgradeCodecFactory upgradeCodecFactory = protocol ->
+        AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol) ?
+            new Http2ServerUpgradeCodec(newHttp2FrameCodec(), newHttp2MultiplexHandler()) : null;
+    final HttpServerUpgradeHandler upgradeHandler =
+        new HttpServerUpgradeHandler(sourceCodec, upgradeCodecFactory, MAX_UPGRADE_CONTENT_LENGTH);
+
+    // Prior knowledge connections replace the cleartext upgrade handler with the HTTP/2 handlers
+    final ChannelInitializer<Channel> priorKnowledgeInitializer = new ChannelInitializer<Channel>()
+    {
+      @Override
+      protected void initChannel(Channel ch)
+      {
+        configureHttp2(ch.pipeline());
+      }
+    };
+
+    pipeline.addLast("h2cUpgrade",
+        new CleartextHttp2ServerUpgradeHandler(sourceCodec, upgradeHandler, priorKnowledgeInitializer));
+
+    // Requests without upgrade are handled as HTTP/1.1 by the source codec installed above
+    addStreamHandlers(pipeline);
+  }
+
+  private void configureAlpn(SocketChannel ch)
+  {
+    ch.pipeline().addLast(SslHandlerUtil.PIPELINE_SSL_HANDLER, new SslHandler(newAlpnSslEngine(ch.alloc())));
+    ch.pipeline().addLast("alpn", new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1)
+    {
+      @Override
+      protected void configurePipeline(ChannelHandlerContext ctx, String protocol)
+      {
+        if (ApplicationProtocolNames.HTTP_2.equals(protocol))
+        {
+          configureHttp2(ctx.pipeline());
+        }
+        else
+        {
+          configureHttp1(ctx.pipeline());
+        }
+      }
+    });
+  }
+
+  private void configureHttp1(ChannelPipeline pipeline)
+  {
+    pipeline.addLast("codec", newHttpServerCodec());
+    addStreamHandlers(pipeline);
+  }
+
+  private void configureHttp2(ChannelPipeline pipeline)
+  {
+    pipeline.addLast(newHttp2FrameCodec());
+    pipeline.addLast(newHttp2MultiplexHandler());
+  }
+
+  private void addStreamHandlers(ChannelPipeline pipeline)
+  {
+    pipeline.addLast("rapi", new RAPStreamServerCodec());
+    pipeline.addLast(_eventExecutors, "handler", new PipelineEntityStreamHandler(_dispatcher, _maxContentLength));
+  }
+
+  private HttpServerCodec newHttpServerCodec()
+  {
+    return new HttpServerCodec(MAX_INITIAL_LINE_LENGTH, MAX_HEADER_SIZE, MAX_CHUNK_SIZE);
+  }
+
+  private Http2FrameCodec newHttp2FrameCodec()
+  {
+    return Http2FrameCodecBuilder.forServer().build();
+  }
+
+  private Http2MultiplexHandler newHttp2MultiplexHandler()
+  {
+    return new Http2MultiplexHandler(new ChannelInitializer<Channel>()
+    {
+      @Override
+      protected void initChannel(Channel ch)
+      {
+        ch.pipeline().addLast("codec", new Http2StreamFrameToHttpObjectCodec(IS_SERVER));
+        addStreamHandlers(ch.pipeline());
+      }
+    });
+  }
+
+  @SuppressWarnings("deprecation")
+  private SslContext createAlpnSslContext()
+  {
+    // Netty's SslContextBuilder does not support constructing from the existing SSLContext and
+    // SSLParameters, same as the client side HTTP/2 channel initializer.
+    return new JdkSslContext(
+        _sslContext,
+        !IS_SERVER,
+        _sslParameters == null || _sslParameters.getCipherSuites() == null ?
+            null : Arrays.asList(_sslParameters.getCipherSuites()),
+        IdentityCipherSuiteFilter.INSTANCE,
+        new ApplicationProtocolConfig(
+            ApplicationProtocolConfig.Protocol.ALPN,
+            ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+            ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+            ApplicationProtocolNames.HTTP_2,
+            ApplicationProtocolNames.HTTP_1_1),
+        ClientAuth.NONE);
+  }
+
+  /**
+   * Creates the engine from the ALPN context and applies the configured {@link SSLParameters} to it, the same
+   * way {@link SslHandlerUtil#getServerSslHandler} does for HTTP/1.1 only channels. The parameters are merged
+   * into the parameters of the engine so that the application protocols set up for ALPN are preserved.
+   */
+  private SSLEngine newAlpnSslEngine(ByteBufAllocator alloc)
+  {
+    final SSLEngine engine = _alpnSslContext.newEngine(alloc);
+    if (_sslParameters != null)
+    {
+      final SSLParameters parameters = engine.getSSLParameters();
+      if (_sslParameters.getCipherSuites() != null)
+      {
+        parameters.setCipherSuites(_sslParameters.getCipherSuites());
+      }
+      if (_sslParameters.getProtocols() != null)
+      {
+        parameters.setProtocols(_sslParameters.getProtocols());
+      }
+      if (_sslParameters.getNeedClientAuth())
+      {
+        parameters.setNeedClientAuth(true);
+      }
+      else
+      {
+        parameters.setWantClientAuth(_sslParameters.getWantClientAuth());
+      }
+      parameters.setAlgorithmConstraints(_sslParameters.getAlgorithmConstraints());
+      parameters.setEndpointIdentificationAlgorithm(_sslParameters.getEndpointIdentificationAlgorithm());
+      if (_sslParameters.getServerNames() != null)
+      {
+        parameters.setServerNames(_sslParameters.getServerNames());
+      }
+      if (_sslParameters.getSNIMatchers() != null)
+      {
+        parameters.setSNIMatchers(_sslParameters.getSNIMatchers());
+      }
+      parameters.setUseCipherSuitesOrder(_sslParameters.getUseCipherSuitesOrder());
+      engine.setSSLParameters(parameters);
+    }
+    return engine;
+  }
+}
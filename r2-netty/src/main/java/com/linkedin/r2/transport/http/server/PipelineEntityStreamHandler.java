@@ -0,0 +1,226 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.transport.http.server;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.r2.message.Messages;
+import com.linkedin.r2.message.rest.RestResponseBuilder;
+import com.linkedin.r2.message.rest.RestStatus;
+import com.linkedin.r2.message.stream.StreamRequest;
+import com.linkedin.r2.message.stream.StreamRequestBuilder;
+import com.linkedin.r2.message.stream.StreamResponse;
+import com.linkedin.r2.message.stream.entitystream.CancelingReader;
+import com.linkedin.r2.message.stream.entitystream.EntityStreams;
+import com.linkedin.r2.netty.entitystream.StreamReader;
+import com.linkedin.r2.netty.entitystream.StreamWriter;
+import com.linkedin.r2.transport.common.WireAttributeHelper;
+import com.linkedin.r2.transport.common.bridge.common.TransportCallback;
+import com.linkedin.r2.transport.common.bridge.common.TransportResponse;
+import com.linkedin.r2.transport.common.bridge.common.TransportResponseImpl;
+import com.linkedin.r2.transport.http.client.stream.OrderedEntityStreamReader;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Server side implementation of {@link ChannelDuplexHandler} that dispatches {@link StreamRequest}s to the
+ * {@link HttpDispatcher} as soon as the request headers are received. The request entity is fed into the
+ * entity stream by a {@link StreamWriter} while it arrives on the channel, and the response entity is written
+ * back to the channel by a {@link StreamReader}, so neither entity is ever fully buffered in memory.
+ *
+ * One instance of the handler is created per HTTP/1.1 connection or per HTTP/2 stream child channel. Pipelined
+ * HTTP/1.1 requests are dispatched as they arrive but their responses are queued and written back in the order
+ * of the requests, one response entity at a time, so that responses never interleave on the connection.
+ */
+class PipelineEntityStreamHandler extends ChannelDuplexHandler
+{
+  private static final Logger LOG = LoggerFactory.getLogger(PipelineEntityStreamHandler.class);
+
+  private final HttpDispatcher _dispatcher;
+  private final long _maxContentLength;
+
+  private final Deque<PendingResponse> _pendingResponses = new ArrayDeque<>();
+
+  private StreamWriter _writer;
+  private boolean _writingResponse = false;
+  private boolean _inactive = false;
+
+  PipelineEntityStreamHandler(HttpDispatcher dispatcher, long maxContentLength)
+  {
+    _dispatcher = dispatcher;
+    _maxContentLength = maxContentLength;
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg)
+  {
+    if (msg instanceof StreamRequestBuilder)
+    {
+      _writer = new StreamWriter(ctx, _maxContentLength);
+      final StreamRequest request = ((StreamRequestBuilder) msg).build(EntityStreams.newEntityStream(_writer));
+      final PendingResponse pendingResponse = new PendingResponse();
+      _pendingResponses.add(pendingResponse);
+      // Dispatcher may call back from any thread, the queue is only accessed by the executor of the handler
+      final TransportCallback<StreamResponse> callback =
+          response -> ctx.executor().execute(() -> onResponse(ctx, pendingResponse, response));
+      try
+      {
+        _dispatcher.handleRequest(request, callback);
+      }
+      catch (Exception ex)
+      {
+        callback.onResponse(TransportResponseImpl.<StreamResponse>error(ex, Collections.<String, String>emptyMap()));
+      }
+    }
+    else if (msg instanceof ByteString)
+    {
+      final StreamWriter writer = _writer;
+      if (msg == StreamWriter.EOF)
+      {
+        _writer = null;
+      }
+      if (writer != null)
+      {
+        writer.onDataAvailable((ByteString) msg);
+      }
+    }
+    else
+    {
+      ctx.fireChannelRead(msg);
+    }
+  }
+
+  @Override
+  public void channelInactive(ChannelHandlerContext ctx)
+  {
+    _inactive = true;
+    tryNotifyWriterWithError(new ClosedChannelException());
+    cancelPendingResponses();
+    ctx.fireChannelInactive();
+  }
+
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause)
+  {
+    LOG.error("Exception caught on channel: " + ctx.channel().remoteAddress(), cause);
+    tryNotifyWriterWithError(cause);
+    ctx.close();
+  }
+
+  private void onResponse(ChannelHandlerContext ctx, PendingResponse pendingResponse,
+      TransportResponse<StreamResponse> response)
+  {
+    if (pendingResponse._response != null)
+    {
+      return;
+    }
+
+    pendingResponse._response = toStreamResponse(response);
+    if (_inactive)
+    {
+      pendingResponse._response.getEntityStream().setReader(new CancelingReader());
+      return;
+    }
+    writeNextResponse(ctx);
+  }
+
+  /**
+   * Writes the response of the oldest request if it is available and no other response is being written.
+   */
+  private void writeNextResponse(ChannelHandlerContext ctx)
+  {
+    final PendingResponse next = _pendingResponses.peek();
+    if (_writingResponse || next == null || next._response == null)
+    {
+      return;
+    }
+
+    _pendingResponses.poll();
+    _writingResponse = true;
+    final StreamResponse streamResponse = next._response;
+
+    // Sets reader after the headers have been flushed on the channel
+    final OrderedEntityStreamReader orderedReader = new OrderedEntityStreamReader(ctx, new StreamReader(ctx)
+    {
+      @Override
+      public void onDone()
+      {
+        super.onDone();
+        _writingResponse = false;
+        writeNextResponse(ctx);
+      }
+    });
+    ctx.writeAndFlush(streamResponse).addListener(future -> streamResponse.getEntityStream().setReader(orderedReader));
+  }
+
+  private static StreamResponse toStreamResponse(TransportResponse<StreamResponse> response)
+  {
+    if (response.hasError())
+    {
+      // The error is only getting here in cases where the upper layer dispatcher did not convert
+      // the exception into a response. See PipelineStreamHandler for the details.
+      return Messages.toStreamResponse(
+          new RestResponseBuilder(RestStatus.responseForError(RestStatus.INTERNAL_SERVER_ERROR, response.getError()))
+              .unsafeOverwriteHeaders(WireAttributeHelper.toWireAttributes(response.getWireAttributes()))
+              .build());
+    }
+
+    final StreamResponse original = response.getResponse();
+    return original.builder()
+        .unsafeOverwriteHeaders(WireAttributeHelper.toWireAttributes(response.getWireAttributes()))
+        .build(original.getEntityStream());
+  }
+
+  /**
+   * Responses that are never going to be written are cancelled so that their entity streams are released.
+   */
+  private void cancelPendingResponses()
+  {
+    for (PendingResponse pendingResponse : _pendingResponses)
+    {
+      if (pendingResponse._response != null)
+      {
+        pendingResponse._response.getEntityStream().setReader(new CancelingReader());
+      }
+    }
+    _pendingResponses.clear();
+  }
+
+  private void tryNotifyWriterWithError(Throwable cause)
+  {
+    final StreamWriter writer = _writer;
+    _writer = null;
+    if (writer != null)
+    {
+      writer.onError(cause);
+    }
+  }
+
+  /**
+   * Response slot of a dispatched request, filled in when the dispatcher calls back.
+   */
+  private static class PendingResponse
+  {
+    private StreamResponse _response;
+  }
+}
@@ -0,0 +1,175 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.transport.http.server;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.r2.message.stream.StreamRequestBuilder;
+import com.linkedin.r2.message.stream.StreamResponse;
+import com.linkedin.r2.netty.entitystream.StreamReader;
+import com.linkedin.r2.netty.entitystream.StreamWriter;
+import com.linkedin.r2.transport.http.common.HttpConstants;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+import java.net.URI;
+import java.util.Map;
+
+
+/**
+ * Streaming counterpart of {@link RAPServerCodec}. Decodes {@link HttpRequest} and {@link HttpContent}
+ * into {@link StreamRequestBuilder} and request entity in the form of {@link ByteString}s, and encodes
+ * {@link StreamResponse} and response entity {@link ByteString}s into {@link HttpResponse} and
+ * {@link HttpContent}.
+ *
+ * Unlike {@link RAPServerCodec}, the codec does not require an {@link io.netty.handler.codec.http.HttpObjectAggregator}
+ * in front of it. Each inbound chunk is copied exactly once from the Netty {@link ByteBuf} into a
+ * {@link ByteString} and released immediately, so the pooled buffers are never pinned by the entity stream.
+ *
+ * The codec works for both HTTP/1.1 and HTTP/2 stream child channels, the latter with the help of
+ * {@link io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec}.
+ */
+class RAPStreamServerCodec extends ChannelDuplexHandler
+{
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception
+  {
+    if (!(msg instanceof HttpRequest) && !(msg instanceof HttpContent))
+    {
+      ctx.fireChannelRead(msg);
+      return;
+    }
+
+    try
+    {
+      if (msg instanceof HttpRequest)
+      {
+        final HttpRequest nettyRequest = (HttpRequest) msg;
+        if (nettyRequest.decoderResult().isFailure())
+        {
+          ctx.fireExceptionCaught(nettyRequest.decoderResult().cause());
+          return;
+        }
+        ctx.fireChannelRead(buildStreamRequest(nettyRequest));
+      }
+
+      // FullHttpRequest is both a request and a content, hence no else branch here
+      if (msg instanceof HttpContent)
+      {
+        final HttpContent chunk = (HttpContent) msg;
+        if (chunk.decoderResult().isFailure())
+        {
+          ctx.fireExceptionCaught(chunk.decoderResult().cause());
+          return;
+        }
+
+        final ByteBuf content = chunk.content();
+        if (content.isReadable())
+        {
+          final byte[] bytes = new byte[content.readableBytes()];
+          content.readBytes(bytes);
+          ctx.fireChannelRead(ByteString.unsafeWrap(bytes));
+        }
+
+        if (chunk instanceof LastHttpContent)
+        {
+          ctx.fireChannelRead(StreamWriter.EOF);
+        }
+      }
+    }
+    finally
+    {
+      ReferenceCountUtil.release(msg);
+    }
+  }
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception
+  {
+    if (msg instanceof StreamResponse)
+    {
+      ctx.write(buildNettyResponse((StreamResponse) msg), promise);
+    }
+    else if (msg instanceof ByteString)
+    {
+      final ByteString data = (ByteString) msg;
+      if (data == StreamReader.EOF)
+      {
+        ctx.write(LastHttpContent.EMPTY_LAST_CONTENT, promise);
+      }
+      else
+      {
+        ctx.write(new DefaultHttpContent(Unpooled.wrappedBuffer(data.asByteBuffer())), promise);
+      }
+    }
+    else
+    {
+      ctx.write(msg, promise);
+    }
+  }
+
+  private static StreamRequestBuilder buildStreamRequest(HttpRequest nettyRequest) throws Exception
+  {
+    final StreamRequestBuilder builder = new StreamRequestBuilder(new URI(nettyRequest.uri()));
+    builder.setMethod(nettyRequest.method().name());
+    for (Map.Entry<String, String> e : nettyRequest.headers())
+    {
+      if (e.getKey().equalsIgnoreCase(HttpConstants.REQUEST_COOKIE_HEADER_NAME))
+      {
+        builder.addCookie(e.getValue());
+      }
+      else
+      {
+        builder.unsafeAddHeaderValue(e.getKey(), e.getValue());
+      }
+    }
+    return builder;
+  }
+
+  private static HttpResponse buildNettyResponse(StreamResponse response)
+  {
+    final HttpResponse nettyResponse =
+        new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.valueOf(response.getStatus()));
+
+    for (Map.Entry<String, String> e : response.getHeaders().entrySet())
+    {
+      nettyResponse.headers().set(e.getKey(), e.getValue());
+    }
+    nettyResponse.headers().set(HttpConstants.RESPONSE_COOKIE_HEADER_NAME, response.getCookies());
+
+    // The entity length is unknown until the entity stream is fully read. Transfer encoding header
+    // is stripped automatically when the response is converted into HTTP/2 frames.
+    if (!nettyResponse.headers().contains(HttpHeaderNames.CONTENT_LENGTH))
+    {
+      HttpUtil.setTransferEncodingChunked(nettyResponse, true);
+    }
+
+    return nettyResponse;
+  }
+}
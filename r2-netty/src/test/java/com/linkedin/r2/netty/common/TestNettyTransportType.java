@@ -0,0 +1,65 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.netty.common;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.concurrent.Executors;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestNettyTransportType
+{
+  @Test
+  public void testNio() throws Exception
+  {
+    Assert.assertTrue(NettyTransportType.NIO.isAvailable());
+    Assert.assertSame(NettyTransportType.NIO.resolve(), NettyTransportType.NIO);
+    Assert.assertEquals(NettyTransportType.NIO.socketChannelClass(), NioSocketChannel.class);
+    Assert.assertEquals(NettyTransportType.NIO.serverSocketChannelClass(), NioServerSocketChannel.class);
+
+    EventLoopGroup eventLoopGroup = NettyTransportType.NIO.newEventLoopGroup(1, Executors.defaultThreadFactory());
+    try
+    {
+      Assert.assertSame(NettyTransportType.of(eventLoopGroup), NettyTransportType.NIO);
+    }
+    finally
+    {
+      eventLoopGroup.shutdownGracefully().sync();
+    }
+  }
+
+  @Test
+  public void testEpollFallback() throws Exception
+  {
+    NettyTransportType resolved = NettyTransportType.EPOLL.resolve();
+    Assert.assertSame(resolved, Epoll.isAvailable() ? NettyTransportType.EPOLL : NettyTransportType.NIO);
+
+    EventLoopGroup eventLoopGroup = resolved.newEventLoopGroup(1, Executors.defaultThreadFactory());
+    try
+    {
+      Assert.assertSame(NettyTransportType.of(eventLoopGroup), resolved);
+    }
+    finally
+    {
+      eventLoopGroup.shutdownGracefully().sync();
+    }
+  }
+}
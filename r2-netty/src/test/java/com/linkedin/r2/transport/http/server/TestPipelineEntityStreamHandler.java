@@ -0,0 +1,157 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.transport.http.server;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.r2.message.stream.StreamRequest;
+import com.linkedin.r2.message.stream.StreamResponse;
+import com.linkedin.r2.message.stream.StreamResponseBuilder;
+import com.linkedin.r2.message.stream.entitystream.ByteStringWriter;
+import com.linkedin.r2.message.stream.entitystream.DrainReader;
+import com.linkedin.r2.message.stream.entitystream.EntityStreams;
+import com.linkedin.r2.message.stream.entitystream.WriteHandle;
+import com.linkedin.r2.message.stream.entitystream.Writer;
+import com.linkedin.r2.transport.common.bridge.common.TransportCallback;
+import com.linkedin.r2.transport.common.bridge.common.TransportResponse;
+import com.linkedin.r2.transport.common.bridge.common.TransportResponseImpl;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestPipelineEntityStreamHandler
+{
+  private static final String REQUEST_HEADER = "request";
+
+  @Test
+  public void testPipelinedResponsesWrittenInRequestOrder()
+  {
+    final List<TransportCallback<StreamResponse>> callbacks = new ArrayList<>();
+    final EmbeddedChannel ch = new EmbeddedChannel(new RAPStreamServerCodec(),
+        new PipelineEntityStreamHandler(new RecordingDispatcher(callbacks), HttpNettyServer.DEFAULT_MAX_CONTENT_LENGTH));
+
+    ch.writeInbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/first"));
+    ch.writeInbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/second"));
+    Assert.assertEquals(callbacks.size(), 2);
+
+    // Second request completes first but its response must wait for the response of the first request
+    callbacks.get(1).onResponse(response("second"));
+    runPendingTasks(ch);
+    Assert.assertNull(ch.readOutbound());
+
+    callbacks.get(0).onResponse(response("first"));
+    runPendingTasks(ch);
+
+    assertResponse(ch, "first");
+    assertResponse(ch, "second");
+    Assert.assertNull(ch.readOutbound());
+  }
+
+  @Test
+  public void testNextResponseWaitsForEntityOfCurrentResponse()
+  {
+    final List<TransportCallback<StreamResponse>> callbacks = new ArrayList<>();
+    final EmbeddedChannel ch = new EmbeddedChannel(new RAPStreamServerCodec(),
+        new PipelineEntityStreamHandler(new RecordingDispatcher(callbacks), HttpNettyServer.DEFAULT_MAX_CONTENT_LENGTH));
+
+    ch.writeInbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/first"));
+    ch.writeInbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/second"));
+
+    // The entity of the first response is never completed
+    final StreamResponse first = new StreamResponseBuilder().setStatus(200).setHeader(REQUEST_HEADER, "first")
+        .build(EntityStreams.newEntityStream(new Writer()
+        {
+          @Override
+          public void onInit(WriteHandle wh)
+          {
+          }
+
+          @Override
+          public void onWritePossible()
+          {
+          }
+
+          @Override
+          public void onAbort(Throwable e)
+          {
+          }
+        }));
+    callbacks.get(0).onResponse(TransportResponseImpl.success(first));
+    callbacks.get(1).onResponse(response("second"));
+    runPendingTasks(ch);
+
+    final HttpResponse nettyResponse = ch.readOutbound();
+    Assert.assertEquals(nettyResponse.headers().get(REQUEST_HEADER), "first");
+    Assert.assertNull(ch.readOutbound());
+  }
+
+  private static TransportResponse<StreamResponse> response(String entity)
+  {
+    return TransportResponseImpl.success(new StreamResponseBuilder().setStatus(200).setHeader(REQUEST_HEADER, entity)
+        .build(EntityStreams.newEntityStream(new ByteStringWriter(ByteString.copyString(entity, StandardCharsets.UTF_8)))),
+        Collections.emptyMap());
+  }
+
+  private static void assertResponse(EmbeddedChannel ch, String entity)
+  {
+    final HttpResponse nettyResponse = ch.readOutbound();
+    Assert.assertEquals(nettyResponse.headers().get(REQUEST_HEADER), entity);
+
+    final HttpContent content = ch.readOutbound();
+    Assert.assertEquals(content.content().toString(StandardCharsets.UTF_8), entity);
+    content.release();
+    Assert.assertSame(ch.readOutbound(), LastHttpContent.EMPTY_LAST_CONTENT);
+  }
+
+  private static void runPendingTasks(EmbeddedChannel ch)
+  {
+    // Entity stream callbacks are scheduled on the event loop and may schedule further tasks
+    for (int i = 0; i < 10; i++)
+    {
+      ch.runPendingTasks();
+    }
+  }
+
+  private static class RecordingDispatcher extends HttpDispatcher
+  {
+    private final List<TransportCallback<StreamResponse>> _callbacks;
+
+    @SuppressWarnings("deprecation")
+    RecordingDispatcher(List<TransportCallback<StreamResponse>> callbacks)
+    {
+      super(null);
+      _callbacks = callbacks;
+    }
+
+    @Override
+    public void handleRequest(StreamRequest req, TransportCallback<StreamResponse> callback)
+    {
+      req.getEntityStream().setReader(new DrainReader());
+      _callbacks.add(callback);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.transport.http.server;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.r2.message.stream.StreamRequestBuilder;
+import com.linkedin.r2.message.stream.StreamResponse;
+import com.linkedin.r2.message.stream.StreamResponseBuilder;
+import com.linkedin.r2.message.stream.entitystream.EntityStreams;
+import com.linkedin.r2.netty.entitystream.StreamReader;
+import com.linkedin.r2.netty.entitystream.StreamWriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestRAPStreamServerCodec
+{
+  @Test
+  public void testDecodeRequest()
+  {
+    EmbeddedChannel ch = new EmbeddedChannel(new RAPStreamServerCodec());
+
+    HttpRequest nettyRequest = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/foo?q=1");
+    nettyRequest.headers().set("header1", "value1");
+    nettyRequest.headers().add(HttpHeaderNames.COOKIE, "cookie1=value1");
+    ch.writeInbound(nettyRequest);
+
+    ByteBuf chunk = Unpooled.copiedBuffer("hello", StandardCharsets.UTF_8);
+    ch.writeInbound(new DefaultHttpContent(chunk));
+    Assert.assertEquals(chunk.refCnt(), 0);
+    ch.writeInbound(new DefaultLastHttpContent(Unpooled.copiedBuffer(" world", StandardCharsets.UTF_8)));
+
+    StreamRequestBuilder builder = ch.readInbound();
+    Assert.assertEquals(builder.getURI(), URI.create("/foo?q=1"));
+    Assert.assertEquals(builder.getMethod(), "POST");
+    Assert.assertEquals(builder.getHeader("header1"), "value1");
+    Assert.assertEquals(builder.getCookies().size(), 1);
+
+    Assert.assertEquals(((ByteString) ch.readInbound()).asString(StandardCharsets.UTF_8), "hello");
+    Assert.assertEquals(((ByteString) ch.readInbound()).asString(StandardCharsets.UTF_8), " world");
+    Assert.assertSame(ch.readInbound(), StreamWriter.EOF);
+    Assert.assertNull(ch.readInbound());
+  }
+
+  @Test
+  public void testEncodeResponse()
+  {
+    EmbeddedChannel ch = new EmbeddedChannel(new RAPStreamServerCodec());
+
+    StreamResponse response = new StreamResponseBuilder()
+        .setStatus(200)
+        .setHeader("header1", "value1")
+        .build(EntityStreams.emptyStream());
+    ch.writeOutbound(response);
+    ch.writeOutbound(ByteString.copyString("hello", StandardCharsets.UTF_8));
+    ch.writeOutbound(StreamReader.EOF);
+
+    HttpResponse nettyResponse = ch.readOutbound();
+    Assert.assertEquals(nettyResponse.status().code(), 200);
+    Assert.assertEquals(nettyResponse.headers().get("header1"), "value1");
+    Assert.assertTrue(HttpUtil.isTransferEncodingChunked(nettyResponse));
+
+    HttpContent content = ch.readOutbound();
+    Assert.assertEquals(content.content().toString(StandardCharsets.UTF_8), "hello");
+    content.release();
+    Assert.assertSame(ch.readOutbound(), LastHttpContent.EMPTY_LAST_CONTENT);
+  }
+}
@@ -28,6 +28,7 @@ import com.linkedin.d2.balancer.util.URIKeyPair;
 import com.linkedin.d2.balancer.util.URIMappingResult;
 import com.linkedin.data.ByteString;
 import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.symbol.SymbolTableProviderHolder;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.multipart.MultiPartMIMEUtils;
 import com.linkedin.multipart.MultiPartMIMEWriter;
@@ -79,6 +80,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.activation.MimeTypeParseException;
 
@@ -219,6 +221,33 @@ public class RestClient implements Client {
     _acceptTypes = acceptTypes;
     _contentType = contentType;
     _restLiClientConfig = restLiClientConfig == null ? new RestLiClientConfig() : restLiClientConfig;
+    prefetchSymbolTables(_restLiClientConfig);
+  }
+
+  /**
+   * Fetch the symbol tables configured in the client configuration in the background, so that decoding the first
+   * responses that reference them does not block on a remote call.
+   */
+  private static void prefetchSymbolTables(RestLiClientConfig restLiClientConfig)
+  {
+    if (restLiClientConfig.getSymbolTablePrefetchNames().isEmpty())
+    {
+      return;
+    }
+
+    Executor executor = restLiClientConfig.getSymbolTablePrefetchExecutor();
+    if (executor == null)
+    {
+      executor = runnable ->
+      {
+        Thread thread = new Thread(runnable, "symbol-table-prefetch");
+        thread.setDaemon(true);
+        thread.start();
+      };
+    }
+
+    SymbolTableProviderHolder.INSTANCE.getSymbolTableProvider()
+        .prefetchSymbolTables(restLiClientConfig.getSymbolTablePrefetchNames(), executor);
   }
 
 
@@ -17,6 +17,9 @@ package com.linkedin.restli.client.util;
 
 
 import com.linkedin.restli.client.ScatterGatherStrategy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.Executor;
 
 /**
  * Configuration for rest.li clients.
@@ -27,6 +30,8 @@ import com.linkedin.restli.client.ScatterGatherStrategy;
 public class RestLiClientConfig {
   private Boolean _useStreaming = false;
   private ScatterGatherStrategy _scatterGatherStrategy = null;
+  private Collection<String> _symbolTablePrefetchNames = Collections.emptyList();
+  private Executor _symbolTablePrefetchExecutor = null;
 
   public boolean isUseStreaming() {
     return _useStreaming;
@@ -46,6 +51,37 @@ public class RestLiClientConfig {
     _scatterGatherStrategy = scatterGatherStrategy;
   }
 
+  public Collection<String> getSymbolTablePrefetchNames()
+  {
+    return _symbolTablePrefetchNames;
+  }
+
+  /**
+   * Set the names of the remote symbol tables to fetch in the background when the client is constructed, so that
+   * decoding the first responses that reference them does not block on a remote call.
+   *
+   * @param symbolTablePrefetchNames Names of the symbol tables, as they appear in responses.
+   */
+  public void setSymbolTablePrefetchNames(Collection<String> symbolTablePrefetchNames)
+  {
+    _symbolTablePrefetchNames = symbolTablePrefetchNames == null ? Collections.emptyList() : symbolTablePrefetchNames;
+  }
+
+  public Executor getSymbolTablePrefetchExecutor()
+  {
+    return _symbolTablePrefetchExecutor;
+  }
+
+  /**
+   * Set the executor to prefetch symbol tables on. If not set, each symbol table is fetched on its own daemon thread.
+   *
+   * @param symbolTablePrefetchExecutor The executor to prefetch symbol tables on.
+   */
+  public void setSymbolTablePrefetchExecutor(Executor symbolTablePrefetchExecutor)
+  {
+    _symbolTablePrefetchExecutor = symbolTablePrefetchExecutor;
+  }
+
   @Override
   public boolean equals(Object obj)
   {
@@ -18,7 +18,6 @@ package com.linkedin.restli.common.validation;
 
 import com.linkedin.data.schema.DataSchema;
 import com.linkedin.data.schema.validation.ValidationResult;
-import com.linkedin.data.schema.validator.DataSchemaAnnotationValidator;
 import com.linkedin.data.schema.validator.Validator;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.transform.filter.request.MaskTree;
@@ -35,7 +34,7 @@ import java.util.Collections;
  */
 public class RestLiDataSchemaDataValidator extends RestLiDataValidator {
   private final DataSchema _validatingSchema;
-  private final DataSchemaAnnotationValidator _outputSchemaValidator;
+  private final Validator _outputSchemaValidator;
 
   /**
    * Constructor.
@@ -57,7 +56,7 @@ public class RestLiDataSchemaDataValidator extends RestLiDataValidator {
     }
 
     _validatingSchema = validatingSchema;
-    _outputSchemaValidator = new DataSchemaAnnotationValidator(_validatingSchema);
+    _outputSchemaValidator = getOutputValidator(_validatingSchema);
   }
 
   /**
@@ -73,7 +72,7 @@ public class RestLiDataSchemaDataValidator extends RestLiDataValidator {
 
   /**
    * Validator to use to validate the output.
-   * The validator is instantiated in the constructor, so directly returns that if input is equal to _validatingSchema.
+   * The validator is looked up in the constructor, so directly returns that if input is equal to _validatingSchema.
    * @param validatingSchema schema to validate against
    * @return validator
    */
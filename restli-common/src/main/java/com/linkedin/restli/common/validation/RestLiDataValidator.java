@@ -16,6 +16,8 @@
 
 package com.linkedin.restli.common.validation;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.linkedin.data.element.DataElement;
 import com.linkedin.data.element.DataElementUtil;
 import com.linkedin.data.element.SimpleDataElement;
@@ -59,6 +61,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 
@@ -128,6 +131,16 @@ public class RestLiDataValidator
   private final ResourceMethod _resourceMethod;
   // To be passed into DataSchemaAnnotationValidator.
   private final Map<String, Class<? extends Validator>> _validatorClassMap;
+  // ReadOnly and CreateOnly paths from the annotations, which together with the resource method and the validator
+  // class map determine the behavior of the input validator.
+  private final List<String> _readOnlyPaths;
+  private final List<String> _createOnlyPaths;
+
+  // Building an annotation validator walks the whole schema and instantiates its custom validators. A new Rest.li
+  // data validator is created for every request, so the built validators are shared across instances, keyed by
+  // schema identity and everything else they depend on. The size is bounded because validating schemas built from
+  // projections are new instances on every request.
+  private static final Cache<ValidatorKey, Validator> VALIDATOR_CACHE = Caffeine.newBuilder().maximumSize(1000).build();
 
   private static final String INSTANTIATION_ERROR = "InstantiationException while trying to instantiate the record template class";
   private static final String ILLEGAL_ACCESS_ERROR = "IllegalAccessException while trying to instantiate the record template class";
@@ -241,6 +254,8 @@ public class RestLiDataValidator
                              ResourceMethod resourceMethod,
                              Map<String, Class<? extends Validator>> validatorClassMap)
   {
+    List<String> readOnlyPaths = new ArrayList<>();
+    List<String> createOnlyPaths = new ArrayList<>();
     List<Predicate> readOnly = new ArrayList<>();
     List<Predicate> createOnly = new ArrayList<>();
     List<Predicate> readOnlyDescendant = new ArrayList<>();
@@ -254,6 +269,7 @@ public class RestLiDataValidator
         {
           for (String path : entry.getValue())
           {
+            readOnlyPaths.add(path);
             readOnly.add(stringToPredicate(path, false));
             readOnlyDescendant.add(stringToPredicate(path, true));
           }
@@ -262,6 +278,7 @@ public class RestLiDataValidator
         {
           for (String path : entry.getValue())
           {
+            createOnlyPaths.add(path);
             createOnly.add(stringToPredicate(path, false));
             createOnlyDescendant.add(stringToPredicate(path, true));
           }
@@ -276,6 +293,8 @@ public class RestLiDataValidator
     _valueClass = valueClass;
     _resourceMethod = resourceMethod;
     _validatorClassMap = Collections.unmodifiableMap(validatorClassMap);
+    _readOnlyPaths = readOnlyPaths;
+    _createOnlyPaths = createOnlyPaths;
   }
 
   /**
@@ -642,12 +661,78 @@ public class RestLiDataValidator
 
   protected Validator getValidatorForOutputEntityValidation(DataSchema validatingSchema)
   {
-    return new DataSchemaAnnotationValidator(validatingSchema);
+    return getOutputValidator(validatingSchema);
   }
 
   protected Validator getValidatorForInputEntityValidation(DataSchema validatingSchema)
   {
-    return new DataValidator(validatingSchema);
+    return VALIDATOR_CACHE.get(
+        new ValidatorKey(validatingSchema, _resourceMethod, _validatorClassMap, _readOnlyPaths, _createOnlyPaths),
+        key -> new DataValidator(validatingSchema));
+  }
+
+  /**
+   * Returns the shared {@link DataSchemaAnnotationValidator} for output validation against the given schema.
+   *
+   * @param validatingSchema schema to validate against
+   * @return validator
+   */
+  static Validator getOutputValidator(DataSchema validatingSchema)
+  {
+    return VALIDATOR_CACHE.get(new ValidatorKey(validatingSchema, null, Collections.emptyMap(),
+        Collections.emptyList(), Collections.emptyList()), key -> new DataSchemaAnnotationValidator(validatingSchema));
+  }
+
+  /**
+   * Key of a shared validator. Schemas are compared by identity to avoid a more computational heavy .equals for
+   * larger schemas. The resource method is null for output validators.
+   */
+  private static final class ValidatorKey
+  {
+    private final DataSchema _schema;
+    private final ResourceMethod _resourceMethod;
+    private final Map<String, Class<? extends Validator>> _validatorClassMap;
+    private final List<String> _readOnlyPaths;
+    private final List<String> _createOnlyPaths;
+
+    private ValidatorKey(DataSchema schema,
+                         ResourceMethod resourceMethod,
+                         Map<String, Class<? extends Validator>> validatorClassMap,
+                         List<String> readOnlyPaths,
+                         List<String> createOnlyPaths)
+    {
+      _schema = schema;
+      _resourceMethod = resourceMethod;
+      _validatorClassMap = validatorClassMap;
+      _readOnlyPaths = readOnlyPaths;
+      _createOnlyPaths = createOnlyPaths;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+      if (this == o)
+      {
+        return true;
+      }
+      if (!(o instanceof ValidatorKey))
+      {
+        return false;
+      }
+      ValidatorKey other = (ValidatorKey) o;
+      return _schema == other._schema
+          && _resourceMethod == other._resourceMethod
+          && _validatorClassMap.equals(other._validatorClassMap)
+          && _readOnlyPaths.equals(other._readOnlyPaths)
+          && _createOnlyPaths.equals(other._createOnlyPaths);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(System.identityHashCode(_schema), _resourceMethod, _validatorClassMap, _readOnlyPaths,
+          _createOnlyPaths);
+    }
   }
 
   private static ValidationErrorResult validationResultWithErrorMessage(String errorMessage)
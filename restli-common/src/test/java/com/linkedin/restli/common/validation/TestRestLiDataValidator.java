@@ -0,0 +1,85 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.common.validation;
+
+import com.linkedin.data.schema.DataSchema;
+import com.linkedin.data.template.DataTemplateUtil;
+import com.linkedin.restli.common.ResourceMethod;
+import com.linkedin.restli.common.test.RecordTemplateWithPrimitiveKey;
+import com.linkedin.restli.restspec.RestSpecAnnotation;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests for the validators shared across {@link RestLiDataValidator} instances.
+ */
+public class TestRestLiDataValidator
+{
+  private static final String READ_ONLY = ReadOnly.class.getAnnotation(RestSpecAnnotation.class).name();
+
+  @Test
+  public void testInputValidatorIsSharedAcrossInstances()
+  {
+    DataSchema schema = DataTemplateUtil.getSchema(RecordTemplateWithPrimitiveKey.class);
+    Map<String, List<String>> annotations = Collections.singletonMap(READ_ONLY, Collections.singletonList("id"));
+
+    RestLiDataValidator first =
+        new RestLiDataValidator(annotations, RecordTemplateWithPrimitiveKey.class, ResourceMethod.CREATE);
+    RestLiDataValidator second =
+        new RestLiDataValidator(annotations, RecordTemplateWithPrimitiveKey.class, ResourceMethod.CREATE);
+
+    Assert.assertSame(first.getValidatorForInputEntityValidation(schema),
+        second.getValidatorForInputEntityValidation(schema));
+  }
+
+  @Test
+  public void testInputValidatorDependsOnMethodAndAnnotations()
+  {
+    DataSchema schema = DataTemplateUtil.getSchema(RecordTemplateWithPrimitiveKey.class);
+    Map<String, List<String>> annotations = Collections.singletonMap(READ_ONLY, Collections.singletonList("id"));
+
+    RestLiDataValidator create =
+        new RestLiDataValidator(annotations, RecordTemplateWithPrimitiveKey.class, ResourceMethod.CREATE);
+    RestLiDataValidator update =
+        new RestLiDataValidator(annotations, RecordTemplateWithPrimitiveKey.class, ResourceMethod.UPDATE);
+    RestLiDataValidator unannotated =
+        new RestLiDataValidator(Collections.emptyMap(), RecordTemplateWithPrimitiveKey.class, ResourceMethod.CREATE);
+
+    Assert.assertNotSame(create.getValidatorForInputEntityValidation(schema),
+        update.getValidatorForInputEntityValidation(schema));
+    Assert.assertNotSame(create.getValidatorForInputEntityValidation(schema),
+        unannotated.getValidatorForInputEntityValidation(schema));
+  }
+
+  @Test
+  public void testOutputValidatorIsSharedAcrossInstances()
+  {
+    DataSchema schema = DataTemplateUtil.getSchema(RecordTemplateWithPrimitiveKey.class);
+
+    RestLiDataValidator validator =
+        new RestLiDataValidator(Collections.emptyMap(), RecordTemplateWithPrimitiveKey.class, ResourceMethod.GET);
+    RestLiDataSchemaDataValidator schemaValidator =
+        new RestLiDataSchemaDataValidator(null, ResourceMethod.GET, schema);
+
+    Assert.assertSame(validator.getValidatorForOutputEntityValidation(schema),
+        schemaValidator.getValidatorForOutputEntityValidation(schema));
+  }
+}
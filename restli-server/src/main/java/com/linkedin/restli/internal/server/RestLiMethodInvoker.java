@@ -33,6 +33,7 @@ import com.linkedin.restli.common.RestConstants;
 import com.linkedin.restli.internal.server.methods.arguments.RestLiArgumentBuilder;
 import com.linkedin.restli.internal.server.model.Parameter.ParamType;
 import com.linkedin.restli.internal.server.model.ResourceMethodDescriptor;
+import com.linkedin.restli.internal.server.model.ResourceMethodInvoker;
 import com.linkedin.restli.server.NonResourceRequestHandler;
 import com.linkedin.restli.server.ResourceContext;
 import com.linkedin.restli.server.RestLiRequestData;
@@ -42,7 +43,6 @@ import com.linkedin.restli.server.config.ResourceMethodConfig;
 import com.linkedin.restli.server.resources.BaseResource;
 import com.linkedin.restli.server.resources.ResourceFactory;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.concurrent.TimeUnit;
 
 
@@ -91,7 +91,7 @@ public class RestLiMethodInvoker
       final ServerResourceContext resourceContext,
       final Object... arguments) throws IllegalAccessException
   {
-    final Method method = descriptor.getMethod();
+    final ResourceMethodInvoker methodInvoker = descriptor.getMethodInvoker();
 
     final RequestContext requestContext = resourceContext.getRawRequestContext();
     TimingContextUtil.endTiming(requestContext, FrameworkTimingKeys.SERVER_REQUEST_RESTLI.key());
@@ -130,12 +130,12 @@ public class RestLiMethodInvoker
             }
           };
 
-          method.invoke(resource, arguments);
+          methodInvoker.invoke(resource, arguments);
           // App code should use the callback
           break;
 
         case SYNC:
-          Object applicationResult = method.invoke(resource, arguments);
+          Object applicationResult = methodInvoker.invoke(resource, arguments);
           callback.onSuccess(applicationResult);
           break;
 
@@ -151,7 +151,7 @@ public class RestLiMethodInvoker
             contextIndex = descriptor.indexOfParameterType(ParamType.PARSEQ_CONTEXT);
           }
           // run through the engine to get the context
-          Task<Object> restliTask = withTimeout(createRestLiParSeqTask(arguments, contextIndex, method, resource),
+          Task<Object> restliTask = withTimeout(createRestLiParSeqTask(arguments, contextIndex, methodInvoker, resource),
                   methodConfig);
 
           // propagate the result to the callback
@@ -169,7 +169,7 @@ public class RestLiMethodInvoker
 
           //addListener requires Task<Object> in this case
           @SuppressWarnings("unchecked")
-          Task<Object> task = withTimeout((Task<Object>) method.invoke(resource, arguments),
+          Task<Object> task = withTimeout((Task<Object>) methodInvoker.invoke(resource, arguments),
                   methodConfig);
           if (task == null)
           {
@@ -336,7 +336,7 @@ public class RestLiMethodInvoker
    */
   private static Task<Object> createRestLiParSeqTask(final Object[] arguments,
       final int contextIndex,
-      final Method method,
+      final ResourceMethodInvoker methodInvoker,
       final Object resource)
   {
     return Task.async(context ->
@@ -348,7 +348,7 @@ public class RestLiMethodInvoker
           // we can now supply the context
           arguments[contextIndex] = context;
         }
-        Object applicationResult = method.invoke(resource, arguments);
+        Object applicationResult = methodInvoker.invoke(resource, arguments);
         if (applicationResult == null)
         {
           return Promises.error(new RestLiServiceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR,
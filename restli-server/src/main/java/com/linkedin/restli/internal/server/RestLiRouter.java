@@ -165,47 +165,7 @@ public class RestLiRouter
       }
       else
       {
-        if (currentResource.getKeys().isEmpty())
-        {
-          throw new RoutingException(String.format("Path key not supported on resource '%s' for URI '%s'",
-                                                   currentResource.getName(),
-                                                   context.getRequestURI()),
-                                     HttpStatus.S_400_BAD_REQUEST.getCode());
-        }
-        else if (context.getParameters().containsKey(RestConstants.ALT_KEY_PARAM))
-        {
-          parseAlternativeKey(currentResource, context, currentPathSegment);
-          currentLevel = ResourceLevel.ENTITY;
-        }
-        else if (currentResource.getKeyClass() == ComplexResourceKey.class)
-        {
-          parseComplexKey(currentResource, context, currentPathSegment);
-          currentLevel = ResourceLevel.ENTITY;
-        }
-        else if (currentResource.getKeyClass() == CompoundKey.class)
-        {
-          CompoundKey compoundKey;
-          try
-          {
-            compoundKey = parseCompoundKey(currentResource, context, currentPathSegment);
-          }
-          catch (IllegalArgumentException e)
-          {
-            throw new RoutingException(String.format("Malformed Compound Key: '%s'", currentPathSegment),
-                HttpStatus.S_400_BAD_REQUEST.getCode(), e);
-          }
-
-          if (compoundKey != null && compoundKey.getPartKeys().containsAll(currentResource.getKeyNames()))
-          {
-            // full match on key parts means that we are targeting a unique entity
-            currentLevel = ResourceLevel.ENTITY;
-          }
-        }
-        else // Must be a simple key then
-        {
-          parseSimpleKey(currentResource, context, currentPathSegment);
-          currentLevel = ResourceLevel.ENTITY;
-        }
+        currentLevel = parsePathKey(currentResource, context, currentPathSegment, currentLevel);
       }
 
       if (currentResource == null)
@@ -219,6 +179,60 @@ public class RestLiRouter
     return findMethodDescriptor(currentResource, currentLevel, context);
   }
 
+  /**
+   * Parses the key in the given path segment of a collection or association into the context.
+   *
+   * @return the resource level after the key, which stays unchanged if only some parts of a compound key are given
+   */
+  ResourceLevel parsePathKey(final ResourceModel currentResource,
+                             final ServerResourceContext context,
+                             final String currentPathSegment,
+                             final ResourceLevel currentLevel)
+  {
+    if (currentResource.getKeys().isEmpty())
+    {
+      throw new RoutingException(String.format("Path key not supported on resource '%s' for URI '%s'",
+                                               currentResource.getName(),
+                                               context.getRequestURI()),
+                                 HttpStatus.S_400_BAD_REQUEST.getCode());
+    }
+    else if (context.getParameters().containsKey(RestConstants.ALT_KEY_PARAM))
+    {
+      parseAlternativeKey(currentResource, context, currentPathSegment);
+      return ResourceLevel.ENTITY;
+    }
+    else if (currentResource.getKeyClass() == ComplexResourceKey.class)
+    {
+      parseComplexKey(currentResource, context, currentPathSegment);
+      return ResourceLevel.ENTITY;
+    }
+    else if (currentResource.getKeyClass() == CompoundKey.class)
+    {
+      CompoundKey compoundKey;
+      try
+      {
+        compoundKey = parseCompoundKey(currentResource, context, currentPathSegment);
+      }
+      catch (IllegalArgumentException e)
+      {
+        throw new RoutingException(String.format("Malformed Compound Key: '%s'", currentPathSegment),
+            HttpStatus.S_400_BAD_REQUEST.getCode(), e);
+      }
+
+      if (compoundKey != null && compoundKey.getPartKeys().containsAll(currentResource.getKeyNames()))
+      {
+        // full match on key parts means that we are targeting a unique entity
+        return ResourceLevel.ENTITY;
+      }
+    }
+    else // Must be a simple key then
+    {
+      parseSimpleKey(currentResource, context, currentPathSegment);
+      return ResourceLevel.ENTITY;
+    }
+    return currentLevel;
+  }
+
   /** given path segment, parses subresource name out of it */
   private String parseSubresourceName(final String pathSegment)
   {
@@ -238,8 +252,23 @@ public class RestLiRouter
   {
     ResourceMethod type = mapResourceMethod(context, resourceLevel);
     String methodName = context.getMethodName(type);
-    ResourceMethodDescriptor methodDescriptor = resource.matchMethod(type, methodName, resourceLevel);
+    return checkMethodDescriptor(resource.matchMethod(type, methodName, resourceLevel), resource, methodName, context);
+  }
 
+  /**
+   * Records the operation of the matched method in the request context, or fails the routing if no method matched.
+   *
+   * @param methodDescriptor the matched method, or null if none matched
+   * @param resource the resource the method was looked up on
+   * @param methodName the action, finder or batch finder name of the request, or null if the method is not named
+   * @param context the context of the request
+   * @return the matched method
+   */
+  ResourceMethodDescriptor checkMethodDescriptor(final ResourceMethodDescriptor methodDescriptor,
+                                                 final ResourceModel resource,
+                                                 final String methodName,
+                                                 final ServerResourceContext context)
+  {
     if (methodDescriptor != null)
     {
       context.getRawRequestContext().putLocalAttr(R2Constants.OPERATION,
@@ -335,8 +364,16 @@ public class RestLiRouter
     return result;
   }
 
-  private ResourceMethod mapResourceMethod(final ServerResourceContext context,
-                                           final ResourceLevel resourceLevel)
+  /**
+   * @return the {@link ResourceMethod} configured for the given match key, or null if there is none.
+   */
+  static ResourceMethod lookupResourceMethod(final ResourceMethodMatchKey key)
+  {
+    return _resourceMethodLookup.get(key);
+  }
+
+  ResourceMethod mapResourceMethod(final ServerResourceContext context,
+                                   final ResourceLevel resourceLevel)
   {
     ResourceMethodMatchKey key =
         new ResourceMethodMatchKey(context.getRequestMethod(),
@@ -482,8 +519,8 @@ public class RestLiRouter
     }
   }
 
-  private void parseBatchKeysParameter(final ResourceModel resource,
-                                       final ServerResourceContext context)
+  void parseBatchKeysParameter(final ResourceModel resource,
+                               final ServerResourceContext context)
   {
     Class<?> keyClass = resource.getKeyClass();
     ProtocolVersion version = context.getRestliProtocolVersion();
@@ -0,0 +1,385 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.internal.server;
+
+import com.linkedin.restli.common.HttpStatus;
+import com.linkedin.restli.common.ResourceMethod;
+import com.linkedin.restli.common.RestConstants;
+import com.linkedin.restli.internal.server.model.ResourceMethodDescriptor;
+import com.linkedin.restli.internal.server.model.ResourceModel;
+import com.linkedin.restli.server.ResourceDefinition;
+import com.linkedin.restli.server.ResourceLevel;
+import com.linkedin.restli.server.RestLiConfig;
+import com.linkedin.restli.server.RoutingException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * A {@link RestLiRouter} that compiles the resource hierarchy into a tree of route nodes when it is constructed, so
+ * that routing a request does not split the path with a regular expression, copy the segments into a queue, or scan
+ * the method descriptors of the target resource.
+ *
+ * Each node indexes the methods of its resource by type, and its finders, batch finders and actions by name.
+ * The {@link ResourceMethod} of a request is looked up in a table precomputed from the routing configuration of
+ * {@link RestLiRouter}. Path keys and batch keys are parsed exactly as {@link RestLiRouter} parses them, and every
+ * request that does not match the compiled tables is handed to the same code paths, so the routing results and
+ * errors of both routers are identical.
+ */
+public class TrieRestLiRouter extends RestLiRouter
+{
+  private static final String[] HTTP_METHODS = { "GET", "PUT", "POST", "DELETE" };
+
+  private static final int ACTION_BIT = 1 << 4;
+  private static final int QUERY_BIT = 1 << 3;
+  private static final int BATCH_FINDER_BIT = 1 << 2;
+  private static final int BATCH_KEYS_BIT = 1 << 1;
+  private static final int ENTITY_BIT = 1;
+
+  // HTTP method -> RestLi method header -> ResourceMethod indexed by the request shape bits above.
+  private static final Map<String, Map<String, ResourceMethod[]>> RESOURCE_METHOD_TABLE = setupResourceMethodTable();
+
+  // Root paths without their leading slash -> root resource.
+  private final SegmentTable<RouteNode> _rootNodes;
+
+  /**
+   * Constructor.
+   *
+   * @param pathRootResourceMap a map of resource root paths to corresponding
+   *          {@link ResourceModel}s
+   * @param restLiConfig Server related configurations
+   */
+  public TrieRestLiRouter(final Map<String, ResourceModel> pathRootResourceMap, RestLiConfig restLiConfig)
+  {
+    super(pathRootResourceMap, restLiConfig);
+    Map<String, RouteNode> rootNodes = new HashMap<>();
+    for (Map.Entry<String, ResourceModel> entry : pathRootResourceMap.entrySet())
+    {
+      // Requests are matched against "/" followed by the first path segment, so other keys never match.
+      if (entry.getKey().startsWith("/"))
+      {
+        rootNodes.put(entry.getKey().substring(1), new RouteNode(entry.getValue()));
+      }
+    }
+    _rootNodes = new SegmentTable<>(rootNodes);
+  }
+
+  @Override
+  public ResourceMethodDescriptor process(final ServerResourceContext context)
+  {
+    final String path = context.getRequestURI().getRawPath();
+    if (path.length() < 2)
+    {
+      throw new RoutingException(HttpStatus.S_404_NOT_FOUND.getCode());
+    }
+
+    int start = path.charAt(0) == '/' ? 1 : 0;
+    // Trailing empty segments are ignored, the same as String.split does.
+    int end = path.length();
+    while (end > start && path.charAt(end - 1) == '/')
+    {
+      end--;
+    }
+
+    int segmentEnd;
+    RouteNode currentNode;
+    if (start == end)
+    {
+      // There are no segments, and RestLiRouter looks up the root path "/null".
+      segmentEnd = end;
+      currentNode = _rootNodes.get("null");
+    }
+    else
+    {
+      segmentEnd = segmentEnd(path, start, end);
+      currentNode = lookup(_rootNodes, path, start, segmentEnd, "root path");
+    }
+
+    if (currentNode == null)
+    {
+      throw new RoutingException(String.format("No root resource defined for path '/%s'",
+                                               start == end ? "null" : path.substring(start, segmentEnd)),
+                                 HttpStatus.S_404_NOT_FOUND.getCode());
+    }
+
+    ResourceLevel currentLevel = currentNode._model.getResourceLevel();
+    start = segmentEnd + 1;
+    while (start < end)
+    {
+      segmentEnd = segmentEnd(path, start, end);
+      if (currentLevel.equals(ResourceLevel.ENTITY))
+      {
+        currentNode = lookup(currentNode._subResources, path, start, segmentEnd, "subresource name");
+        if (currentNode == null)
+        {
+          throw new RoutingException(HttpStatus.S_404_NOT_FOUND.getCode());
+        }
+        currentLevel = currentNode._model.getResourceLevel();
+      }
+      else
+      {
+        currentLevel = parsePathKey(currentNode._model, context, path.substring(start, segmentEnd), currentLevel);
+      }
+      start = segmentEnd + 1;
+    }
+
+    parseBatchKeysParameter(currentNode._model, context); //now we know the key type, look for batch parameter
+
+    ResourceMethod type = matchResourceMethod(context, currentLevel);
+    String methodName = context.getMethodName(type);
+    return checkMethodDescriptor(currentNode.matchMethod(type, methodName, currentLevel),
+                                 currentNode._model,
+                                 methodName,
+                                 context);
+  }
+
+  private ResourceMethod matchResourceMethod(final ServerResourceContext context, final ResourceLevel resourceLevel)
+  {
+    Map<String, ResourceMethod[]> restLiMethods = RESOURCE_METHOD_TABLE.get(context.getRequestMethod());
+    if (restLiMethods != null)
+    {
+      ResourceMethod[] methods = restLiMethods.get(context.getRestLiRequestMethod());
+      if (methods != null)
+      {
+        int index = (context.getRequestActionName() != null ? ACTION_BIT : 0)
+            | (context.getRequestFinderName() != null ? QUERY_BIT : 0)
+            | (context.getRequestBatchFinderName() != null ? BATCH_FINDER_BIT : 0)
+            | (context.getPathKeys().getBatchIds() != null ? BATCH_KEYS_BIT : 0)
+            | (resourceLevel.equals(ResourceLevel.ENTITY) ? ENTITY_BIT : 0);
+        if (methods[index] != null)
+        {
+          return methods[index];
+        }
+      }
+    }
+
+    // Unusual casing, or a request that does not map to any method and fails with the usual error.
+    return mapResourceMethod(context, resourceLevel);
+  }
+
+  private static int segmentEnd(final String path, final int start, final int end)
+  {
+    int slash = path.indexOf('/', start);
+    return slash < 0 || slash > end ? end : slash;
+  }
+
+  /**
+   * Looks up the path segment between the start and end indexes. Only segments that need URL decoding are copied.
+   */
+  private static RouteNode lookup(final SegmentTable<RouteNode> table,
+                                  final String path,
+                                  final int start,
+                                  final int end,
+                                  final String description)
+  {
+    for (int i = start; i < end; i++)
+    {
+      char c = path.charAt(i);
+      if (c == '%' || c == '+')
+      {
+        return table.get(decode(path.substring(start, end), description));
+      }
+    }
+    return table.get(path, start, end);
+  }
+
+  private static String decode(final String value, final String description)
+  {
+    try
+    {
+      return URLDecoder.decode(value, RestConstants.DEFAULT_CHARSET_NAME);
+    }
+    catch (UnsupportedEncodingException e)
+    {
+      throw new RestLiInternalException("UnsupportedEncodingException while trying to decode the " + description, e);
+    }
+  }
+
+  private static Map<String, Map<String, ResourceMethod[]>> setupResourceMethodTable()
+  {
+    Map<String, Map<String, ResourceMethod[]>> result = new HashMap<>();
+    for (String httpMethod : HTTP_METHODS)
+    {
+      Map<String, ResourceMethod[]> restLiMethods = new HashMap<>();
+      addResourceMethods(restLiMethods, httpMethod, "");
+      for (ResourceMethod restLiMethod : ResourceMethod.values())
+      {
+        // Clients send the lower case name, but the header is matched case insensitively.
+        addResourceMethods(restLiMethods, httpMethod, restLiMethod.name());
+        addResourceMethods(restLiMethods, httpMethod, restLiMethod.toString());
+      }
+      result.put(httpMethod, restLiMethods);
+    }
+    return result;
+  }
+
+  private static void addResourceMethods(final Map<String, ResourceMethod[]> restLiMethods,
+                                         final String httpMethod,
+                                         final String restLiMethod)
+  {
+    ResourceMethod[] methods = new ResourceMethod[1 << 5];
+    for (int index = 0; index < methods.length; index++)
+    {
+      methods[index] = lookupResourceMethod(new ResourceMethodMatchKey(httpMethod,
+                                                                       restLiMethod,
+                                                                       (index & ACTION_BIT) != 0,
+                                                                       (index & QUERY_BIT) != 0,
+                                                                       (index & BATCH_FINDER_BIT) != 0,
+                                                                       (index & BATCH_KEYS_BIT) != 0,
+                                                                       (index & ENTITY_BIT) != 0));
+    }
+    restLiMethods.put(restLiMethod, methods);
+  }
+
+  /**
+   * A resource in the compiled tree. The method indexes keep the first matching descriptor, the same one that
+   * {@link ResourceModel#matchMethod(ResourceMethod, String, ResourceLevel)} returns.
+   */
+  private static class RouteNode
+  {
+    private final ResourceModel _model;
+    private final SegmentTable<RouteNode> _subResources;
+    private final Map<ResourceMethod, ResourceMethodDescriptor> _methods = new EnumMap<>(ResourceMethod.class);
+    private final Map<String, ResourceMethodDescriptor> _finders = new HashMap<>();
+    private final Map<String, ResourceMethodDescriptor> _batchFinders = new HashMap<>();
+    private final Map<ResourceLevel, Map<String, ResourceMethodDescriptor>> _actions =
+        new EnumMap<>(ResourceLevel.class);
+
+    RouteNode(final ResourceModel model)
+    {
+      _model = model;
+
+      Map<String, RouteNode> subResources = new HashMap<>();
+      for (Map.Entry<String, ResourceDefinition> entry : model.getSubResourceDefinitions().entrySet())
+      {
+        subResources.put(entry.getKey(), new RouteNode((ResourceModel) entry.getValue()));
+      }
+      _subResources = new SegmentTable<>(subResources);
+
+      for (ResourceMethodDescriptor methodDescriptor : model.getResourceMethodDescriptors())
+      {
+        ResourceMethod type = methodDescriptor.getType();
+        _methods.putIfAbsent(type, methodDescriptor);
+        if (type.equals(ResourceMethod.FINDER))
+        {
+          _finders.putIfAbsent(methodDescriptor.getFinderName(), methodDescriptor);
+        }
+        else if (type.equals(ResourceMethod.BATCH_FINDER))
+        {
+          _batchFinders.putIfAbsent(methodDescriptor.getBatchFinderName(), methodDescriptor);
+        }
+        else if (type.equals(ResourceMethod.ACTION))
+        {
+          _actions.computeIfAbsent(methodDescriptor.getActionResourceLevel(), level -> new HashMap<>())
+              .putIfAbsent(methodDescriptor.getActionName(), methodDescriptor);
+        }
+      }
+    }
+
+    ResourceMethodDescriptor matchMethod(final ResourceMethod type,
+                                         final String name,
+                                         final ResourceLevel resourceLevel)
+    {
+      if (type.equals(ResourceMethod.ACTION))
+      {
+        Map<String, ResourceMethodDescriptor> actions = _actions.get(resourceLevel);
+        return actions == null ? null : actions.get(name);
+      }
+      else if (type.equals(ResourceMethod.FINDER))
+      {
+        return _finders.get(name);
+      }
+      else if (type.equals(ResourceMethod.BATCH_FINDER))
+      {
+        return _batchFinders.get(name);
+      }
+      else
+      {
+        return _methods.get(type);
+      }
+    }
+  }
+
+  /**
+   * An open addressing table of path segments that is probed with a region of the request path, so that fixed
+   * segments are matched without copying them out of the path.
+   */
+  private static class SegmentTable<V>
+  {
+    private final String[] _keys;
+    private final Object[] _values;
+    private final int _mask;
+
+    SegmentTable(final Map<String, V> entries)
+    {
+      // At least one slot is always empty, which terminates the probe of a missing segment.
+      int capacity = 2;
+      while (capacity < entries.size() * 2)
+      {
+        capacity <<= 1;
+      }
+      _keys = new String[capacity];
+      _values = new Object[capacity];
+      _mask = capacity - 1;
+
+      for (Map.Entry<String, V> entry : entries.entrySet())
+      {
+        String key = entry.getKey();
+        int index = hash(key, 0, key.length()) & _mask;
+        while (_keys[index] != null)
+        {
+          index = (index + 1) & _mask;
+        }
+        _keys[index] = key;
+        _values[index] = entry.getValue();
+      }
+    }
+
+    V get(final String key)
+    {
+      return get(key, 0, key.length());
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(final String path, final int start, final int end)
+    {
+      int length = end - start;
+      for (int index = hash(path, start, end) & _mask; _keys[index] != null; index = (index + 1) & _mask)
+      {
+        String key = _keys[index];
+        if (key.length() == length && path.regionMatches(start, key, 0, length))
+        {
+          return (V) _values[index];
+        }
+      }
+      return null;
+    }
+
+    private static int hash(final String value, final int start, final int end)
+    {
+      int hash = 0;
+      for (int i = start; i < end; i++)
+      {
+        hash = 31 * hash + value.charAt(i);
+      }
+      return hash ^ (hash >>> 16);
+    }
+  }
+}
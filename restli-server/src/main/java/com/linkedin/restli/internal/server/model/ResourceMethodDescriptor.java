@@ -58,6 +58,7 @@ public class ResourceMethodDescriptor
   private ResourceModel                                 _resourceModel;
   private final ResourceMethod                          _type;
   private final Method                                  _method;
+  private final ResourceMethodInvoker                   _methodInvoker;
   private final List<Parameter<?>>                      _parameters;
   private final String                                  _finderName;
   private final String                                  _batchFinderName;
@@ -259,6 +260,7 @@ public class ResourceMethodDescriptor
     super();
     _type = type;
     _method = method;
+    _methodInvoker = method == null ? null : ResourceMethodInvoker.create(method);
     _parameters = parameters;
     _finderName = finderName;
     _batchFinderName = batchFinderName;
@@ -313,6 +315,16 @@ public class ResourceMethodDescriptor
     return _method;
   }
 
+  /**
+   * Get the {@link ResourceMethodInvoker} compiled for the resource {@link Method}.
+   *
+   * @return {@link ResourceMethodInvoker}
+   */
+  public ResourceMethodInvoker getMethodInvoker()
+  {
+    return _methodInvoker;
+  }
+
   /**
    * Get resource method name.
    *
@@ -0,0 +1,196 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.internal.server.model;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Invokes a resource {@link Method} through a {@link MethodHandle} compiled once when the resource model is built,
+ * instead of going through {@link Method#invoke(Object, Object...)} on every request.
+ *
+ * The compiled handle takes the resource and the argument array built by the argument builder, spreads the arguments
+ * and converts them to the declared parameter types, so that each call skips the reflective access checks and the
+ * argument array copy. Methods that cannot be looked up publicly fall back to reflection.
+ *
+ * Exceptions thrown by the resource method are wrapped in an {@link InvocationTargetException}, the same way
+ * {@link Method#invoke(Object, Object...)} reports them, so callers handle both paths identically. Arguments that do not
+ * match the method are reported as {@link IllegalArgumentException} and a null resource as
+ * {@link NullPointerException}, also as {@link Method#invoke(Object, Object...)} does.
+ */
+public final class ResourceMethodInvoker
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger(ResourceMethodInvoker.class);
+
+  private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+  // primitive parameter type -> wrapper types that reflection and MethodHandle#asType unbox and widen to it
+  private static final Map<Class<?>, Class<?>[]> PRIMITIVE_SOURCES = new HashMap<>();
+  static
+  {
+    PRIMITIVE_SOURCES.put(boolean.class, new Class<?>[]{Boolean.class});
+    PRIMITIVE_SOURCES.put(char.class, new Class<?>[]{Character.class});
+    PRIMITIVE_SOURCES.put(byte.class, new Class<?>[]{Byte.class});
+    PRIMITIVE_SOURCES.put(short.class, new Class<?>[]{Short.class, Byte.class});
+    PRIMITIVE_SOURCES.put(int.class, new Class<?>[]{Integer.class, Character.class, Short.class, Byte.class});
+    PRIMITIVE_SOURCES.put(long.class,
+        new Class<?>[]{Long.class, Integer.class, Character.class, Short.class, Byte.class});
+    PRIMITIVE_SOURCES.put(float.class,
+        new Class<?>[]{Float.class, Long.class, Integer.class, Character.class, Short.class, Byte.class});
+    PRIMITIVE_SOURCES.put(double.class,
+        new Class<?>[]{Double.class, Float.class, Long.class, Integer.class, Character.class, Short.class, Byte.class});
+  }
+
+  private final Method _method;
+  // (Object resource, Object[] arguments)Object, or null if the method is invoked reflectively.
+  private final MethodHandle _handle;
+
+  private ResourceMethodInvoker(Method method, MethodHandle handle)
+  {
+    _method = method;
+    _handle = handle;
+  }
+
+  /**
+   * Compiles an invoker for the given resource method.
+   *
+   * @param method resource {@link Method}
+   * @return {@link ResourceMethodInvoker}
+   */
+  public static ResourceMethodInvoker create(Method method)
+  {
+    return new ResourceMethodInvoker(method, compile(method));
+  }
+
+  /**
+   * Invokes the resource method.
+   *
+   * @param resource resource instance
+   * @param arguments arguments of the resource method
+   * @return result of the resource method, or null if the method is void
+   * @throws InvocationTargetException wrapping the exception thrown by the resource method
+   * @throws IllegalAccessException if the method is invoked reflectively and is not accessible
+   * @throws IllegalArgumentException if the resource or the arguments do not match the method
+   * @throws NullPointerException if the resource is null
+   */
+  public Object invoke(Object resource, Object[] arguments) throws InvocationTargetException, IllegalAccessException
+  {
+    if (_handle == null)
+    {
+      return _method.invoke(resource, arguments);
+    }
+    try
+    {
+      return (Object) _handle.invokeExact(resource, arguments);
+    }
+    catch (Throwable t)
+    {
+      if (t instanceof ClassCastException || t instanceof NullPointerException || t instanceof IllegalArgumentException)
+      {
+        // The conversions of the compiled handle fail before the method is entered. Report such failures the way
+        // reflection does, rather than as an exception thrown by the resource method.
+        checkArguments(resource, arguments);
+      }
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  /**
+   * @return true if the resource method is invoked through a compiled {@link MethodHandle}.
+   */
+  public boolean isCompiled()
+  {
+    return _handle != null;
+  }
+
+  private static MethodHandle compile(Method method)
+  {
+    if (Modifier.isStatic(method.getModifiers()))
+    {
+      return null;
+    }
+    try
+    {
+      // A varargs method yields a variable arity handle, which would collect the trailing argument into a new array.
+      MethodHandle handle = MethodHandles.publicLookup().unreflect(method).asFixedArity();
+      int parameterCount = method.getParameterCount();
+      return handle.asType(MethodType.genericMethodType(parameterCount + 1))
+          .asSpreader(Object[].class, parameterCount)
+          .asType(INVOKER_TYPE);
+    }
+    catch (IllegalAccessException | RuntimeException e)
+    {
+      LOGGER.debug("Falling back to reflection for resource method {}", method, e);
+      return null;
+    }
+  }
+
+  private void checkArguments(Object resource, Object[] arguments)
+  {
+    if (resource == null)
+    {
+      throw new NullPointerException();
+    }
+    if (!_method.getDeclaringClass().isInstance(resource))
+    {
+      throw new IllegalArgumentException("object is not an instance of declaring class");
+    }
+
+    final Class<?>[] parameterTypes = _method.getParameterTypes();
+    final int argumentCount = arguments == null ? 0 : arguments.length;
+    if (argumentCount != parameterTypes.length)
+    {
+      throw new IllegalArgumentException("wrong number of arguments");
+    }
+    for (int i = 0; i < argumentCount; i++)
+    {
+      if (!isAssignable(parameterTypes[i], arguments[i]))
+      {
+        throw new IllegalArgumentException("argument type mismatch");
+      }
+    }
+  }
+
+  private static boolean isAssignable(Class<?> parameterType, Object argument)
+  {
+    if (!parameterType.isPrimitive())
+    {
+      return argument == null || parameterType.isInstance(argument);
+    }
+    if (argument == null)
+    {
+      return false;
+    }
+    for (Class<?> source : PRIMITIVE_SOURCES.get(parameterType))
+    {
+      if (source == argument.getClass())
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -220,8 +220,8 @@ public class ResponseUtils
               "Requested mime type for encoding is not supported. Mimetype: " + mimeType));
       assert type != null;
       builder.setHeader(RestConstants.HEADER_CONTENT_TYPE, type.getHeaderKey());
-      // Use unsafe wrap to avoid copying the bytes when request builder creates ByteString.
-      builder.setEntity(ByteString.unsafeWrap(DataMapUtils.mapToBytes(dataMap, type.getCodec())));
+      // Encode directly into a ByteString to avoid copying the bytes into a single array.
+      builder.setEntity(DataMapUtils.mapToByteString(dataMap, type.getCodec()));
     }
     catch (MimeTypeParseException e)
     {
@@ -16,6 +16,8 @@
 
 package com.linkedin.restli.internal.server.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.linkedin.data.DataMap;
 import com.linkedin.data.schema.DataSchema;
 import com.linkedin.data.schema.DataSchemaUtil;
@@ -77,6 +79,11 @@ public class ArgumentUtils
           Pattern.compile(Pattern.quote(String.valueOf(RestConstants.KEY_VALUE_DELIMITER)));
   private static final Pattern LEGACY_KEY_VALUE_DELIMETER_PATTERN = Pattern.compile(Pattern.quote(":"));
 
+  // Clients usually send the same few projections over and over, cache the parsed masks by the raw projection string.
+  private static final int PROJECTION_MASK_CACHE_SIZE = 1000;
+  private static final Cache<String, DataMap> PROJECTION_MASK_CACHE =
+      Caffeine.newBuilder().maximumSize(PROJECTION_MASK_CACHE_SIZE).build();
+
   /**
    * @param routingResult {@link RoutingResult}
    * @return key value of the resource addressed by this method
@@ -155,12 +162,24 @@ public class ArgumentUtils
   {
     try
     {
-      return URIMaskUtil.decodeMaskUriFormat(uriParam);
+      DataMap cachedMask = PROJECTION_MASK_CACHE.getIfPresent(uriParam);
+      if (cachedMask == null)
+      {
+        cachedMask = URIMaskUtil.decodeMaskUriFormat(uriParam).getDataMap();
+        cachedMask.makeReadOnly();
+        PROJECTION_MASK_CACHE.put(uriParam, cachedMask);
+      }
+      // MaskTree is mutable, every caller gets its own copy of the cached mask
+      return new MaskTree(cachedMask.copy());
     }
     catch (IllegalMaskException e)
     {
       throw new RestLiSyntaxException("error parsing mask", e);
     }
+    catch (CloneNotSupportedException e)
+    {
+      throw new RestLiInternalException("Error copying projection mask", e);
+    }
   }
 
   public static CompoundKey parseCompoundKey(final String urlString,
@@ -435,7 +435,7 @@ public class DataMapUtils
   }
 
   /**
-   * Encode {@link DataMap} as a ByteString using {@link ByteString} unsafeWrap.
+   * Encode {@link DataMap} as a ByteString without copying the encoded bytes.
    *
    * @param dataMap input {@link DataMap}
    * @param headers Request or response headers. This is used to determine the codec to use to encode.
@@ -443,7 +443,14 @@ public class DataMapUtils
    */
   public static ByteString mapToByteString(final DataMap dataMap, final Map<String, String> headers)
   {
-    return ByteString.unsafeWrap(DataMapUtils.mapToBytes(dataMap, headers));
+    try
+    {
+      return mapToByteString(dataMap, DataMapConverter.getContentType(headers).getCodec());
+    }
+    catch (MimeTypeParseException e)
+    {
+      throw new RestLiInternalException(e);
+    }
   }
 
   @Deprecated
@@ -505,6 +512,27 @@ public class DataMapUtils
     return ByteString.unsafeWrap(DataMapUtils.mapToPsonBytes(dataMap));
   }
 
+  /**
+   * Encode {@link DataMap} as a ByteString using the provided codec. The result may be backed by several buffers.
+   * The payload is still fully encoded in memory, and callers such as {@link ByteString#asByteBuffer()} that need a
+   * single buffer copy it into one.
+   *
+   * @param dataMap input {@link DataMap}
+   * @param customCodec custom CODEC to use for encoding.
+   * @return ByteString
+   */
+  public static ByteString mapToByteString(final DataMap dataMap, DataCodec customCodec)
+  {
+    try
+    {
+      return customCodec.mapToByteString(dataMap);
+    }
+    catch (IOException e)
+    {
+      throw new RestLiInternalException(e);
+    }
+  }
+
   /**
    * Encode {@link DataMap} as a byte array using the provided codec.
    *
@@ -81,7 +81,7 @@ abstract class BaseRestLiServer
         .map(ContentType::getHeaderKey)
         .collect(Collectors.toSet());
 
-    _router = new RestLiRouter(rootResources, config);
+    _router = config.getRouterFactory().create(rootResources, config);
     resourceFactory.setRootResources(rootResources);
     _methodInvoker = new RestLiMethodInvoker(resourceFactory, engine, config.getInternalErrorMessage());
 
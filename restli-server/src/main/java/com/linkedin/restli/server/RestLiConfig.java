@@ -84,12 +84,14 @@ public class RestLiConfig
   private List<NonResourceRequestHandler> _customRequestHandlers = new ArrayList<>();
   private final List<Filter> _filters = new ArrayList<>();
   private int _maxRequestsMultiplexed = DEFAULT_MAX_REQUESTS_MULTIPLEXED;
+  private int _maxParallelRequestsMultiplexed = 0;
   private Set<String> _individualRequestHeaderWhitelist = Collections.emptySet();
   private MultiplexerSingletonFilter _multiplexerSingletonFilter;
   private MultiplexerRunMode _multiplexerRunMode = MultiplexerRunMode.MULTIPLE_PLANS;
   private final List<ContentType> _customContentTypes = new LinkedList<>();
   private final List<ResourceDefinitionListener> _resourceDefinitionListeners = new ArrayList<>();
   private boolean _useStreamCodec = false;
+  private RestLiRouterFactory _routerFactory = RestLiRouterFactory.DEFAULT;
 
   // configuration for whether to validate any type of resource entity keys Ex. path keys or keys in batch request
   private boolean _validateResourceKeys = false;
@@ -423,6 +425,32 @@ public class RestLiConfig
     _maxRequestsMultiplexed = maxRequestsMultiplexed;
   }
 
+  /**
+   * Get the maximum number of sibling individual requests of a multiplexed request that are executed in parallel.
+   *
+   * @return the maximum number of parallel requests, 0 or less if unbounded
+   */
+  public int getMaxParallelRequestsMultiplexed()
+  {
+    return _maxParallelRequestsMultiplexed;
+  }
+
+  /**
+   * Sets the maximum number of sibling individual requests of a multiplexed request that are executed in parallel.
+   * Requests beyond the limit are queued behind running ones within the same ParSeq plan. Defaults to 0, which
+   * means all sibling requests are executed in parallel.
+   *
+   * <p>The requests are assigned to that many lanes round-robin, in the order of the multiplexed request, when the
+   * plan is created. The assignment is fixed: a slow request holds back the requests queued in its lane, even while
+   * other lanes are idle.</p>
+   *
+   * @param maxParallelRequestsMultiplexed the maximum number of parallel requests, 0 or less for unbounded
+   */
+  public void setMaxParallelRequestsMultiplexed(int maxParallelRequestsMultiplexed)
+  {
+    _maxParallelRequestsMultiplexed = maxParallelRequestsMultiplexed;
+  }
+
   /**
    * Get the set of request header names that are allowed to be used in an IndividualRequest of a multiplexed request.
    * @return a set of request header names
@@ -523,6 +551,24 @@ public class RestLiConfig
     _useStreamCodec = useStreamCodec;
   }
 
+  /**
+   * Get the factory of the router that matches requests to resource methods.
+   */
+  public RestLiRouterFactory getRouterFactory()
+  {
+    return _routerFactory;
+  }
+
+  /**
+   * Sets the factory of the router that matches requests to resource methods. The default is
+   * {@link RestLiRouterFactory#DEFAULT}; {@link RestLiRouterFactory#TRIE} compiles the resource hierarchy into lookup
+   * tables at startup.
+   */
+  public void setRouterFactory(RestLiRouterFactory routerFactory)
+  {
+    _routerFactory = routerFactory;
+  }
+
   /**
    * Get resource method level configurations.
    * @return Resource method level configurations.
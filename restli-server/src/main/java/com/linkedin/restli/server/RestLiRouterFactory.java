@@ -0,0 +1,49 @@
+/*
+    Copyright (c) 2020 LinkedIn Corp.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+ */
+
+package com.linkedin.restli.server;
+
+import com.linkedin.restli.internal.server.RestLiRouter;
+import com.linkedin.restli.internal.server.TrieRestLiRouter;
+import com.linkedin.restli.internal.server.model.ResourceModel;
+import java.util.Map;
+
+
+/**
+ * Creates the {@link RestLiRouter} that a {@link RestLiServer} routes requests with. It can be passed to
+ * <code>RestLiServer</code> in {@link RestLiConfig}.
+ */
+@FunctionalInterface
+public interface RestLiRouterFactory
+{
+  /**
+   * Creates a {@link RestLiRouter}, which splits the request path on every request.
+   */
+  RestLiRouterFactory DEFAULT = RestLiRouter::new;
+
+  /**
+   * Creates a {@link TrieRestLiRouter}, which compiles the resource hierarchy into lookup tables when the server starts.
+   */
+  RestLiRouterFactory TRIE = TrieRestLiRouter::new;
+
+  /**
+   * This method is invoked once when the server is created.
+   *
+   * @param rootResources the root resources of the server, keyed by their root path.
+   * @param config the configuration of the server.
+   */
+  RestLiRouter create(Map<String, ResourceModel> rootResources, RestLiConfig config);
+}
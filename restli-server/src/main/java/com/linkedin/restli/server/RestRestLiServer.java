@@ -93,7 +93,8 @@ class RestRestLiServer extends BaseRestLiServer implements RestRequestHandler, R
         config.getMultiplexedIndividualRequestHeaderWhitelist(),
         config.getMultiplexerSingletonFilter(),
         config.getMultiplexerRunMode(),
-        errorResponseBuilder));
+        errorResponseBuilder,
+        config.getMaxParallelRequestsMultiplexed()));
 
     // Add debug request handlers
     config.getDebugRequestHandlers().stream()
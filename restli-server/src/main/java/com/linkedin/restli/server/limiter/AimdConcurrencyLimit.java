@@ -0,0 +1,97 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.limiter;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Additive increase, multiplicative decrease limit. The limit grows by one for every request that completes within
+ * the timeout while at least half of the limit is in use, and is multiplied by the backoff ratio for every request
+ * that is dropped or exceeds the timeout.
+ */
+public class AimdConcurrencyLimit implements ConcurrencyLimit
+{
+  public static final int DEFAULT_INITIAL_LIMIT = 20;
+  public static final int DEFAULT_MIN_LIMIT = 1;
+  public static final int DEFAULT_MAX_LIMIT = 1000;
+  public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+  public static final long DEFAULT_TIMEOUT_MS = 5000;
+
+  private final int _minLimit;
+  private final int _maxLimit;
+  private final double _backoffRatio;
+  private final long _timeoutNanos;
+
+  private volatile int _limit;
+
+  public AimdConcurrencyLimit()
+  {
+    this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT, DEFAULT_BACKOFF_RATIO, DEFAULT_TIMEOUT_MS);
+  }
+
+  /**
+   * @param initialLimit limit before any request completes
+   * @param minLimit lower bound of the limit
+   * @param maxLimit upper bound of the limit
+   * @param backoffRatio ratio in (0, 1) the limit is multiplied by when a request is dropped
+   * @param timeoutMs latency above which a request is treated as dropped
+   */
+  public AimdConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long timeoutMs)
+  {
+    if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit)
+    {
+      throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max, but got min=" + minLimit
+          + ", initial=" + initialLimit + ", max=" + maxLimit);
+    }
+    if (backoffRatio <= 0 || backoffRatio >= 1)
+    {
+      throw new IllegalArgumentException("Backoff ratio must be in (0, 1), but got " + backoffRatio);
+    }
+    _limit = initialLimit;
+    _minLimit = minLimit;
+    _maxLimit = maxLimit;
+    _backoffRatio = backoffRatio;
+    _timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+  }
+
+  @Override
+  public int getLimit()
+  {
+    return _limit;
+  }
+
+  @Override
+  public synchronized void onSample(long rttNanos, int inflight, boolean dropped)
+  {
+    int limit = _limit;
+    if (dropped || rttNanos > _timeoutNanos)
+    {
+      _limit = Math.max(_minLimit, (int) (limit * _backoffRatio));
+    }
+    else if (inflight * 2 >= limit)
+    {
+      _limit = Math.min(_maxLimit, limit + 1);
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    return "AimdConcurrencyLimit [limit=" + _limit + "]";
+  }
+}
@@ -0,0 +1,40 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.limiter;
+
+/**
+ * An algorithm that computes the number of requests allowed to be in flight from the latency of completed requests.
+ *
+ * Implementations must be thread safe. {@link #getLimit()} is called for every request and should be cheap, while
+ * {@link #onSample(long, int, boolean)} is called once per completed request.
+ */
+public interface ConcurrencyLimit
+{
+  /**
+   * @return the current limit on the number of requests in flight.
+   */
+  int getLimit();
+
+  /**
+   * Updates the limit with a completed request.
+   *
+   * @param rttNanos latency of the request in nanoseconds
+   * @param inflight number of requests in flight when the request completed, including the request itself
+   * @param dropped true if the request failed because the server is overloaded, for example timed out
+   */
+  void onSample(long rttNanos, int inflight, boolean dropped);
+}
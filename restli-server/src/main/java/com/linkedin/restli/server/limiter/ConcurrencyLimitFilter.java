@@ -0,0 +1,243 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.limiter;
+
+import com.linkedin.restli.common.HttpStatus;
+import com.linkedin.restli.common.ResourceMethod;
+import com.linkedin.restli.server.RestLiResponseData;
+import com.linkedin.restli.server.RestLiServiceException;
+import com.linkedin.restli.server.filter.Filter;
+import com.linkedin.restli.server.filter.FilterRequestContext;
+import com.linkedin.restli.server.filter.FilterResourceModel;
+import com.linkedin.restli.server.filter.FilterResponseContext;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+
+/**
+ * Rest.li filter that bounds the number of requests the server processes concurrently. The limit is computed from
+ * the latency of completed requests by a {@link ConcurrencyLimit}, such as {@link GradientConcurrencyLimit},
+ * {@link VegasConcurrencyLimit} or {@link AimdConcurrencyLimit}.
+ *
+ * Requests over the limit are rejected in {@link #onRequest(FilterRequestContext)}, before the resource method is
+ * invoked, with a 429 or 503 error carrying a {@value #HEADER_RETRY_AFTER} header, so that bursts are shed
+ * immediately instead of queueing in the engine. Requests that fail with 429, 503 or 504 are reported to the limit
+ * as dropped.
+ *
+ * Requests can be limited together, or separately per resource method. Per method limits are keyed the same way as
+ * the resource method level configuration in {@link com.linkedin.restli.server.config.RestLiMethodConfig}, for
+ * example {@code greetings.GET} or {@code greetings:subgreetings.FINDER-search}.
+ *
+ * Since filters run in order, this filter should be registered first so that rejected requests skip the others.
+ */
+public class ConcurrencyLimitFilter implements Filter
+{
+  public static final String HEADER_RETRY_AFTER = "Retry-After";
+
+  private static final String ALL_METHODS_KEY = "*.*";
+
+  // The keys we'll use to store the admitted request and the rejection in the filter scratchpad
+  private static final String PERMIT_KEY = ConcurrencyLimitFilter.class.getName() + ".permit";
+  private static final String REJECTED_KEY = ConcurrencyLimitFilter.class.getName() + ".rejected";
+
+  private final Supplier<? extends ConcurrencyLimit> _limitFactory;
+  private final boolean _perResourceMethod;
+  private final HttpStatus _rejectionStatus;
+  private final long _retryAfterSeconds;
+  private final ConcurrentMap<String, ConcurrencyLimiter> _limiters = new ConcurrentHashMap<>();
+  // Resource method keys by resource method, to avoid building the key for every request.
+  private final ConcurrentMap<Method, String> _resourceMethodKeys = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs a filter that limits all requests together with a {@link GradientConcurrencyLimit}.
+   */
+  public ConcurrencyLimitFilter()
+  {
+    this(GradientConcurrencyLimit::new);
+  }
+
+  /**
+   * Constructs a filter that limits all requests together, and rejects requests over the limit with a 503 error.
+   *
+   * @param limitFactory creates the {@link ConcurrencyLimit}.
+   */
+  public ConcurrencyLimitFilter(Supplier<? extends ConcurrencyLimit> limitFactory)
+  {
+    this(limitFactory, false, HttpStatus.S_503_SERVICE_UNAVAILABLE, 1);
+  }
+
+  /**
+   * Constructs {@link ConcurrencyLimitFilter}.
+   *
+   * @param limitFactory creates a {@link ConcurrencyLimit} for each limited group of requests.
+   * @param perResourceMethod whether every resource method has its own limit, instead of all requests sharing one.
+   * @param rejectionStatus status of the error returned for rejected requests, either 429 or 503.
+   * @param retryAfterSeconds value of the {@value #HEADER_RETRY_AFTER} header of rejected requests.
+   */
+  public ConcurrencyLimitFilter(Supplier<? extends ConcurrencyLimit> limitFactory,
+      boolean perResourceMethod,
+      HttpStatus rejectionStatus,
+      long retryAfterSeconds)
+  {
+    if (rejectionStatus != HttpStatus.S_429_TOO_MANY_REQUESTS && rejectionStatus != HttpStatus.S_503_SERVICE_UNAVAILABLE)
+    {
+      throw new IllegalArgumentException("Rejection status must be 429 or 503, but got " + rejectionStatus);
+    }
+    if (retryAfterSeconds < 0)
+    {
+      throw new IllegalArgumentException("Retry after must not be negative, but got " + retryAfterSeconds);
+    }
+    _limitFactory = limitFactory;
+    _perResourceMethod = perResourceMethod;
+    _rejectionStatus = rejectionStatus;
+    _retryAfterSeconds = retryAfterSeconds;
+  }
+
+  @Override
+  public CompletableFuture<Void> onRequest(final FilterRequestContext requestContext)
+  {
+    String key = _perResourceMethod ? resourceMethodKey(requestContext) : ALL_METHODS_KEY;
+    ConcurrencyLimiter limiter = _limiters.computeIfAbsent(key, k -> new ConcurrencyLimiter(_limitFactory.get()));
+    if (!limiter.tryAcquire())
+    {
+      requestContext.getFilterScratchpad().put(REJECTED_KEY, Boolean.TRUE);
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      future.completeExceptionally(new RestLiServiceException(_rejectionStatus,
+          "Concurrency limit of " + limiter.getLimit() + " reached for " + key));
+      return future;
+    }
+
+    requestContext.getFilterScratchpad().put(PERMIT_KEY, new Permit(limiter, System.nanoTime()));
+    return CompletableFuture.completedFuture(null);
+  }
+
+  @Override
+  public CompletableFuture<Void> onResponse(final FilterRequestContext requestContext,
+      final FilterResponseContext responseContext)
+  {
+    release(requestContext, false);
+    return CompletableFuture.completedFuture(null);
+  }
+
+  @Override
+  public CompletableFuture<Void> onError(Throwable th, final FilterRequestContext requestContext,
+      final FilterResponseContext responseContext)
+  {
+    RestLiResponseData<?> responseData = responseContext.getResponseData();
+    if (requestContext.getFilterScratchpad().remove(REJECTED_KEY) != null)
+    {
+      responseData.getHeaders().put(HEADER_RETRY_AFTER, Long.toString(_retryAfterSeconds));
+    }
+    else
+    {
+      release(requestContext, isOverloaded(responseData.getStatus()));
+    }
+
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    future.completeExceptionally(th);
+    return future;
+  }
+
+  /**
+   * @return the limiters by key, {@code *.*} if all requests share one limit.
+   */
+  public Map<String, ConcurrencyLimiter> getLimiters()
+  {
+    return Collections.unmodifiableMap(_limiters);
+  }
+
+  private String resourceMethodKey(FilterRequestContext requestContext)
+  {
+    Method method = requestContext.getMethod();
+    return method == null
+        ? getResourceMethodKey(requestContext)
+        : _resourceMethodKeys.computeIfAbsent(method, m -> getResourceMethodKey(requestContext));
+  }
+
+  private static void release(FilterRequestContext requestContext, boolean dropped)
+  {
+    Permit permit = (Permit) requestContext.getFilterScratchpad().remove(PERMIT_KEY);
+    if (permit != null)
+    {
+      permit._limiter.release(System.nanoTime() - permit._startNanos, dropped);
+    }
+  }
+
+  private static boolean isOverloaded(HttpStatus status)
+  {
+    return status == HttpStatus.S_429_TOO_MANY_REQUESTS
+        || status == HttpStatus.S_503_SERVICE_UNAVAILABLE
+        || status == HttpStatus.S_504_GATEWAY_TIMEOUT;
+  }
+
+  /**
+   * Builds the key of the resource method of the request, in the format of the resource method level configuration.
+   */
+  static String getResourceMethodKey(FilterRequestContext requestContext)
+  {
+    StringBuilder key = new StringBuilder();
+    for (FilterResourceModel model = requestContext.getFilterResourceModel();
+        model != null;
+        model = model.getParentResourceModel())
+    {
+      if (key.length() > 0)
+      {
+        key.insert(0, ':');
+      }
+      key.insert(0, model.getResourceName());
+    }
+
+    ResourceMethod methodType = requestContext.getMethodType();
+    key.append('.').append(methodType.name());
+
+    String methodName = null;
+    if (methodType == ResourceMethod.FINDER)
+    {
+      methodName = requestContext.getFinderName();
+    }
+    else if (methodType == ResourceMethod.BATCH_FINDER)
+    {
+      methodName = requestContext.getBatchFinderName();
+    }
+    else if (methodType == ResourceMethod.ACTION)
+    {
+      methodName = requestContext.getActionName();
+    }
+    if (methodName != null)
+    {
+      key.append('-').append(methodName);
+    }
+    return key.toString();
+  }
+
+  private static class Permit
+  {
+    private final ConcurrencyLimiter _limiter;
+    private final long _startNanos;
+
+    Permit(ConcurrencyLimiter limiter, long startNanos)
+    {
+      _limiter = limiter;
+      _startNanos = startNanos;
+    }
+  }
+}
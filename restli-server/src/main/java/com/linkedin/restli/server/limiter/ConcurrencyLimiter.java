@@ -0,0 +1,91 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Admits requests while the number of requests in flight is below the limit computed by a {@link ConcurrencyLimit},
+ * and feeds the latency of every admitted request back into it.
+ */
+public class ConcurrencyLimiter
+{
+  private final ConcurrencyLimit _limit;
+  private final AtomicInteger _inflight = new AtomicInteger();
+
+  public ConcurrencyLimiter(ConcurrencyLimit limit)
+  {
+    _limit = limit;
+  }
+
+  /**
+   * Admits a request if the limit allows it. Every admitted request must be released exactly once with
+   * {@link #release(long, boolean)}.
+   *
+   * @return true if the request is admitted, false if it should be rejected.
+   */
+  public boolean tryAcquire()
+  {
+    while (true)
+    {
+      int inflight = _inflight.get();
+      if (inflight >= _limit.getLimit())
+      {
+        return false;
+      }
+      if (_inflight.compareAndSet(inflight, inflight + 1))
+      {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Releases an admitted request.
+   *
+   * @param rttNanos latency of the request in nanoseconds
+   * @param dropped true if the request failed because the server is overloaded
+   */
+  public void release(long rttNanos, boolean dropped)
+  {
+    int inflight = _inflight.getAndDecrement();
+    _limit.onSample(rttNanos, inflight, dropped);
+  }
+
+  /**
+   * @return the current limit on the number of requests in flight.
+   */
+  public int getLimit()
+  {
+    return _limit.getLimit();
+  }
+
+  /**
+   * @return the number of admitted requests that have not been released.
+   */
+  public int getInflight()
+  {
+    return _inflight.get();
+  }
+
+  @Override
+  public String toString()
+  {
+    return "ConcurrencyLimiter [limit=" + getLimit() + ", inflight=" + getInflight() + "]";
+  }
+}
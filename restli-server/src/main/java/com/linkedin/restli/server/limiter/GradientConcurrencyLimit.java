@@ -0,0 +1,137 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.limiter;
+
+/**
+ * Gradient based limit. The latency of every request is compared with an exponentially weighted average of recent
+ * latencies: the limit is scaled by the ratio of the two, bounded to [0.5, 1], and grows by the square root of the
+ * limit to leave room for a small queue. The result is smoothed into the current limit.
+ *
+ * The ratio is multiplied by a tolerance so that moderate latency increases do not shrink the limit, and the average
+ * decays quickly when latency drops so that the limit recovers after an overload.
+ */
+public class GradientConcurrencyLimit implements ConcurrencyLimit
+{
+  public static final int DEFAULT_INITIAL_LIMIT = 20;
+  public static final int DEFAULT_MIN_LIMIT = 1;
+  public static final int DEFAULT_MAX_LIMIT = 1000;
+  public static final double DEFAULT_SMOOTHING = 0.2;
+  public static final double DEFAULT_RTT_TOLERANCE = 1.5;
+  public static final int DEFAULT_LONG_WINDOW = 600;
+
+  private final int _minLimit;
+  private final int _maxLimit;
+  private final double _smoothing;
+  private final double _rttTolerance;
+  private final int _longWindow;
+
+  private volatile int _limit;
+  private double _estimatedLimit;
+  private double _longRttNanos;
+
+  public GradientConcurrencyLimit()
+  {
+    this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT, DEFAULT_SMOOTHING, DEFAULT_RTT_TOLERANCE,
+        DEFAULT_LONG_WINDOW);
+  }
+
+  /**
+   * @param initialLimit limit before any request completes
+   * @param minLimit lower bound of the limit
+   * @param maxLimit upper bound of the limit
+   * @param smoothing weight in (0, 1] of a new estimate in the limit
+   * @param rttTolerance ratio >= 1 by which latency may exceed the average before the limit shrinks
+   * @param longWindow number of samples in the latency average
+   */
+  public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, double rttTolerance,
+      int longWindow)
+  {
+    if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit)
+    {
+      throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max, but got min=" + minLimit
+          + ", initial=" + initialLimit + ", max=" + maxLimit);
+    }
+    if (smoothing <= 0 || smoothing > 1)
+    {
+      throw new IllegalArgumentException("Smoothing must be in (0, 1], but got " + smoothing);
+    }
+    if (rttTolerance < 1)
+    {
+      throw new IllegalArgumentException("Latency tolerance must be at least 1, but got " + rttTolerance);
+    }
+    if (longWindow < 1)
+    {
+      throw new IllegalArgumentException("Long window must be positive, but got " + longWindow);
+    }
+    _limit = initialLimit;
+    _estimatedLimit = initialLimit;
+    _minLimit = minLimit;
+    _maxLimit = maxLimit;
+    _smoothing = smoothing;
+    _rttTolerance = rttTolerance;
+    _longWindow = longWindow;
+  }
+
+  @Override
+  public int getLimit()
+  {
+    return _limit;
+  }
+
+  @Override
+  public synchronized void onSample(long rttNanos, int inflight, boolean dropped)
+  {
+    if (rttNanos <= 0)
+    {
+      return;
+    }
+
+    if (_longRttNanos == 0)
+    {
+      _longRttNanos = rttNanos;
+    }
+    else
+    {
+      _longRttNanos += (rttNanos - _longRttNanos) / _longWindow;
+    }
+    if (_longRttNanos / rttNanos > 2)
+    {
+      // Latency dropped well below the average, let the average catch up so the limit can grow again.
+      _longRttNanos *= 0.95;
+    }
+
+    double limit = _estimatedLimit;
+    if (!dropped && inflight * 2 < limit)
+    {
+      // Too little load to tell whether requests are queueing.
+      return;
+    }
+
+    double gradient = dropped ? 0.5 : Math.max(0.5, Math.min(1.0, _rttTolerance * _longRttNanos / rttNanos));
+    double newLimit = limit * gradient + Math.sqrt(limit);
+    newLimit = limit * (1 - _smoothing) + newLimit * _smoothing;
+
+    _estimatedLimit = Math.max(_minLimit, Math.min(_maxLimit, newLimit));
+    _limit = (int) _estimatedLimit;
+  }
+
+  @Override
+  public String toString()
+  {
+    return "GradientConcurrencyLimit [limit=" + _limit + "]";
+  }
+}
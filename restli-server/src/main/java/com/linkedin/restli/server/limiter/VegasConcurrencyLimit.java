@@ -0,0 +1,134 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.limiter;
+
+/**
+ * Delay based limit in the style of TCP Vegas. The latency of a request without queueing is estimated by the lowest
+ * latency seen, and the number of queued requests by {@code limit * (1 - noLoadRtt / rtt)}. The limit grows while
+ * fewer than alpha requests are queued and shrinks when more than beta are, where alpha and beta scale with the
+ * logarithm of the limit.
+ *
+ * The no load latency is re-measured periodically so that the limit adapts when the latency of the service changes.
+ */
+public class VegasConcurrencyLimit implements ConcurrencyLimit
+{
+  public static final int DEFAULT_INITIAL_LIMIT = 20;
+  public static final int DEFAULT_MIN_LIMIT = 1;
+  public static final int DEFAULT_MAX_LIMIT = 1000;
+
+  private static final int ALPHA_FACTOR = 3;
+  private static final int BETA_FACTOR = 6;
+  // Re-measure the no load latency after this many samples per unit of limit.
+  private static final int PROBE_MULTIPLIER = 30;
+
+  private final int _minLimit;
+  private final int _maxLimit;
+
+  private volatile int _limit;
+  private double _estimatedLimit;
+  private long _noLoadRttNanos;
+  private long _samplesSinceProbe;
+
+  public VegasConcurrencyLimit()
+  {
+    this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT);
+  }
+
+  /**
+   * @param initialLimit limit before any request completes
+   * @param minLimit lower bound of the limit
+   * @param maxLimit upper bound of the limit
+   */
+  public VegasConcurrencyLimit(int initialLimit, int minLimit, int maxLimit)
+  {
+    if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit)
+    {
+      throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max, but got min=" + minLimit
+          + ", initial=" + initialLimit + ", max=" + maxLimit);
+    }
+    _limit = initialLimit;
+    _estimatedLimit = initialLimit;
+    _minLimit = minLimit;
+    _maxLimit = maxLimit;
+  }
+
+  @Override
+  public int getLimit()
+  {
+    return _limit;
+  }
+
+  @Override
+  public synchronized void onSample(long rttNanos, int inflight, boolean dropped)
+  {
+    if (rttNanos <= 0)
+    {
+      return;
+    }
+
+    if (++_samplesSinceProbe >= (long) PROBE_MULTIPLIER * _limit)
+    {
+      _samplesSinceProbe = 0;
+      _noLoadRttNanos = rttNanos;
+      return;
+    }
+
+    if (_noLoadRttNanos == 0 || rttNanos < _noLoadRttNanos)
+    {
+      _noLoadRttNanos = rttNanos;
+      return;
+    }
+
+    double limit = _estimatedLimit;
+    double step = Math.max(1, Math.log10(limit));
+    double newLimit;
+    if (dropped)
+    {
+      newLimit = limit - step;
+    }
+    else if (inflight * 2 < limit)
+    {
+      // Too little load to tell whether requests are queueing.
+      return;
+    }
+    else
+    {
+      double queueSize = Math.ceil(limit * (1 - (double) _noLoadRttNanos / rttNanos));
+      if (queueSize < ALPHA_FACTOR * step)
+      {
+        newLimit = limit + step;
+      }
+      else if (queueSize > BETA_FACTOR * step)
+      {
+        newLimit = limit - step;
+      }
+      else
+      {
+        return;
+      }
+    }
+
+    _estimatedLimit = Math.max(_minLimit, Math.min(_maxLimit, newLimit));
+    _limit = (int) _estimatedLimit;
+  }
+
+  @Override
+  public String toString()
+  {
+    return "VegasConcurrencyLimit [limit=" + _limit + "]";
+  }
+}
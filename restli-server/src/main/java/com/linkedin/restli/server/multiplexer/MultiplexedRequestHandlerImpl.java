@@ -51,6 +51,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.activation.MimeTypeParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,6 +64,12 @@ import org.slf4j.LoggerFactory;
  */
 public class MultiplexedRequestHandlerImpl implements MultiplexedRequestHandler
 {
+  /**
+   * Local attribute of the multiplexed request's {@link RequestContext} holding a {@code Map<String, Long>} from
+   * individual request id to the nanoseconds it took to process that individual request, including filtering.
+   */
+  public static final String INDIVIDUAL_REQUEST_LATENCIES_KEY_NAME = "muxIndividualRequestLatencies";
+
   private static final String MUX_PLAN_CLASS = "mux";
   private static final String MUX_URI_PATH = "/mux";
 
@@ -74,6 +81,7 @@ public class MultiplexedRequestHandlerImpl implements MultiplexedRequestHandler
   private final Set<String> _individualRequestHeaderWhitelist;
   private final MultiplexerRunMode _multiplexerRunMode;
   private final ErrorResponseBuilder _errorResponseBuilder;
+  private final int _maxParallelRequests;
 
   /**
    * @param requestHandler        the handler that will take care of individual requests
@@ -91,6 +99,29 @@ public class MultiplexedRequestHandlerImpl implements MultiplexedRequestHandler
                                        MultiplexerSingletonFilter multiplexerSingletonFilter,
                                        MultiplexerRunMode multiplexerRunMode,
                                        ErrorResponseBuilder errorResponseBuilder)
+  {
+    this(requestHandler, engine, maximumRequestsNumber, individualRequestHeaderWhitelist, multiplexerSingletonFilter,
+        multiplexerRunMode, errorResponseBuilder, 0);
+  }
+
+  /**
+   * @param requestHandler        the handler that will take care of individual requests
+   * @param engine                ParSeq engine to run request handling on
+   * @param maximumRequestsNumber the maximum number of individual requests allowed in a multiplexed request
+   * @param individualRequestHeaderWhitelist a set of request header names to allow if specified in the individual request
+   * @param multiplexerSingletonFilter the singleton filter that is used by multiplexer to pre-process individual request and
+   *                                   post-process individual response. Pass in null if no pre-processing or post-processing are required.
+   * @param multiplexerRunMode    MultiplexedRequest run mode, see {@link MultiplexerRunMode}
+   * @param maxParallelRequests   the maximum number of sibling individual requests executed in parallel, 0 or less for unbounded
+   */
+  public MultiplexedRequestHandlerImpl(RestRequestHandler requestHandler,
+                                       Engine engine,
+                                       int maximumRequestsNumber,
+                                       Set<String> individualRequestHeaderWhitelist,
+                                       MultiplexerSingletonFilter multiplexerSingletonFilter,
+                                       MultiplexerRunMode multiplexerRunMode,
+                                       ErrorResponseBuilder errorResponseBuilder,
+                                       int maxParallelRequests)
   {
     _requestHandler = requestHandler;
     _engine = engine;
@@ -103,6 +134,7 @@ public class MultiplexedRequestHandlerImpl implements MultiplexedRequestHandler
     _multiplexerSingletonFilter = multiplexerSingletonFilter;
     _multiplexerRunMode = multiplexerRunMode;
     _errorResponseBuilder = errorResponseBuilder;
+    _maxParallelRequests = maxParallelRequests;
   }
 
   @Override
@@ -148,6 +180,7 @@ public class MultiplexedRequestHandlerImpl implements MultiplexedRequestHandler
     // prepare the map of individual responses to be collected
     final IndividualResponseMap individualResponses = new IndividualResponseMap(individualRequests.size());
     final Map<String, HttpCookie> responseCookies = new HashMap<>();
+    requestContext.putLocalAttr(INDIVIDUAL_REQUEST_LATENCIES_KEY_NAME, new ConcurrentHashMap<String, Long>());
     // all tasks are Void and side effect based, that will be useful when we add streaming
     Task<?> requestProcessingTask = createParallelRequestsTask(request, requestContext, individualRequests, individualResponses, responseCookies);
     Task<Void> responseAggregationTask = Task.action("send aggregated response", () ->
@@ -241,7 +274,34 @@ public class MultiplexedRequestHandlerImpl implements MultiplexedRequestHandler
         tasks.add(individualRequestTask.andThen(dependentRequestsTask));
       }
     }
-    return Task.par(tasks);
+    return parallelize(tasks);
+  }
+
+  /**
+   * Runs the given tasks in parallel. If there are more tasks than allowed to run in parallel, they are spread over
+   * that many lanes, each running its tasks one after another, so that everything still belongs to the same plan.
+   *
+   * A failed task neither fails the other tasks nor the aggregation of their responses, whether or not it shares a
+   * lane with other tasks.
+   */
+  private Task<?> parallelize(List<Task<?>> tasks)
+  {
+    int laneCount = _maxParallelRequests <= 0 ? tasks.size() : Math.min(tasks.size(), _maxParallelRequests);
+    List<Task<?>> lanes = new ArrayList<>(laneCount);
+    for (int i = 0; i < tasks.size(); i++)
+    {
+      Task<?> task = tasks.get(i).toTry();
+      if (i < laneCount)
+      {
+        lanes.add(task);
+      }
+      else
+      {
+        int lane = i % laneCount;
+        lanes.set(lane, lanes.get(lane).andThen(task));
+      }
+    }
+    return Task.par(lanes);
   }
 
   @SuppressWarnings("deprecation")
@@ -259,13 +319,16 @@ public class MultiplexedRequestHandlerImpl implements MultiplexedRequestHandler
     final RequestHandlingTask requestHandlingTask = new RequestHandlingTask(_requestHandler, syntheticRequestCreationTask, requestContext, _multiplexerRunMode);
     final IndividualResponseConversionTask toIndividualResponseTask = new IndividualResponseConversionTask(id, _errorResponseBuilder, requestHandlingTask);
     final ResponseFilterTask responseFilterTask = new ResponseFilterTask(_multiplexerSingletonFilter, _errorResponseBuilder, toIndividualResponseTask);
+    final long[] startNanos = new long[1];
+    final Task<Void> startTimerTask = Task.action("start timer", () -> startNanos[0] = System.nanoTime());
     final Task<Void> addResponseTask = Task.action("add response", () ->
       {
         IndividualResponseWithCookies individualResponseWithCookies = responseFilterTask.get();
         individualResponses.put(id, individualResponseWithCookies.getIndividualResponse());
         addResponseCookies(responseCookies, individualResponseWithCookies.getCookies());
+        recordLatency(requestContext, id, System.nanoTime() - startNanos[0]);
       });
-    return Tasks.seq(
+    return startTimerTask.andThen(Tasks.seq(
       requestSanitizationTask,
       inheritEnvelopeRequestTask,
       requestFilterTask,
@@ -273,7 +336,17 @@ public class MultiplexedRequestHandlerImpl implements MultiplexedRequestHandler
       requestHandlingTask,
       toIndividualResponseTask,
       responseFilterTask,
-      addResponseTask);
+      addResponseTask));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void recordLatency(RequestContext requestContext, String id, long latencyNanos)
+  {
+    Map<String, Long> latencies = (Map<String, Long>) requestContext.getLocalAttr(INDIVIDUAL_REQUEST_LATENCIES_KEY_NAME);
+    if (latencies != null)
+    {
+      latencies.put(id, latencyNanos);
+    }
   }
 
   private static void addResponseCookies(Map<String, HttpCookie> responseCookies, List<String> setCookieHeaders)
@@ -0,0 +1,180 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.internal.server.model;
+
+import com.linkedin.restli.server.RestLiServiceException;
+import com.linkedin.restli.common.HttpStatus;
+import java.lang.reflect.InvocationTargetException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestResourceMethodInvoker
+{
+  public static class SampleResource
+  {
+    private String _last;
+
+    public String concat(String prefix, int count, Long suffix)
+    {
+      return prefix + count + suffix;
+    }
+
+    public void record(String value)
+    {
+      _last = value;
+    }
+
+    public int noArguments()
+    {
+      return 42;
+    }
+
+    public String fail(String message)
+    {
+      throw new RestLiServiceException(HttpStatus.S_400_BAD_REQUEST, message);
+    }
+
+    public String join(String separator, String... values)
+    {
+      return String.join(separator, values);
+    }
+
+    public String failWithIllegalArgument(String message)
+    {
+      throw new IllegalArgumentException(message);
+    }
+  }
+
+  private static class NonPublicResource
+  {
+    public String echo(String value)
+    {
+      return value;
+    }
+  }
+
+  @Test
+  public void testCompiledInvocation() throws Exception
+  {
+    ResourceMethodInvoker invoker =
+        ResourceMethodInvoker.create(SampleResource.class.getMethod("concat", String.class, int.class, Long.class));
+
+    Assert.assertTrue(invoker.isCompiled());
+    Assert.assertEquals(invoker.invoke(new SampleResource(), new Object[]{"a", 1, 2L}), "a12");
+  }
+
+  @Test
+  public void testVoidAndNoArgumentMethods() throws Exception
+  {
+    SampleResource resource = new SampleResource();
+    ResourceMethodInvoker record = ResourceMethodInvoker.create(SampleResource.class.getMethod("record", String.class));
+    ResourceMethodInvoker noArguments = ResourceMethodInvoker.create(SampleResource.class.getMethod("noArguments"));
+
+    Assert.assertNull(record.invoke(resource, new Object[]{"value"}));
+    Assert.assertEquals(resource._last, "value");
+    Assert.assertEquals(noArguments.invoke(resource, new Object[0]), 42);
+  }
+
+  @Test
+  public void testExceptionIsWrapped() throws Exception
+  {
+    ResourceMethodInvoker invoker = ResourceMethodInvoker.create(SampleResource.class.getMethod("fail", String.class));
+    try
+    {
+      invoker.invoke(new SampleResource(), new Object[]{"bad"});
+      Assert.fail("Expected InvocationTargetException");
+    }
+    catch (InvocationTargetException e)
+    {
+      Assert.assertTrue(e.getCause() instanceof RestLiServiceException);
+      Assert.assertEquals(((RestLiServiceException) e.getCause()).getStatus(), HttpStatus.S_400_BAD_REQUEST);
+    }
+  }
+
+  @Test
+  public void testNonPublicResourceFallsBackToReflection() throws Exception
+  {
+    ResourceMethodInvoker invoker = ResourceMethodInvoker.create(NonPublicResource.class.getMethod("echo", String.class));
+
+    Assert.assertFalse(invoker.isCompiled());
+    Assert.assertEquals(invoker.invoke(new NonPublicResource(), new Object[]{"value"}), "value");
+  }
+
+  @Test
+  public void testVarargsMethod() throws Exception
+  {
+    ResourceMethodInvoker invoker =
+        ResourceMethodInvoker.create(SampleResource.class.getMethod("join", String.class, String[].class));
+
+    Assert.assertTrue(invoker.isCompiled());
+    Assert.assertEquals(invoker.invoke(new SampleResource(), new Object[]{",", new String[]{"a", "b"}}), "a,b");
+    Assert.assertEquals(invoker.invoke(new SampleResource(), new Object[]{",", new String[0]}), "");
+  }
+
+  @Test
+  public void testArgumentMismatchIsReportedAsReflectionDoes() throws Exception
+  {
+    ResourceMethodInvoker invoker =
+        ResourceMethodInvoker.create(SampleResource.class.getMethod("concat", String.class, int.class, Long.class));
+    SampleResource resource = new SampleResource();
+
+    Assert.assertEquals(invoker.invoke(resource, new Object[]{"a", (short) 1, 2L}), "a12");
+    assertIllegalArgument(invoker, resource, new Object[]{"a", "1", 2L});
+    assertIllegalArgument(invoker, resource, new Object[]{"a", null, 2L});
+    assertIllegalArgument(invoker, resource, new Object[]{"a", 1});
+    try
+    {
+      invoker.invoke(null, new Object[]{"a", 1, 2L});
+      Assert.fail("Expected NullPointerException");
+    }
+    catch (NullPointerException e)
+    {
+      // expected
+    }
+  }
+
+  @Test
+  public void testIllegalArgumentFromResourceIsWrapped() throws Exception
+  {
+    ResourceMethodInvoker invoker =
+        ResourceMethodInvoker.create(SampleResource.class.getMethod("failWithIllegalArgument", String.class));
+    try
+    {
+      invoker.invoke(new SampleResource(), new Object[]{"bad"});
+      Assert.fail("Expected InvocationTargetException");
+    }
+    catch (InvocationTargetException e)
+    {
+      Assert.assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+  }
+
+  private static void assertIllegalArgument(ResourceMethodInvoker invoker, Object resource, Object[] arguments)
+      throws Exception
+  {
+    try
+    {
+      invoker.invoke(resource, arguments);
+      Assert.fail("Expected IllegalArgumentException");
+    }
+    catch (IllegalArgumentException e)
+    {
+      // expected
+    }
+  }
+}
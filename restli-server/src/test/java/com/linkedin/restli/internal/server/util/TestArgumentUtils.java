@@ -16,6 +16,9 @@
 
 package com.linkedin.restli.internal.server.util;
 
+import com.linkedin.data.schema.PathSpec;
+import com.linkedin.data.transform.filter.request.MaskOperation;
+import com.linkedin.data.transform.filter.request.MaskTree;
 import com.linkedin.restli.common.HttpStatus;
 import com.linkedin.restli.common.RestConstants;
 import com.linkedin.restli.server.RestLiServiceException;
@@ -69,4 +72,25 @@ public class TestArgumentUtils
       Assert.assertTrue(e.getMessage().contains(String.format("Invalid \"%s\" parameter: %s", RestConstants.RETURN_ENTITY_PARAM, paramValue)));
     }
   }
+
+  @Test
+  public void testDecodeMaskUriFormatReturnsIndependentMasks() throws RestLiSyntaxException
+  {
+    MaskTree first = ArgumentUtils.decodeMaskUriFormat("a,b:(c)");
+    first.addOperation(new PathSpec("d"), MaskOperation.POSITIVE_MASK_OP);
+
+    MaskTree second = ArgumentUtils.decodeMaskUriFormat("a,b:(c)");
+
+    Assert.assertNotSame(second.getDataMap(), first.getDataMap());
+    Assert.assertFalse(second.getDataMap().isReadOnly());
+    Assert.assertEquals(second.getDataMap().keySet().size(), 2);
+    Assert.assertTrue(second.getDataMap().containsKey("a"));
+    Assert.assertTrue(second.getDataMap().getDataMap("b").containsKey("c"));
+  }
+
+  @Test(expectedExceptions = RestLiSyntaxException.class)
+  public void testDecodeMaskUriFormatInvalidMask() throws RestLiSyntaxException
+  {
+    ArgumentUtils.decodeMaskUriFormat("a:(b");
+  }
 }
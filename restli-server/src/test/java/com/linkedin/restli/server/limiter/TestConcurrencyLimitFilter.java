@@ -0,0 +1,158 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.limiter;
+
+import com.linkedin.restli.common.HttpStatus;
+import com.linkedin.restli.common.ResourceMethod;
+import com.linkedin.restli.server.RestLiResponseData;
+import com.linkedin.restli.server.RestLiServiceException;
+import com.linkedin.restli.server.filter.FilterRequestContext;
+import com.linkedin.restli.server.filter.FilterResourceModel;
+import com.linkedin.restli.server.filter.FilterResponseContext;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+
+
+/**
+ * Tests for {@link ConcurrencyLimitFilter}.
+ */
+public class TestConcurrencyLimitFilter
+{
+  @Mock
+  private FilterResourceModel _parentResourceModel;
+
+  @Mock
+  private FilterResourceModel _resourceModel;
+
+  @Mock
+  private RestLiResponseData<?> _responseData;
+
+  @Mock
+  private FilterResponseContext _responseContext;
+
+  private Map<String, String> _responseHeaders;
+
+  @BeforeMethod
+  @SuppressWarnings("unchecked")
+  public void setUpMocks()
+  {
+    MockitoAnnotations.initMocks(this);
+    when(_parentResourceModel.getResourceName()).thenReturn("greetings");
+    when(_resourceModel.getResourceName()).thenReturn("subgreetings");
+    when(_resourceModel.getParentResourceModel()).thenReturn(_parentResourceModel);
+    _responseHeaders = new HashMap<>();
+    when(_responseData.getHeaders()).thenReturn(_responseHeaders);
+    when(_responseContext.getResponseData()).thenReturn((RestLiResponseData) _responseData);
+  }
+
+  @Test
+  public void testRejectsOverLimit() throws Exception
+  {
+    ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(() -> new AimdConcurrencyLimit(1, 1, 1, 0.5, 1000),
+        false, HttpStatus.S_429_TOO_MANY_REQUESTS, 5);
+    FilterRequestContext admitted = mockRequestContext(ResourceMethod.GET, null);
+    FilterRequestContext rejected = mockRequestContext(ResourceMethod.GET, null);
+
+    Assert.assertFalse(filter.onRequest(admitted).isCompletedExceptionally());
+
+    CompletableFuture<Void> rejection = filter.onRequest(rejected);
+    Assert.assertTrue(rejection.isCompletedExceptionally());
+    RestLiServiceException exception = getException(rejection);
+    Assert.assertEquals(exception.getStatus(), HttpStatus.S_429_TOO_MANY_REQUESTS);
+
+    Assert.assertTrue(filter.onError(exception, rejected, _responseContext).isCompletedExceptionally());
+    Assert.assertEquals(_responseHeaders.get(ConcurrencyLimitFilter.HEADER_RETRY_AFTER), "5");
+    // A rejected request does not release the permit of the admitted one.
+    Assert.assertEquals(filter.getLimiters().get("*.*").getInflight(), 1);
+
+    filter.onResponse(admitted, _responseContext);
+    Assert.assertEquals(filter.getLimiters().get("*.*").getInflight(), 0);
+    Assert.assertFalse(filter.onRequest(mockRequestContext(ResourceMethod.GET, null)).isCompletedExceptionally());
+  }
+
+  @Test
+  public void testReleasesOnceOnError()
+  {
+    ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(() -> new AimdConcurrencyLimit(4, 1, 4, 0.5, 1000));
+    FilterRequestContext requestContext = mockRequestContext(ResourceMethod.GET, null);
+    filter.onRequest(requestContext);
+
+    RestLiServiceException exception = new RestLiServiceException(HttpStatus.S_503_SERVICE_UNAVAILABLE);
+    doReturn(HttpStatus.S_503_SERVICE_UNAVAILABLE).when(_responseData).getStatus();
+    Assert.assertTrue(filter.onError(exception, requestContext, _responseContext).isCompletedExceptionally());
+    filter.onResponse(requestContext, _responseContext);
+
+    ConcurrencyLimiter limiter = filter.getLimiters().get("*.*");
+    Assert.assertEquals(limiter.getInflight(), 0);
+    // The overloaded response is reported as dropped.
+    Assert.assertEquals(limiter.getLimit(), 2);
+    Assert.assertNull(_responseHeaders.get(ConcurrencyLimitFilter.HEADER_RETRY_AFTER));
+  }
+
+  @Test
+  public void testPerResourceMethodLimits()
+  {
+    ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(() -> new AimdConcurrencyLimit(1, 1, 1, 0.5, 1000),
+        true, HttpStatus.S_503_SERVICE_UNAVAILABLE, 1);
+
+    Assert.assertFalse(filter.onRequest(mockRequestContext(ResourceMethod.GET, null)).isCompletedExceptionally());
+    Assert.assertFalse(filter.onRequest(mockRequestContext(ResourceMethod.FINDER, "search")).isCompletedExceptionally());
+    Assert.assertTrue(filter.onRequest(mockRequestContext(ResourceMethod.GET, null)).isCompletedExceptionally());
+
+    Assert.assertEquals(filter.getLimiters().keySet().size(), 2);
+    Assert.assertTrue(filter.getLimiters().containsKey("greetings:subgreetings.GET"));
+    Assert.assertTrue(filter.getLimiters().containsKey("greetings:subgreetings.FINDER-search"));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInvalidRejectionStatus()
+  {
+    new ConcurrencyLimitFilter(AimdConcurrencyLimit::new, false, HttpStatus.S_500_INTERNAL_SERVER_ERROR, 1);
+  }
+
+  private FilterRequestContext mockRequestContext(ResourceMethod methodType, String finderName)
+  {
+    FilterRequestContext requestContext = mock(FilterRequestContext.class);
+    when(requestContext.getFilterScratchpad()).thenReturn(new HashMap<>());
+    when(requestContext.getFilterResourceModel()).thenReturn(_resourceModel);
+    when(requestContext.getMethodType()).thenReturn(methodType);
+    when(requestContext.getFinderName()).thenReturn(finderName);
+    return requestContext;
+  }
+
+  private static RestLiServiceException getException(CompletableFuture<Void> future) throws InterruptedException
+  {
+    try
+    {
+      future.get();
+      throw new AssertionError("Expected the future to fail");
+    }
+    catch (ExecutionException e)
+    {
+      return (RestLiServiceException) e.getCause();
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.limiter;
+
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestConcurrencyLimits
+{
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+  @Test
+  public void testAimdIncreasesUnderLoad()
+  {
+    AimdConcurrencyLimit limit = new AimdConcurrencyLimit(10, 1, 20, 0.5, 1000);
+    limit.onSample(FAST, 5, false);
+    Assert.assertEquals(limit.getLimit(), 11);
+
+    // Not enough requests in flight to need a higher limit.
+    limit.onSample(FAST, 1, false);
+    Assert.assertEquals(limit.getLimit(), 11);
+
+    for (int i = 0; i < 100; i++)
+    {
+      limit.onSample(FAST, 20, false);
+    }
+    Assert.assertEquals(limit.getLimit(), 20);
+  }
+
+  @Test
+  public void testAimdDecreasesOnDropAndTimeout()
+  {
+    AimdConcurrencyLimit limit = new AimdConcurrencyLimit(16, 2, 20, 0.5, 50);
+    limit.onSample(FAST, 16, true);
+    Assert.assertEquals(limit.getLimit(), 8);
+    limit.onSample(SLOW, 8, false);
+    Assert.assertEquals(limit.getLimit(), 4);
+    limit.onSample(SLOW, 4, false);
+    limit.onSample(SLOW, 4, false);
+    Assert.assertEquals(limit.getLimit(), 2);
+  }
+
+  @Test
+  public void testVegasGrowsWithoutQueueing()
+  {
+    VegasConcurrencyLimit limit = new VegasConcurrencyLimit(10, 1, 100);
+    for (int i = 0; i < 50; i++)
+    {
+      limit.onSample(FAST, limit.getLimit(), false);
+    }
+    Assert.assertTrue(limit.getLimit() > 10, "Limit should grow, but is " + limit.getLimit());
+  }
+
+  @Test
+  public void testVegasShrinksWhenQueueing()
+  {
+    VegasConcurrencyLimit limit = new VegasConcurrencyLimit(50, 1, 100);
+    limit.onSample(FAST, 50, false);
+    for (int i = 0; i < 20; i++)
+    {
+      limit.onSample(SLOW, limit.getLimit(), false);
+    }
+    Assert.assertTrue(limit.getLimit() < 50, "Limit should shrink, but is " + limit.getLimit());
+
+    int beforeDrop = limit.getLimit();
+    limit.onSample(SLOW, 1, true);
+    Assert.assertTrue(limit.getLimit() < beforeDrop, "Limit should shrink on drop");
+  }
+
+  @Test
+  public void testGradientGrowsWithSteadyLatency()
+  {
+    GradientConcurrencyLimit limit = new GradientConcurrencyLimit();
+    for (int i = 0; i < 100; i++)
+    {
+      limit.onSample(FAST, limit.getLimit(), false);
+    }
+    Assert.assertTrue(limit.getLimit() > GradientConcurrencyLimit.DEFAULT_INITIAL_LIMIT,
+        "Limit should grow, but is " + limit.getLimit());
+  }
+
+  @Test
+  public void testGradientShrinksWhenLatencyIncreases()
+  {
+    GradientConcurrencyLimit limit = new GradientConcurrencyLimit(100, 1, 1000, 0.2, 1.5, 600);
+    for (int i = 0; i < 100; i++)
+    {
+      limit.onSample(FAST, 100, false);
+    }
+    int steady = limit.getLimit();
+    for (int i = 0; i < 20; i++)
+    {
+      limit.onSample(SLOW, limit.getLimit(), false);
+    }
+    Assert.assertTrue(limit.getLimit() < steady, "Limit should shrink from " + steady + ", but is " + limit.getLimit());
+  }
+
+  @Test
+  public void testGradientIgnoresLowLoad()
+  {
+    GradientConcurrencyLimit limit = new GradientConcurrencyLimit();
+    for (int i = 0; i < 100; i++)
+    {
+      limit.onSample(SLOW, 1, false);
+    }
+    Assert.assertEquals(limit.getLimit(), GradientConcurrencyLimit.DEFAULT_INITIAL_LIMIT);
+  }
+
+  @Test
+  public void testLimiter()
+  {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(new AimdConcurrencyLimit(2, 1, 2, 0.5, 1000));
+    Assert.assertTrue(limiter.tryAcquire());
+    Assert.assertTrue(limiter.tryAcquire());
+    Assert.assertFalse(limiter.tryAcquire());
+    Assert.assertEquals(limiter.getInflight(), 2);
+
+    limiter.release(FAST, true);
+    Assert.assertEquals(limiter.getInflight(), 1);
+    Assert.assertEquals(limiter.getLimit(), 1);
+    Assert.assertFalse(limiter.tryAcquire());
+
+    limiter.release(FAST, false);
+    Assert.assertEquals(limiter.getInflight(), 0);
+    Assert.assertTrue(limiter.tryAcquire());
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInvalidLimits()
+  {
+    new AimdConcurrencyLimit(0, 1, 10, 0.5, 1000);
+  }
+}
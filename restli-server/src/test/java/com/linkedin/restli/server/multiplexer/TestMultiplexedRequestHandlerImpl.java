@@ -62,6 +62,8 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.easymock.EasyMock;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -803,6 +805,164 @@ public class TestMultiplexedRequestHandlerImpl
     verify(mockHandler);
   }
 
+  @Test(dataProvider = "multiplexerConfigurations")
+  public void testHandleParallelRequestsWithBoundedParallelism(MultiplexerRunMode multiplexerRunMode) throws Exception
+  {
+    SynchronousRequestHandler mockHandler = createMockHandler();
+    MultiplexedRequestHandlerImpl multiplexer = createMultiplexer(mockHandler, null, Collections.<String>emptySet(),
+        MAXIMUM_REQUESTS_NUMBER, multiplexerRunMode, 1);
+    RequestContext requestContext = new RequestContext();
+
+    RestRequest request = fakeMuxRestRequest(ImmutableMap.of("0", fakeIndRequest(FOO_URL), "1", fakeIndRequest(BAR_URL)));
+
+    // set expectations
+    expect(mockHandler.handleRequestSync(fakeIndRestRequest(FOO_URL), requestContext)).andReturn(fakeIndRestResponse(FOO_ENTITY));
+    expect(mockHandler.handleRequestSync(fakeIndRestRequest(BAR_URL), requestContext)).andThrow(new NullPointerException());
+
+    // switch into replay mode
+    replay(mockHandler);
+
+    FutureCallback<RestResponse> callback = new FutureCallback<RestResponse>();
+
+    multiplexer.handleRequest(request, requestContext, callback);
+
+    RestResponse muxRestResponse = callback.get();
+    RestResponse expectedMuxRestResponse = fakeMuxRestResponse(ImmutableMap.of(0, fakeIndResponse(FOO_JSON_BODY), 1, errorIndResponse()));
+
+    assertEquals(muxRestResponse, expectedMuxRestResponse);
+
+    verify(mockHandler);
+  }
+
+  @Test(dataProvider = "multiplexerConfigurations")
+  public void testBoundedParallelismLimitsConcurrentRequests(MultiplexerRunMode multiplexerRunMode) throws Exception
+  {
+    int maxParallelRequests = 2;
+    AtomicInteger runningRequests = new AtomicInteger();
+    AtomicInteger maxRunningRequests = new AtomicInteger();
+    ScheduledExecutorService responseScheduler = Executors.newSingleThreadScheduledExecutor();
+    // completes each request asynchronously, so that the requests that are not queued behind others run concurrently
+    RestRequestHandler handler = (request, requestContext, callback) ->
+    {
+      maxRunningRequests.accumulateAndGet(runningRequests.incrementAndGet(), Math::max);
+      responseScheduler.schedule(() ->
+      {
+        runningRequests.decrementAndGet();
+        try
+        {
+          callback.onSuccess(fakeIndRestResponse(FOO_ENTITY));
+        }
+        catch (URISyntaxException e)
+        {
+          callback.onError(e);
+        }
+      }, 20, TimeUnit.MILLISECONDS);
+    };
+
+    Map<String, IndividualRequest> individualRequests = new HashMap<>();
+    Map<Integer, IndividualResponse> expectedResponses = new HashMap<>();
+    for (int i = 0; i < 5; i++)
+    {
+      individualRequests.put(Integer.toString(i), fakeIndRequest(FOO_URL));
+      expectedResponses.put(i, fakeIndResponse(FOO_JSON_BODY));
+    }
+    MultiplexedRequestHandlerImpl multiplexer = createMultiplexer(handler, null, Collections.<String>emptySet(),
+        individualRequests.size(), multiplexerRunMode, maxParallelRequests);
+
+    try
+    {
+      FutureCallback<RestResponse> callback = new FutureCallback<RestResponse>();
+      multiplexer.handleRequest(fakeMuxRestRequest(individualRequests), new RequestContext(), callback);
+
+      assertEquals(callback.get(), fakeMuxRestResponse(expectedResponses));
+      assertEquals(maxRunningRequests.get(), maxParallelRequests);
+    }
+    finally
+    {
+      responseScheduler.shutdownNow();
+    }
+  }
+
+  @DataProvider(name = "failingRequestConfigurations")
+  public Object[][] failingRequestConfigurations()
+  {
+    // unbounded, at the limit and above the limit of parallel requests
+    return new Object[][]
+    {
+      { MultiplexerRunMode.MULTIPLE_PLANS, 0 },
+      { MultiplexerRunMode.SINGLE_PLAN, 0 },
+      { MultiplexerRunMode.MULTIPLE_PLANS, 2 },
+      { MultiplexerRunMode.SINGLE_PLAN, 2 },
+      { MultiplexerRunMode.MULTIPLE_PLANS, 1 },
+      { MultiplexerRunMode.SINGLE_PLAN, 1 }
+    };
+  }
+
+  @Test(dataProvider = "failingRequestConfigurations")
+  public void testFailedIndividualRequestTask(MultiplexerRunMode multiplexerRunMode, int maxParallelRequests) throws Exception
+  {
+    // the malformed cookie of the first response fails its task after the response has been collected
+    RestRequestHandler handler = (request, requestContext, callback) ->
+    {
+      try
+      {
+        RestResponse response = fakeIndRestResponse(request.getURI().getPath().equals(FOO_URL) ? FOO_ENTITY : BAR_ENTITY);
+        callback.onSuccess(request.getURI().getPath().equals(FOO_URL)
+            ? response.builder().setCookies(Collections.singletonList("=invalid")).build()
+            : response);
+      }
+      catch (URISyntaxException e)
+      {
+        callback.onError(e);
+      }
+    };
+    MultiplexedRequestHandlerImpl multiplexer = createMultiplexer(handler, null, Collections.<String>emptySet(),
+        MAXIMUM_REQUESTS_NUMBER, multiplexerRunMode, maxParallelRequests);
+
+    RestRequest request = fakeMuxRestRequest(ImmutableMap.of("0", fakeIndRequest(FOO_URL), "1", fakeIndRequest(BAR_URL)));
+    FutureCallback<RestResponse> callback = new FutureCallback<RestResponse>();
+    multiplexer.handleRequest(request, new RequestContext(), callback);
+
+    RestResponse expectedMuxRestResponse =
+        fakeMuxRestResponse(ImmutableMap.of(0, fakeIndResponse(FOO_JSON_BODY), 1, fakeIndResponse(BAR_JSON_BODY)));
+    assertEquals(callback.get(10, TimeUnit.SECONDS), expectedMuxRestResponse);
+  }
+
+  @Test(dataProvider = "multiplexerConfigurations")
+  public void testIndividualRequestLatencies(MultiplexerRunMode multiplexerRunMode) throws Exception
+  {
+    SynchronousRequestHandler mockHandler = createMockHandler();
+    MultiplexedRequestHandlerImpl multiplexer = createMultiplexer(mockHandler, multiplexerRunMode);
+    RequestContext requestContext = new RequestContext();
+
+    IndividualRequest indRequest1 = fakeIndRequest(BAR_URL);
+    IndividualRequest indRequest0 = fakeIndRequest(FOO_URL, ImmutableMap.of("1", indRequest1));
+    RestRequest request = fakeMuxRestRequest(ImmutableMap.of("0", indRequest0));
+
+    // set expectations
+    expect(mockHandler.handleRequestSync(fakeIndRestRequest(FOO_URL), requestContext)).andReturn(fakeIndRestResponse(FOO_ENTITY));
+    expect(mockHandler.handleRequestSync(fakeIndRestRequest(BAR_URL), requestContext)).andReturn(fakeIndRestResponse(BAR_ENTITY));
+
+    // switch into replay mode
+    replay(mockHandler);
+
+    FutureCallback<RestResponse> callback = new FutureCallback<RestResponse>();
+
+    multiplexer.handleRequest(request, requestContext, callback);
+    callback.get();
+
+    @SuppressWarnings("unchecked")
+    Map<String, Long> latencies =
+        (Map<String, Long>) requestContext.getLocalAttr(MultiplexedRequestHandlerImpl.INDIVIDUAL_REQUEST_LATENCIES_KEY_NAME);
+    assertEquals(latencies.keySet(), ImmutableMap.of("0", 0, "1", 0).keySet());
+    for (Long latency : latencies.values())
+    {
+      assertTrue(latency >= 0);
+    }
+
+    verify(mockHandler);
+  }
+
   private static RestRequestBuilder muxRequestBuilder() throws URISyntaxException
   {
     return new RestRequestBuilder(new URI("/mux"));
@@ -841,6 +1001,17 @@ public class TestMultiplexedRequestHandlerImpl
                                                                  Set<String> individualRequestHeaderWhitelist,
                                                                  int maxRequestCount,
                                                                  MultiplexerRunMode multiplexerRunMode)
+  {
+    return createMultiplexer(requestHandler, multiplexerSingletonFilter, individualRequestHeaderWhitelist, maxRequestCount,
+        multiplexerRunMode, 0);
+  }
+
+  private static MultiplexedRequestHandlerImpl createMultiplexer(RestRequestHandler requestHandler,
+                                                                 MultiplexerSingletonFilter multiplexerSingletonFilter,
+                                                                 Set<String> individualRequestHeaderWhitelist,
+                                                                 int maxRequestCount,
+                                                                 MultiplexerRunMode multiplexerRunMode,
+                                                                 int maxParallelRequests)
   {
     ExecutorService taskScheduler = Executors.newFixedThreadPool(1);
     ScheduledExecutorService timerScheduler = Executors.newSingleThreadScheduledExecutor();
@@ -850,7 +1021,7 @@ public class TestMultiplexedRequestHandlerImpl
       .build();
 
     return new MultiplexedRequestHandlerImpl(requestHandler, engine, maxRequestCount, individualRequestHeaderWhitelist, multiplexerSingletonFilter,
-        multiplexerRunMode, new ErrorResponseBuilder());
+        multiplexerRunMode, new ErrorResponseBuilder(), maxParallelRequests);
   }
 
   private static MultiplexedRequestHandlerImpl createMultiplexer(RestRequestHandler requestHandler, MultiplexerRunMode multiplexerRunMode)
@@ -81,6 +81,11 @@ public class TestRestLiRouting
 {
   private RestLiRouter _router;
 
+  protected RestLiRouter createRouter(Map<String, ResourceModel> pathRootResourceMap)
+  {
+    return new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+  }
+
   @DataProvider(name =  TestConstants.RESTLI_PROTOCOL_1_2_PREFIX + "routingDetailsCollectionEntity")
   public Object[][] routingDetailsCollectionEntity()
   {
@@ -95,7 +100,7 @@ public class TestRestLiRouting
   public void testRoutingDetailsCollectionGet(ProtocolVersion version, String uri) throws Exception
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(StatusCollectionResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     // #1 simple GET
     RestRequest request = createRequest(uri, "GET", version);
@@ -131,7 +136,7 @@ public class TestRestLiRouting
   public void testRoutingDetailsAssociationGet(ProtocolVersion version, String uri) throws Exception
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(FollowsAssociativeResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     RestRequest request = createRequest(uri, "GET", version);
 
@@ -156,7 +161,7 @@ public class TestRestLiRouting
   public void testRoutingDetailsCollectionUpdate(ProtocolVersion version, String uri) throws Exception
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(StatusCollectionResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     RestRequest request = createRequest(uri, "PUT", version);
 
@@ -181,7 +186,7 @@ public class TestRestLiRouting
   public void testRoutingDetailsCollectionDelete(ProtocolVersion version, String uri) throws Exception
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(StatusCollectionResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     RestRequest request = createRequest(uri, "DELETE", version);
 
@@ -216,7 +221,7 @@ public class TestRestLiRouting
   public void testRoutingDetailsAssociationBatchGet(ProtocolVersion version, String uri) throws Exception
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(FollowsAssociativeResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     RestRequest request = createRequest(uri, "GET", version);
 
@@ -269,7 +274,7 @@ public class TestRestLiRouting
   public void testRoutingDetailsSimpleGet(ProtocolVersion version, String uri) throws Exception
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(TrendingResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     RestRequest request = createRequest(uri, "GET", version);
 
@@ -293,7 +298,7 @@ public class TestRestLiRouting
   public void testRoutingDetailsSimpleUpdate(ProtocolVersion version, String uri) throws Exception
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(TrendingResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     RestRequest request = createRequest(uri, "PUT", version);
 
@@ -317,7 +322,7 @@ public class TestRestLiRouting
   public void testRoutingDetailsSimplePartialUpdate(ProtocolVersion version, String uri) throws Exception
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(TrendingResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     RestRequest request = createRequest(uri, "POST", version);
 
@@ -341,7 +346,7 @@ public class TestRestLiRouting
   public void testRoutingDetailsSimpleDelete(ProtocolVersion version, String uri) throws Exception
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(TrendingResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     RestRequest request = createRequest(uri, "DELETE", version);
 
@@ -506,7 +511,7 @@ public class TestRestLiRouting
   {
     Map<String, ResourceModel> pathRootResourceMap =
       buildResourceModels(StatusCollectionResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     checkResult(uri, version, httpMethod, restliMethod, method, StatusCollectionResource.class, methodName, true);
     checkBatchKeys(uri, version, httpMethod, keys);
@@ -693,7 +698,7 @@ public class TestRestLiRouting
   {
 
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(StatusCollectionResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     checkResult(uri, version, httpMethod, restliMethod, method, StatusCollectionResource.class, methodName, true);
     checkBatchKeys(uri, version, httpMethod, expectedKeys);
@@ -736,7 +741,7 @@ public class TestRestLiRouting
     Map<String, ResourceModel> pathRootResourceMap =
       buildResourceModels(StatusCollectionResource.class,
                           RepliesCollectionResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     checkResult(uri, version, httpMethod, restliMethod, method, RepliesCollectionResource.class, methodName, true);
     checkBatchKeys(uri, version, httpMethod, keys);
@@ -815,7 +820,7 @@ public class TestRestLiRouting
     Map<String, ResourceModel> pathRootResourceMap =
       buildResourceModels(TrendingResource.class,
                           TrendRegionsCollectionResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     checkResult(uri, version, httpMethod, restliMethod, method, TrendRegionsCollectionResource.class, methodName, true);
     checkBatchKeys(uri, version, httpMethod, keys);
@@ -909,7 +914,7 @@ public class TestRestLiRouting
                                           Set<CompoundKey> compoundKeys) throws Exception
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(FollowsAssociativeResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     checkResult(uri, version, httpMethod, restliMethod, method, FollowsAssociativeResource.class, methodName, true);
     checkBatchKeys(uri, version, httpMethod, compoundKeys);
@@ -1017,7 +1022,7 @@ public class TestRestLiRouting
                                                                 TwitterTestDataModels.DiscoveredItemKeyParams>> compoundKeys) throws Exception
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(DiscoveredItemsResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     checkResult(uri, version, httpMethod, restliMethod, method, DiscoveredItemsResource.class, methodName, true);
     checkBatchKeys(uri, version, httpMethod, compoundKeys);
@@ -1343,7 +1348,7 @@ public class TestRestLiRouting
   {
     Map<String, ResourceModel> pathRootResourceMap =
       buildResourceModels(StatusCollectionResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     checkResult(uri, version, httpMethod, restliMethod, method, StatusCollectionResource.class, methodName, false, pathKeys);
   }
@@ -1564,7 +1569,7 @@ public class TestRestLiRouting
   {
     Map<String, ResourceModel> pathRootResourceMap =
       buildResourceModels(StatusCollectionResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     checkResult(uri, version, httpMethod, restliMethod, method, StatusCollectionResource.class, methodName, false, pathKeys);
   }
@@ -1653,7 +1658,7 @@ public class TestRestLiRouting
       buildResourceModels(StatusCollectionResource.class,
                           RepliesCollectionResource.class,
                           LocationResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     checkResult(uri, version, httpMethod, method, resourceClass, methodName, false, "statusID");
   }
@@ -1787,7 +1792,7 @@ public class TestRestLiRouting
   public void testRoutingAssociation(String uri, ProtocolVersion version, String httpMethod, ResourceMethod method, String methodName, String[] pathKeys) throws Exception
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(FollowsAssociativeResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     checkResult(uri, version, httpMethod, method, FollowsAssociativeResource.class, methodName, false, pathKeys);
   }
@@ -1954,7 +1959,7 @@ public class TestRestLiRouting
                                     boolean hasKeys) throws Exception
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(DiscoveredItemsResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     checkResult(uri, version, httpMethod, restliMethod, method, DiscoveredItemsResource.class, methodName, false, hasKeys? new String[]{"discoveredItemId"} : new String[0]);
   }
@@ -2028,7 +2033,7 @@ public class TestRestLiRouting
   {
     Map<String, ResourceModel> pathRootResourceMap =
       buildResourceModels(TrendingResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     checkResult("/trending", version, httpMethod, restliMethod, method, TrendingResource.class, methodName, false);
   }
@@ -2143,7 +2148,7 @@ public class TestRestLiRouting
     Map<String, ResourceModel> pathRootResourceMap =
       buildResourceModels(TrendingResource.class,
                           TrendRegionsCollectionResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     checkResult(uri, version, httpMethod, method, TrendRegionsCollectionResource.class, methodName, false, pathKeys);
   }
@@ -2422,7 +2427,7 @@ public class TestRestLiRouting
                           FollowsAssociativeResource.class,
                           RepliesCollectionResource.class);
 
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     expectRoutingExceptionWithStatus(uri, version, httpMethod, restliMethod, HttpStatus.S_400_BAD_REQUEST);
   }
@@ -2504,7 +2509,7 @@ public class TestRestLiRouting
             FollowsAssociativeResource.class,
             RepliesCollectionResource.class);
 
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     expectRoutingExceptionWithStatus(uri, version, httpMethod, restliMethod, HttpStatus.S_400_BAD_REQUEST);
   }
@@ -2602,7 +2607,7 @@ public class TestRestLiRouting
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(
       CombinedResources.CombinedNKeyAssociationResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     checkResult(uri,
                 version,
@@ -2658,7 +2663,7 @@ public class TestRestLiRouting
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(
       CombinedResources.CombinedNKeyAssociationResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     checkResult(uri,
                 version,
@@ -2685,7 +2690,7 @@ public class TestRestLiRouting
   public void testActionRootRouting(ProtocolVersion version, String uri) throws Exception
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(TwitterAccountsResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     RestRequest request = createRequest(uri, "POST", version);
     ServerResourceContext context = new ResourceContextImpl(new PathKeysImpl(), request, new RequestContext());
@@ -2712,7 +2717,7 @@ public class TestRestLiRouting
     Map<String, ResourceModel> pathRootResourceMap =
       buildResourceModels(StatusCollectionResource.class,
                           RepliesCollectionResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     RestRequest request = createRequest(uri, "POST", version);
     ServerResourceContext context = new ResourceContextImpl(new PathKeysImpl(), request, new RequestContext());
@@ -2740,7 +2745,7 @@ public class TestRestLiRouting
     Map<String, ResourceModel> pathRootResourceMap =
       buildResourceModels(StatusCollectionResource.class,
                           LocationResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     RestRequest request = createRequest(uri, "POST", version);
     ServerResourceContext context = new ResourceContextImpl(new PathKeysImpl(), request, new RequestContext());
@@ -2935,7 +2940,7 @@ public class TestRestLiRouting
                           TrendRegionsCollectionResource.class,
                           TrendingResource.class,
                           TwitterAccountsResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     expectRoutingExceptionWithStatus(uri, version, httpMethod, null, status);
   }
@@ -3087,7 +3092,7 @@ public class TestRestLiRouting
     Map<String, ResourceModel> pathRootResourceMap =
       buildResourceModels(CombinedResources.CombinedCollectionWithSubresources.class,
                           CombinedResources.SubCollectionResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     RestRequest request;
 
@@ -3157,7 +3162,7 @@ public class TestRestLiRouting
                                            RestLiAttachmentReader requestAttachments) throws Exception
   {
     Map<String, ResourceModel> pathRootResourceMap = buildResourceModels(TrendingResource.class);
-    _router = new RestLiRouter(pathRootResourceMap, new RestLiConfig());
+    _router = createRouter(pathRootResourceMap);
 
     final RestRequestBuilder requestBuilder = new RestRequestBuilder(new URI(uri)).setMethod("GET")
         .setHeader(RestConstants.HEADER_RESTLI_PROTOCOL_VERSION, version.toString());
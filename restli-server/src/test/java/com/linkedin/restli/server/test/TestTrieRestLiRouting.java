@@ -0,0 +1,39 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.test;
+
+import com.linkedin.restli.internal.server.RestLiRouter;
+import com.linkedin.restli.internal.server.TrieRestLiRouter;
+import com.linkedin.restli.internal.server.model.ResourceModel;
+import com.linkedin.restli.server.RestLiConfig;
+import com.linkedin.restli.server.RestLiRouterFactory;
+import java.util.Map;
+
+
+/**
+ * Runs all of {@link TestRestLiRouting} against {@link TrieRestLiRouter}.
+ */
+public class TestTrieRestLiRouting extends TestRestLiRouting
+{
+  @Override
+  protected RestLiRouter createRouter(Map<String, ResourceModel> pathRootResourceMap)
+  {
+    RestLiConfig config = new RestLiConfig();
+    config.setRouterFactory(RestLiRouterFactory.TRIE);
+    return config.getRouterFactory().create(pathRootResourceMap, config);
+  }
+}